@@ -0,0 +1,47 @@
+package br.com.minhasfinancas.carga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class BaselineCarga {
+
+	private static final double DIFERENCA_MINIMA_MS = 1.0;
+	private static final double DIFERENCA_MINIMA_TAXA_ERRO = 0.01;
+
+	private BaselineCarga() {
+	}
+
+	public static List<String> buscarRegressoes(RelatorioCarga atual, RelatorioCarga baseline, double tolerancia) {
+		List<String> regressoes = new ArrayList<>();
+		for(Map.Entry<String, ResultadoEndpoint> entrada : atual.getEndpoints().entrySet()) {
+			ResultadoEndpoint referencia = baseline.getEndpoints().get(entrada.getKey());
+			if(referencia == null || referencia.getRequisicoes() == 0) {
+				continue;
+			}
+
+			String endpoint = entrada.getKey();
+			ResultadoEndpoint resultado = entrada.getValue();
+			verificarLatencia(regressoes, endpoint, "p50", resultado.getP50Ms(), referencia.getP50Ms(), tolerancia);
+			verificarLatencia(regressoes, endpoint, "p95", resultado.getP95Ms(), referencia.getP95Ms(), tolerancia);
+			verificarLatencia(regressoes, endpoint, "p99", resultado.getP99Ms(), referencia.getP99Ms(), tolerancia * 2);
+
+			if(resultado.getVazaoPorSegundo() < referencia.getVazaoPorSegundo() * (1 - tolerancia)) {
+				regressoes.add(String.format("%s: vazão %.1f req/s abaixo da baseline %.1f req/s",
+						endpoint, resultado.getVazaoPorSegundo(), referencia.getVazaoPorSegundo()));
+			}
+			if(resultado.getTaxaErro() > referencia.getTaxaErro() + DIFERENCA_MINIMA_TAXA_ERRO) {
+				regressoes.add(String.format("%s: taxa de erro %.2f%% acima da baseline %.2f%%",
+						endpoint, resultado.getTaxaErro() * 100, referencia.getTaxaErro() * 100));
+			}
+		}
+		return regressoes;
+	}
+
+	private static void verificarLatencia(List<String> regressoes, String endpoint, String percentil,
+			double atual, double referencia, double tolerancia) {
+		if(atual > referencia * (1 + tolerancia) && atual - referencia > DIFERENCA_MINIMA_MS) {
+			regressoes.add(String.format("%s: %s de %.2f ms acima da baseline %.2f ms", endpoint, percentil, atual, referencia));
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package br.com.minhasfinancas.carga;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ConfiguracaoCarga {
+
+	public static final long SEMENTE = 42L;
+
+	private int usuarios;
+	private int lancamentos;
+	private int concorrencia;
+	private int requisicoes;
+	private int aquecimento;
+	private double tolerancia;
+	private Path resultado;
+	private Path baseline;
+	private boolean atualizarBaseline;
+
+	public static ConfiguracaoCarga lerPropriedadesSistema() {
+		return ConfiguracaoCarga.builder()
+				.usuarios(Integer.getInteger("carga.usuarios", 200))
+				.lancamentos(Integer.getInteger("carga.lancamentos", 100000))
+				.concorrencia(Integer.getInteger("carga.concorrencia", 16))
+				.requisicoes(Integer.getInteger("carga.requisicoes", 5000))
+				.aquecimento(Integer.getInteger("carga.aquecimento", 500))
+				.tolerancia(Double.parseDouble(System.getProperty("carga.tolerancia", "0.20")))
+				.resultado(Paths.get(System.getProperty("carga.resultado", "target/carga-resultado.json")))
+				.baseline(Paths.get(System.getProperty("carga.baseline", "src/carga/baseline.json")))
+				.atualizarBaseline(Boolean.getBoolean("carga.atualizarBaseline"))
+				.build();
+	}
+}
@@ -0,0 +1,324 @@
+package br.com.minhasfinancas.carga;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.minhasfinancas.dto.AtualizarStatusDTO;
+import br.com.minhasfinancas.dto.LancamentoDTO;
+import br.com.minhasfinancas.dto.OperacaoLoteDTO;
+import br.com.minhasfinancas.dto.RecorrenciaDTO;
+import br.com.minhasfinancas.dto.UsuarioDTO;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+public enum EndpointCarga {
+
+	AUTENTICAR("POST /api/usuarios/autenticar", 2, false) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			return post(base + "/api/usuarios/autenticar", UsuarioDTO.builder()
+					.emailUsuario(usuario.getEmail())
+					.senhaUsuario(usuario.getSenha())
+					.build());
+		}
+	},
+	SALVAR_USUARIO("POST /api/usuarios/salvarUsuario", 1, false) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			int indice = NOVOS_USUARIOS.incrementAndGet();
+			return post(base + "/api/usuarios/salvarUsuario", UsuarioDTO.builder()
+					.nomeUsuario("Novo usuario carga " + indice)
+					.emailUsuario("carga-novo-" + indice + "@minhasfinancas.com.br")
+					.senhaUsuario(GeradorDadosCarga.SENHA)
+					.build());
+		}
+	},
+	OBTER_SALDO("GET /api/usuarios/{id}/saldo", 8, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			return get(base + "/api/usuarios/" + usuario.getIdUsuario() + "/saldo");
+		}
+	},
+	RECONCILIAR_SALDO("POST /api/usuarios/{id}/saldo/reconciliar", 1, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			return post(base + "/api/usuarios/" + usuario.getIdUsuario() + "/saldo/reconciliar", null);
+		}
+	},
+	OBTER_SALDO_MENSAL("GET /api/usuarios/{id}/saldo/mensal", 3, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			int ano = sortearAno(aleatorio);
+			return get(base + "/api/usuarios/" + usuario.getIdUsuario() + "/saldo/mensal?inicio=" + ano + "-01&fim=" + ano + "-12");
+		}
+	},
+	OBTER_ANALISE("GET /api/usuarios/{id}/analise", 2, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			int ano = sortearAno(aleatorio);
+			return get(base + "/api/usuarios/" + usuario.getIdUsuario() + "/analise?inicio=" + ano + "-01&fim=" + ano + "-12");
+		}
+	},
+	ENCERRAR_ANO("POST /api/usuarios/{id}/anos/{ano}/encerrar", 1, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			if(!usuario.reservarEncerramento()) {
+				return null;
+			}
+			return post(base + "/api/usuarios/" + usuario.getIdUsuario() + "/anos/" + GeradorDadosCarga.ANO_ENCERRAMENTO + "/encerrar", null);
+		}
+	},
+	OBTER_RESUMO("GET /api/usuarios/{id}/resumo", 4, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			return get(base + "/api/usuarios/" + usuario.getIdUsuario() + "/resumo?ano=" + sortearAno(aleatorio));
+		}
+	},
+	SALVAR_LANCAMENTO("POST /api/lancamentos/salvar", 4, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			return post(base + "/api/lancamentos/salvar", novoLancamento(aleatorio));
+		}
+	},
+	SALVAR_LOTE("POST /api/lancamentos/lote", 1, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			List<LancamentoDTO> lote = new ArrayList<>(TAMANHO_LOTE);
+			for(int i = 0; i < TAMANHO_LOTE; i++) {
+				lote.add(novoLancamento(aleatorio));
+			}
+			return post(base + "/api/lancamentos/lote", lote);
+		}
+	},
+	OBTER_LANCAMENTO("GET /api/lancamentos/{id}", 8, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			if(!usuario.possuiLancamentos()) {
+				return null;
+			}
+			return get(base + "/api/lancamentos/" + usuario.sortearLancamento(aleatorio));
+		}
+	},
+	ATUALIZAR_LANCAMENTO("PUT /api/lancamentos/{id}/atualizar", 3, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			if(!usuario.possuiLancamentos()) {
+				return null;
+			}
+			return put(base + "/api/lancamentos/" + usuario.sortearLancamento(aleatorio) + "/atualizar", novoLancamento(aleatorio));
+		}
+	},
+	ATUALIZAR_STATUS("PUT /api/lancamentos/{id}/atualizar-status", 3, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			if(!usuario.possuiLancamentos()) {
+				return null;
+			}
+			return put(base + "/api/lancamentos/" + usuario.sortearLancamento(aleatorio) + "/atualizar-status",
+					AtualizarStatusDTO.builder().statusLancamento(sortearStatus(aleatorio).name()).build());
+		}
+	},
+	ATUALIZAR_STATUS_LOTE("PUT /api/lancamentos/lote/atualizar-status", 1, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			if(!usuario.possuiLancamentos()) {
+				return null;
+			}
+			return put(base + "/api/lancamentos/lote/atualizar-status", OperacaoLoteDTO.builder()
+					.idsLancamentos(usuario.sortearLancamentos(aleatorio, TAMANHO_LOTE))
+					.statusLancamento(sortearStatus(aleatorio).name())
+					.build());
+		}
+	},
+	DELETAR("DELETE /api/lancamentos/{id}/deletar", 1, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			List<Long> ids = usuario.retirarParaExclusao(1);
+			if(ids.isEmpty()) {
+				return null;
+			}
+			return HttpRequest.newBuilder(URI.create(base + "/api/lancamentos/" + ids.get(0) + "/deletar")).DELETE();
+		}
+	},
+	DELETAR_LOTE("POST /api/lancamentos/lote/deletar", 1, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			List<Long> ids = usuario.retirarParaExclusao(TAMANHO_LOTE / 5);
+			if(ids.isEmpty()) {
+				return null;
+			}
+			return post(base + "/api/lancamentos/lote/deletar", OperacaoLoteDTO.builder().idsLancamentos(ids).build());
+		}
+	},
+	SALVAR_RECORRENCIA("POST /api/recorrencias/salvar", 1, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			YearMonth inicio = YearMonth.now().plusMonths(aleatorio.nextInt(12));
+			return post(base + "/api/recorrencias/salvar", RecorrenciaDTO.builder()
+					.descricao("Parcelamento loja de moveis")
+					.valorLancamento(BigDecimal.valueOf(5000 + aleatorio.nextInt(50000), 2))
+					.tipoLancamento(TipoLancamento.DESPESA.name())
+					.anoInicio(inicio.getYear())
+					.mesInicio(inicio.getMonthValue())
+					.intervaloMeses(1)
+					.totalParcelas(1 + aleatorio.nextInt(12))
+					.build());
+		}
+	},
+	ATUALIZAR_RECORRENCIA("PUT /api/recorrencias/{id}/atualizar", 1, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			if(usuario.getIdRecorrencia() == null) {
+				return null;
+			}
+			YearMonth inicio = YearMonth.now();
+			return put(base + "/api/recorrencias/" + usuario.getIdRecorrencia() + "/atualizar", RecorrenciaDTO.builder()
+					.descricao("Assinatura streaming")
+					.valorLancamento(BigDecimal.valueOf(3000 + aleatorio.nextInt(3000), 2))
+					.tipoLancamento(TipoLancamento.DESPESA.name())
+					.anoInicio(inicio.getYear())
+					.mesInicio(inicio.getMonthValue())
+					.intervaloMeses(1)
+					.build());
+		}
+	},
+	LISTAR("GET /api/lancamentos", 10, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			return get(base + "/api/lancamentos?anoLancamento=" + sortearAno(aleatorio)
+					+ "&mesLancamento=" + (1 + aleatorio.nextInt(12)) + "&tamanho=50");
+		}
+	},
+	BUSCAR("GET /api/lancamentos/busca", 5, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			return get(base + "/api/lancamentos/busca?q=" + codificar(TERMOS_BUSCA[aleatorio.nextInt(TERMOS_BUSCA.length)]));
+		}
+	},
+	SUGERIR("GET /api/lancamentos/busca/sugestoes", 4, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			String termo = TERMOS_BUSCA[aleatorio.nextInt(TERMOS_BUSCA.length)];
+			return get(base + "/api/lancamentos/busca/sugestoes?prefixo=" + codificar(termo.substring(0, Math.min(3, termo.length()))));
+		}
+	},
+	REINDEXAR("POST /api/lancamentos/busca/reindexar", 1, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			return post(base + "/api/lancamentos/busca/reindexar", null);
+		}
+	},
+	EXPORTAR("GET /api/lancamentos/exportar", 1, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			return get(base + "/api/lancamentos/exportar?formato=csv");
+		}
+	},
+	OBTER_SITUACAO_EVENTOS("GET /api/eventos/situacao", 1, true, true) {
+		@Override
+		HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio) {
+			return get(base + "/api/eventos/situacao");
+		}
+	};
+
+	private static final int TAMANHO_LOTE = 50;
+	private static final String[] TERMOS_BUSCA = {"supermercado", "aluguel", "conta luz", "farmacia", "salario", "viagem", "restaurante"};
+	private static final AtomicInteger NOVOS_USUARIOS = new AtomicInteger();
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final String nome;
+	private final int peso;
+	private final boolean autenticado;
+	private final boolean administrativo;
+
+	EndpointCarga(String nome, int peso, boolean autenticado) {
+		this(nome, peso, autenticado, false);
+	}
+
+	// Rotas administrativas são enviadas sempre pelo primeiro usuário gerado, configurado como administrador no TesteCarga
+	EndpointCarga(String nome, int peso, boolean autenticado, boolean administrativo) {
+		this.nome = nome;
+		this.peso = peso;
+		this.autenticado = autenticado;
+		this.administrativo = administrativo;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public int getPeso() {
+		return peso;
+	}
+
+	public boolean isAutenticado() {
+		return autenticado;
+	}
+
+	public boolean isAdministrativo() {
+		return administrativo;
+	}
+
+	abstract HttpRequest.Builder criar(String base, UsuarioCarga usuario, Random aleatorio);
+
+	private static HttpRequest.Builder get(String uri) {
+		return HttpRequest.newBuilder(URI.create(uri)).GET();
+	}
+
+	private static HttpRequest.Builder post(String uri, Object corpo) {
+		return HttpRequest.newBuilder(URI.create(uri)).header("Content-Type", "application/json").POST(corpo(corpo));
+	}
+
+	private static HttpRequest.Builder put(String uri, Object corpo) {
+		return HttpRequest.newBuilder(URI.create(uri)).header("Content-Type", "application/json").PUT(corpo(corpo));
+	}
+
+	private static BodyPublisher corpo(Object corpo) {
+		if(corpo == null) {
+			return BodyPublishers.noBody();
+		}
+		try {
+			return BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(corpo));
+		} catch(JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String codificar(String valor) {
+		return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+	}
+
+	private static int sortearAno(Random aleatorio) {
+		return 2016 + aleatorio.nextInt(6);
+	}
+
+	private static StatusLancamento sortearStatus(Random aleatorio) {
+		StatusLancamento[] status = StatusLancamento.values();
+		return status[aleatorio.nextInt(status.length)];
+	}
+
+	private static LancamentoDTO novoLancamento(Random aleatorio) {
+		boolean receita = aleatorio.nextInt(5) == 0;
+		return LancamentoDTO.builder()
+				.descricao(receita ? "Freelance consultoria" : "Supermercado compra semanal")
+				.anoLancamento(sortearAno(aleatorio))
+				.mesLancamento(1 + aleatorio.nextInt(12))
+				.valorLancamento(BigDecimal.valueOf(100 + aleatorio.nextInt(100000), 2))
+				.tipoLancamento((receita ? TipoLancamento.RECEITA : TipoLancamento.DESPESA).name())
+				.statusLancamento(StatusLancamento.PENDENTE.name())
+				.build();
+	}
+}
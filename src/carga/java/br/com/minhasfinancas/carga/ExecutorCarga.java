@@ -0,0 +1,120 @@
+package br.com.minhasfinancas.carga;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExecutorCarga {
+
+	private static final int TENTATIVAS_SORTEIO = 10;
+	private static final Duration TEMPO_LIMITE = Duration.ofSeconds(120);
+
+	private final String base;
+	private final List<UsuarioCarga> usuarios;
+	private final ConfiguracaoCarga configuracao;
+	private final HttpClient cliente;
+
+	public ExecutorCarga(String base, List<UsuarioCarga> usuarios, ConfiguracaoCarga configuracao) {
+		this.base = base;
+		this.usuarios = usuarios;
+		this.configuracao = configuracao;
+		this.cliente = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+	}
+
+	public RelatorioCarga executar(int requisicoes, long semente) throws InterruptedException {
+		EndpointCarga[] sequencia = sortearSequencia(requisicoes, semente);
+		Map<EndpointCarga, MedicaoEndpoint> medicoes = new EnumMap<>(EndpointCarga.class);
+		for(EndpointCarga endpoint : EndpointCarga.values()) {
+			medicoes.put(endpoint, new MedicaoEndpoint());
+		}
+
+		AtomicInteger proxima = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(configuracao.getConcorrencia());
+		long inicio = System.nanoTime();
+		for(int i = 0; i < configuracao.getConcorrencia(); i++) {
+			executor.execute(() -> {
+				int indice;
+				while((indice = proxima.getAndIncrement()) < sequencia.length) {
+					enviar(sequencia[indice], new Random(semente * 31 + indice), medicoes.get(sequencia[indice]));
+				}
+			});
+		}
+		executor.shutdown();
+		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		double duracaoSegundos = (System.nanoTime() - inicio) / (double) TimeUnit.SECONDS.toNanos(1);
+
+		Map<String, ResultadoEndpoint> resultados = new LinkedHashMap<>();
+		medicoes.forEach((endpoint, medicao) -> resultados.put(endpoint.getNome(), medicao.consolidar(duracaoSegundos)));
+
+		return RelatorioCarga.builder()
+				.usuarios(configuracao.getUsuarios())
+				.lancamentos(configuracao.getLancamentos())
+				.concorrencia(configuracao.getConcorrencia())
+				.requisicoes(requisicoes)
+				.duracaoSegundos(duracaoSegundos)
+				.endpoints(resultados)
+				.build();
+	}
+
+	private EndpointCarga[] sortearSequencia(int requisicoes, long semente) {
+		List<EndpointCarga> roleta = new ArrayList<>();
+		for(EndpointCarga endpoint : EndpointCarga.values()) {
+			for(int i = 0; i < endpoint.getPeso(); i++) {
+				roleta.add(endpoint);
+			}
+		}
+
+		Random aleatorio = new Random(semente);
+		EndpointCarga[] sequencia = new EndpointCarga[requisicoes];
+		for(int i = 0; i < requisicoes; i++) {
+			sequencia[i] = roleta.get(aleatorio.nextInt(roleta.size()));
+		}
+		return sequencia;
+	}
+
+	private void enviar(EndpointCarga endpoint, Random aleatorio, MedicaoEndpoint medicao) {
+		UsuarioCarga usuario = null;
+		HttpRequest.Builder requisicao = null;
+		for(int tentativa = 0; requisicao == null && tentativa < TENTATIVAS_SORTEIO; tentativa++) {
+			usuario = endpoint.isAdministrativo() ? usuarios.get(0) : usuarios.get(aleatorio.nextInt(usuarios.size()));
+			requisicao = endpoint.criar(base, usuario, aleatorio);
+		}
+		if(requisicao == null) {
+			return;
+		}
+
+		requisicao.timeout(TEMPO_LIMITE);
+		if(endpoint.isAutenticado()) {
+			requisicao.header("Authorization", "Bearer " + usuario.getToken());
+		}
+
+		long inicio = System.nanoTime();
+		int status;
+		try {
+			HttpResponse<Void> resposta = cliente.send(requisicao.build(), BodyHandlers.discarding());
+			status = resposta.statusCode();
+		} catch(IOException e) {
+			status = MedicaoEndpoint.SEM_RESPOSTA;
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		medicao.registrar(status, System.nanoTime() - inicio);
+	}
+}
@@ -0,0 +1,201 @@
+package br.com.minhasfinancas.carga;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.service.BuscaLancamentoService;
+import lombok.AllArgsConstructor;
+
+public class GeradorDadosCarga {
+
+	public static final String SENHA = "senha-carga";
+
+	// Ano fora do intervalo sorteado, com poucos lançamentos por usuário, reservado para o endpoint de encerramento
+	public static final int ANO_ENCERRAMENTO = 2015;
+
+	// A base de carga nasce vazia, então o primeiro usuário gerado recebe o primeiro id e é o administrador
+	public static final long ID_ADMINISTRADOR = 1L;
+
+	private static final int TAMANHO_LOTE = 5000;
+	private static final int LANCAMENTOS_ENCERRAMENTO = 3;
+
+	private static final String[] RECEITAS = {
+			"Salario mensal", "Freelance desenvolvimento", "Dividendos acoes", "Reembolso despesas medicas",
+			"Aluguel recebido apartamento", "Restituicao imposto de renda"
+	};
+
+	private static final String[] DESPESAS = {
+			"Supermercado Extra", "Supermercado Carrefour", "Aluguel apartamento", "Conta de luz", "Conta de agua",
+			"Internet fibra", "Farmacia Drogasil", "Restaurante japones", "Padaria do bairro", "Combustivel posto Shell",
+			"Academia mensalidade", "Cinema shopping", "Plano de saude Unimed", "Escola mensalidade", "Presente aniversario",
+			"Viagem ferias passagem", "Manutencao do carro", "Roupas loja Renner", "Assinatura streaming", "Condominio"
+	};
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Random aleatorio = new Random(ConfiguracaoCarga.SEMENTE);
+
+	public GeradorDadosCarga(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public List<UsuarioCarga> gerar(int quantidadeUsuarios, int quantidadeLancamentos) {
+		List<Long> idsUsuarios = inserirUsuarios(quantidadeUsuarios);
+		int[] distribuicao = distribuir(quantidadeLancamentos, quantidadeUsuarios);
+
+		long proximoId = jdbcTemplate.queryForObject(
+				"select proximo_valor from sequencia_id where nome_sequencia = 'lancamento'", Long.class);
+		List<UsuarioCarga> usuarios = new ArrayList<>(quantidadeUsuarios);
+		List<Object[]> lancamentos = new ArrayList<>(TAMANHO_LOTE);
+		List<Object[]> termos = new ArrayList<>(TAMANHO_LOTE * 3);
+
+		for(int i = 0; i < idsUsuarios.size(); i++) {
+			Long idUsuario = idsUsuarios.get(i);
+			usuarios.add(new UsuarioCarga(idUsuario, email(i), SENHA, proximoId, distribuicao[i]));
+
+			// Os lançamentos do ano de encerramento ficam depois da faixa do usuário, fora do alcance dos endpoints de edição
+			int quantidade = distribuicao[i] + LANCAMENTOS_ENCERRAMENTO;
+			for(int j = 0; j < quantidade; j++) {
+				int ano = j < distribuicao[i] ? 2016 + aleatorio.nextInt(6) : ANO_ENCERRAMENTO;
+				LinhaLancamento lancamento = gerarLancamento(proximoId++, idUsuario, ano);
+				lancamentos.add(lancamento.parametros());
+				for(String termo : BuscaLancamentoService.extrairTermos(lancamento.descricao)) {
+					termos.add(new Object[] {idUsuario, termo, lancamento.idLancamento});
+				}
+
+				if(lancamentos.size() >= TAMANHO_LOTE) {
+					gravar(lancamentos, termos);
+				}
+			}
+		}
+		gravar(lancamentos, termos);
+
+		jdbcTemplate.update("update sequencia_id set proximo_valor = ? where nome_sequencia = 'lancamento'", proximoId);
+		consolidarSaldos();
+		inserirRecorrencias(usuarios);
+		return usuarios;
+	}
+
+	public static String email(int indice) {
+		return "carga-" + indice + "@minhasfinancas.com.br";
+	}
+
+	private List<Long> inserirUsuarios(int quantidade) {
+		List<Object[]> usuarios = new ArrayList<>(quantidade);
+		for(int i = 0; i < quantidade; i++) {
+			usuarios.add(new Object[] {"Usuario carga " + i, email(i), SENHA});
+		}
+		jdbcTemplate.batchUpdate("insert into usuario (nome, email, senha) values (?, ?, ?)", usuarios);
+		List<Long> ids = jdbcTemplate.queryForList("select id_usuario from usuario where email like 'carga-%' order by id_usuario", Long.class);
+		if(!ids.isEmpty() && ids.get(0) != ID_ADMINISTRADOR) {
+			throw new IllegalStateException("O primeiro usuário de carga deveria ter o id " + ID_ADMINISTRADOR + ", mas recebeu " + ids.get(0));
+		}
+		return ids;
+	}
+
+	// Poucos usuários concentram a maior parte dos lançamentos, como em uma base real
+	private int[] distribuir(int quantidadeLancamentos, int quantidadeUsuarios) {
+		double[] pesos = new double[quantidadeUsuarios];
+		double soma = 0;
+		for(int i = 0; i < quantidadeUsuarios; i++) {
+			pesos[i] = 1 / Math.pow(i + 1, 0.8);
+			soma += pesos[i];
+		}
+
+		int[] distribuicao = new int[quantidadeUsuarios];
+		int distribuidos = 0;
+		for(int i = 0; i < quantidadeUsuarios; i++) {
+			distribuicao[i] = (int) (quantidadeLancamentos * pesos[i] / soma);
+			distribuidos += distribuicao[i];
+		}
+		distribuicao[0] += quantidadeLancamentos - distribuidos;
+		return distribuicao;
+	}
+
+	private LinhaLancamento gerarLancamento(long idLancamento, Long idUsuario, int ano) {
+		boolean receita = aleatorio.nextInt(5) == 0;
+		String descricao = receita ? RECEITAS[aleatorio.nextInt(RECEITAS.length)] : DESPESAS[aleatorio.nextInt(DESPESAS.length)];
+		int mes = 1 + aleatorio.nextInt(12);
+		long centavos = Math.max(100, Math.min(2_000_000, Math.round(Math.exp(9 + aleatorio.nextGaussian()))));
+
+		int sorteioStatus = aleatorio.nextInt(10);
+		StatusLancamento status = sorteioStatus < 6 ? StatusLancamento.EFETIVADO
+				: sorteioStatus < 9 ? StatusLancamento.PENDENTE : StatusLancamento.CANCELADO;
+
+		return new LinhaLancamento(idLancamento, mes, ano, idUsuario, BigDecimal.valueOf(centavos, 2),
+				LocalDate.of(ano, mes, 1 + aleatorio.nextInt(28)), descricao,
+				receita ? TipoLancamento.RECEITA : TipoLancamento.DESPESA, status);
+	}
+
+	// Uma série mensal sem fim por usuário, ainda sem parcelas geradas, para os endpoints de recorrência
+	private void inserirRecorrencias(List<UsuarioCarga> usuarios) {
+		YearMonth inicio = YearMonth.now();
+		List<Object[]> recorrencias = new ArrayList<>(usuarios.size());
+		for(UsuarioCarga usuario : usuarios) {
+			recorrencias.add(new Object[] {usuario.getIdUsuario(), "Assinatura streaming", BigDecimal.valueOf(3990, 2),
+					TipoLancamento.DESPESA.name(), inicio.getYear(), inicio.getMonthValue()});
+		}
+		jdbcTemplate.batchUpdate("insert into recorrencia_lancamento (id_usuario, descricao, valor_lancamento, tipo_lancamento, "
+				+ "ano_inicio, mes_inicio) values (?, ?, ?, ?, ?, ?)", recorrencias);
+
+		Map<Long, Long> idsPorUsuario = new HashMap<>();
+		jdbcTemplate.query("select id_usuario, id_recorrencia from recorrencia_lancamento",
+				(RowCallbackHandler) linha -> idsPorUsuario.put(linha.getLong(1), linha.getLong(2)));
+		usuarios.forEach(usuario -> usuario.setIdRecorrencia(idsPorUsuario.get(usuario.getIdUsuario())));
+	}
+
+	private void gravar(List<Object[]> lancamentos, List<Object[]> termos) {
+		jdbcTemplate.batchUpdate("insert into lancamento (id_lancamento, mes_lancamento, ano_lancamento, id_usuario, valor_lancamento, "
+				+ "data_cadastro, descricao, tipo_lancamento, status_lancamento) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", lancamentos);
+		jdbcTemplate.batchUpdate("insert into lancamento_termo (id_usuario, termo, id_lancamento) values (?, ?, ?)", termos);
+		lancamentos.clear();
+		termos.clear();
+	}
+
+	private void consolidarSaldos() {
+		jdbcTemplate.update("insert into saldo_usuario (id_usuario, receita_pendente, receita_efetivado, receita_cancelado, "
+				+ "despesa_pendente, despesa_efetivado, despesa_cancelado) "
+				+ "select id_usuario, "
+				+ somaPorTipoEStatus(TipoLancamento.RECEITA, StatusLancamento.PENDENTE) + ", "
+				+ somaPorTipoEStatus(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO) + ", "
+				+ somaPorTipoEStatus(TipoLancamento.RECEITA, StatusLancamento.CANCELADO) + ", "
+				+ somaPorTipoEStatus(TipoLancamento.DESPESA, StatusLancamento.PENDENTE) + ", "
+				+ somaPorTipoEStatus(TipoLancamento.DESPESA, StatusLancamento.EFETIVADO) + ", "
+				+ somaPorTipoEStatus(TipoLancamento.DESPESA, StatusLancamento.CANCELADO) + " "
+				+ "from lancamento group by id_usuario");
+	}
+
+	private String somaPorTipoEStatus(TipoLancamento tipo, StatusLancamento status) {
+		return "coalesce(sum(case when tipo_lancamento = '" + tipo.name() + "' and status_lancamento = '" + status.name()
+				+ "' then valor_lancamento end), 0)";
+	}
+
+	@AllArgsConstructor
+	private static class LinhaLancamento {
+		private final long idLancamento;
+		private final int mes;
+		private final int ano;
+		private final Long idUsuario;
+		private final BigDecimal valor;
+		private final LocalDate dataCadastro;
+		private final String descricao;
+		private final TipoLancamento tipo;
+		private final StatusLancamento status;
+
+		// Na ordem das colunas do insert em gravar
+		Object[] parametros() {
+			return new Object[] {idLancamento, mes, ano, idUsuario, valor, Date.valueOf(dataCadastro), descricao, tipo.name(), status.name()};
+		}
+	}
+}
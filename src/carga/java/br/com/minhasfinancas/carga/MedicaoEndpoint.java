@@ -0,0 +1,55 @@
+package br.com.minhasfinancas.carga;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MedicaoEndpoint {
+
+	public static final int SEM_RESPOSTA = -1;
+
+	private final ConcurrentLinkedQueue<Long> latencias = new ConcurrentLinkedQueue<>();
+	private final Map<Integer, LongAdder> respostasPorStatus = new ConcurrentHashMap<>();
+	private final LongAdder erros = new LongAdder();
+
+	public void registrar(int status, long latenciaNanos) {
+		latencias.add(latenciaNanos);
+		respostasPorStatus.computeIfAbsent(status, chave -> new LongAdder()).increment();
+		if(status == SEM_RESPOSTA || status >= 400) {
+			erros.increment();
+		}
+	}
+
+	public ResultadoEndpoint consolidar(double duracaoSegundos) {
+		long[] ordenadas = latencias.stream().mapToLong(Long::longValue).toArray();
+		Arrays.sort(ordenadas);
+
+		Map<Integer, Long> status = new TreeMap<>();
+		respostasPorStatus.forEach((chave, quantidade) -> status.put(chave, quantidade.sum()));
+
+		return ResultadoEndpoint.builder()
+				.requisicoes(ordenadas.length)
+				.erros(erros.sum())
+				.taxaErro(ordenadas.length == 0 ? 0 : (double) erros.sum() / ordenadas.length)
+				.p50Ms(percentil(ordenadas, 0.50))
+				.p95Ms(percentil(ordenadas, 0.95))
+				.p99Ms(percentil(ordenadas, 0.99))
+				.vazaoPorSegundo(duracaoSegundos == 0 ? 0 : ordenadas.length / duracaoSegundos)
+				.respostasPorStatus(status)
+				.build();
+	}
+
+	// Percentil pelo método do posto mais próximo
+	static double percentil(long[] ordenadas, double percentil) {
+		if(ordenadas.length == 0) {
+			return 0;
+		}
+		int posto = (int) Math.ceil(percentil * ordenadas.length);
+		long nanos = ordenadas[Math.max(0, Math.min(posto, ordenadas.length) - 1)];
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
@@ -0,0 +1,28 @@
+package br.com.minhasfinancas.carga;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatorioCarga {
+	private int usuarios;
+	private int lancamentos;
+	private int concorrencia;
+	private int requisicoes;
+	private double duracaoSegundos;
+	private Map<String, ResultadoEndpoint> endpoints;
+
+	public boolean mesmoCenario(RelatorioCarga outro) {
+		return usuarios == outro.getUsuarios()
+				&& lancamentos == outro.getLancamentos()
+				&& concorrencia == outro.getConcorrencia()
+				&& requisicoes == outro.getRequisicoes();
+	}
+}
@@ -0,0 +1,23 @@
+package br.com.minhasfinancas.carga;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoEndpoint {
+	private long requisicoes;
+	private long erros;
+	private double taxaErro;
+	private double p50Ms;
+	private double p95Ms;
+	private double p99Ms;
+	private double vazaoPorSegundo;
+	private Map<Integer, Long> respostasPorStatus;
+}
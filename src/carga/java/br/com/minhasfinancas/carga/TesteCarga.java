@@ -0,0 +1,124 @@
+package br.com.minhasfinancas.carga;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.com.minhasfinancas.MinhasFinancasApplication;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.service.TokenSessaoService;
+
+public class TesteCarga {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TesteCarga.class);
+	private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	public static void main(String[] args) throws Exception {
+		ConfiguracaoCarga configuracao = ConfiguracaoCarga.lerPropriedadesSistema();
+
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		ConfigurableApplicationContext contexto = new SpringApplicationBuilder(MinhasFinancasApplication.class)
+				.run("--server.port=0",
+						"--spring.jpa.show-sql=false",
+						"--spring.main.banner-mode=off",
+						"--logging.level.root=WARN",
+						"--logging.level.br.com.minhasfinancas.carga=INFO",
+						"--minhasfinancas.saldo.reconciliacao.cron=-",
+						"--minhasfinancas.seguranca.token.segredo=" + UUID.randomUUID() + UUID.randomUUID(),
+						"--minhasfinancas.seguranca.administradores=" + GeradorDadosCarga.ID_ADMINISTRADOR,
+						"--spring.datasource.url=jdbc:h2:mem:carga;MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+		int codigoSaida;
+		try {
+			codigoSaida = executar(contexto, configuracao);
+		} finally {
+			contexto.close();
+		}
+		System.exit(codigoSaida);
+	}
+
+	private static int executar(ConfigurableApplicationContext contexto, ConfiguracaoCarga configuracao) throws Exception {
+		LOGGER.info("Gerando {} lançamento(s) para {} usuário(s)", configuracao.getLancamentos(), configuracao.getUsuarios());
+		long inicioGeracao = System.nanoTime();
+		List<UsuarioCarga> usuarios = new GeradorDadosCarga(contexto.getBean(JdbcTemplate.class))
+				.gerar(configuracao.getUsuarios(), configuracao.getLancamentos());
+		LOGGER.info("Massa de dados gerada em {} s", (System.nanoTime() - inicioGeracao) / 1_000_000_000);
+
+		TokenSessaoService tokenSessaoService = contexto.getBean(TokenSessaoService.class);
+		for(UsuarioCarga usuario : usuarios) {
+			usuario.setToken(tokenSessaoService.emitir(Usuario.builder()
+					.idUsuario(usuario.getIdUsuario())
+					.emailUsuario(usuario.getEmail())
+					.build()).getToken());
+		}
+
+		int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+		ExecutorCarga executor = new ExecutorCarga("http://localhost:" + porta, usuarios, configuracao);
+
+		LOGGER.info("Aquecendo com {} requisição(ões)", configuracao.getAquecimento());
+		executor.executar(configuracao.getAquecimento(), ConfiguracaoCarga.SEMENTE + 1);
+
+		LOGGER.info("Medindo {} requisição(ões) com concorrência {}", configuracao.getRequisicoes(), configuracao.getConcorrencia());
+		RelatorioCarga relatorio = executor.executar(configuracao.getRequisicoes(), ConfiguracaoCarga.SEMENTE);
+		imprimir(relatorio);
+		gravar(relatorio, configuracao.getResultado());
+
+		if(configuracao.isAtualizarBaseline()) {
+			gravar(relatorio, configuracao.getBaseline());
+			LOGGER.info("Baseline atualizada em {}", configuracao.getBaseline());
+			return 0;
+		}
+
+		if(!Files.exists(configuracao.getBaseline())) {
+			LOGGER.warn("Baseline {} não encontrada; execute com -Dcarga.atualizarBaseline=true para registrá-la", configuracao.getBaseline());
+			return 0;
+		}
+
+		RelatorioCarga baseline = MAPPER.readValue(configuracao.getBaseline().toFile(), RelatorioCarga.class);
+		if(!relatorio.mesmoCenario(baseline)) {
+			LOGGER.warn("Baseline registrada com outro cenário de carga; comparação ignorada");
+			return 0;
+		}
+
+		List<String> regressoes = BaselineCarga.buscarRegressoes(relatorio, baseline, configuracao.getTolerancia());
+		if(regressoes.isEmpty()) {
+			LOGGER.info("Nenhuma regressão em relação à baseline (tolerância de {}%)", Math.round(configuracao.getTolerancia() * 100));
+			return 0;
+		}
+
+		regressoes.forEach(regressao -> LOGGER.error("Regressão: {}", regressao));
+		return 1;
+	}
+
+	private static void imprimir(RelatorioCarga relatorio) {
+		StringBuilder tabela = new StringBuilder(String.format("%n%-45s %8s %7s %9s %9s %9s %9s%n",
+				"Endpoint", "Req", "Erros", "p50 ms", "p95 ms", "p99 ms", "req/s"));
+		for(Map.Entry<String, ResultadoEndpoint> entrada : relatorio.getEndpoints().entrySet()) {
+			ResultadoEndpoint resultado = entrada.getValue();
+			tabela.append(String.format("%-45s %8d %7d %9.2f %9.2f %9.2f %9.1f%n", entrada.getKey(), resultado.getRequisicoes(),
+					resultado.getErros(), resultado.getP50Ms(), resultado.getP95Ms(), resultado.getP99Ms(), resultado.getVazaoPorSegundo()));
+		}
+		tabela.append(String.format("Duração total: %.1f s", relatorio.getDuracaoSegundos()));
+		LOGGER.info(tabela.toString());
+	}
+
+	private static void gravar(RelatorioCarga relatorio, Path destino) throws IOException {
+		if(destino.getParent() != null) {
+			Files.createDirectories(destino.getParent());
+		}
+		MAPPER.writeValue(destino.toFile(), relatorio);
+	}
+}
@@ -0,0 +1,71 @@
+package br.com.minhasfinancas.carga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+public class UsuarioCarga {
+
+	private final Long idUsuario;
+	private final String email;
+	private final String senha;
+	private final long primeiroLancamento;
+	private final int lancamentosEditaveis;
+	private final ConcurrentLinkedDeque<Long> reservadosParaExclusao = new ConcurrentLinkedDeque<>();
+	private final AtomicBoolean anoEncerrado = new AtomicBoolean();
+
+	@Setter
+	private String token;
+
+	@Setter
+	private Long idRecorrencia;
+
+	public UsuarioCarga(Long idUsuario, String email, String senha, long primeiroLancamento, int quantidadeLancamentos) {
+		this.idUsuario = idUsuario;
+		this.email = email;
+		this.senha = senha;
+		this.primeiroLancamento = primeiroLancamento;
+
+		int reservados = quantidadeLancamentos / 20;
+		this.lancamentosEditaveis = quantidadeLancamentos - reservados;
+		for(long id = primeiroLancamento + lancamentosEditaveis; id < primeiroLancamento + quantidadeLancamentos; id++) {
+			reservadosParaExclusao.add(id);
+		}
+	}
+
+	public boolean possuiLancamentos() {
+		return lancamentosEditaveis > 0;
+	}
+
+	public long sortearLancamento(Random aleatorio) {
+		return primeiroLancamento + aleatorio.nextInt(lancamentosEditaveis);
+	}
+
+	public List<Long> sortearLancamentos(Random aleatorio, int quantidade) {
+		List<Long> ids = new ArrayList<>(quantidade);
+		for(int i = 0; i < quantidade; i++) {
+			ids.add(sortearLancamento(aleatorio));
+		}
+		return ids;
+	}
+
+	// O ano de encerramento só pode ser encerrado uma vez por usuário
+	public boolean reservarEncerramento() {
+		return anoEncerrado.compareAndSet(false, true);
+	}
+
+	public List<Long> retirarParaExclusao(int quantidade) {
+		List<Long> ids = new ArrayList<>(quantidade);
+		Long id;
+		while(ids.size() < quantidade && (id = reservadosParaExclusao.pollLast()) != null) {
+			ids.add(id);
+		}
+		return ids;
+	}
+}
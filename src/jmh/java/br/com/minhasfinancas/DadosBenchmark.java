@@ -0,0 +1,48 @@
+package br.com.minhasfinancas;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+public final class DadosBenchmark {
+
+	public static final long SEMENTE = 42L;
+
+	private static final String[] DESCRICOES = {
+			"Supermercado", "Aluguel", "Salario", "Conta de luz", "Conta de agua", "Internet",
+			"Farmacia", "Restaurante", "Combustivel", "Academia", "Cinema", "Padaria",
+			"Plano de saude", "Escola", "Presente", "Viagem", "Manutencao do carro", "Roupas",
+			"Freelance", "Dividendos"
+	};
+
+	private DadosBenchmark() {
+	}
+
+	public static List<Lancamento> gerarLancamentos(int quantidade, Usuario usuario) {
+		Random aleatorio = new Random(SEMENTE);
+		StatusLancamento[] status = StatusLancamento.values();
+		List<Lancamento> lancamentos = new ArrayList<>(quantidade);
+		for(int i = 0; i < quantidade; i++) {
+			int ano = 2015 + aleatorio.nextInt(7);
+			int mes = 1 + aleatorio.nextInt(12);
+			lancamentos.add(Lancamento.builder()
+					.descricao(DESCRICOES[aleatorio.nextInt(DESCRICOES.length)] + " " + i)
+					.anoLancamento(ano)
+					.mesLancamento(mes)
+					.valorLancamento(BigDecimal.valueOf(1 + aleatorio.nextInt(500000), 2))
+					.tipoLancamento(aleatorio.nextInt(3) == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+					.statusLancamento(status[aleatorio.nextInt(status.length)])
+					.dataCadastro(LocalDate.of(ano, mes, 1))
+					.usuario(usuario)
+					.build());
+		}
+		return lancamentos;
+	}
+}
@@ -0,0 +1,53 @@
+package br.com.minhasfinancas;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializacaoLancamentoBenchmark {
+
+	@Param({"100", "10000", "100000"})
+	public int quantidade;
+
+	private ObjectMapper objectMapper;
+	private List<Lancamento> lancamentos;
+	private List<LancamentoListagemDTO> listagem;
+
+	@Setup
+	public void preparar() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		Usuario usuario = Usuario.builder().idUsuario(1L).nomeUsuario("north").emailUsuario("north@exe.bol").build();
+		lancamentos = DadosBenchmark.gerarLancamentos(quantidade, usuario);
+		listagem = lancamentos.stream().map(LancamentoListagemDTO::de).collect(Collectors.toList());
+	}
+
+	@Benchmark
+	public byte[] serializarLancamentos() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(lancamentos);
+	}
+
+	@Benchmark
+	public byte[] serializarListagem() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(listagem);
+	}
+}
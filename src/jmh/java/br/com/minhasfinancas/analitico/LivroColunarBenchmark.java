@@ -0,0 +1,61 @@
+package br.com.minhasfinancas.analitico;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.minhasfinancas.DadosBenchmark;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LivroColunarBenchmark {
+
+	@Param({"1000", "10000", "100000"})
+	public int quantidade;
+
+	private LivroColunar livro;
+	private int inicio;
+	private int fim;
+	private long[] totais;
+
+	@Setup
+	public void preparar() {
+		List<Lancamento> lancamentos = DadosBenchmark.gerarLancamentos(quantidade, Usuario.builder().idUsuario(1L).build());
+		livro = new LivroColunar(quantidade);
+		long id = 1;
+		for(Lancamento lancamento : lancamentos) {
+			livro.registrar(id++, LivroColunar.centavos(lancamento.getValorLancamento()),
+					LivroColunar.empacotar(lancamento.getAnoLancamento(), lancamento.getMesLancamento()),
+					LivroColunar.tipo(lancamento.getTipoLancamento()), LivroColunar.status(lancamento.getStatusLancamento()));
+		}
+		inicio = LivroColunar.empacotar(2015, 1);
+		fim = LivroColunar.empacotar(2021, 12);
+		totais = new long[(fim - inicio + 1) * LivroColunar.TIPOS * LivroColunar.STATUS];
+	}
+
+	@Benchmark
+	public long somarDespesasEfetivadas() {
+		return livro.somar(inicio, fim, LivroColunar.tipo(TipoLancamento.DESPESA), LivroColunar.status(StatusLancamento.EFETIVADO));
+	}
+
+	@Benchmark
+	public long[] agruparPorMesTipoEStatus() {
+		Arrays.fill(totais, 0);
+		livro.somarPorMesTipoEStatus(inicio, fim, totais);
+		return totais;
+	}
+}
@@ -0,0 +1,46 @@
+package br.com.minhasfinancas.controller;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.minhasfinancas.dto.LancamentoDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.security.UsuarioAutenticado;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConversaoLancamentoBenchmark {
+
+	private LancamentoController lancamentoController;
+	private LancamentoDTO dto;
+	private UsuarioAutenticado usuarioAutenticado;
+
+	@Setup
+	public void preparar() {
+		lancamentoController = new LancamentoController();
+		usuarioAutenticado = new UsuarioAutenticado(1L, "north@exe.bol");
+		dto = LancamentoDTO.builder()
+				.idLancamento(1L)
+				.descricao("Supermercado do mês")
+				.mesLancamento(7)
+				.anoLancamento(2021)
+				.valorLancamento(BigDecimal.valueOf(350))
+				.tipoLancamento("DESPESA")
+				.statusLancamento("PENDENTE")
+				.build();
+	}
+
+	@Benchmark
+	public Lancamento converter() {
+		return lancamentoController.converter(dto, usuarioAutenticado);
+	}
+}
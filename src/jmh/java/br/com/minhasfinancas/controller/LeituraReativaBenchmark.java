@@ -0,0 +1,113 @@
+package br.com.minhasfinancas.controller;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.minhasfinancas.DadosBenchmark;
+import br.com.minhasfinancas.MinhasFinancasApplication;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.service.LancamentoService;
+import br.com.minhasfinancas.service.TokenSessaoService;
+import br.com.minhasfinancas.service.UsuarioService;
+
+// Cada operação dispara "concorrencia" requisições simultâneas contra um Tomcat limitado a THREADS_SERVLET threads.
+// Com H2 o driver R2DBC executa a consulta na thread que assina; para medir o ganho real de E/S não bloqueante,
+// aponte para um MySQL com -Dbenchmark.jdbc.url=... e -Dbenchmark.r2dbc.url=...
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LeituraReativaBenchmark {
+
+	private static final int THREADS_SERVLET = 16;
+
+	@Param({"16", "128", "512"})
+	public int concorrencia;
+
+	@Param({"/api/lancamentos?tamanho=50", "/api/reativo/lancamentos?tamanho=50",
+			"/api/usuarios/{id}/saldo", "/api/reativo/usuarios/{id}/saldo"})
+	public String endpoint;
+
+	private ConfigurableApplicationContext contexto;
+	private ExecutorService executor;
+	private HttpClient cliente;
+	private HttpRequest requisicao;
+
+	@Setup
+	public void preparar() {
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		contexto = new SpringApplicationBuilder(MinhasFinancasApplication.class)
+				.run("--server.port=0",
+						"--server.tomcat.threads.max=" + THREADS_SERVLET,
+						"--spring.jpa.show-sql=false",
+						"--spring.main.banner-mode=off",
+						"--logging.level.root=WARN",
+						"--minhasfinancas.saldo.reconciliacao.cron=-",
+						"--spring.datasource.url=" + System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:leitura_reativa;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+						"--minhasfinancas.reativo.url=" + System.getProperty("benchmark.r2dbc.url", "r2dbc:h2:mem:///leitura_reativa"));
+
+		Usuario usuario = contexto.getBean(UsuarioService.class).salvarUsuario(Usuario.builder()
+				.nomeUsuario("benchmark")
+				.emailUsuario("benchmark-" + System.nanoTime() + "@minhasfinancas.com.br")
+				.senhaUsuario("benchmark")
+				.build());
+		List<Lancamento> lancamentos = DadosBenchmark.gerarLancamentos(LancamentoService.TAMANHO_MAXIMO_LOTE, Usuario.builder().idUsuario(usuario.getIdUsuario()).build());
+		contexto.getBean(LancamentoService.class).salvarLote(lancamentos);
+		String token = contexto.getBean(TokenSessaoService.class).emitir(usuario).getToken();
+
+		int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+		executor = Executors.newFixedThreadPool(4);
+		cliente = HttpClient.newBuilder()
+				.executor(executor)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+		requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + endpoint.replace("{id}", String.valueOf(usuario.getIdUsuario()))))
+				.header("Authorization", "Bearer " + token)
+				.timeout(Duration.ofSeconds(60))
+				.GET()
+				.build();
+	}
+
+	@TearDown
+	public void encerrar() {
+		executor.shutdownNow();
+		contexto.close();
+	}
+
+	@Benchmark
+	public int requisicoesSimultaneas() {
+		CompletableFuture<?>[] respostas = new CompletableFuture<?>[concorrencia];
+		for(int i = 0; i < concorrencia; i++) {
+			respostas[i] = cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+					.thenApply(resposta -> {
+						if(resposta.statusCode() != 200) {
+							throw new IllegalStateException("Status inesperado " + resposta.statusCode() + " em " + endpoint);
+						}
+						return resposta;
+					});
+		}
+		CompletableFuture.allOf(respostas).join();
+		return respostas.length;
+	}
+}
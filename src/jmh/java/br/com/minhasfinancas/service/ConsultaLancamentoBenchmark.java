@@ -0,0 +1,89 @@
+package br.com.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.minhasfinancas.DadosBenchmark;
+import br.com.minhasfinancas.MinhasFinancasApplication;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.projection.TotalPorTipoEStatus;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConsultaLancamentoBenchmark {
+
+	@Param({"1000", "10000", "100000"})
+	public int quantidade;
+
+	private ConfigurableApplicationContext contexto;
+	private LancamentoService lancamentoService;
+	private LancamentoRepository lancamentoRepository;
+	private Long idUsuario;
+	private Lancamento filtroDescricao;
+
+	@Setup
+	public void preparar() {
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		contexto = new SpringApplicationBuilder(MinhasFinancasApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--spring.jpa.show-sql=false",
+						"--spring.main.banner-mode=off",
+						"--logging.level.root=WARN",
+						"--spring.datasource.url=jdbc:h2:mem:benchmark_" + quantidade + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+		lancamentoService = contexto.getBean(LancamentoService.class);
+		lancamentoRepository = contexto.getBean(LancamentoRepository.class);
+
+		Usuario usuario = contexto.getBean(UsuarioService.class).salvarUsuario(Usuario.builder()
+				.nomeUsuario("benchmark")
+				.emailUsuario("benchmark@minhasfinancas.com.br")
+				.senhaUsuario("benchmark")
+				.build());
+		idUsuario = usuario.getIdUsuario();
+
+		List<Lancamento> lancamentos = DadosBenchmark.gerarLancamentos(quantidade, Usuario.builder().idUsuario(idUsuario).build());
+		for(int inicio = 0; inicio < lancamentos.size(); inicio += LancamentoService.TAMANHO_MAXIMO_LOTE) {
+			lancamentoService.salvarLote(lancamentos.subList(inicio, Math.min(inicio + LancamentoService.TAMANHO_MAXIMO_LOTE, lancamentos.size())));
+		}
+
+		filtroDescricao = new Lancamento();
+		filtroDescricao.setDescricao("mercado");
+		filtroDescricao.setUsuario(Usuario.builder().idUsuario(idUsuario).build());
+	}
+
+	@TearDown
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public BigDecimal obterSaldoPorUsuario() {
+		return lancamentoService.obterSaldoPorUsuario(idUsuario);
+	}
+
+	@Benchmark
+	public List<TotalPorTipoEStatus> agregarTotaisPorTipoEStatus() {
+		return lancamentoRepository.buscarTotaisPorTipoEStatus(idUsuario);
+	}
+
+	@Benchmark
+	public List<Lancamento> buscarLancamentoPorExemplo() {
+		return lancamentoService.buscarLancamento(filtroDescricao);
+	}
+}
@@ -0,0 +1,66 @@
+package br.com.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidacaoLancamentoBenchmark {
+
+	private LancamentoService lancamentoService;
+	private Lancamento lancamentoValido;
+	private Lancamento lancamentoInvalido;
+
+	@Setup
+	public void preparar() {
+		lancamentoService = new LancamentoService();
+		lancamentoValido = Lancamento.builder()
+				.idLancamento(1L)
+				.descricao("Supermercado do mês")
+				.mesLancamento(7)
+				.anoLancamento(2021)
+				.valorLancamento(BigDecimal.valueOf(350))
+				.tipoLancamento(TipoLancamento.DESPESA)
+				.statusLancamento(StatusLancamento.PENDENTE)
+				.dataCadastro(LocalDate.of(2021, 7, 1))
+				.usuario(Usuario.builder().idUsuario(1L).build())
+				.build();
+		lancamentoInvalido = Lancamento.builder()
+				.descricao("Supermercado do mês")
+				.mesLancamento(13)
+				.anoLancamento(2021)
+				.build();
+	}
+
+	@Benchmark
+	public Lancamento validarLancamentoValido() {
+		lancamentoService.validarLancamento(lancamentoValido);
+		return lancamentoValido;
+	}
+
+	@Benchmark
+	public void validarLancamentoInvalido(Blackhole blackhole) {
+		try {
+			lancamentoService.validarLancamento(lancamentoInvalido);
+		} catch(RegraNegocioException e) {
+			blackhole.consume(e);
+		}
+	}
+}
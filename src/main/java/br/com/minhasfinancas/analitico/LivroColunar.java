@@ -0,0 +1,229 @@
+package br.com.minhasfinancas.analitico;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+// Lançamentos de um usuário em colunas primitivas; as agregações percorrem os arrays sem alocar
+public class LivroColunar {
+
+	public static final int QUALQUER = -1;
+	public static final int TIPOS = TipoLancamento.values().length;
+	public static final int STATUS = StatusLancamento.values().length;
+
+	private static final int CAPACIDADE_INICIAL = 64;
+
+	private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+	private final Map<Long, Integer> posicoes;
+
+	private long[] ids;
+	private long[] centavos;
+	private int[] anoMes;
+	private byte[] tipos;
+	private byte[] status;
+	private int tamanho;
+
+	public LivroColunar(int capacidade) {
+		int inicial = Math.max(CAPACIDADE_INICIAL, capacidade);
+		ids = new long[inicial];
+		centavos = new long[inicial];
+		anoMes = new int[inicial];
+		tipos = new byte[inicial];
+		status = new byte[inicial];
+		posicoes = new HashMap<>(inicial * 4 / 3 + 1);
+	}
+
+	public static int empacotar(int ano, int mes) {
+		return ano * 12 + mes - 1;
+	}
+
+	public static int ano(int anoMes) {
+		return anoMes / 12;
+	}
+
+	public static int mes(int anoMes) {
+		return anoMes % 12 + 1;
+	}
+
+	public static long centavos(BigDecimal valor) {
+		return valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+	}
+
+	public static BigDecimal valor(long centavos) {
+		return BigDecimal.valueOf(centavos, 2);
+	}
+
+	public static int tipo(TipoLancamento tipoLancamento) {
+		return tipoLancamento.ordinal();
+	}
+
+	// Status nulo conta como pendente, como em SaldoUsuario.somar e FiltroLoteLancamento
+	public static int status(StatusLancamento statusLancamento) {
+		return statusLancamento == null ? StatusLancamento.PENDENTE.ordinal() : statusLancamento.ordinal();
+	}
+
+	public int getTamanho() {
+		trava.readLock().lock();
+		try {
+			return tamanho;
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	public void registrar(long idLancamento, long valorCentavos, int anoMesLancamento, int tipo, int statusLancamento) {
+		trava.writeLock().lock();
+		try {
+			Integer posicao = posicoes.get(idLancamento);
+			int indice;
+			if(posicao == null) {
+				garantirCapacidade(tamanho + 1);
+				indice = tamanho++;
+				ids[indice] = idLancamento;
+				posicoes.put(idLancamento, indice);
+			} else {
+				indice = posicao;
+			}
+			centavos[indice] = valorCentavos;
+			anoMes[indice] = anoMesLancamento;
+			tipos[indice] = (byte) tipo;
+			status[indice] = (byte) statusLancamento;
+		} finally {
+			trava.writeLock().unlock();
+		}
+	}
+
+	public void remover(long idLancamento) {
+		trava.writeLock().lock();
+		try {
+			Integer posicao = posicoes.remove(idLancamento);
+			if(posicao != null) {
+				removerPosicao(posicao);
+			}
+		} finally {
+			trava.writeLock().unlock();
+		}
+	}
+
+	// Aplica uma operação em lote selecionada por filtro; novoStatus nulo remove os lançamentos selecionados
+	public int aplicarEmLote(long[] idsSelecionados, int anoLancamento, int mesLancamento, int statusAtual, int excetoStatus, int novoStatus) {
+		trava.writeLock().lock();
+		try {
+			long[] selecionados = idsSelecionados == null ? null : idsSelecionados.clone();
+			if(selecionados != null) {
+				Arrays.sort(selecionados);
+			}
+
+			int afetados = 0;
+			int indice = 0;
+			while(indice < tamanho) {
+				boolean selecionado = (selecionados == null || Arrays.binarySearch(selecionados, ids[indice]) >= 0)
+						&& (anoLancamento == QUALQUER || ano(anoMes[indice]) == anoLancamento)
+						&& (mesLancamento == QUALQUER || mes(anoMes[indice]) == mesLancamento)
+						&& (statusAtual == QUALQUER || status[indice] == statusAtual)
+						&& (excetoStatus == QUALQUER || status[indice] != excetoStatus);
+				if(!selecionado) {
+					indice++;
+					continue;
+				}
+
+				afetados++;
+				if(novoStatus == QUALQUER) {
+					posicoes.remove(ids[indice]);
+					removerPosicao(indice);
+				} else {
+					status[indice] = (byte) novoStatus;
+					indice++;
+				}
+			}
+			return afetados;
+		} finally {
+			trava.writeLock().unlock();
+		}
+	}
+
+	public long somar(int anoMesInicio, int anoMesFim, int tipo, int statusLancamento) {
+		trava.readLock().lock();
+		try {
+			long soma = 0;
+			for(int i = 0; i < tamanho; i++) {
+				int periodo = anoMes[i];
+				if(periodo >= anoMesInicio && periodo <= anoMesFim
+						&& (tipo == QUALQUER || tipos[i] == tipo)
+						&& (statusLancamento == QUALQUER || status[i] == statusLancamento)) {
+					soma += centavos[i];
+				}
+			}
+			return soma;
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	public int contar(int anoMesInicio, int anoMesFim, int tipo, int statusLancamento) {
+		trava.readLock().lock();
+		try {
+			int quantidade = 0;
+			for(int i = 0; i < tamanho; i++) {
+				int periodo = anoMes[i];
+				if(periodo >= anoMesInicio && periodo <= anoMesFim
+						&& (tipo == QUALQUER || tipos[i] == tipo)
+						&& (statusLancamento == QUALQUER || status[i] == statusLancamento)) {
+					quantidade++;
+				}
+			}
+			return quantidade;
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	// destino[((anoMes - anoMesInicio) * TIPOS + tipo) * STATUS + status] acumula os centavos de cada combinação
+	public void somarPorMesTipoEStatus(int anoMesInicio, int anoMesFim, long[] destino) {
+		if(destino.length < (anoMesFim - anoMesInicio + 1) * TIPOS * STATUS) {
+			throw new IllegalArgumentException("Destino menor que o período informado");
+		}
+
+		trava.readLock().lock();
+		try {
+			for(int i = 0; i < tamanho; i++) {
+				int periodo = anoMes[i];
+				if(periodo >= anoMesInicio && periodo <= anoMesFim) {
+					destino[((periodo - anoMesInicio) * TIPOS + tipos[i]) * STATUS + status[i]] += centavos[i];
+				}
+			}
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	private void removerPosicao(int indice) {
+		int ultimo = --tamanho;
+		if(indice != ultimo) {
+			ids[indice] = ids[ultimo];
+			centavos[indice] = centavos[ultimo];
+			anoMes[indice] = anoMes[ultimo];
+			tipos[indice] = tipos[ultimo];
+			status[indice] = status[ultimo];
+			posicoes.put(ids[indice], indice);
+		}
+	}
+
+	private void garantirCapacidade(int necessaria) {
+		if(necessaria <= ids.length) {
+			return;
+		}
+		int capacidade = Math.max(necessaria, ids.length + (ids.length >> 1));
+		ids = Arrays.copyOf(ids, capacidade);
+		centavos = Arrays.copyOf(centavos, capacidade);
+		anoMes = Arrays.copyOf(anoMes, capacidade);
+		tipos = Arrays.copyOf(tipos, capacidade);
+		status = Arrays.copyOf(status, capacidade);
+	}
+}
@@ -0,0 +1,213 @@
+package br.com.minhasfinancas.analitico;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.projection.ColunasLancamento;
+import br.com.minhasfinancas.service.ArquivamentoService;
+
+// Mantém em memória os livros colunares dos usuários consultados mais recentemente.
+// As escritas do LancamentoService são aplicadas após o commit; uma escrita que chega durante a carga
+// do livro faz a carga ser descartada em vez de guardar um livro sem ela.
+@Component
+public class MotorAnalitico {
+
+	private final Map<Long, LivroColunar> livros;
+	private final Map<Long, Carga> cargas = new HashMap<>();
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private ArquivamentoService arquivamentoService;
+
+	public MotorAnalitico(@Value("${minhasfinancas.analitico.usuarios-maximo:1000}") int usuariosMaximo) {
+		this.livros = new LinkedHashMap<Long, LivroColunar>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, LivroColunar> maisAntigo) {
+				return size() > usuariosMaximo;
+			}
+		};
+	}
+
+	public LivroColunar obterLivro(Long idUsuario) {
+		Carga carga;
+		boolean carregar = false;
+		synchronized(this) {
+			LivroColunar livro = livros.get(idUsuario);
+			if(livro != null) {
+				return livro;
+			}
+			carga = cargas.get(idUsuario);
+			if(carga == null) {
+				carga = new Carga();
+				cargas.put(idUsuario, carga);
+				carregar = true;
+			}
+		}
+
+		if(!carregar) {
+			return carga.resultado.join();
+		}
+
+		try {
+			LivroColunar livro = carregar(idUsuario);
+			synchronized(this) {
+				cargas.remove(idUsuario);
+				if(!carga.invalidada) {
+					livros.put(idUsuario, livro);
+				}
+			}
+			carga.resultado.complete(livro);
+			return livro;
+		} catch(RuntimeException e) {
+			synchronized(this) {
+				cargas.remove(idUsuario);
+			}
+			carga.resultado.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	public synchronized boolean estaCarregado(Long idUsuario) {
+		return livros.containsKey(idUsuario);
+	}
+
+	public synchronized int getUsuariosCarregados() {
+		return livros.size();
+	}
+
+	public void registrar(Lancamento lancamento) {
+		Consumer<LivroColunar> alteracao = alteracaoRegistro(lancamento);
+		if(alteracao != null) {
+			aposCommit(lancamento.getUsuario().getIdUsuario(), alteracao);
+		}
+	}
+
+	public void registrarLote(Collection<Lancamento> lancamentos) {
+		Map<Long, List<Consumer<LivroColunar>>> alteracoes = new LinkedHashMap<>();
+		for(Lancamento lancamento : lancamentos) {
+			Consumer<LivroColunar> alteracao = alteracaoRegistro(lancamento);
+			if(alteracao != null) {
+				alteracoes.computeIfAbsent(lancamento.getUsuario().getIdUsuario(), id -> new ArrayList<>()).add(alteracao);
+			}
+		}
+		alteracoes.forEach((idUsuario, doUsuario) -> aposCommit(idUsuario, livro -> doUsuario.forEach(alteracao -> alteracao.accept(livro))));
+	}
+
+	public void remover(Long idUsuario, Long idLancamento) {
+		if(idUsuario == null || idLancamento == null) {
+			return;
+		}
+		aposCommit(idUsuario, livro -> livro.remover(idLancamento));
+	}
+
+	// novoStatus nulo indica que os lançamentos do filtro foram removidos
+	public void aplicarEmLote(FiltroLoteLancamento filtro, StatusLancamento novoStatus) {
+		if(filtro.getIdUsuario() == null) {
+			return;
+		}
+
+		long[] ids = filtro.getIdsLancamentos() == null || filtro.getIdsLancamentos().isEmpty() ? null
+				: filtro.getIdsLancamentos().stream().mapToLong(Long::longValue).toArray();
+		int ano = filtro.getAnoLancamento() == null ? LivroColunar.QUALQUER : filtro.getAnoLancamento();
+		int mes = filtro.getMesLancamento() == null ? LivroColunar.QUALQUER : filtro.getMesLancamento();
+		int statusAtual = filtro.getStatusAtual() == null ? LivroColunar.QUALQUER : LivroColunar.status(filtro.getStatusAtual());
+		int excetoStatus = filtro.getExcetoStatus() == null ? LivroColunar.QUALQUER : LivroColunar.status(filtro.getExcetoStatus());
+		int status = novoStatus == null ? LivroColunar.QUALQUER : LivroColunar.status(novoStatus);
+		aposCommit(filtro.getIdUsuario(), livro -> livro.aplicarEmLote(ids, ano, mes, statusAtual, excetoStatus, status));
+	}
+
+	public synchronized void invalidar(Long idUsuario) {
+		livros.remove(idUsuario);
+		Carga carga = cargas.get(idUsuario);
+		if(carga != null) {
+			carga.invalidada = true;
+		}
+	}
+
+	private LivroColunar carregar(Long idUsuario) {
+		List<ColunasLancamento> linhas = lancamentoRepository.buscarColunasAnaliticas(idUsuario);
+		List<Lancamento> arquivados = arquivamentoService.lerArquivados(idUsuario);
+		LivroColunar livro = new LivroColunar(linhas.size() + arquivados.size());
+		for(Lancamento arquivado : arquivados) {
+			Consumer<LivroColunar> registro = alteracaoRegistro(arquivado);
+			if(registro != null) {
+				registro.accept(livro);
+			}
+		}
+		for(ColunasLancamento linha : linhas) {
+			if(linha.getValorLancamento() == null || linha.getTipoLancamento() == null
+					|| linha.getAnoLancamento() == null || linha.getMesLancamento() == null) {
+				continue;
+			}
+			livro.registrar(linha.getIdLancamento(), LivroColunar.centavos(linha.getValorLancamento()),
+					LivroColunar.empacotar(linha.getAnoLancamento(), linha.getMesLancamento()),
+					LivroColunar.tipo(linha.getTipoLancamento()), LivroColunar.status(linha.getStatusLancamento()));
+		}
+		return livro;
+	}
+
+	private void aposCommit(Long idUsuario, Consumer<LivroColunar> alteracao) {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			aplicar(idUsuario, alteracao);
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				aplicar(idUsuario, alteracao);
+			}
+		});
+	}
+
+	private synchronized void aplicar(Long idUsuario, Consumer<LivroColunar> alteracao) {
+		LivroColunar livro = livros.get(idUsuario);
+		if(livro != null) {
+			alteracao.accept(livro);
+		}
+		Carga carga = cargas.get(idUsuario);
+		if(carga != null) {
+			carga.invalidada = true;
+		}
+	}
+
+	private Consumer<LivroColunar> alteracaoRegistro(Lancamento lancamento) {
+		if(lancamento.getUsuario() == null || lancamento.getUsuario().getIdUsuario() == null || lancamento.getIdLancamento() == null
+				|| lancamento.getValorLancamento() == null || lancamento.getTipoLancamento() == null
+				|| lancamento.getAnoLancamento() == null || lancamento.getMesLancamento() == null) {
+			return null;
+		}
+
+		long idLancamento = lancamento.getIdLancamento();
+		long centavos = LivroColunar.centavos(lancamento.getValorLancamento());
+		int anoMes = LivroColunar.empacotar(lancamento.getAnoLancamento(), lancamento.getMesLancamento());
+		int tipo = LivroColunar.tipo(lancamento.getTipoLancamento());
+		int status = LivroColunar.status(lancamento.getStatusLancamento());
+		return livro -> livro.registrar(idLancamento, centavos, anoMes, tipo, status);
+	}
+
+	private static class Carga {
+		private final CompletableFuture<LivroColunar> resultado = new CompletableFuture<>();
+		private volatile boolean invalidada;
+	}
+}
@@ -0,0 +1,221 @@
+package br.com.minhasfinancas.arquivo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+// Um arquivo por usuário, só com acréscimos: cada segmento guarda um ano encerrado, com cabeçalho
+// (assinatura, ano, quantidade, tamanho e CRC) seguido dos lançamentos comprimidos com Deflate.
+// A leitura mapeia o arquivo em memória; um segmento repetido para o mesmo ano substitui o anterior, e um segmento
+// cujo ano não tem resumo no banco (gravado por uma transação desfeita) é ignorado pelo ArquivamentoService.
+// O arquivo é a única cópia dos anos encerrados: o diretório precisa ser durável (nada de disco efêmero do contêiner)
+// e, com mais de uma instância, compartilhado entre todas ou com o encerramento e a leitura fixados em um único nó.
+@Component
+public class ArquivoLancamentos {
+
+	private static final int ASSINATURA = 0x4D464131;
+	private static final int TAMANHO_CABECALHO = 4 + 4 + 4 + 4 + 8;
+	private static final byte AUSENTE = -1;
+
+	private final Path diretorio;
+
+	// Sem diretório padrão: um caminho relativo cairia no diretório de trabalho do processo, que pode não sobreviver à reinicialização
+	public ArquivoLancamentos(@Value("${minhasfinancas.arquivo.diretorio:}") String diretorio) {
+		if(diretorio == null || diretorio.isBlank()) {
+			throw new IllegalStateException("O diretório do arquivo de lançamentos não foi definido; informe MINHASFINANCAS_ARQUIVO_DIRETORIO");
+		}
+		this.diretorio = Paths.get(diretorio);
+		if(!this.diretorio.isAbsolute()) {
+			throw new IllegalStateException("O diretório do arquivo de lançamentos deve ser um caminho absoluto: " + diretorio);
+		}
+		if(!Files.isDirectory(this.diretorio) || !Files.isWritable(this.diretorio)) {
+			throw new IllegalStateException("O diretório do arquivo de lançamentos deve existir e permitir escrita: " + diretorio);
+		}
+	}
+
+	public void anexar(Long idUsuario, int anoLancamento, List<Lancamento> lancamentos) {
+		byte[] comprimido = comprimir(lancamentos);
+		CRC32 crc = new CRC32();
+		crc.update(comprimido);
+
+		ByteBuffer segmento = ByteBuffer.allocate(TAMANHO_CABECALHO + comprimido.length)
+				.putInt(ASSINATURA)
+				.putInt(anoLancamento)
+				.putInt(lancamentos.size())
+				.putInt(comprimido.length)
+				.putLong(crc.getValue())
+				.put(comprimido);
+		segmento.flip();
+
+		try(FileChannel canal = FileChannel.open(caminho(idUsuario), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			long posicao = canal.size();
+			while(segmento.hasRemaining()) {
+				posicao += canal.write(segmento, posicao);
+			}
+			canal.force(true);
+		} catch(IOException e) {
+			throw new UncheckedIOException("Não foi possível gravar o arquivo de lançamentos do usuário " + idUsuario, e);
+		}
+	}
+
+	// Posição do último segmento de cada ano; um segmento incompleto no fim, de uma escrita interrompida, é ignorado
+	public NavigableMap<Integer, Long> lerSegmentos(Long idUsuario) {
+		NavigableMap<Integer, Long> segmentos = new TreeMap<>();
+		Path caminho = caminho(idUsuario);
+		if(!Files.exists(caminho)) {
+			return segmentos;
+		}
+
+		try(FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+			MappedByteBuffer mapa = canal.map(MapMode.READ_ONLY, 0, canal.size());
+			int posicao = 0;
+			while(posicao + TAMANHO_CABECALHO <= mapa.limit()) {
+				if(mapa.getInt(posicao) != ASSINATURA) {
+					throw new IOException("Arquivo de lançamentos corrompido em " + caminho + " na posição " + posicao);
+				}
+				int tamanho = mapa.getInt(posicao + 12);
+				if(posicao + TAMANHO_CABECALHO + tamanho > mapa.limit()) {
+					break;
+				}
+				segmentos.put(mapa.getInt(posicao + 4), (long) posicao);
+				posicao += TAMANHO_CABECALHO + tamanho;
+			}
+		} catch(IOException e) {
+			throw new UncheckedIOException("Não foi possível ler o arquivo de lançamentos do usuário " + idUsuario, e);
+		}
+		return segmentos;
+	}
+
+	public List<Lancamento> ler(Long idUsuario, long posicao) {
+		Path caminho = caminho(idUsuario);
+		try(FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+			MappedByteBuffer cabecalho = canal.map(MapMode.READ_ONLY, posicao, TAMANHO_CABECALHO);
+			if(cabecalho.getInt() != ASSINATURA) {
+				throw new IOException("Arquivo de lançamentos corrompido em " + caminho + " na posição " + posicao);
+			}
+			int anoLancamento = cabecalho.getInt();
+			int quantidade = cabecalho.getInt();
+			int tamanho = cabecalho.getInt();
+			long crcEsperado = cabecalho.getLong();
+
+			MappedByteBuffer dados = canal.map(MapMode.READ_ONLY, posicao + TAMANHO_CABECALHO, tamanho);
+			byte[] comprimido = new byte[tamanho];
+			dados.get(comprimido);
+			CRC32 crc = new CRC32();
+			crc.update(comprimido);
+			if(crc.getValue() != crcEsperado) {
+				throw new IOException("Segmento com CRC inválido em " + caminho + " na posição " + posicao);
+			}
+
+			return descomprimir(idUsuario, anoLancamento, quantidade, comprimido);
+		} catch(IOException e) {
+			throw new UncheckedIOException("Não foi possível ler o arquivo de lançamentos do usuário " + idUsuario, e);
+		}
+	}
+
+	private Path caminho(Long idUsuario) {
+		return diretorio.resolve("usuario-" + idUsuario + ".arq");
+	}
+
+	private byte[] comprimir(List<Lancamento> lancamentos) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(DataOutputStream saida = new DataOutputStream(new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_COMPRESSION)))) {
+			for(Lancamento lancamento : lancamentos) {
+				saida.writeLong(lancamento.getIdLancamento());
+				saida.writeByte(lancamento.getMesLancamento() == null ? AUSENTE : lancamento.getMesLancamento());
+				escreverTexto(saida, lancamento.getValorLancamento() == null ? null : lancamento.getValorLancamento().toPlainString());
+				saida.writeByte(lancamento.getTipoLancamento() == null ? AUSENTE : lancamento.getTipoLancamento().ordinal());
+				saida.writeByte(lancamento.getStatusLancamento() == null ? AUSENTE : lancamento.getStatusLancamento().ordinal());
+				escreverTexto(saida, lancamento.getDescricao());
+				escreverLong(saida, lancamento.getDataCadastro() == null ? null : lancamento.getDataCadastro().toEpochDay());
+				escreverLong(saida, lancamento.getVersao());
+				escreverLong(saida, lancamento.getIdRecorrencia());
+				escreverLong(saida, lancamento.getNumeroParcela() == null ? null : lancamento.getNumeroParcela().longValue());
+			}
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private List<Lancamento> descomprimir(Long idUsuario, int anoLancamento, int quantidade, byte[] comprimido) throws IOException {
+		Usuario usuario = Usuario.builder().idUsuario(idUsuario).build();
+		List<Lancamento> lancamentos = new ArrayList<>(quantidade);
+		try(DataInputStream entrada = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(comprimido)))) {
+			for(int i = 0; i < quantidade; i++) {
+				Lancamento lancamento = new Lancamento();
+				lancamento.setIdLancamento(entrada.readLong());
+				lancamento.setAnoLancamento(anoLancamento);
+				byte mes = entrada.readByte();
+				lancamento.setMesLancamento(mes == AUSENTE ? null : (int) mes);
+				String valor = lerTexto(entrada);
+				lancamento.setValorLancamento(valor == null ? null : new BigDecimal(valor));
+				byte tipo = entrada.readByte();
+				lancamento.setTipoLancamento(tipo == AUSENTE ? null : TipoLancamento.values()[tipo]);
+				byte status = entrada.readByte();
+				lancamento.setStatusLancamento(status == AUSENTE ? null : StatusLancamento.values()[status]);
+				lancamento.setDescricao(lerTexto(entrada));
+				Long dataCadastro = lerLong(entrada);
+				lancamento.setDataCadastro(dataCadastro == null ? null : LocalDate.ofEpochDay(dataCadastro));
+				lancamento.setVersao(lerLong(entrada));
+				lancamento.setIdRecorrencia(lerLong(entrada));
+				Long numeroParcela = lerLong(entrada);
+				lancamento.setNumeroParcela(numeroParcela == null ? null : numeroParcela.intValue());
+				lancamento.setUsuario(usuario);
+				lancamentos.add(lancamento);
+			}
+		}
+		return lancamentos;
+	}
+
+	private void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+		saida.writeBoolean(texto != null);
+		if(texto != null) {
+			saida.writeUTF(texto);
+		}
+	}
+
+	private String lerTexto(DataInputStream entrada) throws IOException {
+		return entrada.readBoolean() ? entrada.readUTF() : null;
+	}
+
+	private void escreverLong(DataOutputStream saida, Long valor) throws IOException {
+		saida.writeBoolean(valor != null);
+		if(valor != null) {
+			saida.writeLong(valor);
+		}
+	}
+
+	private Long lerLong(DataInputStream entrada) throws IOException {
+		return entrada.readBoolean() ? entrada.readLong() : null;
+	}
+}
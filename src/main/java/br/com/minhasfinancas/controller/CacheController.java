@@ -0,0 +1,32 @@
+package br.com.minhasfinancas.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.minhasfinancas.dto.EstatisticaCacheDTO;
+import br.com.minhasfinancas.service.EstatisticaCacheService;
+
+@RestController
+@RequestMapping(path = "/api/cache")
+public class CacheController {
+
+	@Autowired
+	private EstatisticaCacheService estatisticaCacheService;
+
+	@GetMapping(path = "/estatisticas")
+	public ResponseEntity<List<EstatisticaCacheDTO>> obterEstatisticas() {
+		return ResponseEntity.ok(estatisticaCacheService.obterEstatisticas());
+	}
+
+	@DeleteMapping(path = "/estatisticas")
+	public ResponseEntity<Object> limparEstatisticas() {
+		estatisticaCacheService.limparEstatisticas();
+		return ResponseEntity.noContent().build();
+	}
+}
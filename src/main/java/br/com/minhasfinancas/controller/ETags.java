@@ -0,0 +1,53 @@
+package br.com.minhasfinancas.controller;
+
+import br.com.minhasfinancas.exception.ConflitoVersaoException;
+import br.com.minhasfinancas.service.LancamentoService;
+
+final class ETags {
+
+	private ETags() {
+	}
+
+	static String versao(Long versao) {
+		return "\"" + versao + "\"";
+	}
+
+	static String dadosUsuario(Long idUsuario, Long versaoDados) {
+		return "\"u" + idUsuario + "-" + versaoDados + "\"";
+	}
+
+	// Comparação fraca do If-None-Match, para respostas montadas fora da thread da requisição
+	static boolean correspondeA(String ifNoneMatch, String etag) {
+		if(ifNoneMatch == null) {
+			return false;
+		}
+
+		for(String candidato : ifNoneMatch.split(",")) {
+			String valor = candidato.trim();
+			if(valor.startsWith("W/")) {
+				valor = valor.substring(2);
+			}
+			if(valor.equals("*") || valor.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	static Long versaoEsperada(String ifMatch) {
+		if(ifMatch == null || ifMatch.trim().equals("*")) {
+			return null;
+		}
+
+		String valor = ifMatch.trim();
+		if(valor.length() < 3 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+			throw new ConflitoVersaoException(LancamentoService.MENSAGEM_CONFLITO_VERSAO);
+		}
+
+		try {
+			return Long.valueOf(valor.substring(1, valor.length() - 1));
+		} catch(NumberFormatException e) {
+			throw new ConflitoVersaoException(LancamentoService.MENSAGEM_CONFLITO_VERSAO);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package br.com.minhasfinancas.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.minhasfinancas.dto.SituacaoEventosDTO;
+import br.com.minhasfinancas.eventos.DespachanteEventos;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.service.EventoLancamentoService;
+
+@RestController
+@RequestMapping(path = "/api/eventos")
+public class EventoController {
+
+	@Autowired
+	private DespachanteEventos despachanteEventos;
+
+	@Autowired
+	private EventoLancamentoService eventoLancamentoService;
+
+	@GetMapping(path = "/situacao")
+	public ResponseEntity<SituacaoEventosDTO> obterSituacao() {
+		return ResponseEntity.ok(eventoLancamentoService.obterSituacao());
+	}
+
+	// O reprocessamento percorre todos os eventos retidos; a resposta sai assim que ele é aceito
+	@PostMapping(path = "/projecoes/{nomeProjecao}/reprocessar")
+	public ResponseEntity<Object> reprocessar(@PathVariable("nomeProjecao") String nomeProjecao,
+			@RequestParam(value = "aPartirDe", required = false) Long aPartirDoEvento) {
+		try {
+			despachanteEventos.agendarReprocessamento(nomeProjecao, aPartirDoEvento);
+			return ResponseEntity.accepted().build();
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+}
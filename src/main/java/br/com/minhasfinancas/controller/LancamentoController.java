@@ -1,32 +1,56 @@
 package br.com.minhasfinancas.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.micrometer.core.annotation.Timed;
 
 import br.com.minhasfinancas.dto.AtualizarStatusDTO;
 import br.com.minhasfinancas.dto.LancamentoDTO;
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.dto.OperacaoLoteDTO;
+import br.com.minhasfinancas.dto.PaginaDTO;
+import br.com.minhasfinancas.dto.ResultadoLoteDTO;
+import br.com.minhasfinancas.exception.ConflitoVersaoException;
 import br.com.minhasfinancas.exception.RegraNegocioException;
 import br.com.minhasfinancas.model.Lancamento;
 import br.com.minhasfinancas.model.Usuario;
 import br.com.minhasfinancas.model.enums.StatusLancamento;
 import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.monitoramento.OrcamentoConsultas;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
+import br.com.minhasfinancas.security.ContextoUsuario;
+import br.com.minhasfinancas.security.UsuarioAutenticado;
+import br.com.minhasfinancas.service.BuscaLancamentoService;
+import br.com.minhasfinancas.service.ExportacaoLancamentoService;
+import br.com.minhasfinancas.service.FormatoExportacao;
+import br.com.minhasfinancas.service.IdempotenciaService;
 import br.com.minhasfinancas.service.LancamentoService;
-import br.com.minhasfinancas.service.UsuarioService;
 
 @RestController
+@Timed(value = "minhasfinancas.api", extraTags = {"controller", "lancamentos"})
 @RequestMapping(path = "/api/lancamentos")
 public class LancamentoController {
 
@@ -34,98 +58,253 @@ public class LancamentoController {
 	private LancamentoService lancamentoService;
 	
 	@Autowired
-	private UsuarioService usuarioService;
+	private BuscaLancamentoService buscaLancamentoService;
+	
+	@Autowired
+	private ExportacaoLancamentoService exportacaoLancamentoService;
+	
+	@Autowired
+	private IdempotenciaService idempotenciaService;
 	
 	@PostMapping(path = "/salvar")
-	public ResponseEntity<Object> salvarLancamento(@RequestBody LancamentoDTO dto){
+	public ResponseEntity<Object> salvarLancamento(@RequestBody LancamentoDTO dto, UsuarioAutenticado usuarioAutenticado,
+			@RequestHeader(value = IdempotenciaService.CABECALHO, required = false) String chaveIdempotencia){
 		try {
-			Lancamento entidade = converter(dto);
-			entidade = lancamentoService.salvarLancamento(entidade);
-			return new ResponseEntity<Object>(entidade, HttpStatus.CREATED);
+			return idempotenciaService.executar("lancamento:" + usuarioAutenticado.getIdUsuario(), chaveIdempotencia, dto, () -> {
+				Lancamento entidade = lancamentoService.salvarLancamento(converter(dto, usuarioAutenticado));
+				return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.versao(entidade.getVersao())).body(LancamentoListagemDTO.de(entidade));
+			});
 		} catch(RegraNegocioException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
 	}
 	
 	
-	@PutMapping(path = "/{idLancamento}/atualizar")
-	public ResponseEntity<? extends Object> atualizarLancamento(@PathVariable Long idLancamento, @RequestBody LancamentoDTO dto){
-		return lancamentoService.buscarPorId(idLancamento).map(entity -> {
-			try {
-				Lancamento lancamento = converter(dto);
-				lancamento.setIdLancamento(entity.getIdLancamento());
-				lancamentoService.atualizarLancamento(lancamento);
-				return ResponseEntity.ok(lancamento);
-			} catch(RegraNegocioException e) {
-				return ResponseEntity.badRequest().body(e);
+	@PostMapping(path = "/lote")
+	public ResponseEntity<Object> salvarLote(@RequestBody List<LancamentoDTO> dtos, UsuarioAutenticado usuarioAutenticado){
+		try {
+			List<Lancamento> lancamentos = new ArrayList<>();
+			for(LancamentoDTO dto : dtos) {
+				lancamentos.add(converterLote(dto, usuarioAutenticado));
 			}
-		}).orElseGet(() -> new ResponseEntity<Object>("Lançamento não encontrado na base de dados", HttpStatus.BAD_REQUEST));
-
+			ResultadoLoteDTO resultado = lancamentoService.salvarLote(lancamentos);
+			return new ResponseEntity<Object>(resultado, HttpStatus.CREATED);
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@OrcamentoConsultas(1)
+	@GetMapping(path = "/{idLancamento}")
+	public ResponseEntity<Object> obterLancamento(@PathVariable Long idLancamento, UsuarioAutenticado usuarioAutenticado){
+		return buscarDoUsuario(idLancamento, usuarioAutenticado)
+				.map(entity -> ResponseEntity.ok().eTag(ETags.versao(entity.getVersao())).<Object>body(LancamentoListagemDTO.de(entity)))
+				.orElseGet(() -> new ResponseEntity<Object>("Lançamento não encontrado na base de dados", HttpStatus.NOT_FOUND));
 	}
 	
+	// Valores persistidos (posse e versão), bloqueio do saldo, leitura, inclusão e atualização do saldo mensal
+	// (mudança de mês), update do lançamento, update do saldo e inclusão do evento
+	@OrcamentoConsultas(8)
+	@PutMapping(path = "/{idLancamento}/atualizar")
+	public ResponseEntity<? extends Object> atualizarLancamento(@PathVariable Long idLancamento, @RequestBody LancamentoDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, UsuarioAutenticado usuarioAutenticado){
+		// Sem a versão lida pelo cliente a atualização sobrescreveria às cegas uma edição concorrente
+		if(ifMatch == null || ifMatch.trim().equals("*")) {
+			return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body("Informe no cabeçalho If-Match o ETag obtido na consulta do lançamento!");
+		}
+		// A posse é conferida no serviço, junto com a versão, sem uma leitura do lançamento só para isso
+		try {
+			Lancamento lancamento = converter(dto, usuarioAutenticado);
+			lancamento.setIdLancamento(idLancamento);
+			lancamento.setVersao(ETags.versaoEsperada(ifMatch));
+			Lancamento atualizado = lancamentoService.atualizarLancamento(lancamento);
+			return ResponseEntity.ok().eTag(ETags.versao(atualizado.getVersao())).body(LancamentoListagemDTO.de(atualizado));
+		} catch(ConflitoVersaoException e) {
+			return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e);
+		}
+	}
+	
+	// Valores persistidos (posse e versão), bloqueio do saldo, update do lançamento, update do saldo e inclusão do evento;
+	// só o status muda, então o saldo mensal não é tocado
+	@OrcamentoConsultas(5)
 	@PutMapping(path = "/{idLancamento}/atualizar-status")
-	public ResponseEntity<? extends Object> atualizarStatus(@PathVariable Long idLancamento, @RequestBody AtualizarStatusDTO dto){
-		return lancamentoService.buscarPorId(idLancamento).map(entity -> {
-			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatusLancamento());
-			if(statusSelecionado == null) {
+	public ResponseEntity<? extends Object> atualizarStatus(@PathVariable Long idLancamento, @RequestBody AtualizarStatusDTO dto,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, UsuarioAutenticado usuarioAutenticado){
+		StatusLancamento statusSelecionado;
+		try {
+			statusSelecionado = StatusLancamento.valueOf(dto.getStatusLancamento());
+		} catch(IllegalArgumentException | NullPointerException e) {
+			return ResponseEntity.badRequest().body("Não foi possível realizar a requisição. Envie um status válido!");
+		}
+		try {
+			Lancamento atualizado = lancamentoService.atualizarStatus(idLancamento, usuarioAutenticado.getIdUsuario(),
+					statusSelecionado, ETags.versaoEsperada(ifMatch));
+			return ResponseEntity.ok().eTag(ETags.versao(atualizado.getVersao())).body(LancamentoListagemDTO.de(atualizado));
+		} catch(ConflitoVersaoException e) {
+			return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+		} catch (RegraNegocioException e){
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@PutMapping(path = "/lote/atualizar-status")
+	public ResponseEntity<Object> atualizarStatusEmLote(@RequestBody OperacaoLoteDTO dto, UsuarioAutenticado usuarioAutenticado){
+		try {
+			if(dto.getStatusLancamento() == null) {
 				return ResponseEntity.badRequest().body("Não foi possível realizar a requisição. Envie um status válido!");
 			}
-			try {
-				entity.setStatusLancamento(statusSelecionado);
-				lancamentoService.atualizarLancamento(entity);
-				return ResponseEntity.ok(entity);
-			} catch (RegraNegocioException e){
-				return ResponseEntity.badRequest().body(e.getMessage());
-			}
-			
-		}).orElseGet(() -> new ResponseEntity<Object>("Lançamento não encontrado na base de dados!",HttpStatus.BAD_REQUEST));
+			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatusLancamento());
+			int quantidade = lancamentoService.atualizarStatusEmLote(converterFiltroLote(dto, usuarioAutenticado), statusSelecionado);
+			return ResponseEntity.ok(quantidade);
+		} catch(IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Não foi possível realizar a requisição. Envie um status válido!");
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@PostMapping(path = "/lote/deletar")
+	public ResponseEntity<Object> deletarEmLote(@RequestBody OperacaoLoteDTO dto, UsuarioAutenticado usuarioAutenticado){
+		try {
+			int quantidade = lancamentoService.deletarEmLote(converterFiltroLote(dto, usuarioAutenticado));
+			return ResponseEntity.ok(quantidade);
+		} catch(IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Não foi possível realizar a requisição. Envie um status válido!");
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 	
 	@DeleteMapping(path = "/{idLancamento}/deletar")
-	public ResponseEntity<Object> deletar(@PathVariable Long idLancamento){
-		return lancamentoService.buscarPorId(idLancamento).map(entity -> {
+	public ResponseEntity<Object> deletar(@PathVariable Long idLancamento, UsuarioAutenticado usuarioAutenticado){
+		return buscarDoUsuario(idLancamento, usuarioAutenticado).map(entity -> {
 			lancamentoService.deletarLancamento(entity);
 			return new ResponseEntity<Object>(HttpStatus.NO_CONTENT);
 		}).orElseGet(() -> new ResponseEntity<Object>("Lançamento não encontrado na base de dados", HttpStatus.BAD_REQUEST));
 	}
 	
+	@OrcamentoConsultas(2)
 	@GetMapping
 	public ResponseEntity<Object> buscar(
 			@RequestParam(value = "descricao", required = false) String descricao,
 			@RequestParam(value = "mesLancamento", required = false) Integer mesLancamento,
 			@RequestParam(value = "anoLancamento", required = false) Integer anoLancamento,
-			@RequestParam Long idUsuario){
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "tamanho", required = false) Integer tamanho,
+			@RequestParam(value = "ordem", required = false, defaultValue = "asc") String ordem,
+			UsuarioAutenticado usuarioAutenticado, WebRequest webRequest){
+		
+		Long idUsuario = usuarioAutenticado.getIdUsuario();
+		Optional<String> etag = lancamentoService.obterVersaoDados(idUsuario).map(versao -> ETags.dadosUsuario(idUsuario, versao));
+		if(etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+			return null;
+		}
 			
 		Lancamento lancamentoFiltro = new Lancamento();
 		lancamentoFiltro.setDescricao(descricao);
 		lancamentoFiltro.setMesLancamento(mesLancamento);
 		lancamentoFiltro.setAnoLancamento(anoLancamento);
+		lancamentoFiltro.setUsuario(referenciaUsuario(usuarioAutenticado));
+		
+		try {
+			PaginaDTO<LancamentoListagemDTO> pagina = lancamentoService.buscarLancamentoPaginado(lancamentoFiltro, cursor, tamanho, "desc".equalsIgnoreCase(ordem));
+			BodyBuilder resposta = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+			etag.ifPresent(resposta::eTag);
+			return resposta.body(pagina);
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@OrcamentoConsultas(3)
+	@GetMapping(path = "/busca")
+	public ResponseEntity<Object> buscarPorDescricao(
+			@RequestParam(value = "q") String consulta,
+			@RequestParam(value = "prefixo", required = false, defaultValue = "false") boolean prefixo,
+			@RequestParam(value = "limite", required = false) Integer limite,
+			UsuarioAutenticado usuarioAutenticado){
+		
+		try {
+			List<LancamentoListagemDTO> lancamentos = buscaLancamentoService.buscar(usuarioAutenticado.getIdUsuario(), consulta, prefixo, limite);
+			return ResponseEntity.ok(lancamentos);
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@GetMapping(path = "/busca/sugestoes")
+	public ResponseEntity<Object> sugerirTermos(
+			@RequestParam(value = "prefixo") String prefixo,
+			@RequestParam(value = "limite", required = false) Integer limite,
+			UsuarioAutenticado usuarioAutenticado){
 		
+		List<String> termos = buscaLancamentoService.sugerir(usuarioAutenticado.getIdUsuario(), prefixo, limite);
+		return ResponseEntity.ok(termos);
+	}
+	
+	@PostMapping(path = "/busca/reindexar")
+	public ResponseEntity<Object> reindexar(UsuarioAutenticado usuarioAutenticado){
+		int quantidade = buscaLancamentoService.reindexar(usuarioAutenticado.getIdUsuario());
+		return ResponseEntity.ok(quantidade);
+	}
+	
+	@GetMapping(path = "/exportar")
+	public ResponseEntity<StreamingResponseBody> exportar(
+			@RequestParam(value = "formato", required = false, defaultValue = "csv") String formato,
+			UsuarioAutenticado usuarioAutenticado){
 		
-		Optional<Usuario> usuario = usuarioService.buscarPorId(idUsuario);
-		if(!usuario.isPresent()) {
-			return ResponseEntity.badRequest().body("não foi possível realizar a consulta. Usuário inválido");
-		} else {
-			lancamentoFiltro.setUsuario(usuario.get());
+		Long idUsuario = usuarioAutenticado.getIdUsuario();
+		FormatoExportacao formatoExportacao;
+		try {
+			formatoExportacao = FormatoExportacao.valueOf(formato.toUpperCase());
+		} catch(IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(saida -> saida.write("Formato de exportação inválido!".getBytes(StandardCharsets.UTF_8)));
 		}
 		
-		List<Lancamento> lancamentos = lancamentoService.buscarLancamento(lancamentoFiltro);
-		return ResponseEntity.ok(lancamentos);
+		// O corpo é escrito em outra thread; o usuário acompanha para que a janela de leitura da própria escrita valha na exportação
+		StreamingResponseBody corpo = saida -> {
+			ContextoUsuario.definir(idUsuario);
+			try {
+				exportacaoLancamentoService.exportar(idUsuario, formatoExportacao, saida);
+			} finally {
+				ContextoUsuario.limpar();
+			}
+		};
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(formatoExportacao.getTipoConteudo()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"lancamentos-" + idUsuario + "." + formatoExportacao.getExtensao() + "\"")
+				.body(corpo);
 	}
 	
-	private Lancamento converter(LancamentoDTO dto) {
+	private Optional<Lancamento> buscarDoUsuario(Long idLancamento, UsuarioAutenticado usuarioAutenticado) {
+		return lancamentoService.buscarPorId(idLancamento)
+				.filter(lancamento -> lancamento.getUsuario() != null && usuarioAutenticado.possuiId(lancamento.getUsuario().getIdUsuario()));
+	}
+	
+	private Usuario referenciaUsuario(UsuarioAutenticado usuarioAutenticado) {
+		return Usuario.builder().idUsuario(usuarioAutenticado.getIdUsuario()).build();
+	}
+	
+	private FiltroLoteLancamento converterFiltroLote(OperacaoLoteDTO dto, UsuarioAutenticado usuarioAutenticado) {
+		return FiltroLoteLancamento.builder()
+				.idUsuario(usuarioAutenticado.getIdUsuario())
+				.idsLancamentos(dto.getIdsLancamentos())
+				.anoLancamento(dto.getAnoLancamento())
+				.mesLancamento(dto.getMesLancamento())
+				.statusAtual(dto.getStatusAtual() == null ? null : StatusLancamento.valueOf(dto.getStatusAtual()))
+				.build();
+	}
+	
+	Lancamento converter(LancamentoDTO dto, UsuarioAutenticado usuarioAutenticado) {
 		Lancamento lancamento = new Lancamento();
 		lancamento.setIdLancamento(dto.getIdLancamento());
 		lancamento.setDescricao(dto.getDescricao());
 		lancamento.setAnoLancamento(dto.getAnoLancamento());
 		lancamento.setMesLancamento(dto.getMesLancamento());
 		lancamento.setValorLancamento(dto.getValorLancamento());
-		
-		Usuario usuario = usuarioService
-				.buscarPorId(dto.getUsuario())
-				.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o id informado!"));
-		
-		lancamento.setUsuario(usuario);
+		lancamento.setUsuario(referenciaUsuario(usuarioAutenticado));
 		
 		if(dto.getTipoLancamento() != null) {
 			lancamento.setTipoLancamento(TipoLancamento.valueOf(dto.getTipoLancamento()));
@@ -137,4 +316,23 @@ public class LancamentoController {
 		
 		return lancamento;
 	}
+	
+	private Lancamento converterLote(LancamentoDTO dto, UsuarioAutenticado usuarioAutenticado) {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setDescricao(dto.getDescricao());
+		lancamento.setAnoLancamento(dto.getAnoLancamento());
+		lancamento.setMesLancamento(dto.getMesLancamento());
+		lancamento.setValorLancamento(dto.getValorLancamento());
+		lancamento.setUsuario(referenciaUsuario(usuarioAutenticado));
+		
+		if(dto.getTipoLancamento() != null) {
+			try {
+				lancamento.setTipoLancamento(TipoLancamento.valueOf(dto.getTipoLancamento()));
+			} catch(IllegalArgumentException e) {
+				// tipo inválido fica nulo e é rejeitado por item na validação do lote
+			}
+		}
+		
+		return lancamento;
+	}
 }
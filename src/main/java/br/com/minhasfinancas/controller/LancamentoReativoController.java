@@ -0,0 +1,107 @@
+package br.com.minhasfinancas.controller;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.micrometer.core.annotation.Timed;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.security.UsuarioAutenticado;
+import br.com.minhasfinancas.service.LancamentoReativoService;
+
+@RestController
+@Timed(value = "minhasfinancas.api", extraTags = {"controller", "reativo"})
+@RequestMapping(path = "/api/reativo")
+public class LancamentoReativoController {
+
+	@Autowired
+	private LancamentoReativoService lancamentoReativoService;
+	
+	@GetMapping(path = "/lancamentos")
+	public Mono<ResponseEntity<Object>> buscar(
+			@RequestParam(value = "descricao", required = false) String descricao,
+			@RequestParam(value = "mesLancamento", required = false) Integer mesLancamento,
+			@RequestParam(value = "anoLancamento", required = false) Integer anoLancamento,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "tamanho", required = false) Integer tamanho,
+			@RequestParam(value = "ordem", required = false, defaultValue = "asc") String ordem,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			UsuarioAutenticado usuarioAutenticado){
+		
+		Long idUsuario = usuarioAutenticado.getIdUsuario();
+		Lancamento lancamentoFiltro = criarFiltro(descricao, mesLancamento, anoLancamento, usuarioAutenticado);
+		
+		try {
+			return comVersaoDados(idUsuario, ifNoneMatch, lancamentoReativoService
+					.buscarLancamentoPaginado(lancamentoFiltro, cursor, tamanho, "desc".equalsIgnoreCase(ordem)));
+		} catch(RegraNegocioException e) {
+			return Mono.just(ResponseEntity.badRequest().body(e.getMessage()));
+		}
+	}
+	
+	@GetMapping(path = "/lancamentos/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<LancamentoListagemDTO> transmitir(
+			@RequestParam(value = "descricao", required = false) String descricao,
+			@RequestParam(value = "mesLancamento", required = false) Integer mesLancamento,
+			@RequestParam(value = "anoLancamento", required = false) Integer anoLancamento,
+			@RequestParam(value = "ordem", required = false, defaultValue = "asc") String ordem,
+			UsuarioAutenticado usuarioAutenticado){
+		
+		Lancamento lancamentoFiltro = criarFiltro(descricao, mesLancamento, anoLancamento, usuarioAutenticado);
+		return lancamentoReativoService.transmitirLancamentos(lancamentoFiltro, "desc".equalsIgnoreCase(ordem));
+	}
+	
+	@GetMapping(path = "/usuarios/{idUsuario}/saldo")
+	public Mono<ResponseEntity<Object>> obterSaldo(@PathVariable Long idUsuario,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			UsuarioAutenticado usuarioAutenticado){
+		if(!usuarioAutenticado.possuiId(idUsuario)) {
+			return Mono.just(new ResponseEntity<Object>(HttpStatus.FORBIDDEN));
+		}
+		
+		return comVersaoDados(idUsuario, ifNoneMatch, lancamentoReativoService.obterSaldoPorUsuario(idUsuario));
+	}
+	
+	private Mono<ResponseEntity<Object>> comVersaoDados(Long idUsuario, String ifNoneMatch, Mono<?> corpo) {
+		return lancamentoReativoService.obterVersaoDados(idUsuario)
+				.map(versao -> Optional.of(ETags.dadosUsuario(idUsuario, versao)))
+				.defaultIfEmpty(Optional.empty())
+				.flatMap(etag -> {
+					if(etag.isPresent() && ETags.correspondeA(ifNoneMatch, etag.get())) {
+						return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).<Object>build());
+					}
+					return corpo.map(valor -> {
+						BodyBuilder resposta = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+						etag.ifPresent(resposta::eTag);
+						return resposta.<Object>body(valor);
+					});
+				});
+	}
+	
+	private Lancamento criarFiltro(String descricao, Integer mesLancamento, Integer anoLancamento, UsuarioAutenticado usuarioAutenticado) {
+		Lancamento lancamentoFiltro = new Lancamento();
+		lancamentoFiltro.setDescricao(descricao);
+		lancamentoFiltro.setMesLancamento(mesLancamento);
+		lancamentoFiltro.setAnoLancamento(anoLancamento);
+		lancamentoFiltro.setUsuario(Usuario.builder().idUsuario(usuarioAutenticado.getIdUsuario()).build());
+		return lancamentoFiltro;
+	}
+}
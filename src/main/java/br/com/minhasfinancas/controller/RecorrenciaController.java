@@ -0,0 +1,99 @@
+package br.com.minhasfinancas.controller;
+
+import java.time.YearMonth;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.micrometer.core.annotation.Timed;
+
+import br.com.minhasfinancas.dto.RecorrenciaDTO;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.RecorrenciaLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.security.UsuarioAutenticado;
+import br.com.minhasfinancas.service.RecorrenciaLancamentoService;
+
+@RestController
+@Timed(value = "minhasfinancas.api", extraTags = {"controller", "recorrencias"})
+@RequestMapping(path = "/api/recorrencias")
+public class RecorrenciaController {
+
+	@Autowired
+	private RecorrenciaLancamentoService recorrenciaLancamentoService;
+	
+	@PostMapping(path = "/salvar")
+	public ResponseEntity<Object> salvarRecorrencia(@RequestBody RecorrenciaDTO dto, UsuarioAutenticado usuarioAutenticado){
+		try {
+			RecorrenciaLancamento recorrencia = recorrenciaLancamentoService.salvarRecorrencia(converter(dto, usuarioAutenticado));
+			return new ResponseEntity<Object>(RecorrenciaDTO.de(recorrencia), HttpStatus.CREATED);
+		} catch(IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Informe um tipo válido!");
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@PutMapping(path = "/{idRecorrencia}/atualizar")
+	public ResponseEntity<Object> atualizarAPartirDe(@PathVariable Long idRecorrencia, @RequestBody RecorrenciaDTO dto,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			UsuarioAutenticado usuarioAutenticado){
+		try {
+			int quantidade = recorrenciaLancamentoService.atualizarAPartirDe(idRecorrencia, usuarioAutenticado.getIdUsuario(),
+					converter(dto, usuarioAutenticado), aPartirDe(ano, mes));
+			return ResponseEntity.ok(quantidade);
+		} catch(IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Informe um tipo válido!");
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@PostMapping(path = "/{idRecorrencia}/cancelar")
+	public ResponseEntity<Object> cancelarAPartirDe(@PathVariable Long idRecorrencia,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			UsuarioAutenticado usuarioAutenticado){
+		try {
+			int quantidade = recorrenciaLancamentoService.cancelarAPartirDe(idRecorrencia, usuarioAutenticado.getIdUsuario(), aPartirDe(ano, mes));
+			return ResponseEntity.ok(quantidade);
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	// Sem mês informado a alteração vale a partir do mês corrente
+	private YearMonth aPartirDe(Integer ano, Integer mes) {
+		if(ano == null && mes == null) {
+			return YearMonth.now();
+		}
+		if(ano == null || mes == null || mes < 1 || mes > 12 || ano.toString().length() != 4) {
+			throw new RegraNegocioException("Informe um mês válido!");
+		}
+		return YearMonth.of(ano, mes);
+	}
+	
+	private RecorrenciaLancamento converter(RecorrenciaDTO dto, UsuarioAutenticado usuarioAutenticado) {
+		return RecorrenciaLancamento.builder()
+				.idUsuario(usuarioAutenticado.getIdUsuario())
+				.descricao(dto.getDescricao())
+				.valorLancamento(dto.getValorLancamento())
+				.tipoLancamento(dto.getTipoLancamento() == null ? null : TipoLancamento.valueOf(dto.getTipoLancamento()))
+				.anoInicio(dto.getAnoInicio())
+				.mesInicio(dto.getMesInicio())
+				.intervaloMeses(dto.getIntervaloMeses() == null ? 1 : dto.getIntervaloMeses())
+				.totalParcelas(dto.getTotalParcelas())
+				.anoFim(dto.getAnoFim())
+				.mesFim(dto.getMesFim())
+				.build();
+	}
+}
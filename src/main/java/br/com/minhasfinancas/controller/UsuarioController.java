@@ -1,26 +1,52 @@
 package br.com.minhasfinancas.controller;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import io.micrometer.core.annotation.Timed;
+
+import br.com.minhasfinancas.dto.ReconciliacaoSaldoDTO;
+import br.com.minhasfinancas.dto.ResumoAnualDTO;
+import br.com.minhasfinancas.dto.ResumoMensalDTO;
+import br.com.minhasfinancas.dto.SaldoMensalDTO;
+import br.com.minhasfinancas.dto.SessaoDTO;
 import br.com.minhasfinancas.dto.UsuarioDTO;
 import br.com.minhasfinancas.exception.ErroAutenticacaoException;
 import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.ResumoAnoArquivado;
 import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.monitoramento.OrcamentoConsultas;
+import br.com.minhasfinancas.security.UsuarioAutenticado;
+import br.com.minhasfinancas.service.AnaliseLancamentoService;
+import br.com.minhasfinancas.service.ArquivamentoService;
+import br.com.minhasfinancas.service.IdempotenciaService;
 import br.com.minhasfinancas.service.LancamentoService;
+import br.com.minhasfinancas.service.SaldoMensalService;
+import br.com.minhasfinancas.service.SaldoUsuarioService;
 import br.com.minhasfinancas.service.UsuarioService;
 
 @RestController
+@Timed(value = "minhasfinancas.api", extraTags = {"controller", "usuarios"})
 @RequestMapping(path = "/api/usuarios")
 public class UsuarioController {
 	
@@ -30,8 +56,24 @@ public class UsuarioController {
 	@Autowired
 	private LancamentoService lancamentoService;
 	
+	@Autowired
+	private SaldoUsuarioService saldoUsuarioService;
+	
+	@Autowired
+	private AnaliseLancamentoService analiseLancamentoService;
+	
+	@Autowired
+	private SaldoMensalService saldoMensalService;
+	
+	@Autowired
+	private ArquivamentoService arquivamentoService;
+	
+	@Autowired
+	private IdempotenciaService idempotenciaService;
+	
 	@PostMapping(path = "/salvarUsuario")
-	public ResponseEntity<Object> salvarUsuario(@RequestBody UsuarioDTO usuarioDTO) {
+	public ResponseEntity<Object> salvarUsuario(@RequestBody UsuarioDTO usuarioDTO,
+			@RequestHeader(value = IdempotenciaService.CABECALHO, required = false) String chaveIdempotencia) {
 		Usuario usuario = Usuario
 				.builder()
 				.nomeUsuario(usuarioDTO.getNomeUsuario())
@@ -39,9 +81,12 @@ public class UsuarioController {
 				.senhaUsuario(usuarioDTO.getSenhaUsuario())
 				.build();
 		
+		// O cadastro é anônimo, então o e-mail pedido entra no escopo para que clientes diferentes que escolham a mesma
+		// chave não colidam. A impressão cobre todos os campos, inclusive a senha, e só o resumo SHA-256 dela é guardado
+		String email = usuarioDTO.getEmailUsuario() == null ? "" : usuarioDTO.getEmailUsuario().trim().toLowerCase();
 		try {
-			Usuario usuarioSalvo = usuarioService.salvarUsuario(usuario);
-			return new ResponseEntity<Object>(usuarioSalvo, HttpStatus.CREATED);
+			return idempotenciaService.executar("usuario:" + email, chaveIdempotencia, usuarioDTO,
+					() -> new ResponseEntity<Object>(usuarioService.salvarUsuario(usuario), HttpStatus.CREATED));
 		}catch(RegraNegocioException e){
 			return ResponseEntity.badRequest().body(e);
 		}
@@ -50,23 +95,138 @@ public class UsuarioController {
 	@PostMapping(path = "/autenticar")
 	public ResponseEntity<Object> autenticarUsuario(@RequestBody UsuarioDTO usuarioDTO){
 		try {
-			Usuario usuarioAutenticado = usuarioService.autenticar(usuarioDTO.getEmailUsuario(), usuarioDTO.getSenhaUsuario());
-			return ResponseEntity.ok(usuarioAutenticado);
+			SessaoDTO sessao = usuarioService.autenticar(usuarioDTO.getEmailUsuario(), usuarioDTO.getSenhaUsuario());
+			return ResponseEntity.ok(sessao);
 		} catch (ErroAutenticacaoException e) {
 			return ResponseEntity.badRequest().body(e);
 		}
 	}
 	
+	@OrcamentoConsultas(3)
 	@GetMapping(path = "/{idUsuario}/saldo")
-	public ResponseEntity<Object> obterSaldo(@PathVariable Long idUsuario){
-		Optional<Usuario> usuario = usuarioService.buscarPorId(idUsuario);
+	public ResponseEntity<Object> obterSaldo(@PathVariable Long idUsuario, UsuarioAutenticado usuarioAutenticado, WebRequest webRequest){
+		if(!usuarioAutenticado.possuiId(idUsuario)) {
+			return new ResponseEntity<Object>(HttpStatus.FORBIDDEN);
+		}
 		
-		if(!usuario.isPresent()) {
-			return new ResponseEntity<Object>(HttpStatus.NOT_FOUND);
+		Optional<String> etag = lancamentoService.obterVersaoDados(idUsuario).map(versao -> ETags.dadosUsuario(idUsuario, versao));
+		if(etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+			return null;
 		}
 		
 		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(idUsuario);
-		return ResponseEntity.ok(saldo);
+		BodyBuilder resposta = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+		etag.ifPresent(resposta::eTag);
+		return resposta.body(saldo);
+		
+	}
+	
+	@OrcamentoConsultas(5)
+	@GetMapping(path = "/{idUsuario}/saldo/mensal")
+	public ResponseEntity<Object> obterSaldoMensal(@PathVariable Long idUsuario,
+			@RequestParam(value = "inicio", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+			@RequestParam(value = "fim", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim,
+			UsuarioAutenticado usuarioAutenticado, WebRequest webRequest){
+		if(!usuarioAutenticado.possuiId(idUsuario)) {
+			return new ResponseEntity<Object>(HttpStatus.FORBIDDEN);
+		}
+		
+		Optional<String> etag = lancamentoService.obterVersaoDados(idUsuario).map(versao -> ETags.dadosUsuario(idUsuario, versao));
+		if(etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+			return null;
+		}
+		
+		try {
+			List<SaldoMensalDTO> serie = saldoMensalService.obterSaldoMensal(idUsuario, inicio, fim);
+			BodyBuilder resposta = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+			etag.ifPresent(resposta::eTag);
+			return resposta.body(serie);
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@PostMapping(path = "/{idUsuario}/saldo/reconciliar")
+	public ResponseEntity<Object> reconciliarSaldo(@PathVariable Long idUsuario, UsuarioAutenticado usuarioAutenticado){
+		if(!usuarioAutenticado.possuiId(idUsuario)) {
+			return new ResponseEntity<Object>(HttpStatus.FORBIDDEN);
+		}
+		
+		ReconciliacaoSaldoDTO reconciliacao = saldoUsuarioService.reconciliar(idUsuario);
+		return ResponseEntity.ok(reconciliacao);
+	}
+	
+	@GetMapping(path = "/{idUsuario}/resumo")
+	public ResponseEntity<Object> obterResumo(@PathVariable Long idUsuario, @RequestParam(value = "ano") Integer anoLancamento, UsuarioAutenticado usuarioAutenticado){
+		if(!usuarioAutenticado.possuiId(idUsuario)) {
+			return new ResponseEntity<Object>(HttpStatus.FORBIDDEN);
+		}
+		
+		ResumoAnualDTO resumo = lancamentoService.obterResumoAnual(idUsuario, anoLancamento);
+		return ResponseEntity.ok(resumo);
+	}
+	
+	@PostMapping(path = "/{idUsuario}/anos/{ano}/encerrar")
+	public ResponseEntity<Object> encerrarAno(@PathVariable Long idUsuario, @PathVariable(value = "ano") Integer anoLancamento,
+			UsuarioAutenticado usuarioAutenticado){
+		if(!usuarioAutenticado.possuiId(idUsuario)) {
+			return new ResponseEntity<Object>(HttpStatus.FORBIDDEN);
+		}
+		
+		try {
+			ResumoAnoArquivado resumo = arquivamentoService.encerrarAno(idUsuario, anoLancamento);
+			return ResponseEntity.ok(resumo);
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@GetMapping(path = "/{idUsuario}/anos/encerrados")
+	public ResponseEntity<Object> obterAnosEncerrados(@PathVariable Long idUsuario, UsuarioAutenticado usuarioAutenticado){
+		if(!usuarioAutenticado.possuiId(idUsuario)) {
+			return new ResponseEntity<Object>(HttpStatus.FORBIDDEN);
+		}
 		
+		List<ResumoAnoArquivado> resumos = arquivamentoService.buscarResumos(idUsuario);
+		return ResponseEntity.ok(resumos);
+	}
+	
+	@GetMapping(path = "/{idUsuario}/analise")
+	public ResponseEntity<Object> obterAnalise(@PathVariable Long idUsuario,
+			@RequestParam(value = "inicio") @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+			@RequestParam(value = "fim") @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim,
+			UsuarioAutenticado usuarioAutenticado){
+		if(!usuarioAutenticado.possuiId(idUsuario)) {
+			return new ResponseEntity<Object>(HttpStatus.FORBIDDEN);
+		}
+		
+		try {
+			List<ResumoMensalDTO> meses = analiseLancamentoService.obterResumoMensal(idUsuario, inicio, fim);
+			return ResponseEntity.ok(meses);
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@GetMapping(path = "/{idUsuario}/analise/total")
+	public ResponseEntity<Object> obterTotalAnalise(@PathVariable Long idUsuario,
+			@RequestParam(value = "inicio") @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+			@RequestParam(value = "fim") @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim,
+			@RequestParam(value = "tipo", required = false) String tipo,
+			@RequestParam(value = "status", required = false) String status,
+			UsuarioAutenticado usuarioAutenticado){
+		if(!usuarioAutenticado.possuiId(idUsuario)) {
+			return new ResponseEntity<Object>(HttpStatus.FORBIDDEN);
+		}
+		
+		try {
+			TipoLancamento tipoLancamento = tipo == null ? null : TipoLancamento.valueOf(tipo);
+			StatusLancamento statusLancamento = status == null ? null : StatusLancamento.valueOf(status);
+			return ResponseEntity.ok(analiseLancamentoService.somar(idUsuario, inicio, fim, tipoLancamento, statusLancamento));
+		} catch(IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Informe um tipo e um status válidos!");
+		} catch(RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 }
@@ -0,0 +1,18 @@
+package br.com.minhasfinancas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaCacheDTO {
+	private String regiao;
+	private long acertos;
+	private long falhas;
+	private long insercoes;
+	private long elementosEmMemoria;
+}
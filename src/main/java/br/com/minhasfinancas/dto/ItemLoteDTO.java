@@ -0,0 +1,17 @@
+package br.com.minhasfinancas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemLoteDTO {
+	private Integer indice;
+	private Long idLancamento;
+	private boolean sucesso;
+	private String erro;
+}
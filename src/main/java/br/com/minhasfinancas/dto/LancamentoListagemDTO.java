@@ -0,0 +1,44 @@
+package br.com.minhasfinancas.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoListagemDTO {
+	private Long idLancamento;
+	private String descricao;
+	private Integer mesLancamento;
+	private Integer anoLancamento;
+	private BigDecimal valorLancamento;
+	private TipoLancamento tipoLancamento;
+	private StatusLancamento statusLancamento;
+	private LocalDate dataCadastro;
+	private Long idUsuario;
+	private Long versao;
+	
+	public static LancamentoListagemDTO de(Lancamento lancamento) {
+		return LancamentoListagemDTO.builder()
+				.idLancamento(lancamento.getIdLancamento())
+				.descricao(lancamento.getDescricao())
+				.mesLancamento(lancamento.getMesLancamento())
+				.anoLancamento(lancamento.getAnoLancamento())
+				.valorLancamento(lancamento.getValorLancamento())
+				.tipoLancamento(lancamento.getTipoLancamento())
+				.statusLancamento(lancamento.getStatusLancamento())
+				.dataCadastro(lancamento.getDataCadastro())
+				.idUsuario(lancamento.getUsuario() == null ? null : lancamento.getUsuario().getIdUsuario())
+				.versao(lancamento.getVersao())
+				.build();
+	}
+}
@@ -0,0 +1,20 @@
+package br.com.minhasfinancas.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperacaoLoteDTO {
+	private List<Long> idsLancamentos;
+	private Integer anoLancamento;
+	private Integer mesLancamento;
+	private String statusAtual;
+	private String statusLancamento;
+}
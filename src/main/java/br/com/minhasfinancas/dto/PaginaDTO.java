@@ -0,0 +1,18 @@
+package br.com.minhasfinancas.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+	private List<T> itens;
+	private Integer tamanho;
+	private String proximo;
+}
@@ -0,0 +1,19 @@
+package br.com.minhasfinancas.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliacaoSaldoDTO {
+	private Long idUsuario;
+	private BigDecimal saldoAnterior;
+	private BigDecimal saldoRecalculado;
+	private boolean divergente;
+}
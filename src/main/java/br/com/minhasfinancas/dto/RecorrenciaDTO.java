@@ -0,0 +1,45 @@
+package br.com.minhasfinancas.dto;
+
+import java.math.BigDecimal;
+
+import br.com.minhasfinancas.model.RecorrenciaLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaDTO {
+	private Long idRecorrencia;
+	private String descricao;
+	private BigDecimal valorLancamento;
+	private String tipoLancamento;
+	private Integer anoInicio;
+	private Integer mesInicio;
+	private Integer intervaloMeses;
+	private Integer totalParcelas;
+	private Integer anoFim;
+	private Integer mesFim;
+	private Integer parcelasGeradas;
+	private boolean cancelada;
+	
+	public static RecorrenciaDTO de(RecorrenciaLancamento recorrencia) {
+		return RecorrenciaDTO.builder()
+				.idRecorrencia(recorrencia.getIdRecorrencia())
+				.descricao(recorrencia.getDescricao())
+				.valorLancamento(recorrencia.getValorLancamento())
+				.tipoLancamento(recorrencia.getTipoLancamento() == null ? null : recorrencia.getTipoLancamento().name())
+				.anoInicio(recorrencia.getAnoInicio())
+				.mesInicio(recorrencia.getMesInicio())
+				.intervaloMeses(recorrencia.getIntervaloMeses())
+				.totalParcelas(recorrencia.getTotalParcelas())
+				.anoFim(recorrencia.getAnoFim())
+				.mesFim(recorrencia.getMesFim())
+				.parcelasGeradas(recorrencia.getParcelasGeradas())
+				.cancelada(recorrencia.isCancelada())
+				.build();
+	}
+}
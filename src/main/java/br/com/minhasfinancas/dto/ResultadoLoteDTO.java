@@ -0,0 +1,19 @@
+package br.com.minhasfinancas.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+	private Integer total;
+	private Integer sucessos;
+	private Integer falhas;
+	private List<ItemLoteDTO> itens;
+}
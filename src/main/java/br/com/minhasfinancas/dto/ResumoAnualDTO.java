@@ -0,0 +1,29 @@
+package br.com.minhasfinancas.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoAnualDTO {
+	private Long idUsuario;
+	private Integer anoLancamento;
+	@Builder.Default
+	private BigDecimal receitas = BigDecimal.ZERO;
+	@Builder.Default
+	private BigDecimal despesas = BigDecimal.ZERO;
+	@Builder.Default
+	private List<ResumoMensalDTO> meses = new ArrayList<>();
+	
+	public BigDecimal getSaldo() {
+		return receitas.subtract(despesas);
+	}
+}
@@ -0,0 +1,30 @@
+package br.com.minhasfinancas.dto;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensalDTO {
+	private Integer anoLancamento;
+	private Integer mesLancamento;
+	@Builder.Default
+	private BigDecimal receitas = BigDecimal.ZERO;
+	@Builder.Default
+	private BigDecimal despesas = BigDecimal.ZERO;
+	@Builder.Default
+	private Map<StatusLancamento, ResumoStatusDTO> porStatus = new EnumMap<>(StatusLancamento.class);
+	
+	public BigDecimal getSaldo() {
+		return receitas.subtract(despesas);
+	}
+}
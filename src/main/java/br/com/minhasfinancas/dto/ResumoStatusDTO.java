@@ -0,0 +1,23 @@
+package br.com.minhasfinancas.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoStatusDTO {
+	@Builder.Default
+	private BigDecimal receitas = BigDecimal.ZERO;
+	@Builder.Default
+	private BigDecimal despesas = BigDecimal.ZERO;
+	
+	public BigDecimal getSaldo() {
+		return receitas.subtract(despesas);
+	}
+}
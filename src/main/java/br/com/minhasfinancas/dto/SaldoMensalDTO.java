@@ -0,0 +1,21 @@
+package br.com.minhasfinancas.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoMensalDTO {
+	private Integer anoLancamento;
+	private Integer mesLancamento;
+	@Builder.Default
+	private BigDecimal movimento = BigDecimal.ZERO;
+	@Builder.Default
+	private BigDecimal saldo = BigDecimal.ZERO;
+}
@@ -0,0 +1,20 @@
+package br.com.minhasfinancas.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessaoDTO {
+	private Long idUsuario;
+	private String nomeUsuario;
+	private String emailUsuario;
+	private String token;
+	private Instant expiraEm;
+}
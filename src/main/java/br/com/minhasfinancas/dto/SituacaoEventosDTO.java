@@ -0,0 +1,19 @@
+package br.com.minhasfinancas.dto;
+
+import java.util.List;
+
+import br.com.minhasfinancas.model.CheckpointProjecao;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SituacaoEventosDTO {
+	private long pendentes;
+	private long falhas;
+	private List<CheckpointProjecao> projecoes;
+}
@@ -0,0 +1,232 @@
+package br.com.minhasfinancas.eventos;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.CheckpointProjecao;
+import br.com.minhasfinancas.model.EventoLancamento;
+import br.com.minhasfinancas.model.enums.SituacaoEvento;
+import br.com.minhasfinancas.repository.CheckpointProjecaoRepository;
+import br.com.minhasfinancas.repository.EventoLancamentoRepository;
+import br.com.minhasfinancas.repository.TravaProcessoRepository;
+
+// Entrega os eventos pendentes às projeções em lotes, em ordem por usuário, e só então os marca como processados.
+// Um usuário cuja entrega falha fica para a próxima rodada sem bloquear os demais; após o limite de tentativas
+// os eventos ficam em FALHA e só voltam por reprocessamento. O despacho agendado roda em todos os nós, mas só entrega
+// quem detém a trava despacho-eventos; ela é renovada a cada lote e passa a outro nó quando o dono para de renová-la.
+@Component
+public class DespachanteEventos implements DisposableBean {
+
+	public static final String CRON_PADRAO = "* * * * * *";
+	public static final String TRAVA_DESPACHO = "despacho-eventos";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DespachanteEventos.class);
+
+	@Autowired
+	private EventoLancamentoRepository eventoLancamentoRepository;
+
+	@Autowired
+	private CheckpointProjecaoRepository checkpointProjecaoRepository;
+
+	@Autowired
+	private TravaProcessoRepository travaProcessoRepository;
+
+	private final List<ProjecaoEventos> projecoes;
+	private final int tamanhoLote;
+	private final int tentativasMaximo;
+	private final int retencaoDias;
+	private final Duration concessao;
+	private final String identificacao = UUID.randomUUID().toString();
+	private final ExecutorService reprocessamento = Executors.newSingleThreadExecutor();
+	private final AtomicBoolean reprocessando = new AtomicBoolean();
+
+	public DespachanteEventos(List<ProjecaoEventos> projecoes,
+			@Value("${minhasfinancas.eventos.tamanho-lote:500}") int tamanhoLote,
+			@Value("${minhasfinancas.eventos.tentativas-maximo:5}") int tentativasMaximo,
+			@Value("${minhasfinancas.eventos.retencao-dias:7}") int retencaoDias,
+			@Value("${minhasfinancas.eventos.despacho.trava-segundos:30}") long travaSegundos) {
+		this.projecoes = projecoes;
+		this.tamanhoLote = tamanhoLote;
+		this.tentativasMaximo = tentativasMaximo;
+		this.retencaoDias = retencaoDias;
+		this.concessao = Duration.ofSeconds(travaSegundos);
+	}
+
+	@Scheduled(cron = "${minhasfinancas.eventos.despacho.cron:" + CRON_PADRAO + "}")
+	public void despacharAgendado() {
+		while(renovarTrava() && despachar() >= tamanhoLote) {
+			// Continua enquanto a trava for deste nó e houver lotes completos entregues com sucesso
+		}
+	}
+
+	// Entrega tudo o que estiver pendente sem consultar a trava
+	public void despacharPendentes() {
+		while(despachar() >= tamanhoLote) {
+			// Continua enquanto houver lotes completos entregues com sucesso
+		}
+	}
+
+	// Retorna a quantidade de eventos entregues com sucesso
+	public synchronized int despachar() {
+		List<EventoLancamento> eventos = eventoLancamentoRepository.buscarPorSituacao(SituacaoEvento.PENDENTE, PageRequest.of(0, tamanhoLote));
+		if(eventos.isEmpty()) {
+			return 0;
+		}
+
+		List<Long> processados = new ArrayList<>();
+		List<Long> falhas = new ArrayList<>();
+		Map<String, Long> entregues = new HashMap<>();
+		for(Map.Entry<Long, List<EventoLancamento>> doUsuario : agruparPorUsuario(eventos).entrySet()) {
+			List<Long> ids = ids(doUsuario.getValue());
+			if(entregar(projecoes, doUsuario.getKey(), doUsuario.getValue(), entregues)) {
+				processados.addAll(ids);
+			} else {
+				falhas.addAll(ids);
+			}
+		}
+
+		if(!processados.isEmpty()) {
+			eventoLancamentoRepository.atualizarSituacao(processados, SituacaoEvento.PROCESSADO);
+		}
+		if(!falhas.isEmpty()) {
+			eventoLancamentoRepository.incrementarTentativas(falhas);
+			int descartados = eventoLancamentoRepository.atualizarSituacaoAposTentativas(falhas, tentativasMaximo, SituacaoEvento.FALHA);
+			if(descartados > 0) {
+				LOGGER.error("{} evento(s) marcado(s) como FALHA após {} tentativa(s)", descartados, tentativasMaximo);
+			}
+		}
+		registrarCheckpoints(entregues);
+		return processados.size();
+	}
+
+	// Valida a projeção e reprocessa fora da requisição; um segundo pedido enquanto o primeiro roda é recusado
+	public void agendarReprocessamento(String nomeProjecao, Long aPartirDoEvento) {
+		buscarProjecao(nomeProjecao);
+		if(!reprocessando.compareAndSet(false, true)) {
+			throw new RegraNegocioException("Já existe um reprocessamento em andamento!");
+		}
+
+		reprocessamento.execute(() -> {
+			try {
+				reprocessar(nomeProjecao, aPartirDoEvento);
+			} catch(RuntimeException e) {
+				LOGGER.error("Falha ao reprocessar a projeção {}", nomeProjecao, e);
+			} finally {
+				reprocessando.set(false);
+			}
+		});
+	}
+
+	// Entrega novamente a uma projeção todos os eventos retidos a partir do id informado. Não segura o monitor do
+	// despacho: as projeções aceitam eventos repetidos e os checkpoints só avançam
+	public int reprocessar(String nomeProjecao, Long aPartirDoEvento) {
+		ProjecaoEventos projecao = buscarProjecao(nomeProjecao);
+
+		long ultimo = aPartirDoEvento == null ? 0 : aPartirDoEvento - 1;
+		int total = 0;
+		List<EventoLancamento> eventos;
+		do {
+			eventos = eventoLancamentoRepository.buscarApos(ultimo, PageRequest.of(0, tamanhoLote));
+			for(Map.Entry<Long, List<EventoLancamento>> doUsuario : agruparPorUsuario(eventos).entrySet()) {
+				projecao.processar(doUsuario.getKey(), doUsuario.getValue());
+			}
+			if(!eventos.isEmpty()) {
+				ultimo = eventos.get(eventos.size() - 1).getIdEvento();
+				total += eventos.size();
+				registrarCheckpoints(Map.of(projecao.getNome(), ultimo));
+			}
+		} while(eventos.size() == tamanhoLote);
+
+		LOGGER.info("Projeção {} reprocessada com {} evento(s)", nomeProjecao, total);
+		return total;
+	}
+
+	@Scheduled(cron = "${minhasfinancas.eventos.expurgo.cron:0 30 3 * * *}")
+	public void expurgar() {
+		int removidos = eventoLancamentoRepository.removerAnteriores(SituacaoEvento.PROCESSADO, LocalDateTime.now().minusDays(retencaoDias));
+		LOGGER.info("Expurgo de eventos concluído com {} evento(s) removido(s)", removidos);
+	}
+
+	public List<String> getNomesProjecoes() {
+		List<String> nomes = new ArrayList<>();
+		projecoes.forEach(projecao -> nomes.add(projecao.getNome()));
+		return nomes;
+	}
+
+	private boolean entregar(List<ProjecaoEventos> destinos, Long idUsuario, List<EventoLancamento> eventos, Map<String, Long> entregues) {
+		long ultimo = eventos.get(eventos.size() - 1).getIdEvento();
+		for(ProjecaoEventos projecao : destinos) {
+			try {
+				projecao.processar(idUsuario, eventos);
+				entregues.merge(projecao.getNome(), ultimo, Math::max);
+			} catch(RuntimeException e) {
+				LOGGER.warn("Falha ao entregar {} evento(s) do usuário {} à projeção {}: {}",
+						eventos.size(), idUsuario, projecao.getNome(), e.getMessage());
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// O prazo da concessão deve ser bem maior que a diferença de relógio entre os nós e que a duração de um lote
+	private boolean renovarTrava() {
+		LocalDateTime agora = LocalDateTime.now();
+		return travaProcessoRepository.adquirir(TRAVA_DESPACHO, identificacao, agora, agora.plus(concessao)) > 0;
+	}
+
+	@Override
+	public void destroy() {
+		reprocessamento.shutdownNow();
+	}
+
+	private ProjecaoEventos buscarProjecao(String nomeProjecao) {
+		return projecoes.stream()
+				.filter(candidata -> candidata.getNome().equals(nomeProjecao))
+				.findFirst()
+				.orElseThrow(() -> new RegraNegocioException("Projeção não encontrada!"));
+	}
+
+	private synchronized void registrarCheckpoints(Map<String, Long> entregues) {
+		LocalDateTime agora = LocalDateTime.now();
+		entregues.forEach((nomeProjecao, ultimoEvento) -> {
+			CheckpointProjecao checkpoint = checkpointProjecaoRepository.findById(nomeProjecao)
+					.orElseGet(() -> CheckpointProjecao.builder().nomeProjecao(nomeProjecao).build());
+			checkpoint.setUltimoEvento(Math.max(checkpoint.getUltimoEvento(), ultimoEvento));
+			checkpoint.setDataAtualizacao(agora);
+			checkpointProjecaoRepository.save(checkpoint);
+		});
+	}
+
+	private Map<Long, List<EventoLancamento>> agruparPorUsuario(List<EventoLancamento> eventos) {
+		Map<Long, List<EventoLancamento>> porUsuario = new LinkedHashMap<>();
+		for(EventoLancamento evento : eventos) {
+			porUsuario.computeIfAbsent(evento.getIdUsuario(), id -> new ArrayList<>()).add(evento);
+		}
+		return porUsuario;
+	}
+
+	private List<Long> ids(List<EventoLancamento> eventos) {
+		List<Long> ids = new ArrayList<>(eventos.size());
+		eventos.forEach(evento -> ids.add(evento.getIdEvento()));
+		return ids;
+	}
+}
@@ -0,0 +1,46 @@
+package br.com.minhasfinancas.eventos;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.com.minhasfinancas.model.EventoLancamento;
+import br.com.minhasfinancas.model.enums.TipoEventoLancamento;
+import br.com.minhasfinancas.service.BuscaLancamentoService;
+
+// Mantém o índice de busca fora da requisição. Os lançamentos alterados são indexados pelo estado atual do banco,
+// o que torna a reentrega de eventos inofensiva; mudanças só de status não afetam o índice.
+@Component
+public class ProjecaoBuscaLancamento implements ProjecaoEventos {
+
+	public static final String NOME = "busca-lancamento";
+
+	@Autowired
+	private BuscaLancamentoService buscaLancamentoService;
+
+	@Override
+	public String getNome() {
+		return NOME;
+	}
+
+	@Override
+	public void processar(Long idUsuario, List<EventoLancamento> eventos) {
+		Set<Long> alterados = new LinkedHashSet<>();
+		Set<Long> removidos = new LinkedHashSet<>();
+		for(EventoLancamento evento : eventos) {
+			if(evento.getTipoEvento() == TipoEventoLancamento.REMOVIDO) {
+				alterados.remove(evento.getIdLancamento());
+				removidos.add(evento.getIdLancamento());
+			} else if(evento.getTipoEvento() != TipoEventoLancamento.STATUS_ALTERADO) {
+				alterados.add(evento.getIdLancamento());
+			}
+		}
+
+		if(!alterados.isEmpty() || !removidos.isEmpty()) {
+			buscaLancamentoService.atualizarIndice(alterados, removidos);
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package br.com.minhasfinancas.eventos;
+
+import java.util.List;
+
+import br.com.minhasfinancas.model.EventoLancamento;
+
+// Modelo de leitura alimentado pelo DespachanteEventos. A entrega é ao menos uma vez: o mesmo evento pode chegar de novo
+// após uma falha ou um reprocessamento, então o processamento deve ser idempotente.
+public interface ProjecaoEventos {
+
+	String getNome();
+
+	// Recebe eventos de um único usuário, em ordem
+	void processar(Long idUsuario, List<EventoLancamento> eventos);
+}
@@ -0,0 +1,11 @@
+package br.com.minhasfinancas.exception;
+
+public class ConflitoVersaoException extends RuntimeException{
+
+	private static final long serialVersionUID = 41207;
+	
+	public ConflitoVersaoException(String mensagem){
+		super(mensagem);
+	}
+
+}
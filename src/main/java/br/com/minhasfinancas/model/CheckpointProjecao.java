@@ -0,0 +1,37 @@
+package br.com.minhasfinancas.model;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "checkpoint_projecao")
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckpointProjecao {
+
+	@Id
+	@Column(name = "nome_projecao")
+	private String nomeProjecao;
+
+	@Column(name = "ultimo_evento")
+	@Builder.Default
+	private Long ultimoEvento = 0L;
+
+	@Column(name = "data_atualizacao")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	private LocalDateTime dataAtualizacao;
+}
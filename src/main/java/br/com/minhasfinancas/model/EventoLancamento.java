@@ -0,0 +1,99 @@
+package br.com.minhasfinancas.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import br.com.minhasfinancas.model.enums.SituacaoEvento;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoEventoLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// O id é gerado pelo banco no insert, feito com o saldo_usuario do usuário bloqueado;
+// assim os ids de um mesmo usuário crescem na ordem em que as transações são confirmadas.
+@Entity
+@Table(name = "evento_lancamento")
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoLancamento {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id_evento")
+	private Long idEvento;
+
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+
+	@Column(name = "tipo_evento")
+	@Enumerated(value = EnumType.STRING)
+	private TipoEventoLancamento tipoEvento;
+
+	@Column(name = "ano_lancamento")
+	private Integer anoLancamento;
+
+	@Column(name = "mes_lancamento")
+	private Integer mesLancamento;
+
+	@Column(name = "valor_lancamento")
+	private BigDecimal valorLancamento;
+
+	@Column(name = "tipo_lancamento")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipoLancamento;
+
+	@Column(name = "status_lancamento")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento statusLancamento;
+
+	@Column(name = "versao")
+	private Long versao;
+
+	@Column(name = "situacao")
+	@Enumerated(value = EnumType.STRING)
+	@Builder.Default
+	private SituacaoEvento situacao = SituacaoEvento.PENDENTE;
+
+	@Column(name = "tentativas")
+	@Builder.Default
+	private Integer tentativas = 0;
+
+	@Column(name = "data_criacao")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	private LocalDateTime dataCriacao;
+
+	public static EventoLancamento de(TipoEventoLancamento tipoEvento, Lancamento lancamento) {
+		return EventoLancamento.builder()
+				.idUsuario(lancamento.getUsuario().getIdUsuario())
+				.idLancamento(lancamento.getIdLancamento())
+				.tipoEvento(tipoEvento)
+				.anoLancamento(lancamento.getAnoLancamento())
+				.mesLancamento(lancamento.getMesLancamento())
+				.valorLancamento(lancamento.getValorLancamento())
+				.tipoLancamento(lancamento.getTipoLancamento())
+				.statusLancamento(lancamento.getStatusLancamento())
+				.versao(lancamento.getVersao())
+				.dataCriacao(LocalDateTime.now())
+				.build();
+	}
+}
@@ -3,18 +3,25 @@ package br.com.minhasfinancas.model;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
 import br.com.minhasfinancas.model.enums.StatusLancamento;
@@ -22,18 +29,31 @@ import br.com.minhasfinancas.model.enums.TipoLancamento;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "lancamento")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Lancamento.REGIAO_CACHE)
+@Table(name = "lancamento", indexes = {
+		@Index(name = "idx_lancamento_usuario_ano_mes", columnList = "id_usuario, ano_lancamento, mes_lancamento, id_lancamento"),
+		@Index(name = "idx_lancamento_usuario_tipo_status", columnList = "id_usuario, tipo_lancamento, status_lancamento"),
+		@Index(name = "idx_lancamento_recorrencia", columnList = "id_recorrencia, numero_parcela")
+})
 @Builder
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Lancamento {
+
+	public static final String REGIAO_CACHE = "lancamento";
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "lancamento_id")
+	@TableGenerator(name = "lancamento_id", table = "sequencia_id", pkColumnName = "nome_sequencia",
+			valueColumnName = "proximo_valor", pkColumnValue = "lancamento", allocationSize = 50)
+	@Column(name = "id_lancamento")
 	private Long idLancamento;
 	
 	@Column(name = "mes_lancamento")
@@ -42,8 +62,10 @@ public class Lancamento {
 	@Column(name = "ano_lancamento")
 	private Integer anoLancamento;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private Usuario usuario;
 	
 	@Column(name = "valor_lancamento")
@@ -63,4 +85,14 @@ public class Lancamento {
 	@Column(name = "status_lancamento")
 	@Enumerated(value = EnumType.STRING)
 	private StatusLancamento statusLancamento;
+	
+	@Column(name = "id_recorrencia")
+	private Long idRecorrencia;
+	
+	@Column(name = "numero_parcela")
+	private Integer numeroParcela;
+	
+	@Version
+	@Column(name = "versao")
+	private Long versao;
 }
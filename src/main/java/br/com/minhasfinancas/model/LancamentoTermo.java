@@ -0,0 +1,48 @@
+package br.com.minhasfinancas.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "lancamento_termo")
+@IdClass(LancamentoTermoId.class)
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoTermo implements Persistable<LancamentoTermoId> {
+	
+	public static final int TAMANHO_MAXIMO_TERMO = 64;
+	
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Id
+	@Column(name = "termo", length = TAMANHO_MAXIMO_TERMO)
+	private String termo;
+	
+	@Id
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+	
+	@Override
+	public LancamentoTermoId getId() {
+		return new LancamentoTermoId(idUsuario, termo, idLancamento);
+	}
+	
+	@Override
+	public boolean isNew() {
+		return true;
+	}
+}
@@ -0,0 +1,136 @@
+package br.com.minhasfinancas.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "recorrencia_lancamento")
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaLancamento {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id_recorrencia")
+	private Long idRecorrencia;
+	
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+	
+	@Column(name = "descricao")
+	private String descricao;
+	
+	@Column(name = "valor_lancamento")
+	private BigDecimal valorLancamento;
+	
+	@Column(name = "tipo_lancamento")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipoLancamento;
+	
+	@Column(name = "ano_inicio")
+	private Integer anoInicio;
+	
+	@Column(name = "mes_inicio")
+	private Integer mesInicio;
+	
+	@Column(name = "intervalo_meses")
+	@Builder.Default
+	private Integer intervaloMeses = 1;
+	
+	@Column(name = "total_parcelas")
+	private Integer totalParcelas;
+	
+	@Column(name = "ano_fim")
+	private Integer anoFim;
+	
+	@Column(name = "mes_fim")
+	private Integer mesFim;
+	
+	@Column(name = "parcelas_geradas")
+	@Builder.Default
+	private Integer parcelasGeradas = 0;
+	
+	@Column(name = "cancelada")
+	@Builder.Default
+	private boolean cancelada = false;
+	
+	@Version
+	@Column(name = "versao")
+	private Long versao;
+	
+	public YearMonth getInicio() {
+		return YearMonth.of(anoInicio, mesInicio);
+	}
+	
+	public YearMonth competencia(int numeroParcela) {
+		return getInicio().plusMonths((long) (numeroParcela - 1) * intervaloMeses);
+	}
+	
+	// Nulo quando a série não tem fim
+	public Integer getUltimaParcela() {
+		Integer ultima = totalParcelas;
+		if(anoFim != null && mesFim != null) {
+			long meses = getInicio().until(YearMonth.of(anoFim, mesFim), ChronoUnit.MONTHS);
+			int ultimaPorData = meses < 0 ? 0 : (int) (meses / intervaloMeses) + 1;
+			ultima = ultima == null ? ultimaPorData : Math.min(ultima, ultimaPorData);
+		}
+		return ultima;
+	}
+	
+	public boolean isCompleta() {
+		Integer ultima = getUltimaParcela();
+		return ultima != null && parcelasGeradas >= ultima;
+	}
+	
+	// Quantidade de parcelas com competência até o limite, respeitando o fim da série
+	public int parcelasAte(YearMonth limite) {
+		long meses = getInicio().until(limite, ChronoUnit.MONTHS);
+		int parcelas = meses < 0 ? 0 : (int) (meses / intervaloMeses) + 1;
+		Integer ultima = getUltimaParcela();
+		return ultima == null ? parcelas : Math.min(parcelas, ultima);
+	}
+	
+	// Primeira parcela com competência igual ou posterior ao mês informado
+	public int primeiraParcelaAPartirDe(YearMonth aPartirDe) {
+		long meses = getInicio().until(aPartirDe, ChronoUnit.MONTHS);
+		if(meses <= 0) {
+			return 1;
+		}
+		return (int) ((meses + intervaloMeses - 1) / intervaloMeses) + 1;
+	}
+	
+	public Lancamento gerarParcela(int numeroParcela, Usuario usuario) {
+		YearMonth competencia = competencia(numeroParcela);
+		return Lancamento.builder()
+				.descricao(descricao)
+				.valorLancamento(valorLancamento)
+				.tipoLancamento(tipoLancamento)
+				.anoLancamento(competencia.getYear())
+				.mesLancamento(competencia.getMonthValue())
+				.usuario(usuario)
+				.idRecorrencia(idRecorrencia)
+				.numeroParcela(numeroParcela)
+				.dataCadastro(LocalDate.now())
+				.build();
+	}
+}
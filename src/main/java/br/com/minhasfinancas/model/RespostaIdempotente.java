@@ -0,0 +1,83 @@
+package br.com.minhasfinancas.model;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resposta guardada para uma Idempotency-Key. Enquanto a primeira requisição está em andamento o status fica nulo
+// e o registro serve de reserva da chave entre instâncias; por isso a reserva é sempre um insert, nunca um merge.
+@Entity
+@Table(name = "resposta_idempotente")
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RespostaIdempotente implements Persistable<String> {
+
+	@Id
+	@Column(name = "chave")
+	private String chave;
+
+	@Column(name = "impressao")
+	private String impressao;
+
+	@Column(name = "status")
+	private Integer status;
+
+	@Column(name = "corpo")
+	private String corpo;
+
+	@Column(name = "etag")
+	private String etag;
+
+	@Column(name = "data_criacao")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	private LocalDateTime dataCriacao;
+
+	@Column(name = "data_expiracao")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	private LocalDateTime dataExpiracao;
+
+	@Transient
+	@Builder.Default
+	private boolean nova = true;
+
+	@Override
+	public String getId() {
+		return chave;
+	}
+
+	@Override
+	public boolean isNew() {
+		return nova;
+	}
+
+	@PostLoad
+	@PostPersist
+	void marcarPersistida() {
+		nova = false;
+	}
+
+	public boolean isConcluida() {
+		return status != null;
+	}
+
+	public boolean expirou(LocalDateTime momento) {
+		return dataExpiracao.isBefore(momento);
+	}
+}
@@ -0,0 +1,94 @@
+package br.com.minhasfinancas.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "resumo_ano_arquivado")
+@IdClass(ResumoAnoArquivadoId.class)
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoAnoArquivado {
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Id
+	@Column(name = "ano_lancamento")
+	private Integer anoLancamento;
+
+	@Column(name = "quantidade")
+	private Integer quantidade;
+
+	@Column(name = "receita_pendente")
+	@Builder.Default
+	private BigDecimal receitaPendente = BigDecimal.ZERO;
+
+	@Column(name = "receita_efetivado")
+	@Builder.Default
+	private BigDecimal receitaEfetivado = BigDecimal.ZERO;
+
+	@Column(name = "receita_cancelado")
+	@Builder.Default
+	private BigDecimal receitaCancelado = BigDecimal.ZERO;
+
+	@Column(name = "despesa_pendente")
+	@Builder.Default
+	private BigDecimal despesaPendente = BigDecimal.ZERO;
+
+	@Column(name = "despesa_efetivado")
+	@Builder.Default
+	private BigDecimal despesaEfetivado = BigDecimal.ZERO;
+
+	@Column(name = "despesa_cancelado")
+	@Builder.Default
+	private BigDecimal despesaCancelado = BigDecimal.ZERO;
+
+	@Column(name = "data_arquivamento")
+	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+	private LocalDate dataArquivamento;
+
+	public static ResumoAnoArquivado de(Long idUsuario, Integer anoLancamento, int quantidade, SaldoUsuario totais) {
+		return ResumoAnoArquivado.builder()
+				.idUsuario(idUsuario)
+				.anoLancamento(anoLancamento)
+				.quantidade(quantidade)
+				.receitaPendente(totais.getReceitaPendente())
+				.receitaEfetivado(totais.getReceitaEfetivado())
+				.receitaCancelado(totais.getReceitaCancelado())
+				.despesaPendente(totais.getDespesaPendente())
+				.despesaEfetivado(totais.getDespesaEfetivado())
+				.despesaCancelado(totais.getDespesaCancelado())
+				.dataArquivamento(LocalDate.now())
+				.build();
+	}
+
+	public SaldoUsuario paraSaldo() {
+		return SaldoUsuario.builder()
+				.idUsuario(idUsuario)
+				.receitaPendente(receitaPendente)
+				.receitaEfetivado(receitaEfetivado)
+				.receitaCancelado(receitaCancelado)
+				.despesaPendente(despesaPendente)
+				.despesaEfetivado(despesaEfetivado)
+				.despesaCancelado(despesaCancelado)
+				.build();
+	}
+}
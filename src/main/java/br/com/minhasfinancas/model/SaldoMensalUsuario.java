@@ -0,0 +1,87 @@
+package br.com.minhasfinancas.model;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "saldo_mensal_usuario")
+@IdClass(SaldoMensalUsuarioId.class)
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoMensalUsuario implements Persistable<SaldoMensalUsuarioId> {
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	// ano * 12 + mes - 1, para que os meses de um usuário sejam ordenados e comparados como inteiros
+	@Id
+	@Column(name = "ano_mes")
+	private Integer anoMes;
+
+	@Column(name = "movimento")
+	@Builder.Default
+	private BigDecimal movimento = BigDecimal.ZERO;
+
+	@Column(name = "saldo_acumulado")
+	@Builder.Default
+	private BigDecimal saldoAcumulado = BigDecimal.ZERO;
+
+	@Transient
+	@Builder.Default
+	private boolean novo = true;
+
+	public static int anoMes(int ano, int mes) {
+		return ano * 12 + mes - 1;
+	}
+
+	public static int ano(int anoMes) {
+		return Math.floorDiv(anoMes, 12);
+	}
+
+	public static int mes(int anoMes) {
+		return Math.floorMod(anoMes, 12) + 1;
+	}
+
+	// Mesma regra de SaldoUsuario: receitas somam, despesas subtraem e lançamentos sem tipo são ignorados
+	public static BigDecimal saldo(TipoLancamento tipoLancamento, BigDecimal valor) {
+		if(tipoLancamento == null || valor == null) {
+			return BigDecimal.ZERO;
+		}
+		return tipoLancamento == TipoLancamento.RECEITA ? valor : valor.negate();
+	}
+
+	@Override
+	public SaldoMensalUsuarioId getId() {
+		return new SaldoMensalUsuarioId(idUsuario, anoMes);
+	}
+
+	@Override
+	public boolean isNew() {
+		return novo;
+	}
+
+	@PostLoad
+	@PostPersist
+	void marcarPersistido() {
+		novo = false;
+	}
+}
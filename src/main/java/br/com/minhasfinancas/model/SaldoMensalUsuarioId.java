@@ -0,0 +1,18 @@
+package br.com.minhasfinancas.model;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoMensalUsuarioId implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Long idUsuario;
+	private Integer anoMes;
+}
@@ -0,0 +1,133 @@
+package br.com.minhasfinancas.model;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "saldo_usuario")
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoUsuario {
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "receita_pendente")
+	@Builder.Default
+	private BigDecimal receitaPendente = BigDecimal.ZERO;
+
+	@Column(name = "receita_efetivado")
+	@Builder.Default
+	private BigDecimal receitaEfetivado = BigDecimal.ZERO;
+
+	@Column(name = "receita_cancelado")
+	@Builder.Default
+	private BigDecimal receitaCancelado = BigDecimal.ZERO;
+
+	@Column(name = "despesa_pendente")
+	@Builder.Default
+	private BigDecimal despesaPendente = BigDecimal.ZERO;
+
+	@Column(name = "despesa_efetivado")
+	@Builder.Default
+	private BigDecimal despesaEfetivado = BigDecimal.ZERO;
+
+	@Column(name = "despesa_cancelado")
+	@Builder.Default
+	private BigDecimal despesaCancelado = BigDecimal.ZERO;
+
+	@Column(name = "versao_dados")
+	@Builder.Default
+	private Long versaoDados = 0L;
+
+	public BigDecimal getTotalReceitas() {
+		return receitaPendente.add(receitaEfetivado).add(receitaCancelado);
+	}
+
+	public BigDecimal getTotalDespesas() {
+		return despesaPendente.add(despesaEfetivado).add(despesaCancelado);
+	}
+
+	public BigDecimal getSaldo() {
+		return getTotalReceitas().subtract(getTotalDespesas());
+	}
+
+	public void incrementarVersaoDados() {
+		versaoDados = versaoDados + 1;
+	}
+
+	public void somar(TipoLancamento tipoLancamento, StatusLancamento statusLancamento, BigDecimal valor) {
+		if(tipoLancamento == null || valor == null) {
+			return;
+		}
+
+		if(statusLancamento == null) {
+			statusLancamento = StatusLancamento.PENDENTE;
+		}
+
+		if(tipoLancamento == TipoLancamento.RECEITA) {
+			switch(statusLancamento) {
+			case EFETIVADO:
+				receitaEfetivado = receitaEfetivado.add(valor);
+				break;
+			case CANCELADO:
+				receitaCancelado = receitaCancelado.add(valor);
+				break;
+			default:
+				receitaPendente = receitaPendente.add(valor);
+			}
+		} else {
+			switch(statusLancamento) {
+			case EFETIVADO:
+				despesaEfetivado = despesaEfetivado.add(valor);
+				break;
+			case CANCELADO:
+				despesaCancelado = despesaCancelado.add(valor);
+				break;
+			default:
+				despesaPendente = despesaPendente.add(valor);
+			}
+		}
+	}
+
+	public void acumular(SaldoUsuario outro) {
+		receitaPendente = receitaPendente.add(outro.getReceitaPendente());
+		receitaEfetivado = receitaEfetivado.add(outro.getReceitaEfetivado());
+		receitaCancelado = receitaCancelado.add(outro.getReceitaCancelado());
+		despesaPendente = despesaPendente.add(outro.getDespesaPendente());
+		despesaEfetivado = despesaEfetivado.add(outro.getDespesaEfetivado());
+		despesaCancelado = despesaCancelado.add(outro.getDespesaCancelado());
+	}
+
+	public void subtrair(SaldoUsuario outro) {
+		receitaPendente = receitaPendente.subtract(outro.getReceitaPendente());
+		receitaEfetivado = receitaEfetivado.subtract(outro.getReceitaEfetivado());
+		receitaCancelado = receitaCancelado.subtract(outro.getReceitaCancelado());
+		despesaPendente = despesaPendente.subtract(outro.getDespesaPendente());
+		despesaEfetivado = despesaEfetivado.subtract(outro.getDespesaEfetivado());
+		despesaCancelado = despesaCancelado.subtract(outro.getDespesaCancelado());
+	}
+
+	public boolean possuiMesmosValores(SaldoUsuario outro) {
+		return receitaPendente.compareTo(outro.getReceitaPendente()) == 0
+				&& receitaEfetivado.compareTo(outro.getReceitaEfetivado()) == 0
+				&& receitaCancelado.compareTo(outro.getReceitaCancelado()) == 0
+				&& despesaPendente.compareTo(outro.getDespesaPendente()) == 0
+				&& despesaEfetivado.compareTo(outro.getDespesaEfetivado()) == 0
+				&& despesaCancelado.compareTo(outro.getDespesaCancelado()) == 0;
+	}
+}
@@ -0,0 +1,37 @@
+package br.com.minhasfinancas.model;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Concessão com prazo para tarefas que devem rodar em um único nó por banco; quem não renova perde a vez ao expirar
+@Entity
+@Table(name = "trava_processo")
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravaProcesso {
+
+	@Id
+	@Column(name = "nome")
+	private String nome;
+
+	@Column(name = "dono")
+	private String dono;
+
+	@Column(name = "data_expiracao")
+	@Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+	private LocalDateTime dataExpiracao;
+}
@@ -1,11 +1,16 @@
 package br.com.minhasfinancas.model;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -15,12 +20,16 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "usuario")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Usuario.REGIAO_CACHE)
+@Table(name = "usuario", uniqueConstraints = @UniqueConstraint(name = "uk_usuario_email", columnNames = "email"))
 @Builder
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Usuario {
+
+	public static final String REGIAO_CACHE = "usuario";
 	
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
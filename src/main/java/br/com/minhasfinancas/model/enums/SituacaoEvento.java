@@ -0,0 +1,7 @@
+package br.com.minhasfinancas.model.enums;
+
+public enum SituacaoEvento {
+	PENDENTE,
+	PROCESSADO,
+	FALHA
+}
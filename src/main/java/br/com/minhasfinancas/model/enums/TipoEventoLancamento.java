@@ -0,0 +1,8 @@
+package br.com.minhasfinancas.model.enums;
+
+public enum TipoEventoLancamento {
+	CRIADO,
+	ATUALIZADO,
+	STATUS_ALTERADO,
+	REMOVIDO
+}
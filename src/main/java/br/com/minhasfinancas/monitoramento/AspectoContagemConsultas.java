@@ -0,0 +1,44 @@
+package br.com.minhasfinancas.monitoramento;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Aspect
+@Component
+@ConditionalOnProperty(name = "minhasfinancas.consultas.monitoramento", havingValue = "registrar")
+public class AspectoContagemConsultas {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AspectoContagemConsultas.class);
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	public AspectoContagemConsultas(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Around("within(@org.springframework.stereotype.Service *)")
+	public Object contar(ProceedingJoinPoint joinPoint) throws Throwable {
+		String escopo = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+		ContadorConsultas.iniciar(escopo);
+		try {
+			return joinPoint.proceed();
+		} finally {
+			RegistroConsultas registro = ContadorConsultas.finalizar();
+			meterRegistry.ifAvailable(registry -> DistributionSummary.builder("minhasfinancas.consultas")
+					.tag("tipo", "servico")
+					.tag("escopo", escopo)
+					.register(registry)
+					.record(registro.getQuantidade()));
+			LOGGER.debug("{} executou {} consulta(s)", escopo, registro.getQuantidade());
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package br.com.minhasfinancas.monitoramento;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.consultas.monitoramento", havingValue = "registrar")
+public class ConfiguracaoMonitoramentoConsultas implements WebMvcConfigurer {
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+	private final int orcamentoPadrao;
+
+	public ConfiguracaoMonitoramentoConsultas(ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${minhasfinancas.consultas.orcamento-padrao:10}") int orcamentoPadrao) {
+		this.meterRegistry = meterRegistry;
+		this.orcamentoPadrao = orcamentoPadrao;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new InterceptadorOrcamentoConsultas(meterRegistry.getIfAvailable(), orcamentoPadrao))
+				.addPathPatterns("/api/**");
+	}
+}
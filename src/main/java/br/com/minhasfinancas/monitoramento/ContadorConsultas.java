@@ -0,0 +1,44 @@
+package br.com.minhasfinancas.monitoramento;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+public final class ContadorConsultas {
+
+	private static final ThreadLocal<Deque<RegistroConsultas>> ESCOPOS = new ThreadLocal<>();
+
+	private ContadorConsultas() {
+	}
+
+	public static void iniciar(String escopo) {
+		Deque<RegistroConsultas> escopos = ESCOPOS.get();
+		if(escopos == null) {
+			escopos = new ArrayDeque<>();
+			ESCOPOS.set(escopos);
+		}
+		escopos.push(new RegistroConsultas(escopo));
+	}
+
+	public static RegistroConsultas finalizar() {
+		Deque<RegistroConsultas> escopos = ESCOPOS.get();
+		if(escopos == null || escopos.isEmpty()) {
+			throw new IllegalStateException("Nenhum escopo de contagem de consultas aberto nesta thread");
+		}
+		RegistroConsultas registro = escopos.pop();
+		if(escopos.isEmpty()) {
+			ESCOPOS.remove();
+		}
+		return registro;
+	}
+
+	// Cada consulta conta para todos os escopos abertos: a requisição inclui as consultas dos serviços que ela chama
+	static void registrar(String sql) {
+		Deque<RegistroConsultas> escopos = ESCOPOS.get();
+		if(escopos == null) {
+			return;
+		}
+		for(RegistroConsultas registro : escopos) {
+			registro.registrar(sql);
+		}
+	}
+}
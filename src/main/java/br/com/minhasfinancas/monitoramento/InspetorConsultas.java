@@ -0,0 +1,14 @@
+package br.com.minhasfinancas.monitoramento;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class InspetorConsultas implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public String inspect(String sql) {
+		ContadorConsultas.registrar(sql);
+		return sql;
+	}
+}
@@ -0,0 +1,72 @@
+package br.com.minhasfinancas.monitoramento;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class InterceptadorOrcamentoConsultas implements AsyncHandlerInterceptor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(InterceptadorOrcamentoConsultas.class);
+
+	private final MeterRegistry meterRegistry;
+	private final int orcamentoPadrao;
+
+	public InterceptadorOrcamentoConsultas(MeterRegistry meterRegistry, int orcamentoPadrao) {
+		this.meterRegistry = meterRegistry;
+		this.orcamentoPadrao = orcamentoPadrao;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if(handler instanceof HandlerMethod) {
+			ContadorConsultas.iniciar(request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+		}
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		if(handler instanceof HandlerMethod) {
+			avaliar(ContadorConsultas.finalizar(), orcamento((HandlerMethod) handler));
+		}
+	}
+
+	// Em respostas assíncronas o afterCompletion não roda nesta thread; o escopo é encerrado com o que foi executado até aqui
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if(handler instanceof HandlerMethod) {
+			avaliar(ContadorConsultas.finalizar(), orcamento((HandlerMethod) handler));
+		}
+	}
+
+	private int orcamento(HandlerMethod metodo) {
+		OrcamentoConsultas orcamento = metodo.getMethodAnnotation(OrcamentoConsultas.class);
+		if(orcamento == null) {
+			orcamento = metodo.getBeanType().getAnnotation(OrcamentoConsultas.class);
+		}
+		return orcamento == null ? orcamentoPadrao : orcamento.value();
+	}
+
+	private void avaliar(RegistroConsultas registro, int orcamento) {
+		if(meterRegistry != null) {
+			DistributionSummary.builder("minhasfinancas.consultas")
+					.tag("tipo", "requisicao")
+					.tag("escopo", registro.getEscopo())
+					.register(meterRegistry)
+					.record(registro.getQuantidade());
+		}
+
+		if(registro.excede(orcamento)) {
+			LOGGER.warn("Requisição {} executou {} consulta(s), acima do orçamento de {}:\n{}",
+					registro.getEscopo(), registro.getQuantidade(), orcamento, String.join("\n", registro.getSql()));
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package br.com.minhasfinancas.monitoramento;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class RegistroConsultas {
+
+	public static final int MAXIMO_SQL_REGISTRADOS = 50;
+
+	private final String escopo;
+	private final List<String> sql = new ArrayList<>();
+	private int quantidade;
+
+	public RegistroConsultas(String escopo) {
+		this.escopo = escopo;
+	}
+
+	void registrar(String consulta) {
+		quantidade++;
+		if(sql.size() < MAXIMO_SQL_REGISTRADOS) {
+			sql.add(consulta);
+		}
+	}
+
+	public String getEscopo() {
+		return escopo;
+	}
+
+	public int getQuantidade() {
+		return quantidade;
+	}
+
+	public List<String> getSql() {
+		return Collections.unmodifiableList(sql);
+	}
+
+	public boolean excede(int orcamento) {
+		return quantidade > orcamento;
+	}
+}
@@ -0,0 +1,26 @@
+package br.com.minhasfinancas.reativo;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.pool.ConnectionPool;
+
+public class ConexoesReativas implements DisposableBean {
+
+	private final ConnectionPool pool;
+	private final DatabaseClient cliente;
+
+	public ConexoesReativas(ConnectionPool pool) {
+		this.pool = pool;
+		this.cliente = DatabaseClient.create(pool);
+	}
+
+	public DatabaseClient getCliente() {
+		return cliente;
+	}
+
+	@Override
+	public void destroy() {
+		pool.dispose();
+	}
+}
@@ -0,0 +1,47 @@
+package br.com.minhasfinancas.reativo;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+@Configuration
+public class ConfiguracaoLeituraReativa {
+
+	// A ConnectionFactory não é exposta como bean: a presença dela desligaria a autoconfiguração do DataSource usado pelo JPA
+	@Bean
+	public ConexoesReativas conexoesReativas(
+			@Value("${minhasfinancas.reativo.url}") String url,
+			@Value("${minhasfinancas.reativo.usuario:}") String usuario,
+			@Value("${minhasfinancas.reativo.senha:}") String senha,
+			@Value("${minhasfinancas.reativo.pool-maximo:20}") int poolMaximo,
+			@Value("${minhasfinancas.reativo.timeout-conexao-ms:2000}") long timeoutConexaoMs) {
+		ConnectionFactoryOptions.Builder opcoes = ConnectionFactoryOptions.parse(url).mutate();
+		if(!usuario.isEmpty()) {
+			opcoes.option(ConnectionFactoryOptions.USER, usuario);
+		}
+		if(!senha.isEmpty()) {
+			opcoes.option(ConnectionFactoryOptions.PASSWORD, senha);
+		}
+
+		ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes.build()))
+				.name("reativo")
+				.initialSize(0)
+				.maxSize(poolMaximo)
+				.maxAcquireTime(Duration.ofMillis(timeoutConexaoMs))
+				.build());
+		return new ConexoesReativas(pool);
+	}
+
+	@Bean
+	public DatabaseClient databaseClientReativo(ConexoesReativas conexoesReativas) {
+		return conexoesReativas.getCliente();
+	}
+}
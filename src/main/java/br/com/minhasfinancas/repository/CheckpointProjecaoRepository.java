@@ -0,0 +1,13 @@
+package br.com.minhasfinancas.repository;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import br.com.minhasfinancas.model.CheckpointProjecao;
+
+@Repository
+@Transactional
+public interface CheckpointProjecaoRepository extends JpaRepository<CheckpointProjecao, String> {
+}
@@ -0,0 +1,47 @@
+package br.com.minhasfinancas.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CursorLancamento {
+	
+	private static final String SEPARADOR = ":";
+	
+	private final Integer anoLancamento;
+	private final Integer mesLancamento;
+	private final Long idLancamento;
+	private final boolean decrescente;
+	
+	public static CursorLancamento posicaoApos(Lancamento lancamento, boolean decrescente) {
+		return new CursorLancamento(lancamento.getAnoLancamento(), lancamento.getMesLancamento(), lancamento.getIdLancamento(), decrescente);
+	}
+	
+	public static CursorLancamento posicaoApos(LancamentoListagemDTO lancamento, boolean decrescente) {
+		return new CursorLancamento(lancamento.getAnoLancamento(), lancamento.getMesLancamento(), lancamento.getIdLancamento(), decrescente);
+	}
+	
+	public String codificar() {
+		String posicao = anoLancamento + SEPARADOR + mesLancamento + SEPARADOR + idLancamento + SEPARADOR + (decrescente ? "d" : "a");
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	public static CursorLancamento decodificar(String cursor) {
+		try {
+			String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARADOR);
+			if(partes.length != 4) {
+				throw new RegraNegocioException("Cursor de paginação inválido!");
+			}
+			return new CursorLancamento(Integer.valueOf(partes[0]), Integer.valueOf(partes[1]), Long.valueOf(partes[2]), "d".equals(partes[3]));
+		} catch(IllegalArgumentException e) {
+			throw new RegraNegocioException("Cursor de paginação inválido!");
+		}
+	}
+}
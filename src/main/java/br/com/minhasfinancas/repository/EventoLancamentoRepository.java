@@ -0,0 +1,48 @@
+package br.com.minhasfinancas.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.minhasfinancas.model.EventoLancamento;
+import br.com.minhasfinancas.model.enums.SituacaoEvento;
+
+@Repository
+@Transactional
+public interface EventoLancamentoRepository extends JpaRepository<EventoLancamento, Long>, EventoLancamentoRepositoryCustom {
+
+	@Query(value = "select e from EventoLancamento e where e.situacao = :situacao order by e.idEvento")
+	List<EventoLancamento> buscarPorSituacao(@Param("situacao") SituacaoEvento situacao, Pageable pageable);
+
+	@Query(value = "select e from EventoLancamento e where e.idEvento > :idEvento order by e.idEvento")
+	List<EventoLancamento> buscarApos(@Param("idEvento") Long idEvento, Pageable pageable);
+
+	@Query(value = "select count(e) from EventoLancamento e where e.situacao = :situacao")
+	long contarPorSituacao(@Param("situacao") SituacaoEvento situacao);
+
+	@Modifying
+	@Query(value = "update EventoLancamento e set e.situacao = :situacao where e.idEvento in :ids")
+	int atualizarSituacao(@Param("ids") Collection<Long> ids, @Param("situacao") SituacaoEvento situacao);
+
+	@Modifying
+	@Query(value = "update EventoLancamento e set e.tentativas = e.tentativas + 1 where e.idEvento in :ids")
+	int incrementarTentativas(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query(value = "update EventoLancamento e set e.situacao = :situacao where e.idEvento in :ids and e.tentativas >= :tentativas")
+	int atualizarSituacaoAposTentativas(@Param("ids") Collection<Long> ids, @Param("tentativas") int tentativas,
+			@Param("situacao") SituacaoEvento situacao);
+
+	@Modifying
+	@Query(value = "delete from EventoLancamento e where e.situacao = :situacao and e.dataCriacao < :limite")
+	int removerAnteriores(@Param("situacao") SituacaoEvento situacao, @Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,9 @@
+package br.com.minhasfinancas.repository;
+
+import java.util.List;
+
+import br.com.minhasfinancas.model.EventoLancamento;
+
+public interface EventoLancamentoRepositoryCustom {
+	void inserirEmLote(List<EventoLancamento> eventos);
+}
@@ -0,0 +1,56 @@
+package br.com.minhasfinancas.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import br.com.minhasfinancas.model.EventoLancamento;
+
+public class EventoLancamentoRepositoryImpl implements EventoLancamentoRepositoryCustom {
+
+	private static final String INSERT = "insert into evento_lancamento (id_usuario, id_lancamento, tipo_evento, ano_lancamento, "
+			+ "mes_lancamento, valor_lancamento, tipo_lancamento, status_lancamento, versao, situacao, tentativas, data_criacao) values ";
+	private static final String VALORES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	// Com id gerado pelo banco o Hibernate não agrupa os inserts; cada comando aqui grava até TAMANHO_LOTE_JDBC eventos
+	@Override
+	public void inserirEmLote(List<EventoLancamento> eventos) {
+		for(int inicio = 0; inicio < eventos.size(); inicio += LancamentoRepositoryImpl.TAMANHO_LOTE_JDBC) {
+			List<EventoLancamento> parte = eventos.subList(inicio, Math.min(inicio + LancamentoRepositoryImpl.TAMANHO_LOTE_JDBC, eventos.size()));
+
+			StringBuilder sql = new StringBuilder(INSERT);
+			for(int i = 0; i < parte.size(); i++) {
+				sql.append(i == 0 ? VALORES : ", " + VALORES);
+			}
+
+			// Sem declarar a entidade afetada, o Hibernate invalidaria todas as regiões do cache de segundo nível
+			NativeQuery<?> insert = entityManager.createNativeQuery(sql.toString())
+					.unwrap(NativeQuery.class)
+					.addSynchronizedEntityClass(EventoLancamento.class);
+			int posicao = 1;
+			for(EventoLancamento evento : parte) {
+				insert.setParameter(posicao++, evento.getIdUsuario(), StandardBasicTypes.LONG);
+				insert.setParameter(posicao++, evento.getIdLancamento(), StandardBasicTypes.LONG);
+				insert.setParameter(posicao++, evento.getTipoEvento().name(), StandardBasicTypes.STRING);
+				insert.setParameter(posicao++, evento.getAnoLancamento(), StandardBasicTypes.INTEGER);
+				insert.setParameter(posicao++, evento.getMesLancamento(), StandardBasicTypes.INTEGER);
+				insert.setParameter(posicao++, evento.getValorLancamento(), StandardBasicTypes.BIG_DECIMAL);
+				insert.setParameter(posicao++, evento.getTipoLancamento() == null ? null : evento.getTipoLancamento().name(), StandardBasicTypes.STRING);
+				insert.setParameter(posicao++, evento.getStatusLancamento() == null ? null : evento.getStatusLancamento().name(), StandardBasicTypes.STRING);
+				insert.setParameter(posicao++, evento.getVersao(), StandardBasicTypes.LONG);
+				insert.setParameter(posicao++, evento.getSituacao().name(), StandardBasicTypes.STRING);
+				insert.setParameter(posicao++, evento.getTentativas(), StandardBasicTypes.INTEGER);
+				insert.setParameter(posicao++, Timestamp.valueOf(evento.getDataCriacao()), StandardBasicTypes.TIMESTAMP);
+			}
+			insert.executeUpdate();
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package br.com.minhasfinancas.repository;
+
+public final class FiltroLike {
+	
+	public static final char ESCAPE = '!';
+	
+	private FiltroLike() {
+	}
+	
+	public static String escapar(String valor) {
+		return valor.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+	}
+	
+	public static String contendo(String valor) {
+		return "%" + escapar(valor) + "%";
+	}
+	
+	public static String iniciandoCom(String valor) {
+		return escapar(valor) + "%";
+	}
+}
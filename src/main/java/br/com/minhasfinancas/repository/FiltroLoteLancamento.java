@@ -0,0 +1,67 @@
+package br.com.minhasfinancas.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroLoteLancamento {
+
+	private Long idUsuario;
+	private List<Long> idsLancamentos;
+	private Integer anoLancamento;
+	private Integer mesLancamento;
+	private StatusLancamento statusAtual;
+	private StatusLancamento excetoStatus;
+
+	public boolean possuiCriterio() {
+		return (idsLancamentos != null && !idsLancamentos.isEmpty())
+				|| anoLancamento != null || mesLancamento != null || statusAtual != null;
+	}
+
+	public Predicate[] predicados(CriteriaBuilder cb, Root<Lancamento> root) {
+		List<Predicate> predicados = new ArrayList<>();
+		predicados.add(cb.equal(root.get("usuario").get("idUsuario"), idUsuario));
+
+		if(idsLancamentos != null && !idsLancamentos.isEmpty()) {
+			predicados.add(root.get("idLancamento").in(idsLancamentos));
+		}
+
+		if(anoLancamento != null) {
+			predicados.add(cb.equal(root.get("anoLancamento"), anoLancamento));
+		}
+
+		if(mesLancamento != null) {
+			predicados.add(cb.equal(root.get("mesLancamento"), mesLancamento));
+		}
+
+		Path<StatusLancamento> status = root.get("statusLancamento");
+		if(statusAtual == StatusLancamento.PENDENTE) {
+			predicados.add(cb.or(cb.equal(status, statusAtual), cb.isNull(status)));
+		} else if(statusAtual != null) {
+			predicados.add(cb.equal(status, statusAtual));
+		}
+
+		if(excetoStatus == StatusLancamento.PENDENTE) {
+			predicados.add(cb.and(cb.notEqual(status, excetoStatus), cb.isNotNull(status)));
+		} else if(excetoStatus != null) {
+			predicados.add(cb.or(cb.notEqual(status, excetoStatus), cb.isNull(status)));
+		}
+
+		return predicados.toArray(new Predicate[0]);
+	}
+}
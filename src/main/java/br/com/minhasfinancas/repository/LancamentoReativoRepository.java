@@ -0,0 +1,169 @@
+package br.com.minhasfinancas.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.SaldoUsuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+@Repository
+public class LancamentoReativoRepository {
+
+	private static final String COLUNAS_LISTAGEM = "select id_lancamento, descricao, mes_lancamento, ano_lancamento, valor_lancamento, "
+			+ "tipo_lancamento, status_lancamento, data_cadastro, id_usuario, versao from lancamento";
+
+	@Autowired
+	private DatabaseClient databaseClientReativo;
+
+	// Mesmos filtros e ordenação de LancamentoRepositoryImpl.buscarPagina, em SQL para o driver R2DBC
+	public Flux<LancamentoListagemDTO> buscarPagina(Lancamento filtro, CursorLancamento cursor, int limite, boolean decrescente) {
+		StringBuilder sql = new StringBuilder(COLUNAS_LISTAGEM).append(" where 1 = 1");
+		Map<String, Object> parametros = new LinkedHashMap<>();
+		
+		if(filtro.getUsuario() != null && filtro.getUsuario().getIdUsuario() != null) {
+			sql.append(" and id_usuario = :idUsuario");
+			parametros.put("idUsuario", filtro.getUsuario().getIdUsuario());
+		}
+		
+		if(filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty()) {
+			sql.append(" and lower(descricao) like :descricao escape '").append(FiltroLike.ESCAPE).append("'");
+			parametros.put("descricao", FiltroLike.contendo(filtro.getDescricao().toLowerCase()));
+		}
+		
+		if(filtro.getAnoLancamento() != null) {
+			sql.append(" and ano_lancamento = :anoLancamento");
+			parametros.put("anoLancamento", filtro.getAnoLancamento());
+		}
+		
+		if(filtro.getMesLancamento() != null) {
+			sql.append(" and mes_lancamento = :mesLancamento");
+			parametros.put("mesLancamento", filtro.getMesLancamento());
+		}
+		
+		if(filtro.getTipoLancamento() != null) {
+			sql.append(" and tipo_lancamento = :tipoLancamento");
+			parametros.put("tipoLancamento", filtro.getTipoLancamento().name());
+		}
+		
+		if(filtro.getStatusLancamento() != null) {
+			sql.append(" and status_lancamento = :statusLancamento");
+			parametros.put("statusLancamento", filtro.getStatusLancamento().name());
+		}
+		
+		String direcao = decrescente ? "desc" : "asc";
+		if(cursor != null) {
+			String comparacao = decrescente ? " < " : " > ";
+			sql.append(" and (ano_lancamento").append(comparacao).append(":anoCursor")
+				.append(" or (ano_lancamento = :anoCursor and (mes_lancamento").append(comparacao).append(":mesCursor")
+				.append(" or (mes_lancamento = :mesCursor and id_lancamento").append(comparacao).append(":idCursor))))");
+			parametros.put("anoCursor", cursor.getAnoLancamento());
+			parametros.put("mesCursor", cursor.getMesLancamento());
+			parametros.put("idCursor", cursor.getIdLancamento());
+		}
+		
+		sql.append(" order by ano_lancamento ").append(direcao)
+			.append(", mes_lancamento ").append(direcao)
+			.append(", id_lancamento ").append(direcao)
+			.append(" limit :limite");
+		parametros.put("limite", limite);
+		
+		GenericExecuteSpec consulta = databaseClientReativo.sql(sql.toString());
+		for(Map.Entry<String, Object> parametro : parametros.entrySet()) {
+			consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+		}
+		return consulta.map((linha, metadados) -> converter(linha)).all();
+	}
+	
+	public Mono<Long> buscarVersaoDados(Long idUsuario) {
+		return databaseClientReativo.sql("select versao_dados from saldo_usuario where id_usuario = :idUsuario")
+				.bind("idUsuario", idUsuario)
+				.map((linha, metadados) -> linha.get("versao_dados", Long.class))
+				.one();
+	}
+	
+	public Mono<SaldoUsuario> buscarSaldo(Long idUsuario) {
+		return databaseClientReativo.sql("select receita_pendente, receita_efetivado, receita_cancelado, despesa_pendente, "
+				+ "despesa_efetivado, despesa_cancelado, versao_dados from saldo_usuario where id_usuario = :idUsuario")
+				.bind("idUsuario", idUsuario)
+				.map((linha, metadados) -> SaldoUsuario.builder()
+						.idUsuario(idUsuario)
+						.receitaPendente(linha.get("receita_pendente", BigDecimal.class))
+						.receitaEfetivado(linha.get("receita_efetivado", BigDecimal.class))
+						.receitaCancelado(linha.get("receita_cancelado", BigDecimal.class))
+						.despesaPendente(linha.get("despesa_pendente", BigDecimal.class))
+						.despesaEfetivado(linha.get("despesa_efetivado", BigDecimal.class))
+						.despesaCancelado(linha.get("despesa_cancelado", BigDecimal.class))
+						.versaoDados(linha.get("versao_dados", Long.class))
+						.build())
+				.one();
+	}
+	
+	// Equivalente a SaldoUsuarioService.recalcular: totais dos lançamentos ativos mais os resumos dos anos encerrados,
+	// acumulados com as mesmas regras de SaldoUsuario.somar e SaldoUsuario.acumular
+	public Mono<SaldoUsuario> recalcularSaldo(Long idUsuario) {
+		Flux<SaldoUsuario> ativos = databaseClientReativo.sql("select tipo_lancamento, status_lancamento, sum(valor_lancamento) as valor "
+				+ "from lancamento where id_usuario = :idUsuario group by tipo_lancamento, status_lancamento")
+				.bind("idUsuario", idUsuario)
+				.map((linha, metadados) -> {
+					SaldoUsuario total = SaldoUsuario.builder().idUsuario(idUsuario).build();
+					total.somar(enumeracao(TipoLancamento.class, linha.get("tipo_lancamento", String.class)),
+							enumeracao(StatusLancamento.class, linha.get("status_lancamento", String.class)),
+							linha.get("valor", BigDecimal.class));
+					return total;
+				})
+				.all();
+		
+		Flux<SaldoUsuario> arquivados = databaseClientReativo.sql("select receita_pendente, receita_efetivado, receita_cancelado, "
+				+ "despesa_pendente, despesa_efetivado, despesa_cancelado from resumo_ano_arquivado where id_usuario = :idUsuario")
+				.bind("idUsuario", idUsuario)
+				.map((linha, metadados) -> SaldoUsuario.builder()
+						.idUsuario(idUsuario)
+						.receitaPendente(linha.get("receita_pendente", BigDecimal.class))
+						.receitaEfetivado(linha.get("receita_efetivado", BigDecimal.class))
+						.receitaCancelado(linha.get("receita_cancelado", BigDecimal.class))
+						.despesaPendente(linha.get("despesa_pendente", BigDecimal.class))
+						.despesaEfetivado(linha.get("despesa_efetivado", BigDecimal.class))
+						.despesaCancelado(linha.get("despesa_cancelado", BigDecimal.class))
+						.build())
+				.all();
+		
+		return Flux.concat(ativos, arquivados)
+				.reduceWith(() -> SaldoUsuario.builder().idUsuario(idUsuario).build(), (saldo, total) -> {
+					saldo.acumular(total);
+					return saldo;
+				});
+	}
+	
+	private LancamentoListagemDTO converter(Row linha) {
+		return LancamentoListagemDTO.builder()
+				.idLancamento(linha.get("id_lancamento", Long.class))
+				.descricao(linha.get("descricao", String.class))
+				.mesLancamento(linha.get("mes_lancamento", Integer.class))
+				.anoLancamento(linha.get("ano_lancamento", Integer.class))
+				.valorLancamento(linha.get("valor_lancamento", BigDecimal.class))
+				.tipoLancamento(enumeracao(TipoLancamento.class, linha.get("tipo_lancamento", String.class)))
+				.statusLancamento(enumeracao(StatusLancamento.class, linha.get("status_lancamento", String.class)))
+				.dataCadastro(linha.get("data_cadastro", LocalDate.class))
+				.idUsuario(linha.get("id_usuario", Long.class))
+				.versao(linha.get("versao", Long.class))
+				.build();
+	}
+	
+	private static <E extends Enum<E>> E enumeracao(Class<E> tipo, String valor) {
+		return valor == null ? null : Enum.valueOf(tipo, valor);
+	}
+}
@@ -1,22 +1,89 @@
 package br.com.minhasfinancas.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
 import javax.transaction.Transactional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
 import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
 import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.repository.projection.ColunasLancamento;
+import br.com.minhasfinancas.repository.projection.ParcelaRecorrencia;
+import br.com.minhasfinancas.repository.projection.TotalMensal;
+import br.com.minhasfinancas.repository.projection.TotalPorTipoEStatus;
+import br.com.minhasfinancas.repository.projection.ValoresLancamento;
 
 @Repository
 @Transactional
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
 
 	@Query(value = "select sum(l.valorLancamento) from Lancamento l join l.usuario u where u.idUsuario = :idUsuario "
 			+ "and l.tipoLancamento = :tipoLancamento group by u")
 	BigDecimal buscarSaldoPorLancamentoEUsuario(@Param(value = "idUsuario") Long idUsuario, @Param("tipoLancamento") TipoLancamento tipoLancamento);
+
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query(value = "select u.idUsuario as idUsuario, l.valorLancamento as valorLancamento, l.anoLancamento as anoLancamento, "
+			+ "l.mesLancamento as mesLancamento, l.tipoLancamento as tipoLancamento, "
+			+ "l.statusLancamento as statusLancamento, l.versao as versao, l.idRecorrencia as idRecorrencia, l.numeroParcela as numeroParcela, "
+			+ "l.descricao as descricao, l.dataCadastro as dataCadastro from Lancamento l join l.usuario u where l.idLancamento = :idLancamento")
+	Optional<ValoresLancamento> buscarValoresPersistidos(@Param("idLancamento") Long idLancamento);
+
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FLUSH_MODE, value = "COMMIT"))
+	@Query(value = "select l.tipoLancamento as tipoLancamento, l.statusLancamento as statusLancamento, sum(l.valorLancamento) as valor "
+			+ "from Lancamento l join l.usuario u where u.idUsuario = :idUsuario group by l.tipoLancamento, l.statusLancamento")
+	List<TotalPorTipoEStatus> buscarTotaisPorTipoEStatus(@Param("idUsuario") Long idUsuario);
+
+	@Query(value = "select l.anoLancamento as anoLancamento, l.mesLancamento as mesLancamento, l.tipoLancamento as tipoLancamento, "
+			+ "l.statusLancamento as statusLancamento, sum(l.valorLancamento) as valor from Lancamento l join l.usuario u "
+			+ "where u.idUsuario = :idUsuario and l.anoLancamento = :anoLancamento "
+			+ "group by l.anoLancamento, l.mesLancamento, l.tipoLancamento, l.statusLancamento")
+	List<TotalMensal> buscarTotaisMensais(@Param("idUsuario") Long idUsuario, @Param("anoLancamento") Integer anoLancamento);
+
+	@Query(value = "select l.anoLancamento as anoLancamento, l.mesLancamento as mesLancamento, l.tipoLancamento as tipoLancamento, "
+			+ "l.statusLancamento as statusLancamento, sum(l.valorLancamento) as valor from Lancamento l join l.usuario u "
+			+ "where u.idUsuario = :idUsuario group by l.anoLancamento, l.mesLancamento, l.tipoLancamento, l.statusLancamento")
+	List<TotalMensal> buscarTotaisMensaisPorUsuario(@Param("idUsuario") Long idUsuario);
+
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "500"))
+	@Query(value = "select l.idLancamento as idLancamento, l.anoLancamento as anoLancamento, l.mesLancamento as mesLancamento, "
+			+ "l.valorLancamento as valorLancamento, l.tipoLancamento as tipoLancamento, l.statusLancamento as statusLancamento "
+			+ "from Lancamento l where l.usuario.idUsuario = :idUsuario")
+	List<ColunasLancamento> buscarColunasAnaliticas(@Param("idUsuario") Long idUsuario);
+
+	List<Lancamento> findByUsuarioIdUsuario(Long idUsuario);
+
+	@Query(value = "select l from Lancamento l where l.usuario.idUsuario = :idUsuario and l.anoLancamento = :anoLancamento "
+			+ "order by l.mesLancamento, l.idLancamento")
+	List<Lancamento> buscarPorUsuarioEAno(@Param("idUsuario") Long idUsuario, @Param("anoLancamento") Integer anoLancamento);
+
+	@Query(value = "select l.idLancamento as idLancamento, l.numeroParcela as numeroParcela from Lancamento l "
+			+ "where l.idRecorrencia = :idRecorrencia and l.numeroParcela >= :numeroParcela "
+			+ "and (l.statusLancamento = :statusLancamento or l.statusLancamento is null) order by l.numeroParcela")
+	List<ParcelaRecorrencia> buscarParcelasPorStatus(@Param("idRecorrencia") Long idRecorrencia,
+			@Param("numeroParcela") Integer numeroParcela, @Param("statusLancamento") StatusLancamento statusLancamento);
+
+	@Query(value = "select new br.com.minhasfinancas.dto.LancamentoListagemDTO(l.idLancamento, l.descricao, l.mesLancamento, "
+			+ "l.anoLancamento, l.valorLancamento, l.tipoLancamento, l.statusLancamento, l.dataCadastro, l.usuario.idUsuario, l.versao) "
+			+ "from Lancamento l where l.idLancamento in :ids")
+	List<LancamentoListagemDTO> buscarListagemPorIds(@Param("ids") Collection<Long> ids);
+
+	@QueryHints({
+		@QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "500"),
+		@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true")
+	})
+	@Query(value = "select l from Lancamento l where l.usuario.idUsuario = :idUsuario "
+			+ "order by l.anoLancamento, l.mesLancamento, l.idLancamento")
+	Stream<Lancamento> buscarParaExportacao(@Param("idUsuario") Long idUsuario);
 }
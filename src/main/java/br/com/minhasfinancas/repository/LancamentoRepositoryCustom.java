@@ -0,0 +1,30 @@
+package br.com.minhasfinancas.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.NavigableMap;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.SaldoUsuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+
+public interface LancamentoRepositoryCustom {
+	List<LancamentoListagemDTO> buscarPagina(Lancamento filtro, CursorLancamento cursor, int limite, boolean decrescente);
+	
+	void inserirEmLote(List<Lancamento> lancamentos);
+	
+	SaldoUsuario somarEmLote(FiltroLoteLancamento filtro);
+	
+	List<Long> buscarIdsEmLote(FiltroLoteLancamento filtro);
+	
+	long contarInvalidosEmLote(FiltroLoteLancamento filtro);
+	
+	NavigableMap<Integer, BigDecimal> somarSaldoPorMesEmLote(FiltroLoteLancamento filtro);
+	
+	int atualizarStatusEmLote(FiltroLoteLancamento filtro, StatusLancamento statusLancamento);
+	
+	int removerEmLote(FiltroLoteLancamento filtro);
+	
+	Lancamento reanexar(Lancamento lancamento);
+}
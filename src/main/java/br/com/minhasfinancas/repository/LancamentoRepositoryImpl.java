@@ -0,0 +1,252 @@
+package br.com.minhasfinancas.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.NonUniqueObjectException;
+import org.hibernate.Session;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.SaldoMensalUsuario;
+import br.com.minhasfinancas.model.SaldoUsuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+	
+	public static final int TAMANHO_LOTE_JDBC = 100;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<LancamentoListagemDTO> buscarPagina(Lancamento filtro, CursorLancamento cursor, int limite, boolean decrescente) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<LancamentoListagemDTO> query = cb.createQuery(LancamentoListagemDTO.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+		
+		Path<Integer> ano = root.get("anoLancamento");
+		Path<Integer> mes = root.get("mesLancamento");
+		Path<Long> id = root.get("idLancamento");
+		
+		List<Predicate> predicados = filtrar(cb, root, filtro);
+		
+		if(cursor != null) {
+			predicados.add(decrescente
+					? cb.or(cb.lessThan(ano, cursor.getAnoLancamento()),
+							cb.and(cb.equal(ano, cursor.getAnoLancamento()),
+									cb.or(cb.lessThan(mes, cursor.getMesLancamento()),
+											cb.and(cb.equal(mes, cursor.getMesLancamento()), cb.lessThan(id, cursor.getIdLancamento())))))
+					: cb.or(cb.greaterThan(ano, cursor.getAnoLancamento()),
+							cb.and(cb.equal(ano, cursor.getAnoLancamento()),
+									cb.or(cb.greaterThan(mes, cursor.getMesLancamento()),
+											cb.and(cb.equal(mes, cursor.getMesLancamento()), cb.greaterThan(id, cursor.getIdLancamento()))))));
+		}
+		
+		query.select(cb.construct(LancamentoListagemDTO.class,
+				id,
+				root.get("descricao"),
+				mes,
+				ano,
+				root.get("valorLancamento"),
+				root.get("tipoLancamento"),
+				root.get("statusLancamento"),
+				root.get("dataCadastro"),
+				root.get("usuario").get("idUsuario"),
+				root.get("versao")))
+			.where(predicados.toArray(new Predicate[0]));
+		if(decrescente) {
+			query.orderBy(cb.desc(ano), cb.desc(mes), cb.desc(id));
+		} else {
+			query.orderBy(cb.asc(ano), cb.asc(mes), cb.asc(id));
+		}
+		
+		return entityManager.createQuery(query).setMaxResults(limite).getResultList();
+	}
+	
+	@Override
+	public void inserirEmLote(List<Lancamento> lancamentos) {
+		for(int i = 0; i < lancamentos.size(); i++) {
+			entityManager.persist(lancamentos.get(i));
+			if((i + 1) % TAMANHO_LOTE_JDBC == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+	}
+	
+	@Override
+	public SaldoUsuario somarEmLote(FiltroLoteLancamento filtro) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Lancamento> root = query.from(Lancamento.class);
+		
+		Path<TipoLancamento> tipo = root.get("tipoLancamento");
+		Path<StatusLancamento> status = root.get("statusLancamento");
+		
+		query.multiselect(tipo, status, cb.sum(root.<BigDecimal>get("valorLancamento")))
+			.where(filtro.predicados(cb, root))
+			.groupBy(tipo, status);
+		
+		SaldoUsuario total = SaldoUsuario.builder().idUsuario(filtro.getIdUsuario()).build();
+		for(Tuple linha : entityManager.createQuery(query).setFlushMode(FlushModeType.COMMIT).getResultList()) {
+			total.somar(linha.get(0, TipoLancamento.class), linha.get(1, StatusLancamento.class), linha.get(2, BigDecimal.class));
+		}
+		return total;
+	}
+	
+	@Override
+	public List<Long> buscarIdsEmLote(FiltroLoteLancamento filtro) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+		
+		Path<Long> id = root.get("idLancamento");
+		query.select(id)
+			.where(filtro.predicados(cb, root))
+			.orderBy(cb.asc(id));
+		
+		return entityManager.createQuery(query).setFlushMode(FlushModeType.COMMIT).getResultList();
+	}
+	
+	// Mesmas regras do LancamentoService.validarLancamento, avaliadas no banco para o lote inteiro
+	@Override
+	public long contarInvalidosEmLote(FiltroLoteLancamento filtro) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+		
+		Path<String> descricao = root.get("descricao");
+		Path<Integer> mes = root.get("mesLancamento");
+		Path<Integer> ano = root.get("anoLancamento");
+		Path<BigDecimal> valor = root.get("valorLancamento");
+		Predicate invalido = cb.or(
+				cb.isNull(descricao), cb.equal(cb.trim(descricao), ""),
+				cb.isNull(mes), cb.lt(mes, 1), cb.gt(mes, 12),
+				cb.isNull(ano), cb.lt(ano, 1000), cb.gt(ano, 9999),
+				cb.isNull(valor), cb.le(valor, BigDecimal.ZERO),
+				cb.isNull(root.get("tipoLancamento")));
+		
+		query.select(cb.count(root))
+			.where(cb.and(filtro.predicados(cb, root)), invalido);
+		
+		return entityManager.createQuery(query).setFlushMode(FlushModeType.COMMIT).getSingleResult();
+	}
+	
+	@Override
+	public NavigableMap<Integer, BigDecimal> somarSaldoPorMesEmLote(FiltroLoteLancamento filtro) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = cb.createTupleQuery();
+		Root<Lancamento> root = query.from(Lancamento.class);
+		
+		Path<Integer> ano = root.get("anoLancamento");
+		Path<Integer> mes = root.get("mesLancamento");
+		Path<TipoLancamento> tipo = root.get("tipoLancamento");
+		
+		query.multiselect(ano, mes, tipo, cb.sum(root.<BigDecimal>get("valorLancamento")))
+			.where(filtro.predicados(cb, root))
+			.groupBy(ano, mes, tipo);
+		
+		NavigableMap<Integer, BigDecimal> saldos = new TreeMap<>();
+		for(Tuple linha : entityManager.createQuery(query).setFlushMode(FlushModeType.COMMIT).getResultList()) {
+			BigDecimal saldo = SaldoMensalUsuario.saldo(linha.get(2, TipoLancamento.class), linha.get(3, BigDecimal.class));
+			if(linha.get(0) != null && linha.get(1) != null && saldo.signum() != 0) {
+				saldos.merge(SaldoMensalUsuario.anoMes(linha.get(0, Integer.class), linha.get(1, Integer.class)), saldo, BigDecimal::add);
+			}
+		}
+		return saldos;
+	}
+	
+	@Override
+	public int atualizarStatusEmLote(FiltroLoteLancamento filtro, StatusLancamento statusLancamento) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Lancamento> update = cb.createCriteriaUpdate(Lancamento.class);
+		Root<Lancamento> root = update.from(Lancamento.class);
+		
+		Path<Long> versao = root.get("versao");
+		update.set(root.<StatusLancamento>get("statusLancamento"), statusLancamento)
+			.set(versao, cb.sum(versao, 1L))
+			.where(filtro.predicados(cb, root));
+		
+		entityManager.flush();
+		int afetados = entityManager.createQuery(update).executeUpdate();
+		entityManager.clear();
+		return afetados;
+	}
+	
+	@Override
+	public int removerEmLote(FiltroLoteLancamento filtro) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaDelete<Lancamento> delete = cb.createCriteriaDelete(Lancamento.class);
+		Root<Lancamento> root = delete.from(Lancamento.class);
+		
+		delete.where(filtro.predicados(cb, root));
+		
+		entityManager.flush();
+		int afetados = entityManager.createQuery(delete).executeUpdate();
+		entityManager.clear();
+		return afetados;
+	}
+	
+	// Reanexa o lançamento desanexado para o update versionado do flush, sem o select que o merge faria para copiar o estado
+	@Override
+	public Lancamento reanexar(Lancamento lancamento) {
+		if(entityManager.contains(lancamento)) {
+			return lancamento;
+		}
+		try {
+			entityManager.unwrap(Session.class).update(lancamento);
+			return lancamento;
+		} catch(NonUniqueObjectException e) {
+			// Outra instância do mesmo lançamento já está no contexto; só o merge consegue combinar as duas
+			return entityManager.merge(lancamento);
+		}
+	}
+	
+	private List<Predicate> filtrar(CriteriaBuilder cb, Root<Lancamento> root, Lancamento filtro) {
+		List<Predicate> predicados = new ArrayList<>();
+		
+		if(filtro.getUsuario() != null && filtro.getUsuario().getIdUsuario() != null) {
+			predicados.add(cb.equal(root.get("usuario").get("idUsuario"), filtro.getUsuario().getIdUsuario()));
+		}
+		
+		if(filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty()) {
+			predicados.add(cb.like(cb.lower(root.get("descricao")), FiltroLike.contendo(filtro.getDescricao().toLowerCase()), FiltroLike.ESCAPE));
+		}
+		
+		if(filtro.getAnoLancamento() != null) {
+			predicados.add(cb.equal(root.get("anoLancamento"), filtro.getAnoLancamento()));
+		}
+		
+		if(filtro.getMesLancamento() != null) {
+			predicados.add(cb.equal(root.get("mesLancamento"), filtro.getMesLancamento()));
+		}
+		
+		if(filtro.getTipoLancamento() != null) {
+			predicados.add(cb.equal(root.get("tipoLancamento"), filtro.getTipoLancamento()));
+		}
+		
+		if(filtro.getStatusLancamento() != null) {
+			predicados.add(cb.equal(root.get("statusLancamento"), filtro.getStatusLancamento()));
+		}
+		
+		return predicados;
+	}
+}
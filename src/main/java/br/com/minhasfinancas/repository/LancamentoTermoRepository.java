@@ -0,0 +1,37 @@
+package br.com.minhasfinancas.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.minhasfinancas.model.LancamentoTermo;
+import br.com.minhasfinancas.model.LancamentoTermoId;
+
+@Repository
+@Transactional
+public interface LancamentoTermoRepository extends JpaRepository<LancamentoTermo, LancamentoTermoId>, LancamentoTermoRepositoryCustom {
+
+	@Modifying
+	@Query(value = "delete from LancamentoTermo t where t.idLancamento = :idLancamento")
+	int removerPorLancamento(@Param("idLancamento") Long idLancamento);
+
+	@Modifying
+	@Query(value = "delete from LancamentoTermo t where t.idLancamento in :idsLancamento")
+	int removerPorLancamentos(@Param("idsLancamento") Collection<Long> idsLancamento);
+
+	@Modifying
+	@Query(value = "delete from LancamentoTermo t where t.idUsuario = :idUsuario")
+	int removerPorUsuario(@Param("idUsuario") Long idUsuario);
+
+	@Query(value = "select distinct t.termo from LancamentoTermo t where t.idUsuario = :idUsuario "
+			+ "and t.termo like :prefixo escape '!' order by t.termo")
+	List<String> buscarTermosPorPrefixo(@Param("idUsuario") Long idUsuario, @Param("prefixo") String prefixo, Pageable pageable);
+}
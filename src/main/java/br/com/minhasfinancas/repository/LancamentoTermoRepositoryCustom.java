@@ -0,0 +1,10 @@
+package br.com.minhasfinancas.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface LancamentoTermoRepositoryCustom {
+	List<Long> buscarLancamentosPorRelevancia(Long idUsuario, Collection<String> termos, boolean prefixo, int limite);
+	
+	int removerPorFiltro(FiltroLoteLancamento filtro);
+}
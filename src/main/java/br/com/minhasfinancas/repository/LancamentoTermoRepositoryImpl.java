@@ -0,0 +1,67 @@
+package br.com.minhasfinancas.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.LancamentoTermo;
+
+public class LancamentoTermoRepositoryImpl implements LancamentoTermoRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<Long> buscarLancamentosPorRelevancia(Long idUsuario, Collection<String> termos, boolean prefixo, int limite) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+		Root<LancamentoTermo> root = query.from(LancamentoTermo.class);
+		
+		Path<String> termo = root.get("termo");
+		Path<Long> idLancamento = root.get("idLancamento");
+		Expression<Long> relevancia = cb.countDistinct(termo);
+		
+		List<Predicate> correspondencias = new ArrayList<>();
+		for(String valor : termos) {
+			correspondencias.add(prefixo ? cb.like(termo, FiltroLike.iniciandoCom(valor), FiltroLike.ESCAPE) : cb.equal(termo, valor));
+		}
+		
+		query.multiselect(idLancamento, relevancia)
+			.where(cb.equal(root.get("idUsuario"), idUsuario), cb.or(correspondencias.toArray(new Predicate[0])))
+			.groupBy(idLancamento)
+			.orderBy(cb.desc(relevancia), cb.desc(idLancamento));
+		
+		List<Long> ids = new ArrayList<>();
+		for(Object[] linha : entityManager.createQuery(query).setMaxResults(limite).getResultList()) {
+			ids.add((Long) linha[0]);
+		}
+		return ids;
+	}
+	
+	@Override
+	public int removerPorFiltro(FiltroLoteLancamento filtro) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaDelete<LancamentoTermo> delete = cb.createCriteriaDelete(LancamentoTermo.class);
+		Root<LancamentoTermo> root = delete.from(LancamentoTermo.class);
+		
+		Subquery<Long> lancamentos = delete.subquery(Long.class);
+		Root<Lancamento> lancamento = lancamentos.from(Lancamento.class);
+		lancamentos.select(lancamento.get("idLancamento")).where(filtro.predicados(cb, lancamento));
+		
+		delete.where(cb.equal(root.get("idUsuario"), filtro.getIdUsuario()), root.get("idLancamento").in(lancamentos));
+		
+		return entityManager.createQuery(delete).executeUpdate();
+	}
+}
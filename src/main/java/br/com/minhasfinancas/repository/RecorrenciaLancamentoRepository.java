@@ -0,0 +1,34 @@
+package br.com.minhasfinancas.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+import javax.transaction.Transactional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.minhasfinancas.model.RecorrenciaLancamento;
+
+@Repository
+@Transactional
+public interface RecorrenciaLancamentoRepository extends JpaRepository<RecorrenciaLancamento, Long> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select r from RecorrenciaLancamento r where r.idRecorrencia = :idRecorrencia")
+	Optional<RecorrenciaLancamento> buscarParaAtualizacao(@Param("idRecorrencia") Long idRecorrencia);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select r from RecorrenciaLancamento r where r.idUsuario = :idUsuario and r.cancelada = false order by r.idRecorrencia")
+	List<RecorrenciaLancamento> buscarAtivasParaAtualizacao(@Param("idUsuario") Long idUsuario);
+
+	@Query(value = "select r from RecorrenciaLancamento r where r.idUsuario = :idUsuario and r.cancelada = false")
+	List<RecorrenciaLancamento> buscarAtivas(@Param("idUsuario") Long idUsuario);
+
+	@Query(value = "select distinct r.idUsuario from RecorrenciaLancamento r where r.cancelada = false order by r.idUsuario")
+	List<Long> buscarUsuariosComAtivas();
+}
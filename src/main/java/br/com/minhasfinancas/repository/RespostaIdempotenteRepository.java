@@ -0,0 +1,34 @@
+package br.com.minhasfinancas.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.minhasfinancas.model.RespostaIdempotente;
+
+@Repository
+@Transactional
+public interface RespostaIdempotenteRepository extends JpaRepository<RespostaIdempotente, String> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select r from RespostaIdempotente r where r.chave = :chave")
+	Optional<RespostaIdempotente> buscarParaAtualizacao(@Param("chave") String chave);
+
+	@Modifying
+	@Query(value = "delete from RespostaIdempotente r where r.chave = :chave and r.dataExpiracao < :limite")
+	int removerSeExpirada(@Param("chave") String chave, @Param("limite") LocalDateTime limite);
+
+	@Modifying
+	@Query(value = "delete from RespostaIdempotente r where r.dataExpiracao < :limite")
+	int removerExpiradas(@Param("limite") LocalDateTime limite);
+}
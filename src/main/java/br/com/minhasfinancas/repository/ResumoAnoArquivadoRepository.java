@@ -0,0 +1,24 @@
+package br.com.minhasfinancas.repository;
+
+import java.util.List;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.minhasfinancas.model.ResumoAnoArquivado;
+import br.com.minhasfinancas.model.ResumoAnoArquivadoId;
+
+@Repository
+@Transactional
+public interface ResumoAnoArquivadoRepository extends JpaRepository<ResumoAnoArquivado, ResumoAnoArquivadoId> {
+
+	@Query(value = "select r from ResumoAnoArquivado r where r.idUsuario = :idUsuario order by r.anoLancamento")
+	List<ResumoAnoArquivado> buscarPorUsuario(@Param("idUsuario") Long idUsuario);
+
+	@Query(value = "select r.anoLancamento from ResumoAnoArquivado r where r.idUsuario = :idUsuario")
+	List<Integer> buscarAnos(@Param("idUsuario") Long idUsuario);
+}
@@ -0,0 +1,44 @@
+package br.com.minhasfinancas.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.minhasfinancas.model.SaldoMensalUsuario;
+import br.com.minhasfinancas.model.SaldoMensalUsuarioId;
+
+@Repository
+@Transactional
+public interface SaldoMensalUsuarioRepository extends JpaRepository<SaldoMensalUsuario, SaldoMensalUsuarioId> {
+
+	// Traz também o último mês anterior a anoMes, de onde vem o acumulado inicial, para que a escrita faça uma única consulta
+	@Query(value = "select s from SaldoMensalUsuario s where s.idUsuario = :idUsuario and s.anoMes >= coalesce("
+			+ "(select max(a.anoMes) from SaldoMensalUsuario a where a.idUsuario = :idUsuario and a.anoMes < :anoMes), :anoMes) "
+			+ "order by s.anoMes")
+	List<SaldoMensalUsuario> buscarAPartirDoAnterior(@Param("idUsuario") Long idUsuario, @Param("anoMes") Integer anoMes);
+
+	@Query(value = "select s from SaldoMensalUsuario s where s.idUsuario = :idUsuario and s.anoMes between :inicio and :fim order by s.anoMes")
+	List<SaldoMensalUsuario> buscarPeriodo(@Param("idUsuario") Long idUsuario, @Param("inicio") Integer inicio, @Param("fim") Integer fim);
+
+	@Query(value = "select s.saldoAcumulado from SaldoMensalUsuario s where s.idUsuario = :idUsuario and s.anoMes < :anoMes order by s.anoMes desc")
+	List<BigDecimal> buscarAcumuladoAnterior(@Param("idUsuario") Long idUsuario, @Param("anoMes") Integer anoMes, Pageable pageable);
+
+	@Query(value = "select min(s.anoMes) from SaldoMensalUsuario s where s.idUsuario = :idUsuario")
+	Optional<Integer> buscarPrimeiroMes(@Param("idUsuario") Long idUsuario);
+
+	@Query(value = "select max(s.anoMes) from SaldoMensalUsuario s where s.idUsuario = :idUsuario")
+	Optional<Integer> buscarUltimoMes(@Param("idUsuario") Long idUsuario);
+
+	@Modifying
+	@Query(value = "delete from SaldoMensalUsuario s where s.idUsuario = :idUsuario")
+	int removerPorUsuario(@Param("idUsuario") Long idUsuario);
+}
@@ -0,0 +1,26 @@
+package br.com.minhasfinancas.repository;
+
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+import javax.transaction.Transactional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.minhasfinancas.model.SaldoUsuario;
+
+@Repository
+@Transactional
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long>, SaldoUsuarioRepositoryCustom {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "select s from SaldoUsuario s where s.idUsuario = :idUsuario")
+	Optional<SaldoUsuario> buscarParaAtualizacao(@Param("idUsuario") Long idUsuario);
+
+	@Query(value = "select s.versaoDados from SaldoUsuario s where s.idUsuario = :idUsuario")
+	Optional<Long> buscarVersaoDados(@Param("idUsuario") Long idUsuario);
+}
@@ -0,0 +1,5 @@
+package br.com.minhasfinancas.repository;
+
+public interface SaldoUsuarioRepositoryCustom {
+	boolean inserirSeAusente(Long idUsuario);
+}
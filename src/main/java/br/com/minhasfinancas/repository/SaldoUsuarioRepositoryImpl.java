@@ -0,0 +1,27 @@
+package br.com.minhasfinancas.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import br.com.minhasfinancas.model.SaldoUsuario;
+
+public class SaldoUsuarioRepositoryImpl implements SaldoUsuarioRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	// Retorna false quando o registro já existia; uma inserção concorrente ainda não confirmada faz este comando aguardar
+	// em vez de falhar com chave duplicada
+	@Override
+	public boolean inserirSeAusente(Long idUsuario) {
+		// Sem declarar a entidade afetada, o Hibernate invalidaria todas as regiões do cache de segundo nível
+		NativeQuery<?> insert = entityManager.createNativeQuery("insert ignore into saldo_usuario (id_usuario) values (?)")
+				.unwrap(NativeQuery.class)
+				.addSynchronizedEntityClass(SaldoUsuario.class);
+		insert.setParameter(1, idUsuario, StandardBasicTypes.LONG);
+		return insert.executeUpdate() > 0;
+	}
+}
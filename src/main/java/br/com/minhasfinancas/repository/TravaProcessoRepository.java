@@ -0,0 +1,25 @@
+package br.com.minhasfinancas.repository;
+
+import java.time.LocalDateTime;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.minhasfinancas.model.TravaProcesso;
+
+@Repository
+@Transactional
+public interface TravaProcessoRepository extends JpaRepository<TravaProcesso, String> {
+
+	// Renova a concessão do dono atual ou toma uma concessão expirada; retorna 0 quando outro nó a detém
+	@Modifying
+	@Query(value = "update TravaProcesso t set t.dono = :dono, t.dataExpiracao = :expiracao "
+			+ "where t.nome = :nome and (t.dono = :dono or t.dataExpiracao < :agora)")
+	int adquirir(@Param("nome") String nome, @Param("dono") String dono,
+			@Param("agora") LocalDateTime agora, @Param("expiracao") LocalDateTime expiracao);
+}
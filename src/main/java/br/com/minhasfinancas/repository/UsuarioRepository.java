@@ -1,10 +1,12 @@
 package br.com.minhasfinancas.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import javax.transaction.Transactional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import br.com.minhasfinancas.model.Usuario;
@@ -14,4 +16,7 @@ import br.com.minhasfinancas.model.Usuario;
 public interface UsuarioRepository extends JpaRepository<Usuario, Long>{
 	Boolean existsByEmailUsuario(String emailUsuario);
 	Optional<Usuario> findByEmailUsuario(String emailUsuario);
+	
+	@Query(value = "select u.idUsuario from Usuario u order by u.idUsuario")
+	List<Long> buscarIdsUsuarios();
 }
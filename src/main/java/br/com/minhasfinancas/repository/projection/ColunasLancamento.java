@@ -0,0 +1,15 @@
+package br.com.minhasfinancas.repository.projection;
+
+import java.math.BigDecimal;
+
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+public interface ColunasLancamento {
+	Long getIdLancamento();
+	Integer getAnoLancamento();
+	Integer getMesLancamento();
+	BigDecimal getValorLancamento();
+	TipoLancamento getTipoLancamento();
+	StatusLancamento getStatusLancamento();
+}
@@ -0,0 +1,6 @@
+package br.com.minhasfinancas.repository.projection;
+
+public interface ParcelaRecorrencia {
+	Long getIdLancamento();
+	Integer getNumeroParcela();
+}
@@ -0,0 +1,14 @@
+package br.com.minhasfinancas.repository.projection;
+
+import java.math.BigDecimal;
+
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+public interface TotalMensal {
+	Integer getAnoLancamento();
+	Integer getMesLancamento();
+	TipoLancamento getTipoLancamento();
+	StatusLancamento getStatusLancamento();
+	BigDecimal getValor();
+}
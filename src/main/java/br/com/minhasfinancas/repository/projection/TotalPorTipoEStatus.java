@@ -0,0 +1,12 @@
+package br.com.minhasfinancas.repository.projection;
+
+import java.math.BigDecimal;
+
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+public interface TotalPorTipoEStatus {
+	TipoLancamento getTipoLancamento();
+	StatusLancamento getStatusLancamento();
+	BigDecimal getValor();
+}
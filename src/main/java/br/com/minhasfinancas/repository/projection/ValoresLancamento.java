@@ -0,0 +1,21 @@
+package br.com.minhasfinancas.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+public interface ValoresLancamento {
+	Long getIdUsuario();
+	BigDecimal getValorLancamento();
+	Integer getAnoLancamento();
+	Integer getMesLancamento();
+	TipoLancamento getTipoLancamento();
+	StatusLancamento getStatusLancamento();
+	Long getVersao();
+	Long getIdRecorrencia();
+	Integer getNumeroParcela();
+	String getDescricao();
+	LocalDate getDataCadastro();
+}
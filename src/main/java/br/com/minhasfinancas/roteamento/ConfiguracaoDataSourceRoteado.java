@@ -0,0 +1,104 @@
+package br.com.minhasfinancas.roteamento;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+@ConditionalOnProperty(name = "minhasfinancas.datasource.replicas")
+public class ConfiguracaoDataSourceRoteado {
+
+	@Bean
+	public DataSourceRoteado dataSourceRoteado(DataSourceProperties properties, Environment environment,
+			@Value("${minhasfinancas.datasource.replicas}") List<String> urlsReplicas,
+			@Value("${minhasfinancas.datasource.janela-leitura-propria-escrita-ms:5000}") long janelaMs,
+			@Value("${minhasfinancas.datasource.replica-nova-tentativa-ms:30000}") long novaTentativaMs,
+			@Value("${minhasfinancas.datasource.replica-timeout-conexao-ms:2000}") long timeoutConexaoMs) {
+		HikariDataSource primario = criarPool(properties, environment, "primario", properties.determineUrl());
+
+		List<DataSource> replicas = new ArrayList<>();
+		for(String url : urlsReplicas) {
+			HikariDataSource replica = criarPool(properties, environment, "replica-" + replicas.size(), url.trim());
+			replica.setReadOnly(true);
+			replica.setConnectionTimeout(timeoutConexaoMs);
+			replica.setInitializationFailTimeout(-1);
+			replicas.add(replica);
+		}
+
+		return new DataSourceRoteado(primario, replicas,
+				new JanelaLeituraPropriaEscrita(Duration.ofMillis(janelaMs)), Duration.ofMillis(novaTentativaMs));
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(DataSourceRoteado dataSourceRoteado) {
+		return new LazyConnectionDataSourceProxy(dataSourceRoteado);
+	}
+
+	// Substitui o gerenciador de transações padrão do Spring Boot para que as leituras na réplica não alimentem o cache
+	@Bean
+	public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory, DataSourceRoteado dataSourceRoteado) {
+		// afterPropertiesSet copia o dialeto da fábrica de EntityManager, então o dialeto roteado é aplicado depois dele
+		JpaTransactionManager transactionManager = new JpaTransactionManager() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void afterPropertiesSet() {
+				super.afterPropertiesSet();
+				setJpaDialect(new JpaDialectRoteado(dataSourceRoteado));
+			}
+		};
+		transactionManager.setEntityManagerFactory(entityManagerFactory);
+		return transactionManager;
+	}
+
+	// Os pools não são beans, então as métricas do Hikari são publicadas aqui a partir do MXBean de cada pool
+	@Bean
+	public MeterBinder metricasPoolsRoteados(DataSourceRoteado dataSourceRoteado) {
+		return registry -> dataSourceRoteado.getPools().forEach((nome, pool) -> {
+			if(pool instanceof HikariDataSource) {
+				HikariDataSource hikari = (HikariDataSource) pool;
+				registrarGauge(registry, "hikaricp.connections", nome, hikari, HikariPoolMXBean::getTotalConnections);
+				registrarGauge(registry, "hikaricp.connections.active", nome, hikari, HikariPoolMXBean::getActiveConnections);
+				registrarGauge(registry, "hikaricp.connections.idle", nome, hikari, HikariPoolMXBean::getIdleConnections);
+				registrarGauge(registry, "hikaricp.connections.pending", nome, hikari, HikariPoolMXBean::getThreadsAwaitingConnection);
+			}
+		});
+	}
+
+	private void registrarGauge(MeterRegistry registry, String nome, String pool, HikariDataSource hikari, ToIntFunction<HikariPoolMXBean> valor) {
+		Gauge.builder(nome, hikari, dataSource -> dataSource.getHikariPoolMXBean() == null ? 0 : valor.applyAsInt(dataSource.getHikariPoolMXBean()))
+				.tag("pool", pool)
+				.register(registry);
+	}
+
+	private HikariDataSource criarPool(DataSourceProperties properties, Environment environment, String nome, String url) {
+		HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+		pool.setPoolName(nome);
+		return pool;
+	}
+}
@@ -0,0 +1,166 @@
+package br.com.minhasfinancas.roteamento;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.minhasfinancas.security.ContextoUsuario;
+
+public class DataSourceRoteado extends AbstractDataSource implements AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DataSourceRoteado.class);
+	private static final String ESCRITA_REGISTRADA = DataSourceRoteado.class.getName() + ".ESCRITA_REGISTRADA";
+
+	private final DataSource primario;
+	private final List<Replica> replicas = new ArrayList<>();
+	private final JanelaLeituraPropriaEscrita janela;
+	private final long novaTentativaNanos;
+	private final AtomicInteger proxima = new AtomicInteger();
+
+	public DataSourceRoteado(DataSource primario, List<DataSource> replicas, JanelaLeituraPropriaEscrita janela, Duration novaTentativa) {
+		this.primario = primario;
+		for(int i = 0; i < replicas.size(); i++) {
+			this.replicas.add(new Replica("replica-" + i, replicas.get(i)));
+		}
+		this.janela = janela;
+		this.novaTentativaNanos = novaTentativa.toNanos();
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return obterConexao(null, null);
+	}
+
+	@Override
+	public Connection getConnection(String usuario, String senha) throws SQLException {
+		return obterConexao(usuario, senha);
+	}
+
+	// Depende de ser chamado após o início da transação; por isso o bean é envolvido por um LazyConnectionDataSourceProxy
+	private Connection obterConexao(String usuario, String senha) throws SQLException {
+		if(!deveLerDaReplica()) {
+			registrarEscrita();
+			return conectar(primario, usuario, senha);
+		}
+
+		for(int tentativa = 0; tentativa < replicas.size(); tentativa++) {
+			Replica replica = replicas.get(Math.floorMod(proxima.getAndIncrement(), replicas.size()));
+			if(!replica.disponivel()) {
+				continue;
+			}
+			try {
+				return conectar(replica.getDataSource(), usuario, senha);
+			} catch(SQLException | RuntimeException e) {
+				replica.marcarIndisponivel(novaTentativaNanos);
+				LOGGER.warn("Réplica {} indisponível, usando o primário pelos próximos {} ms: {}",
+						replica.getNome(), Duration.ofNanos(novaTentativaNanos).toMillis(), e.getMessage());
+			}
+		}
+		return conectar(primario, usuario, senha);
+	}
+
+	private boolean deveLerDaReplica() {
+		return leriaDaReplica(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+	}
+
+	// Também consultado no início da transação, antes de a sincronização marcar a transação como somente leitura
+	public boolean leriaDaReplica(boolean somenteLeitura) {
+		if(replicas.isEmpty() || !somenteLeitura) {
+			return false;
+		}
+		Long idUsuario = ContextoUsuario.obter();
+		return idUsuario == null || !janela.dentroDaJanela(idUsuario);
+	}
+
+	private void registrarEscrita() {
+		Long idUsuario = ContextoUsuario.obter();
+		if(idUsuario == null || !TransactionSynchronizationManager.isSynchronizationActive()
+				|| TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+				|| TransactionSynchronizationManager.hasResource(ESCRITA_REGISTRADA)) {
+			return;
+		}
+
+		TransactionSynchronizationManager.bindResource(ESCRITA_REGISTRADA, Boolean.TRUE);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				janela.registrarEscrita(idUsuario);
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(ESCRITA_REGISTRADA);
+			}
+		});
+	}
+
+	private Connection conectar(DataSource dataSource, String usuario, String senha) throws SQLException {
+		return usuario == null ? dataSource.getConnection() : dataSource.getConnection(usuario, senha);
+	}
+
+	public Map<String, DataSource> getPools() {
+		Map<String, DataSource> pools = new LinkedHashMap<>();
+		pools.put("primario", primario);
+		for(Replica replica : replicas) {
+			pools.put(replica.getNome(), replica.getDataSource());
+		}
+		return pools;
+	}
+
+	@Override
+	public void close() throws Exception {
+		fechar(primario);
+		for(Replica replica : replicas) {
+			fechar(replica.getDataSource());
+		}
+	}
+
+	private void fechar(DataSource dataSource) throws Exception {
+		if(dataSource instanceof AutoCloseable) {
+			((AutoCloseable) dataSource).close();
+		}
+	}
+
+	private static class Replica {
+
+		private final String nome;
+		private final DataSource dataSource;
+		private volatile long indisponivelAte;
+		private volatile boolean indisponivel;
+
+		Replica(String nome, DataSource dataSource) {
+			this.nome = nome;
+			this.dataSource = dataSource;
+		}
+
+		String getNome() {
+			return nome;
+		}
+
+		DataSource getDataSource() {
+			return dataSource;
+		}
+
+		boolean disponivel() {
+			return !indisponivel || System.nanoTime() - indisponivelAte >= 0;
+		}
+
+		void marcarIndisponivel(long duracaoNanos) {
+			indisponivelAte = System.nanoTime() + duracaoNanos;
+			indisponivel = true;
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package br.com.minhasfinancas.roteamento;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class JanelaLeituraPropriaEscrita {
+
+	private static final int LIMITE_ANTES_DE_LIMPAR = 10000;
+
+	private final Map<Long, Long> ultimaEscrita = new ConcurrentHashMap<>();
+	private final long duracaoNanos;
+
+	public JanelaLeituraPropriaEscrita(Duration duracao) {
+		this.duracaoNanos = duracao.toNanos();
+	}
+
+	public void registrarEscrita(Long idUsuario) {
+		if(duracaoNanos <= 0) {
+			return;
+		}
+		long agora = System.nanoTime();
+		ultimaEscrita.put(idUsuario, agora);
+		if(ultimaEscrita.size() > LIMITE_ANTES_DE_LIMPAR) {
+			ultimaEscrita.values().removeIf(escrita -> agora - escrita >= duracaoNanos);
+		}
+	}
+
+	public boolean dentroDaJanela(Long idUsuario) {
+		Long escrita = ultimaEscrita.get(idUsuario);
+		if(escrita == null) {
+			return false;
+		}
+		if(System.nanoTime() - escrita < duracaoNanos) {
+			return true;
+		}
+		ultimaEscrita.remove(idUsuario, escrita);
+		return false;
+	}
+}
@@ -0,0 +1,64 @@
+package br.com.minhasfinancas.roteamento;
+
+import java.sql.SQLException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+// Sessões que leem da réplica consultam o cache de segundo nível, mas não o alimentam: uma réplica atrasada gravaria
+// no cache compartilhado um estado que o primário já alterou, e as leituras seguintes no primário o devolveriam
+public class JpaDialectRoteado extends HibernateJpaDialect {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient DataSourceRoteado dataSourceRoteado;
+
+	public JpaDialectRoteado(DataSourceRoteado dataSourceRoteado) {
+		this.dataSourceRoteado = dataSourceRoteado;
+	}
+
+	@Override
+	public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+			throws PersistenceException, SQLException {
+		Object dadosTransacao = super.beginTransaction(entityManager, definition);
+		if(!dataSourceRoteado.leriaDaReplica(definition.isReadOnly())) {
+			return dadosTransacao;
+		}
+
+		Session session = entityManager.unwrap(Session.class);
+		LeituraReplica leitura = new LeituraReplica(dadosTransacao, session, session.getCacheMode());
+		session.setCacheMode(CacheMode.GET);
+		return leitura;
+	}
+
+	// Com open-in-view a sessão sobrevive à transação, por isso o modo anterior é restaurado ao final
+	@Override
+	public void cleanupTransaction(Object transactionData) {
+		if(!(transactionData instanceof LeituraReplica)) {
+			super.cleanupTransaction(transactionData);
+			return;
+		}
+
+		LeituraReplica leitura = (LeituraReplica) transactionData;
+		leitura.session.setCacheMode(leitura.cacheModeAnterior);
+		super.cleanupTransaction(leitura.dadosTransacao);
+	}
+
+	private static class LeituraReplica {
+
+		private final Object dadosTransacao;
+		private final Session session;
+		private final CacheMode cacheModeAnterior;
+
+		LeituraReplica(Object dadosTransacao, Session session, CacheMode cacheModeAnterior) {
+			this.dadosTransacao = dadosTransacao;
+			this.session = session;
+			this.cacheModeAnterior = cacheModeAnterior;
+		}
+	}
+}
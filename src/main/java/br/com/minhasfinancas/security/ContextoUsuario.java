@@ -0,0 +1,21 @@
+package br.com.minhasfinancas.security;
+
+public final class ContextoUsuario {
+
+	private static final ThreadLocal<Long> ID_USUARIO = new ThreadLocal<>();
+
+	private ContextoUsuario() {
+	}
+
+	public static void definir(Long idUsuario) {
+		ID_USUARIO.set(idUsuario);
+	}
+
+	public static Long obter() {
+		return ID_USUARIO.get();
+	}
+
+	public static void limpar() {
+		ID_USUARIO.remove();
+	}
+}
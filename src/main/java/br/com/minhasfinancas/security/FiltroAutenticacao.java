@@ -0,0 +1,113 @@
+package br.com.minhasfinancas.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import br.com.minhasfinancas.exception.ErroAutenticacaoException;
+import br.com.minhasfinancas.service.TokenSessaoService;
+
+@Component
+public class FiltroAutenticacao extends OncePerRequestFilter {
+
+	private static final String PREFIXO_BEARER = "Bearer ";
+	private static final List<String> ROTAS_PUBLICAS = Arrays.asList(
+			"/api/usuarios/autenticar",
+			"/api/usuarios/salvarUsuario");
+	private static final List<String> PREFIXOS_ADMINISTRATIVOS = Arrays.asList(
+			"/api/cache/",
+			"/api/eventos/");
+
+	@Autowired
+	private TokenSessaoService tokenSessaoService;
+
+	private final Set<Long> administradores;
+
+	// Ids dos usuários que podem acessar as rotas administrativas; sem nenhum configurado, ninguém acessa.
+	// O id vem do "sub" assinado pelo servidor, enquanto o e-mail é escolhido por quem se cadastra
+	public FiltroAutenticacao(@Value("${minhasfinancas.seguranca.administradores:}") String[] administradores) {
+		this.administradores = Arrays.stream(administradores)
+				.map(String::trim)
+				.filter(id -> !id.isEmpty())
+				.map(Long::valueOf)
+				.collect(Collectors.toSet());
+	}
+
+	// Toda rota exige token, inclusive fora de /api/; somente as rotas públicas listadas ficam de fora
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return ROTAS_PUBLICAS.contains(caminho(request));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if(autorizacao == null || !autorizacao.startsWith(PREFIXO_BEARER)) {
+			recusar(response, "Token de sessão não informado!");
+			return;
+		}
+
+		UsuarioAutenticado usuario;
+		try {
+			usuario = tokenSessaoService.verificar(autorizacao.substring(PREFIXO_BEARER.length()).trim());
+		} catch(ErroAutenticacaoException e) {
+			recusar(response, e.getMessage());
+			return;
+		}
+
+		if(ehAdministrativa(caminho(request)) && !administradores.contains(usuario.getIdUsuario())) {
+			responder(response, HttpStatus.FORBIDDEN, "Acesso restrito a administradores!");
+			return;
+		}
+
+		ContextoUsuario.definir(usuario.getIdUsuario());
+		try {
+			filterChain.doFilter(new HttpServletRequestWrapper(request) {
+				@Override
+				public Principal getUserPrincipal() {
+					return usuario;
+				}
+			}, response);
+		} finally {
+			ContextoUsuario.limpar();
+		}
+	}
+
+	private String caminho(HttpServletRequest request) {
+		return request.getRequestURI().substring(request.getContextPath().length());
+	}
+
+	private boolean ehAdministrativa(String caminho) {
+		return PREFIXOS_ADMINISTRATIVOS.stream().anyMatch(caminho::startsWith);
+	}
+
+	private void recusar(HttpServletResponse response, String mensagem) throws IOException {
+		responder(response, HttpStatus.UNAUTHORIZED, mensagem);
+	}
+
+	private void responder(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+		response.setStatus(status.value());
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.getWriter().write(mensagem);
+	}
+}
@@ -0,0 +1,23 @@
+package br.com.minhasfinancas.security;
+
+import java.security.Principal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UsuarioAutenticado implements Principal {
+
+	private final Long idUsuario;
+	private final String emailUsuario;
+
+	@Override
+	public String getName() {
+		return emailUsuario;
+	}
+
+	public boolean possuiId(Long idUsuario) {
+		return this.idUsuario.equals(idUsuario);
+	}
+}
@@ -0,0 +1,89 @@
+package br.com.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import br.com.minhasfinancas.analitico.LivroColunar;
+import br.com.minhasfinancas.analitico.MotorAnalitico;
+import br.com.minhasfinancas.dto.ResumoMensalDTO;
+import br.com.minhasfinancas.dto.ResumoStatusDTO;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+@Service
+public class AnaliseLancamentoService {
+
+	public static final int MAXIMO_MESES_ANALISE = 600;
+	
+	@Autowired
+	private MotorAnalitico motorAnalitico;
+	
+	public List<ResumoMensalDTO> obterResumoMensal(Long idUsuario, YearMonth inicio, YearMonth fim) {
+		validarPeriodo(inicio, fim);
+		int anoMesInicio = empacotar(inicio);
+		int meses = empacotar(fim) - anoMesInicio + 1;
+		
+		long[] totais = new long[meses * LivroColunar.TIPOS * LivroColunar.STATUS];
+		motorAnalitico.obterLivro(idUsuario).somarPorMesTipoEStatus(anoMesInicio, anoMesInicio + meses - 1, totais);
+		
+		int receita = LivroColunar.tipo(TipoLancamento.RECEITA);
+		int despesa = LivroColunar.tipo(TipoLancamento.DESPESA);
+		List<ResumoMensalDTO> resumo = new ArrayList<>(meses);
+		for(int mes = 0; mes < meses; mes++) {
+			ResumoMensalDTO resumoMes = ResumoMensalDTO.builder()
+					.anoLancamento(LivroColunar.ano(anoMesInicio + mes))
+					.mesLancamento(LivroColunar.mes(anoMesInicio + mes))
+					.build();
+			for(StatusLancamento status : StatusLancamento.values()) {
+				long receitas = totais[(mes * LivroColunar.TIPOS + receita) * LivroColunar.STATUS + status.ordinal()];
+				long despesas = totais[(mes * LivroColunar.TIPOS + despesa) * LivroColunar.STATUS + status.ordinal()];
+				if(receitas == 0 && despesas == 0) {
+					continue;
+				}
+				resumoMes.getPorStatus().put(status, ResumoStatusDTO.builder()
+						.receitas(LivroColunar.valor(receitas))
+						.despesas(LivroColunar.valor(despesas))
+						.build());
+				resumoMes.setReceitas(resumoMes.getReceitas().add(LivroColunar.valor(receitas)));
+				resumoMes.setDespesas(resumoMes.getDespesas().add(LivroColunar.valor(despesas)));
+			}
+			resumo.add(resumoMes);
+		}
+		return resumo;
+	}
+	
+	public BigDecimal somar(Long idUsuario, YearMonth inicio, YearMonth fim, TipoLancamento tipoLancamento, StatusLancamento statusLancamento) {
+		validarPeriodo(inicio, fim);
+		return LivroColunar.valor(motorAnalitico.obterLivro(idUsuario).somar(empacotar(inicio), empacotar(fim),
+				tipoLancamento == null ? LivroColunar.QUALQUER : LivroColunar.tipo(tipoLancamento),
+				statusLancamento == null ? LivroColunar.QUALQUER : LivroColunar.status(statusLancamento)));
+	}
+	
+	public int contar(Long idUsuario, YearMonth inicio, YearMonth fim, TipoLancamento tipoLancamento, StatusLancamento statusLancamento) {
+		validarPeriodo(inicio, fim);
+		return motorAnalitico.obterLivro(idUsuario).contar(empacotar(inicio), empacotar(fim),
+				tipoLancamento == null ? LivroColunar.QUALQUER : LivroColunar.tipo(tipoLancamento),
+				statusLancamento == null ? LivroColunar.QUALQUER : LivroColunar.status(statusLancamento));
+	}
+	
+	private void validarPeriodo(YearMonth inicio, YearMonth fim) {
+		if(inicio == null || fim == null || inicio.isAfter(fim)) {
+			throw new RegraNegocioException("Informe um período válido!");
+		}
+		
+		if(ChronoUnit.MONTHS.between(inicio, fim) >= MAXIMO_MESES_ANALISE) {
+			throw new RegraNegocioException("O período deve ter no máximo " + MAXIMO_MESES_ANALISE + " meses!");
+		}
+	}
+	
+	private int empacotar(YearMonth anoMes) {
+		return LivroColunar.empacotar(anoMes.getYear(), anoMes.getMonthValue());
+	}
+}
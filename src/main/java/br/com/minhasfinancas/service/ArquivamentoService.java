@@ -0,0 +1,283 @@
+package br.com.minhasfinancas.service;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.minhasfinancas.arquivo.ArquivoLancamentos;
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.ResumoAnoArquivado;
+import br.com.minhasfinancas.model.ResumoAnoArquivadoId;
+import br.com.minhasfinancas.model.SaldoUsuario;
+import br.com.minhasfinancas.repository.CursorLancamento;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.ResumoAnoArquivadoRepository;
+
+// Encerrar um ano move os lançamentos do usuário nesse ano para o ArquivoLancamentos e deixa um resumo na tabela
+// resumo_ano_arquivado. Saldo, saldo mensal e análise continuam contando esses lançamentos; as consultas do
+// LancamentoService, do LancamentoReativoService e a exportação unem o arquivo aos lançamentos ativos.
+@Service
+public class ArquivamentoService {
+
+	private static final Comparator<LancamentoListagemDTO> ORDEM = Comparator
+			.comparing(LancamentoListagemDTO::getAnoLancamento, Comparator.nullsFirst(Comparator.naturalOrder()))
+			.thenComparing(LancamentoListagemDTO::getMesLancamento, Comparator.nullsFirst(Comparator.naturalOrder()))
+			.thenComparing(LancamentoListagemDTO::getIdLancamento, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+	@Autowired
+	private ArquivoLancamentos arquivoLancamentos;
+
+	@Autowired
+	private ResumoAnoArquivadoRepository resumoAnoArquivadoRepository;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private SaldoUsuarioService saldoUsuarioService;
+
+
+	// Posição do segmento de cada ano encerrado, por usuário; a geração impede guardar um índice lido antes de um encerramento
+	private final Map<Long, NavigableMap<Integer, Long>> indices;
+	private long geracao;
+
+	public ArquivamentoService(@Value("${minhasfinancas.arquivo.usuarios-maximo:10000}") int usuariosMaximo) {
+		this.indices = new LinkedHashMap<Long, NavigableMap<Integer, Long>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, NavigableMap<Integer, Long>> maisAntigo) {
+				return size() > usuariosMaximo;
+			}
+		};
+	}
+
+	@Transactional
+	public ResumoAnoArquivado encerrarAno(Long idUsuario, Integer anoLancamento) {
+		if(anoLancamento == null || anoLancamento.toString().length() != 4) {
+			throw new RegraNegocioException("Informe um ano válido!");
+		}
+
+		if(anoLancamento >= Year.now().getValue()) {
+			throw new RegraNegocioException("Somente anos anteriores ao atual podem ser encerrados!");
+		}
+
+		// Serializa com as demais escritas do usuário, que bloqueiam o mesmo registro de saldo; sem o registro
+		// não haveria o que bloquear, por isso ele é criado antes
+		saldoUsuarioService.bloquear(idUsuario);
+		if(resumoAnoArquivadoRepository.existsById(new ResumoAnoArquivadoId(idUsuario, anoLancamento))) {
+			throw new RegraNegocioException("O ano informado já foi encerrado!");
+		}
+
+		List<Lancamento> lancamentos = lancamentoRepository.buscarPorUsuarioEAno(idUsuario, anoLancamento);
+		if(lancamentos.isEmpty()) {
+			throw new RegraNegocioException("Não há lançamentos no ano informado!");
+		}
+
+		SaldoUsuario totais = SaldoUsuario.builder().idUsuario(idUsuario).build();
+		for(Lancamento lancamento : lancamentos) {
+			totais.somar(lancamento.getTipoLancamento(), lancamento.getStatusLancamento(), lancamento.getValorLancamento());
+		}
+		ResumoAnoArquivado resumo = resumoAnoArquivadoRepository.save(ResumoAnoArquivado.de(idUsuario, anoLancamento, lancamentos.size(), totais));
+
+		// Os termos de busca ficam no índice; o BuscaLancamentoService completa pelo arquivo os que saíram do banco
+		FiltroLoteLancamento filtro = FiltroLoteLancamento.builder().idUsuario(idUsuario).anoLancamento(anoLancamento).build();
+		lancamentoRepository.removerEmLote(filtro);
+
+		// Gravado por último: se a transação for desfeita, o segmento fica sem resumo e é ignorado na leitura
+		arquivoLancamentos.anexar(idUsuario, anoLancamento, lancamentos);
+		invalidarAposTransacao(idUsuario);
+		return resumo;
+	}
+
+	@Transactional(readOnly = true)
+	public List<ResumoAnoArquivado> buscarResumos(Long idUsuario) {
+		return resumoAnoArquivadoRepository.buscarPorUsuario(idUsuario);
+	}
+
+	@Transactional(readOnly = true)
+	public boolean estaArquivado(Long idUsuario, Integer anoLancamento) {
+		return idUsuario != null && anoLancamento != null && obterIndice(idUsuario).containsKey(anoLancamento);
+	}
+
+	@Transactional(readOnly = true)
+	public List<Lancamento> lerArquivados(Long idUsuario) {
+		List<Lancamento> lancamentos = new ArrayList<>();
+		for(Long posicao : obterIndice(idUsuario).values()) {
+			lancamentos.addAll(arquivoLancamentos.ler(idUsuario, posicao));
+		}
+		return lancamentos;
+	}
+
+	@Transactional(readOnly = true)
+	public List<Lancamento> lerArquivados(Long idUsuario, Integer anoLancamento) {
+		Long posicao = obterIndice(idUsuario).get(anoLancamento);
+		return posicao == null ? Collections.emptyList() : arquivoLancamentos.ler(idUsuario, posicao);
+	}
+
+	// Mesmos critérios do filtro da listagem: usuário, descrição contendo o texto, ano, mês, tipo e status
+	@Transactional(readOnly = true)
+	public List<Lancamento> buscar(Lancamento filtro) {
+		if(filtro.getUsuario() == null || filtro.getUsuario().getIdUsuario() == null) {
+			return Collections.emptyList();
+		}
+
+		Long idUsuario = filtro.getUsuario().getIdUsuario();
+		List<Lancamento> encontrados = new ArrayList<>();
+		for(Long posicao : segmentos(idUsuario, filtro.getAnoLancamento()).values()) {
+			for(Lancamento lancamento : arquivoLancamentos.ler(idUsuario, posicao)) {
+				if(corresponde(lancamento, filtro)) {
+					encontrados.add(lancamento);
+				}
+			}
+		}
+		return encontrados;
+	}
+
+	// Os anos são lidos na ordem da página e a leitura para assim que há itens suficientes
+	@Transactional(readOnly = true)
+	public List<LancamentoListagemDTO> buscarPagina(Lancamento filtro, CursorLancamento cursor, int limite, boolean decrescente) {
+		if(filtro.getUsuario() == null || filtro.getUsuario().getIdUsuario() == null) {
+			return Collections.emptyList();
+		}
+
+		Long idUsuario = filtro.getUsuario().getIdUsuario();
+		NavigableMap<Integer, Long> segmentos = segmentos(idUsuario, filtro.getAnoLancamento());
+		if(cursor != null) {
+			segmentos = decrescente ? segmentos.headMap(cursor.getAnoLancamento(), true) : segmentos.tailMap(cursor.getAnoLancamento(), true);
+		}
+		if(decrescente) {
+			segmentos = segmentos.descendingMap();
+		}
+
+		Comparator<LancamentoListagemDTO> ordem = ordem(decrescente);
+		LancamentoListagemDTO posicaoCursor = cursor == null ? null : LancamentoListagemDTO.builder()
+				.anoLancamento(cursor.getAnoLancamento())
+				.mesLancamento(cursor.getMesLancamento())
+				.idLancamento(cursor.getIdLancamento())
+				.build();
+
+		List<LancamentoListagemDTO> pagina = new ArrayList<>();
+		for(Long posicao : segmentos.values()) {
+			List<LancamentoListagemDTO> doAno = new ArrayList<>();
+			for(Lancamento lancamento : arquivoLancamentos.ler(idUsuario, posicao)) {
+				if(!corresponde(lancamento, filtro)) {
+					continue;
+				}
+				LancamentoListagemDTO item = LancamentoListagemDTO.de(lancamento);
+				if(posicaoCursor == null || ordem.compare(item, posicaoCursor) > 0) {
+					doAno.add(item);
+				}
+			}
+			doAno.sort(ordem);
+			pagina.addAll(doAno);
+			if(pagina.size() >= limite) {
+				break;
+			}
+		}
+		return pagina.size() > limite ? new ArrayList<>(pagina.subList(0, limite)) : pagina;
+	}
+
+	public static Comparator<LancamentoListagemDTO> ordem(boolean decrescente) {
+		return decrescente ? ORDEM.reversed() : ORDEM;
+	}
+
+	// Intercala duas listas já ordenadas, mantendo no máximo limite itens
+	public static List<LancamentoListagemDTO> intercalar(List<LancamentoListagemDTO> ativos, List<LancamentoListagemDTO> arquivados,
+			int limite, boolean decrescente) {
+		if(arquivados.isEmpty()) {
+			return ativos;
+		}
+
+		Comparator<LancamentoListagemDTO> ordem = ordem(decrescente);
+		List<LancamentoListagemDTO> intercalados = new ArrayList<>(Math.min(limite, ativos.size() + arquivados.size()));
+		int i = 0;
+		int j = 0;
+		while(intercalados.size() < limite && (i < ativos.size() || j < arquivados.size())) {
+			if(j >= arquivados.size() || (i < ativos.size() && ordem.compare(ativos.get(i), arquivados.get(j)) <= 0)) {
+				intercalados.add(ativos.get(i++));
+			} else {
+				intercalados.add(arquivados.get(j++));
+			}
+		}
+		return intercalados;
+	}
+
+	private NavigableMap<Integer, Long> segmentos(Long idUsuario, Integer anoLancamento) {
+		NavigableMap<Integer, Long> indice = obterIndice(idUsuario);
+		return anoLancamento == null ? indice : indice.subMap(anoLancamento, true, anoLancamento, true);
+	}
+
+	private boolean corresponde(Lancamento lancamento, Lancamento filtro) {
+		if(filtro.getDescricao() != null && !filtro.getDescricao().trim().isEmpty()
+				&& (lancamento.getDescricao() == null || !lancamento.getDescricao().toLowerCase().contains(filtro.getDescricao().toLowerCase()))) {
+			return false;
+		}
+
+		return (filtro.getIdLancamento() == null || filtro.getIdLancamento().equals(lancamento.getIdLancamento()))
+				&& (filtro.getMesLancamento() == null || filtro.getMesLancamento().equals(lancamento.getMesLancamento()))
+				&& (filtro.getTipoLancamento() == null || filtro.getTipoLancamento() == lancamento.getTipoLancamento())
+				&& (filtro.getStatusLancamento() == null || filtro.getStatusLancamento() == lancamento.getStatusLancamento());
+	}
+
+	private NavigableMap<Integer, Long> obterIndice(Long idUsuario) {
+		long geracaoLida;
+		synchronized(this) {
+			NavigableMap<Integer, Long> indice = indices.get(idUsuario);
+			if(indice != null) {
+				return indice;
+			}
+			geracaoLida = geracao;
+		}
+
+		NavigableMap<Integer, Long> indice = new TreeMap<>();
+		List<Integer> anos = resumoAnoArquivadoRepository.buscarAnos(idUsuario);
+		if(!anos.isEmpty()) {
+			indice.putAll(arquivoLancamentos.lerSegmentos(idUsuario));
+			indice.keySet().retainAll(anos);
+		}
+		NavigableMap<Integer, Long> imutavel = Collections.unmodifiableNavigableMap(indice);
+
+		synchronized(this) {
+			if(geracao == geracaoLida) {
+				indices.put(idUsuario, imutavel);
+			}
+		}
+		return imutavel;
+	}
+
+	private synchronized void invalidar(Long idUsuario) {
+		geracao++;
+		indices.remove(idUsuario);
+	}
+
+	private void invalidarAposTransacao(Long idUsuario) {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			invalidar(idUsuario);
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				invalidar(idUsuario);
+			}
+		});
+	}
+}
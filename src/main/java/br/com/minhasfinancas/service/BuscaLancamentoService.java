@@ -0,0 +1,181 @@
+package br.com.minhasfinancas.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.LancamentoTermo;
+import br.com.minhasfinancas.repository.FiltroLike;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.LancamentoTermoRepository;
+
+@Service
+public class BuscaLancamentoService {
+	
+	public static final int LIMITE_PADRAO = 20;
+	public static final int LIMITE_MAXIMO = 100;
+	public static final int MAXIMO_TERMOS_CONSULTA = 10;
+
+	@Autowired
+	private LancamentoTermoRepository lancamentoTermoRepository;
+	
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	private ArquivamentoService arquivamentoService;
+	
+	@Transactional
+	public void indexar(Lancamento lancamento) {
+		if(lancamento == null || lancamento.getIdLancamento() == null
+				|| lancamento.getUsuario() == null || lancamento.getUsuario().getIdUsuario() == null) {
+			return;
+		}
+		
+		lancamentoTermoRepository.removerPorLancamento(lancamento.getIdLancamento());
+		lancamentoTermoRepository.saveAll(criarTermos(lancamento));
+	}
+	
+	@Transactional
+	public void indexarNovos(List<Lancamento> lancamentos) {
+		List<LancamentoTermo> termos = new ArrayList<>();
+		for(Lancamento lancamento : lancamentos) {
+			if(lancamento.getIdLancamento() != null && lancamento.getUsuario() != null && lancamento.getUsuario().getIdUsuario() != null) {
+				termos.addAll(criarTermos(lancamento));
+			}
+		}
+		lancamentoTermoRepository.saveAll(termos);
+	}
+	
+	@Transactional
+	public void removerIndice(Long idLancamento) {
+		lancamentoTermoRepository.removerPorLancamento(idLancamento);
+	}
+	
+	@Transactional
+	public int removerIndiceEmLote(FiltroLoteLancamento filtro) {
+		return lancamentoTermoRepository.removerPorFiltro(filtro);
+	}
+	
+	// Usado pela ProjecaoBuscaLancamento: reindexa os alterados a partir do estado atual do banco. Um alterado que
+	// não está mais no banco foi arquivado (a remoção chega como evento próprio) e mantém os termos que já tinha
+	@Transactional
+	public void atualizarIndice(Collection<Long> alterados, Collection<Long> removidos) {
+		List<Lancamento> encontrados = alterados.isEmpty() ? Collections.emptyList() : lancamentoRepository.findAllById(alterados);
+		Set<Long> ids = new LinkedHashSet<>(removidos);
+		List<LancamentoTermo> termos = new ArrayList<>();
+		for(Lancamento lancamento : encontrados) {
+			ids.add(lancamento.getIdLancamento());
+			termos.addAll(criarTermos(lancamento));
+		}
+		if(ids.isEmpty()) {
+			return;
+		}
+		
+		lancamentoTermoRepository.removerPorLancamentos(ids);
+		lancamentoTermoRepository.saveAll(termos);
+	}
+	
+	@Transactional
+	public int reindexar(Long idUsuario) {
+		lancamentoTermoRepository.removerPorUsuario(idUsuario);
+		List<Lancamento> lancamentos = new ArrayList<>(lancamentoRepository.findByUsuarioIdUsuario(idUsuario));
+		lancamentos.addAll(arquivamentoService.lerArquivados(idUsuario));
+		for(Lancamento lancamento : lancamentos) {
+			indexar(lancamento);
+		}
+		return lancamentos.size();
+	}
+	
+	@Transactional(readOnly = true)
+	public List<LancamentoListagemDTO> buscar(Long idUsuario, String consulta, boolean prefixo, Integer limite) {
+		Set<String> termos = extrairTermos(consulta);
+		if(termos.isEmpty()) {
+			throw new RegraNegocioException("Informe um termo de busca válido!");
+		}
+		
+		List<String> termosConsulta = termos.stream().limit(MAXIMO_TERMOS_CONSULTA).collect(Collectors.toList());
+		List<Long> ids = lancamentoTermoRepository.buscarLancamentosPorRelevancia(idUsuario, termosConsulta, prefixo, limitar(limite));
+		if(ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		
+		List<LancamentoListagemDTO> lancamentos = new ArrayList<>(lancamentoRepository.buscarListagemPorIds(ids));
+		if(lancamentos.size() < ids.size()) {
+			lancamentos.addAll(buscarArquivados(idUsuario, ids, lancamentos));
+		}
+		lancamentos.sort(Comparator.comparingInt(lancamento -> ids.indexOf(lancamento.getIdLancamento())));
+		return lancamentos;
+	}
+	
+	@Transactional(readOnly = true)
+	public List<String> sugerir(Long idUsuario, String prefixo, Integer limite) {
+		Set<String> termos = extrairTermos(prefixo);
+		if(termos.isEmpty()) {
+			return Collections.emptyList();
+		}
+		
+		String ultimoTermo = new ArrayList<>(termos).get(termos.size() - 1);
+		return lancamentoTermoRepository.buscarTermosPorPrefixo(idUsuario, FiltroLike.iniciandoCom(ultimoTermo), PageRequest.of(0, limitar(limite)));
+	}
+	
+	public static Set<String> extrairTermos(String texto) {
+		Set<String> termos = new LinkedHashSet<>();
+		if(texto == null) {
+			return termos;
+		}
+		
+		String normalizado = Normalizer.normalize(texto, Normalizer.Form.NFD)
+				.replaceAll("\\p{M}", "")
+				.toLowerCase(Locale.ROOT);
+		
+		for(String termo : normalizado.split("[^\\p{Alnum}]+")) {
+			if(!termo.isEmpty()) {
+				termos.add(termo.length() > LancamentoTermo.TAMANHO_MAXIMO_TERMO ? termo.substring(0, LancamentoTermo.TAMANHO_MAXIMO_TERMO) : termo);
+			}
+		}
+		return termos;
+	}
+	
+	// Os termos dos anos encerrados continuam no índice, mas os lançamentos só existem no arquivo
+	private List<LancamentoListagemDTO> buscarArquivados(Long idUsuario, List<Long> ids, List<LancamentoListagemDTO> encontrados) {
+		Set<Long> faltantes = new LinkedHashSet<>(ids);
+		encontrados.forEach(lancamento -> faltantes.remove(lancamento.getIdLancamento()));
+		return arquivamentoService.lerArquivados(idUsuario).stream()
+				.filter(lancamento -> faltantes.contains(lancamento.getIdLancamento()))
+				.map(LancamentoListagemDTO::de)
+				.collect(Collectors.toList());
+	}
+	
+	private List<LancamentoTermo> criarTermos(Lancamento lancamento) {
+		List<LancamentoTermo> termos = new ArrayList<>();
+		for(String termo : extrairTermos(lancamento.getDescricao())) {
+			termos.add(LancamentoTermo.builder()
+					.idUsuario(lancamento.getUsuario().getIdUsuario())
+					.termo(termo)
+					.idLancamento(lancamento.getIdLancamento())
+					.build());
+		}
+		return termos;
+	}
+	
+	private int limitar(Integer limite) {
+		return limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+	}
+}
@@ -0,0 +1,50 @@
+package br.com.minhasfinancas.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import br.com.minhasfinancas.dto.EstatisticaCacheDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+
+@Service
+public class EstatisticaCacheService {
+
+	private static final List<String> REGIOES = Arrays.asList(Usuario.REGIAO_CACHE, Lancamento.REGIAO_CACHE);
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	public List<EstatisticaCacheDTO> obterEstatisticas() {
+		Statistics estatisticas = obterEstatisticasHibernate();
+		List<EstatisticaCacheDTO> resultado = new ArrayList<>();
+		for(String regiao : REGIOES) {
+			CacheRegionStatistics estatisticasRegiao = estatisticas.getDomainDataRegionStatistics(regiao);
+			resultado.add(EstatisticaCacheDTO.builder()
+					.regiao(regiao)
+					.acertos(estatisticasRegiao.getHitCount())
+					.falhas(estatisticasRegiao.getMissCount())
+					.insercoes(estatisticasRegiao.getPutCount())
+					.elementosEmMemoria(estatisticasRegiao.getElementCountInMemory())
+					.build());
+		}
+		return resultado;
+	}
+
+	public void limparEstatisticas() {
+		obterEstatisticasHibernate().clear();
+	}
+
+	private Statistics obterEstatisticasHibernate() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+}
@@ -0,0 +1,84 @@
+package br.com.minhasfinancas.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasfinancas.dto.SituacaoEventosDTO;
+import br.com.minhasfinancas.model.EventoLancamento;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.enums.SituacaoEvento;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoEventoLancamento;
+import br.com.minhasfinancas.repository.CheckpointProjecaoRepository;
+import br.com.minhasfinancas.repository.EventoLancamentoRepository;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+
+// Grava os eventos na mesma transação da alteração do lançamento. O LancamentoService chama estes métodos depois do
+// SaldoUsuarioService, com o saldo_usuario do usuário bloqueado, o que mantém os ids de cada usuário na ordem de commit.
+@Service
+public class EventoLancamentoService {
+
+	@Autowired
+	private EventoLancamentoRepository eventoLancamentoRepository;
+
+	@Autowired
+	private CheckpointProjecaoRepository checkpointProjecaoRepository;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Transactional
+	public void registrar(TipoEventoLancamento tipoEvento, Lancamento lancamento) {
+		if(possuiIdentificacao(lancamento)) {
+			eventoLancamentoRepository.save(EventoLancamento.de(tipoEvento, lancamento));
+		}
+	}
+
+	@Transactional
+	public void registrarLote(TipoEventoLancamento tipoEvento, Collection<Lancamento> lancamentos) {
+		List<EventoLancamento> eventos = new ArrayList<>();
+		for(Lancamento lancamento : lancamentos) {
+			if(possuiIdentificacao(lancamento)) {
+				eventos.add(EventoLancamento.de(tipoEvento, lancamento));
+			}
+		}
+		eventoLancamentoRepository.inserirEmLote(eventos);
+	}
+
+	// Deve ser chamado antes da operação em lote, enquanto o filtro ainda seleciona os lançamentos afetados
+	@Transactional
+	public void registrarEmLote(FiltroLoteLancamento filtro, TipoEventoLancamento tipoEvento, StatusLancamento statusLancamento) {
+		LocalDateTime agora = LocalDateTime.now();
+		List<EventoLancamento> eventos = new ArrayList<>();
+		for(Long idLancamento : lancamentoRepository.buscarIdsEmLote(filtro)) {
+			eventos.add(EventoLancamento.builder()
+					.idUsuario(filtro.getIdUsuario())
+					.idLancamento(idLancamento)
+					.tipoEvento(tipoEvento)
+					.statusLancamento(statusLancamento)
+					.dataCriacao(agora)
+					.build());
+		}
+		eventoLancamentoRepository.inserirEmLote(eventos);
+	}
+
+	@Transactional(readOnly = true)
+	public SituacaoEventosDTO obterSituacao() {
+		return SituacaoEventosDTO.builder()
+				.pendentes(eventoLancamentoRepository.contarPorSituacao(SituacaoEvento.PENDENTE))
+				.falhas(eventoLancamentoRepository.contarPorSituacao(SituacaoEvento.FALHA))
+				.projecoes(checkpointProjecaoRepository.findAll())
+				.build();
+	}
+
+	private boolean possuiIdentificacao(Lancamento lancamento) {
+		return lancamento.getIdLancamento() != null && lancamento.getUsuario() != null && lancamento.getUsuario().getIdUsuario() != null;
+	}
+}
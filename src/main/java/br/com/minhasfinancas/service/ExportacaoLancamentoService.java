@@ -0,0 +1,165 @@
+package br.com.minhasfinancas.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.ResumoAnoArquivado;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+
+@Service
+public class ExportacaoLancamentoService {
+	
+	private static final String CABECALHO_CSV = "idLancamento,descricao,mesLancamento,anoLancamento,valorLancamento,"
+			+ "tipoLancamento,statusLancamento,dataCadastro,idUsuario";
+	
+	private static final Comparator<Lancamento> ORDEM_ARQUIVADOS = Comparator
+			.comparing(Lancamento::getMesLancamento, Comparator.nullsFirst(Comparator.naturalOrder()))
+			.thenComparing(Lancamento::getIdLancamento, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	private ArquivamentoService arquivamentoService;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Transactional(readOnly = true)
+	public long exportar(Long idUsuario, FormatoExportacao formato, OutputStream saida) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+		long quantidade = formato == FormatoExportacao.CSV ? exportarCsv(idUsuario, writer) : exportarNdjson(idUsuario, writer);
+		writer.flush();
+		return quantidade;
+	}
+	
+	private long exportarCsv(Long idUsuario, Writer writer) throws IOException {
+		writer.write(CABECALHO_CSV);
+		writer.write('\n');
+		
+		return percorrer(idUsuario, lancamento -> {
+			writer.write(valorCsv(lancamento.getIdLancamento()));
+			writer.write(',');
+			writer.write(valorCsv(lancamento.getDescricao()));
+			writer.write(',');
+			writer.write(valorCsv(lancamento.getMesLancamento()));
+			writer.write(',');
+			writer.write(valorCsv(lancamento.getAnoLancamento()));
+			writer.write(',');
+			writer.write(lancamento.getValorLancamento() == null ? "" : lancamento.getValorLancamento().toPlainString());
+			writer.write(',');
+			writer.write(valorCsv(lancamento.getTipoLancamento()));
+			writer.write(',');
+			writer.write(valorCsv(lancamento.getStatusLancamento()));
+			writer.write(',');
+			writer.write(valorCsv(lancamento.getDataCadastro()));
+			writer.write(',');
+			writer.write(valorCsv(idUsuario));
+			writer.write('\n');
+		});
+	}
+	
+	private long exportarNdjson(Long idUsuario, Writer writer) throws IOException {
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		generator.setRootValueSeparator(new SerializedString("\n"));
+		
+		long quantidade = percorrer(idUsuario, lancamento -> {
+			generator.writeStartObject();
+			generator.writeObjectField("idLancamento", lancamento.getIdLancamento());
+			generator.writeStringField("descricao", lancamento.getDescricao());
+			generator.writeObjectField("mesLancamento", lancamento.getMesLancamento());
+			generator.writeObjectField("anoLancamento", lancamento.getAnoLancamento());
+			generator.writeObjectField("valorLancamento", lancamento.getValorLancamento());
+			generator.writeObjectField("tipoLancamento", lancamento.getTipoLancamento());
+			generator.writeObjectField("statusLancamento", lancamento.getStatusLancamento());
+			generator.writeObjectField("dataCadastro", lancamento.getDataCadastro());
+			generator.writeObjectField("idUsuario", idUsuario);
+			generator.writeEndObject();
+		});
+		
+		if(quantidade > 0) {
+			generator.writeRaw('\n');
+		}
+		generator.flush();
+		return quantidade;
+	}
+	
+	// Anos encerrados vêm do ArquivoLancamentos, um ano por vez, na posição que ocupariam na ordem por ano dos ativos
+	private long percorrer(Long idUsuario, EscritorLancamento escritor) throws IOException {
+		Deque<Integer> anosArquivados = arquivamentoService.buscarResumos(idUsuario).stream()
+				.map(ResumoAnoArquivado::getAnoLancamento)
+				.collect(Collectors.toCollection(ArrayDeque::new));
+		
+		long quantidade = 0;
+		try(Stream<Lancamento> lancamentos = lancamentoRepository.buscarParaExportacao(idUsuario)) {
+			Iterator<Lancamento> iterator = lancamentos.iterator();
+			while(iterator.hasNext()) {
+				Lancamento lancamento = iterator.next();
+				while(!anosArquivados.isEmpty() && lancamento.getAnoLancamento() != null && anosArquivados.peek() < lancamento.getAnoLancamento()) {
+					quantidade += escreverArquivados(idUsuario, anosArquivados.poll(), escritor);
+				}
+				escritor.escrever(lancamento);
+				entityManager.detach(lancamento);
+				quantidade++;
+			}
+		}
+		while(!anosArquivados.isEmpty()) {
+			quantidade += escreverArquivados(idUsuario, anosArquivados.poll(), escritor);
+		}
+		return quantidade;
+	}
+	
+	private long escreverArquivados(Long idUsuario, Integer anoLancamento, EscritorLancamento escritor) throws IOException {
+		List<Lancamento> arquivados = new ArrayList<>(arquivamentoService.lerArquivados(idUsuario, anoLancamento));
+		arquivados.sort(ORDEM_ARQUIVADOS);
+		for(Lancamento lancamento : arquivados) {
+			escritor.escrever(lancamento);
+		}
+		return arquivados.size();
+	}
+	
+	private String valorCsv(Object valor) {
+		if(valor == null) {
+			return "";
+		}
+		
+		String texto = valor.toString();
+		if(texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+			return '"' + texto.replace("\"", "\"\"") + '"';
+		}
+		return texto;
+	}
+	
+	@FunctionalInterface
+	private interface EscritorLancamento {
+		void escrever(Lancamento lancamento) throws IOException;
+	}
+}
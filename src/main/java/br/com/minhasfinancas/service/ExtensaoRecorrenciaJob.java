@@ -0,0 +1,42 @@
+package br.com.minhasfinancas.service;
+
+import java.time.YearMonth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.repository.RecorrenciaLancamentoRepository;
+
+// Mantém as séries sem fim materializadas até o horizonte; a listagem apenas lê as parcelas já geradas
+@Component
+public class ExtensaoRecorrenciaJob {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ExtensaoRecorrenciaJob.class);
+
+	@Autowired
+	private RecorrenciaLancamentoService recorrenciaLancamentoService;
+
+	@Autowired
+	private RecorrenciaLancamentoRepository recorrenciaLancamentoRepository;
+
+	@Scheduled(cron = "${minhasfinancas.recorrencia.extensao.cron:0 30 2 * * *}")
+	public void estenderRecorrencias() {
+		YearMonth horizonte = recorrenciaLancamentoService.horizonte();
+		int geradas = 0;
+		for(Long idUsuario : recorrenciaLancamentoRepository.buscarUsuariosComAtivas()) {
+			if(!recorrenciaLancamentoService.precisaEstender(idUsuario, horizonte)) {
+				continue;
+			}
+			try {
+				geradas += recorrenciaLancamentoService.estenderAte(idUsuario, horizonte);
+			} catch(RegraNegocioException e) {
+				LOGGER.warn("Recorrências do usuário {} não estendidas: {}", idUsuario, e.getMessage());
+			}
+		}
+		LOGGER.info("Extensão de recorrências concluída com {} parcela(s) gerada(s) até {}", geradas, horizonte);
+	}
+}
@@ -0,0 +1,22 @@
+package br.com.minhasfinancas.service;
+
+public enum FormatoExportacao {
+	CSV("text/csv", "csv"),
+	NDJSON("application/x-ndjson", "ndjson");
+	
+	private final String tipoConteudo;
+	private final String extensao;
+	
+	FormatoExportacao(String tipoConteudo, String extensao) {
+		this.tipoConteudo = tipoConteudo;
+		this.extensao = extensao;
+	}
+	
+	public String getTipoConteudo() {
+		return tipoConteudo;
+	}
+	
+	public String getExtensao() {
+		return extensao;
+	}
+}
@@ -0,0 +1,318 @@
+package br.com.minhasfinancas.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.RespostaIdempotente;
+import br.com.minhasfinancas.repository.RespostaIdempotenteRepository;
+
+// Guarda a primeira resposta de sucesso de cada Idempotency-Key e a devolve nas repetições sem executar a operação de novo.
+// A chave é reservada por um registro ainda sem status; a operação e a gravação da resposta rodam numa única transação
+// que mantém a reserva bloqueada, então uma reserva só fica sem resposta se a operação também foi desfeita. Repetições
+// simultâneas aguardam a primeira até o limite de espera: na mesma instância pelo futuro da chave, entre instâncias pelo
+// bloqueio da reserva. Só depois do limite recebem 409.
+@Service
+public class IdempotenciaService {
+
+	public static final String CABECALHO = "Idempotency-Key";
+	public static final String CABECALHO_REPETICAO = "Idempotent-Replayed";
+	public static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(IdempotenciaService.class);
+
+	@Autowired
+	private RespostaIdempotenteRepository respostaIdempotenteRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final Map<String, RespostaIdempotente> respostas;
+	private final ConcurrentMap<String, CompletableFuture<Void>> emAndamento = new ConcurrentHashMap<>();
+	private final TransactionTemplate transacao;
+	private final TransactionTemplate transacaoEspera;
+	private final Duration validade;
+	private final Duration reserva;
+	private final Duration espera;
+
+	public IdempotenciaService(PlatformTransactionManager transactionManager,
+			@Value("${minhasfinancas.idempotencia.validade-horas:24}") long validadeHoras,
+			@Value("${minhasfinancas.idempotencia.respostas-maximo:10000}") int respostasMaximo,
+			@Value("${minhasfinancas.idempotencia.reserva-ms:20000}") long reservaMs,
+			@Value("${minhasfinancas.idempotencia.espera-ms:10000}") long esperaMs) {
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.validade = Duration.ofHours(validadeHoras);
+		this.reserva = Duration.ofMillis(reservaMs);
+		this.espera = Duration.ofMillis(esperaMs);
+		// O prazo da transação vira o timeout da consulta que aguarda o bloqueio da reserva
+		this.transacaoEspera = new TransactionTemplate(transactionManager);
+		this.transacaoEspera.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(esperaMs + 999)));
+		this.respostas = new LinkedHashMap<String, RespostaIdempotente>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, RespostaIdempotente> maisAntiga) {
+				return size() > respostasMaximo;
+			}
+		};
+	}
+
+	// O escopo separa as chaves de usuários e recursos diferentes; a requisição identifica o corpo enviado com a chave
+	public ResponseEntity<Object> executar(String escopo, String chaveCliente, Object requisicao, Supplier<ResponseEntity<Object>> operacao) {
+		if(chaveCliente == null) {
+			return operacao.get();
+		}
+
+		if(chaveCliente.isBlank() || chaveCliente.length() > TAMANHO_MAXIMO_CHAVE) {
+			throw new RegraNegocioException("Informe uma Idempotency-Key com até " + TAMANHO_MAXIMO_CHAVE + " caracteres!");
+		}
+
+		String chave = resumir(escopo + ":" + chaveCliente);
+		String impressao = resumir(serializar(requisicao));
+		long limite = System.nanoTime() + espera.toNanos();
+		while(true) {
+			CompletableFuture<Void> nova = new CompletableFuture<>();
+			CompletableFuture<Void> anterior = emAndamento.putIfAbsent(chave, nova);
+			if(anterior == null) {
+				try {
+					return executarPrimeira(chave, impressao, operacao);
+				} finally {
+					emAndamento.remove(chave, nova);
+					nova.complete(null);
+				}
+			}
+
+			// Se a primeira não guardou resposta (erro de validação, por exemplo), a próxima volta executa a operação
+			if(!aguardar(anterior, limite)) {
+				return emAndamento();
+			}
+		}
+	}
+
+	@Scheduled(cron = "${minhasfinancas.idempotencia.expurgo.cron:0 15 * * * *}")
+	public void expurgar() {
+		LocalDateTime agora = LocalDateTime.now();
+		synchronized(respostas) {
+			respostas.values().removeIf(resposta -> resposta.expirou(agora));
+		}
+		int removidas = respostaIdempotenteRepository.removerExpiradas(agora);
+		LOGGER.info("Expurgo de respostas idempotentes concluído com {} resposta(s) removida(s)", removidas);
+	}
+
+	private ResponseEntity<Object> executarPrimeira(String chave, String impressao, Supplier<ResponseEntity<Object>> operacao) {
+		Optional<RespostaIdempotente> registrada = buscarRegistrada(chave);
+		if(registrada.isPresent() && registrada.get().isConcluida()) {
+			return repetir(registrada.get(), impressao);
+		}
+		if(registrada.isPresent()) {
+			ResponseEntity<Object> aposEspera = aguardarOutraInstancia(chave, impressao);
+			if(aposEspera != null) {
+				return aposEspera;
+			}
+		}
+
+		LocalDateTime agora = LocalDateTime.now();
+		RespostaIdempotente nova = RespostaIdempotente.builder()
+				.chave(chave)
+				.impressao(impressao)
+				.dataCriacao(agora)
+				.dataExpiracao(agora.plus(reserva))
+				.build();
+		try {
+			respostaIdempotenteRepository.saveAndFlush(nova);
+		} catch(DataIntegrityViolationException e) {
+			// Outra instância reservou a chave entre a consulta e a inserção
+			ResponseEntity<Object> aposEspera = aguardarOutraInstancia(chave, impressao);
+			return aposEspera != null ? aposEspera : emAndamento();
+		}
+
+		ResponseEntity<Object> resposta;
+		try {
+			resposta = transacao.execute(status -> executarReservada(chave, operacao, status));
+		} catch(RuntimeException e) {
+			respostaIdempotenteRepository.deleteById(chave);
+			throw e;
+		}
+
+		if(resposta == null) {
+			return emAndamento();
+		}
+		if(!resposta.getStatusCode().is2xxSuccessful()) {
+			respostaIdempotenteRepository.deleteById(chave);
+		}
+		return resposta;
+	}
+
+	// O bloqueio impede que a reserva expire e seja tomada por outra instância enquanto a operação roda. Retorna nulo
+	// se a reserva já não existe, caso em que a chave pertence a outra requisição e nada é executado
+	private ResponseEntity<Object> executarReservada(String chave, Supplier<ResponseEntity<Object>> operacao, TransactionStatus status) {
+		RespostaIdempotente reservada = respostaIdempotenteRepository.buscarParaAtualizacao(chave)
+				.filter(registro -> !registro.isConcluida())
+				.orElse(null);
+		if(reservada == null) {
+			return null;
+		}
+
+		ResponseEntity<Object> resposta = operacao.get();
+		if(!resposta.getStatusCode().is2xxSuccessful()) {
+			status.setRollbackOnly();
+			return resposta;
+		}
+
+		reservada.setStatus(resposta.getStatusCodeValue());
+		reservada.setCorpo(serializar(resposta.getBody()));
+		reservada.setEtag(resposta.getHeaders().getETag());
+		reservada.setDataExpiracao(LocalDateTime.now().plus(validade));
+		respostaIdempotenteRepository.save(reservada);
+		registrarAposTransacao(chave, reservada);
+		return resposta;
+	}
+
+	// A outra instância mantém a reserva bloqueada até concluir; retorna nulo se ela falhou e liberou a chave
+	private ResponseEntity<Object> aguardarOutraInstancia(String chave, String impressao) {
+		Optional<RespostaIdempotente> registrada;
+		try {
+			registrada = transacaoEspera.execute(status -> respostaIdempotenteRepository.buscarParaAtualizacao(chave));
+		} catch(TransactionTimedOutException | QueryTimeoutException | PessimisticLockingFailureException e) {
+			return emAndamento();
+		}
+
+		if(registrada.isEmpty()) {
+			return null;
+		}
+		if(registrada.get().isConcluida()) {
+			synchronized(respostas) {
+				respostas.put(chave, registrada.get());
+			}
+		}
+		return repetir(registrada.get(), impressao);
+	}
+
+	// Consulta a memória e depois o banco; uma reserva ainda sem resposta é devolvida como está
+	private Optional<RespostaIdempotente> buscarRegistrada(String chave) {
+		synchronized(respostas) {
+			RespostaIdempotente emMemoria = respostas.get(chave);
+			if(emMemoria != null && !emMemoria.expirou(LocalDateTime.now())) {
+				return Optional.of(emMemoria);
+			}
+		}
+
+		Optional<RespostaIdempotente> registrada = respostaIdempotenteRepository.findById(chave);
+		LocalDateTime agora = LocalDateTime.now();
+		if(registrada.isEmpty()) {
+			return Optional.empty();
+		}
+		if(registrada.get().expirou(agora)) {
+			respostaIdempotenteRepository.removerSeExpirada(chave, agora);
+			return Optional.empty();
+		}
+		if(registrada.get().isConcluida()) {
+			synchronized(respostas) {
+				respostas.put(chave, registrada.get());
+			}
+		}
+		return registrada;
+	}
+
+	private void registrarAposTransacao(String chave, RespostaIdempotente resposta) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				synchronized(respostas) {
+					respostas.put(chave, resposta);
+				}
+			}
+		});
+	}
+
+	private ResponseEntity<Object> repetir(RespostaIdempotente resposta, String impressao) {
+		if(!resposta.isConcluida()) {
+			return emAndamento();
+		}
+
+		if(!resposta.getImpressao().equals(impressao)) {
+			return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("A Idempotency-Key informada já foi usada em outra requisição!");
+		}
+
+		BodyBuilder builder = ResponseEntity.status(resposta.getStatus())
+				.header(CABECALHO_REPETICAO, Boolean.TRUE.toString())
+				.contentType(MediaType.APPLICATION_JSON);
+		if(resposta.getEtag() != null) {
+			builder.eTag(resposta.getEtag());
+		}
+		return builder.body(resposta.getCorpo());
+	}
+
+	private ResponseEntity<Object> emAndamento() {
+		return ResponseEntity.status(HttpStatus.CONFLICT).body("Uma requisição com a mesma Idempotency-Key ainda está em andamento!");
+	}
+
+	private boolean aguardar(CompletableFuture<Void> anterior, long limite) {
+		try {
+			anterior.get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+			return true;
+		} catch(TimeoutException | ExecutionException e) {
+			return false;
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private String serializar(Object valor) {
+		try {
+			return objectMapper.writeValueAsString(valor);
+		} catch(JsonProcessingException e) {
+			throw new IllegalStateException("Não foi possível serializar a requisição idempotente", e);
+		}
+	}
+
+	private String resumir(String texto) {
+		try {
+			byte[] resumo = MessageDigest.getInstance("SHA-256").digest(texto.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hexadecimal = new StringBuilder(resumo.length * 2);
+			for(byte valor : resumo) {
+				hexadecimal.append(String.format("%02x", valor));
+			}
+			return hexadecimal.toString();
+		} catch(NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
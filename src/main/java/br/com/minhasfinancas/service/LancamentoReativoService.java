@@ -0,0 +1,74 @@
+package br.com.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.dto.PaginaDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.SaldoUsuario;
+import br.com.minhasfinancas.repository.CursorLancamento;
+import br.com.minhasfinancas.repository.LancamentoReativoRepository;
+
+@Service
+public class LancamentoReativoService {
+
+	@Autowired
+	private LancamentoReativoRepository lancamentoReativoRepository;
+	
+	@Autowired
+	private ArquivamentoService arquivamentoService;
+	
+	@Value("${minhasfinancas.reativo.tamanho-lote-transmissao:500}")
+	private int tamanhoLoteTransmissao;
+	
+	// Cursor e tamanho são validados antes da assinatura, então um cursor inválido sai como RegraNegocioException síncrona
+	public Mono<PaginaDTO<LancamentoListagemDTO>> buscarLancamentoPaginado(Lancamento lancamentoFiltro, String cursor, Integer tamanho, boolean decrescente) {
+		int limite = LancamentoService.limitarTamanhoPagina(tamanho);
+		CursorLancamento posicao = LancamentoService.decodificarCursor(cursor);
+		boolean ordemDecrescente = posicao == null ? decrescente : posicao.isDecrescente();
+		
+		return buscarPagina(lancamentoFiltro, posicao, limite + 1, ordemDecrescente)
+				.map(lancamentos -> LancamentoService.montarPagina(lancamentos, limite, ordemDecrescente));
+	}
+	
+	// Percorre a listagem em lotes por cursor; o próximo lote só é consultado quando o assinante pede mais itens
+	public Flux<LancamentoListagemDTO> transmitirLancamentos(Lancamento lancamentoFiltro, boolean decrescente) {
+		return buscarLote(lancamentoFiltro, null, decrescente)
+				.expand(lote -> lote.size() < tamanhoLoteTransmissao
+						? Mono.empty()
+						: buscarLote(lancamentoFiltro, CursorLancamento.posicaoApos(lote.get(lote.size() - 1), decrescente), decrescente))
+				.concatMapIterable(lote -> lote, 1);
+	}
+	
+	public Mono<Long> obterVersaoDados(Long idUsuario) {
+		return lancamentoReativoRepository.buscarVersaoDados(idUsuario);
+	}
+	
+	public Mono<BigDecimal> obterSaldoPorUsuario(Long idUsuario) {
+		return lancamentoReativoRepository.buscarSaldo(idUsuario)
+				.switchIfEmpty(Mono.defer(() -> lancamentoReativoRepository.recalcularSaldo(idUsuario)))
+				.map(SaldoUsuario::getSaldo);
+	}
+	
+	private Mono<List<LancamentoListagemDTO>> buscarLote(Lancamento lancamentoFiltro, CursorLancamento posicao, boolean decrescente) {
+		return buscarPagina(lancamentoFiltro, posicao, tamanhoLoteTransmissao, decrescente);
+	}
+	
+	// Anos encerrados ficam no ArquivoLancamentos, lido de forma bloqueante fora das threads do driver e intercalado como na listagem
+	private Mono<List<LancamentoListagemDTO>> buscarPagina(Lancamento lancamentoFiltro, CursorLancamento posicao, int limite, boolean decrescente) {
+		Mono<List<LancamentoListagemDTO>> arquivados = Mono.fromCallable(() -> arquivamentoService.buscarPagina(lancamentoFiltro, posicao, limite, decrescente))
+				.subscribeOn(Schedulers.boundedElastic());
+		return lancamentoReativoRepository.buscarPagina(lancamentoFiltro, posicao, limite, decrescente)
+				.collectList()
+				.zipWith(arquivados, (ativos, doArquivo) -> ArquivamentoService.intercalar(ativos, doArquivo, limite, decrescente));
+	}
+}
@@ -1,55 +1,321 @@
 package br.com.minhasfinancas.service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.minhasfinancas.analitico.MotorAnalitico;
+import br.com.minhasfinancas.dto.ItemLoteDTO;
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.dto.PaginaDTO;
+import br.com.minhasfinancas.dto.ResumoAnualDTO;
+import br.com.minhasfinancas.dto.ResumoMensalDTO;
+import br.com.minhasfinancas.dto.ResumoStatusDTO;
+import br.com.minhasfinancas.dto.ResultadoLoteDTO;
+import br.com.minhasfinancas.exception.ConflitoVersaoException;
 import br.com.minhasfinancas.exception.RegraNegocioException;
 import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.SaldoUsuario;
+import br.com.minhasfinancas.model.Usuario;
 import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoEventoLancamento;
 import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.repository.CursorLancamento;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
 import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.projection.TotalMensal;
+import br.com.minhasfinancas.repository.projection.ValoresLancamento;
 
 @Service
 public class LancamentoService {
+	
+	public static final int TAMANHO_PADRAO_PAGINA = 50;
+	public static final int TAMANHO_MAXIMO_PAGINA = 500;
+	public static final int TAMANHO_MAXIMO_LOTE = 10000;
+	public static final String MENSAGEM_LANCAMENTO_NAO_ENCONTRADO = "Lançamento não encontrado na base de dados";
+	public static final String MENSAGEM_CONFLITO_VERSAO = "O lançamento foi alterado por outra requisição. Recarregue e tente novamente!";
 
 	@Autowired
 	private LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	private SaldoUsuarioService saldoUsuarioService;
+	
+	@Autowired
+	private EventoLancamentoService eventoLancamentoService;
+	
+	@Autowired
+	private UsuarioService usuarioService;
+	
+	@Autowired
+	private MotorAnalitico motorAnalitico;
+	
+	@Autowired
+	private SaldoMensalService saldoMensalService;
+	
+	@Autowired
+	private ArquivamentoService arquivamentoService;
 
+	@Transactional
 	public Lancamento salvarLancamento(Lancamento lancamento) {
 		validarLancamento(lancamento);
 		lancamento.setStatusLancamento(StatusLancamento.PENDENTE);
-		return lancamentoRepository.save(lancamento);
+		saldoUsuarioService.registrar(lancamento);
+		saldoMensalService.registrar(lancamento);
+		Lancamento lancamentoSalvo = lancamentoRepository.save(lancamento);
+		eventoLancamentoService.registrar(TipoEventoLancamento.CRIADO, lancamentoSalvo);
+		motorAnalitico.registrar(lancamentoSalvo);
+		return lancamentoSalvo;
 	}
 	
+	@Transactional
+	public ResultadoLoteDTO salvarLote(List<Lancamento> lancamentos) {
+		if(lancamentos == null || lancamentos.isEmpty()) {
+			throw new RegraNegocioException("Informe ao menos um lançamento!");
+		}
+		
+		if(lancamentos.size() > TAMANHO_MAXIMO_LOTE) {
+			throw new RegraNegocioException("O lote deve ter no máximo " + TAMANHO_MAXIMO_LOTE + " lançamentos!");
+		}
+		
+		Set<Long> idsUsuarios = new HashSet<>();
+		for(Lancamento lancamento : lancamentos) {
+			if(lancamento.getUsuario() != null && lancamento.getUsuario().getIdUsuario() != null) {
+				idsUsuarios.add(lancamento.getUsuario().getIdUsuario());
+			}
+		}
+		Map<Long, Usuario> usuarios = usuarioService.buscarPorIds(idsUsuarios);
+		
+		List<ItemLoteDTO> itens = new ArrayList<>();
+		List<Lancamento> validos = new ArrayList<>();
+		for(int indice = 0; indice < lancamentos.size(); indice++) {
+			Lancamento lancamento = lancamentos.get(indice);
+			ItemLoteDTO item = ItemLoteDTO.builder().indice(indice).build();
+			try {
+				if(lancamento.getUsuario() != null && lancamento.getUsuario().getIdUsuario() != null) {
+					Usuario usuario = usuarios.get(lancamento.getUsuario().getIdUsuario());
+					if(usuario == null) {
+						throw new RegraNegocioException("Usuário não encontrado para o id informado!");
+					}
+					lancamento.setUsuario(usuario);
+				}
+				validarLancamento(lancamento);
+				lancamento.setStatusLancamento(StatusLancamento.PENDENTE);
+				validos.add(lancamento);
+				item.setSucesso(true);
+			} catch(RegraNegocioException e) {
+				item.setErro(e.getMessage());
+			}
+			itens.add(item);
+		}
+		
+		if(!validos.isEmpty()) {
+			saldoUsuarioService.registrarLote(validos);
+			saldoMensalService.registrarLote(validos);
+			lancamentoRepository.inserirEmLote(validos);
+			eventoLancamentoService.registrarLote(TipoEventoLancamento.CRIADO, validos);
+			motorAnalitico.registrarLote(validos);
+		}
+		
+		for(ItemLoteDTO item : itens) {
+			if(item.isSucesso()) {
+				item.setIdLancamento(lancamentos.get(item.getIndice()).getIdLancamento());
+			}
+		}
+		
+		return ResultadoLoteDTO.builder()
+				.total(lancamentos.size())
+				.sucessos(validos.size())
+				.falhas(lancamentos.size() - validos.size())
+				.itens(itens)
+				.build();
+	}
+	
+	@Transactional(readOnly = true)
 	public Optional<Lancamento> buscarPorId(Long idLancamento){
 		return lancamentoRepository.findById(idLancamento);
 	}
 
+	// A posse é conferida pelos valores persistidos, a única leitura do lançamento na atualização
+	@Transactional
 	public Lancamento atualizarLancamento(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getIdLancamento());
 		validarLancamento(lancamento);
-		return lancamentoRepository.save(lancamento);
+		ValoresLancamento persistidos = buscarValoresDoUsuario(lancamento.getIdLancamento(), lancamento.getUsuario().getIdUsuario());
+		return atualizar(lancamento, persistidos);
+	}
+
+	// Monta o lançamento a partir dos valores persistidos, sem carregar a entidade; versão nula dispensa a conferência
+	@Transactional
+	public Lancamento atualizarStatus(Long idLancamento, Long idUsuario, StatusLancamento statusLancamento, Long versao) {
+		ValoresLancamento persistidos = buscarValoresDoUsuario(idLancamento, idUsuario);
+		Lancamento lancamento = Lancamento.builder()
+				.idLancamento(idLancamento)
+				.usuario(Usuario.builder().idUsuario(idUsuario).build())
+				.descricao(persistidos.getDescricao())
+				.anoLancamento(persistidos.getAnoLancamento())
+				.mesLancamento(persistidos.getMesLancamento())
+				.valorLancamento(persistidos.getValorLancamento())
+				.tipoLancamento(persistidos.getTipoLancamento())
+				.statusLancamento(statusLancamento)
+				.dataCadastro(persistidos.getDataCadastro())
+				.idRecorrencia(persistidos.getIdRecorrencia())
+				.numeroParcela(persistidos.getNumeroParcela())
+				.versao(versao)
+				.build();
+		validarLancamento(lancamento);
+		return atualizar(lancamento, persistidos);
 	}
 
+	private ValoresLancamento buscarValoresDoUsuario(Long idLancamento, Long idUsuario) {
+		return lancamentoRepository.buscarValoresPersistidos(idLancamento)
+				.filter(persistidos -> Objects.equals(persistidos.getIdUsuario(), idUsuario))
+				.orElseThrow(() -> new RegraNegocioException(MENSAGEM_LANCAMENTO_NAO_ENCONTRADO));
+	}
+
+	private Lancamento atualizar(Lancamento lancamento, ValoresLancamento persistidos) {
+		// Versão nula só chega de chamadas internas e da troca de status sem If-Match; o PUT /atualizar exige If-Match
+		if(lancamento.getVersao() == null) {
+			lancamento.setVersao(persistidos.getVersao());
+		} else if(!lancamento.getVersao().equals(persistidos.getVersao())) {
+			throw new ConflitoVersaoException(MENSAGEM_CONFLITO_VERSAO);
+		}
+		if(lancamento.getIdRecorrencia() == null) {
+			lancamento.setIdRecorrencia(persistidos.getIdRecorrencia());
+			lancamento.setNumeroParcela(persistidos.getNumeroParcela());
+		}
+		if(lancamento.getDataCadastro() == null) {
+			lancamento.setDataCadastro(persistidos.getDataCadastro());
+		}
+		saldoUsuarioService.substituir(persistidos, lancamento);
+		saldoMensalService.substituir(persistidos, lancamento);
+		Lancamento lancamentoAtualizado;
+		try {
+			lancamentoAtualizado = lancamentoRepository.reanexar(lancamento);
+			lancamentoRepository.flush();
+		} catch(ObjectOptimisticLockingFailureException e) {
+			throw new ConflitoVersaoException(MENSAGEM_CONFLITO_VERSAO);
+		}
+		eventoLancamentoService.registrar(tipoEventoAlteracao(persistidos, lancamentoAtualizado), lancamentoAtualizado);
+		motorAnalitico.registrar(lancamentoAtualizado);
+		return lancamentoAtualizado;
+	}
+
+	@Transactional
 	public void deletarLancamento(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getIdLancamento());
+		Optional<ValoresLancamento> persistidos = lancamentoRepository.buscarValoresPersistidos(lancamento.getIdLancamento());
+		persistidos.ifPresent(saldoUsuarioService::estornar);
+		persistidos.ifPresent(saldoMensalService::estornar);
+		eventoLancamentoService.registrar(TipoEventoLancamento.REMOVIDO, lancamento);
 		lancamentoRepository.delete(lancamento);
+		persistidos.ifPresent(valores -> motorAnalitico.remover(valores.getIdUsuario(), lancamento.getIdLancamento()));
 	}
 
+	@Transactional
+	public int atualizarStatusEmLote(FiltroLoteLancamento filtro, StatusLancamento statusLancamento) {
+		validarFiltroLote(filtro);
+		if(statusLancamento == null) {
+			throw new RegraNegocioException("Informe um status válido!");
+		}
+		
+		filtro.setExcetoStatus(statusLancamento);
+		saldoUsuarioService.bloquear(filtro.getIdUsuario());
+		if(lancamentoRepository.contarInvalidosEmLote(filtro) > 0) {
+			throw new RegraNegocioException("O lote possui lançamentos inválidos. Corrija-os antes de alterar o status!");
+		}
+		SaldoUsuario afetados = lancamentoRepository.somarEmLote(filtro);
+		
+		SaldoUsuario movimento = SaldoUsuario.builder().idUsuario(filtro.getIdUsuario()).build();
+		movimento.subtrair(afetados);
+		movimento.somar(TipoLancamento.RECEITA, statusLancamento, afetados.getTotalReceitas());
+		movimento.somar(TipoLancamento.DESPESA, statusLancamento, afetados.getTotalDespesas());
+		saldoUsuarioService.acumular(movimento);
+		eventoLancamentoService.registrarEmLote(filtro, TipoEventoLancamento.STATUS_ALTERADO, statusLancamento);
+		motorAnalitico.aplicarEmLote(filtro, statusLancamento);
+		
+		return lancamentoRepository.atualizarStatusEmLote(filtro, statusLancamento);
+	}
+	
+	@Transactional
+	public int deletarEmLote(FiltroLoteLancamento filtro) {
+		validarFiltroLote(filtro);
+		saldoUsuarioService.bloquear(filtro.getIdUsuario());
+		
+		SaldoUsuario movimento = SaldoUsuario.builder().idUsuario(filtro.getIdUsuario()).build();
+		movimento.subtrair(lancamentoRepository.somarEmLote(filtro));
+		saldoUsuarioService.acumular(movimento);
+		saldoMensalService.estornarLote(filtro);
+		
+		eventoLancamentoService.registrarEmLote(filtro, TipoEventoLancamento.REMOVIDO, null);
+		motorAnalitico.aplicarEmLote(filtro, null);
+		return lancamentoRepository.removerEmLote(filtro);
+	}
+
+	@Transactional(readOnly = true)
 	public List<Lancamento> buscarLancamento(Lancamento lancamentoFiltro) {
 		Example<Lancamento> example = Example.of(lancamentoFiltro,
 				ExampleMatcher.matching().withIgnoreCase().withStringMatcher(StringMatcher.CONTAINING));
-		return lancamentoRepository.findAll(example);
+		List<Lancamento> arquivados = arquivamentoService.buscar(lancamentoFiltro);
+		if(arquivados.isEmpty()) {
+			return lancamentoRepository.findAll(example);
+		}
+		
+		List<Lancamento> lancamentos = new ArrayList<>(arquivados);
+		lancamentos.addAll(lancamentoRepository.findAll(example));
+		return lancamentos;
+	}
+	
+	@Transactional(readOnly = true)
+	public PaginaDTO<LancamentoListagemDTO> buscarLancamentoPaginado(Lancamento lancamentoFiltro, String cursor, Integer tamanho, boolean decrescente) {
+		int limite = limitarTamanhoPagina(tamanho);
+		CursorLancamento posicao = decodificarCursor(cursor);
+		if(posicao != null) {
+			decrescente = posicao.isDecrescente();
+		}
+		
+		List<LancamentoListagemDTO> lancamentos = lancamentoRepository.buscarPagina(lancamentoFiltro, posicao, limite + 1, decrescente);
+		List<LancamentoListagemDTO> arquivados = arquivamentoService.buscarPagina(lancamentoFiltro, posicao, limite + 1, decrescente);
+		return montarPagina(ArquivamentoService.intercalar(lancamentos, arquivados, limite + 1, decrescente), limite, decrescente);
+	}
+	
+	public static int limitarTamanhoPagina(Integer tamanho) {
+		return tamanho == null ? TAMANHO_PADRAO_PAGINA : Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_PAGINA));
+	}
+	
+	public static CursorLancamento decodificarCursor(String cursor) {
+		return cursor == null || cursor.isEmpty() ? null : CursorLancamento.decodificar(cursor);
+	}
+	
+	// Recebe até limite + 1 itens; o excedente só indica que existe uma próxima página
+	public static PaginaDTO<LancamentoListagemDTO> montarPagina(List<LancamentoListagemDTO> lancamentos, int limite, boolean decrescente) {
+		String proximo = null;
+		if(lancamentos.size() > limite) {
+			lancamentos = new ArrayList<>(lancamentos.subList(0, limite));
+			proximo = CursorLancamento.posicaoApos(lancamentos.get(limite - 1), decrescente).codificar();
+		}
+		
+		return PaginaDTO.<LancamentoListagemDTO>builder()
+				.itens(lancamentos)
+				.tamanho(lancamentos.size())
+				.proximo(proximo)
+				.build();
 	}
 
+	@Transactional
 	public void atualizarStatus(Lancamento lancamento, StatusLancamento statusLancamento) {
 		validarLancamento(lancamento);
 		lancamento.setStatusLancamento(statusLancamento);
@@ -57,19 +323,90 @@ public class LancamentoService {
 	}
 	
 	
+	@Transactional(readOnly = true)
+	public Optional<Long> obterVersaoDados(Long idUsuario) {
+		return saldoUsuarioService.obterVersaoDados(idUsuario);
+	}
+	
+	@Transactional(readOnly = true)
 	public BigDecimal obterSaldoPorUsuario(Long idUsuario) {
-		BigDecimal receitas = lancamentoRepository.buscarSaldoPorLancamentoEUsuario(idUsuario, TipoLancamento.RECEITA);
-		BigDecimal despesas = lancamentoRepository.buscarSaldoPorLancamentoEUsuario(idUsuario, TipoLancamento.DESPESA);
+		return saldoUsuarioService.obterSaldo(idUsuario);
+	}
+	
+	@Transactional(readOnly = true)
+	public ResumoAnualDTO obterResumoAnual(Long idUsuario, Integer anoLancamento) {
+		ResumoAnualDTO resumo = ResumoAnualDTO.builder().idUsuario(idUsuario).anoLancamento(anoLancamento).build();
+		
+		List<ResumoMensalDTO> meses = new ArrayList<>();
+		for(int mes = 1; mes <= 12; mes++) {
+			meses.add(ResumoMensalDTO.builder().anoLancamento(anoLancamento).mesLancamento(mes).build());
+		}
+		resumo.setMeses(meses);
+		
+		for(TotalMensal total : lancamentoRepository.buscarTotaisMensais(idUsuario, anoLancamento)) {
+			acumularResumo(resumo, total.getMesLancamento(), total.getTipoLancamento(), total.getStatusLancamento(), total.getValor());
+		}
 		
-		if(receitas == null) {
-			receitas = BigDecimal.ZERO;
+		for(Lancamento arquivado : arquivamentoService.lerArquivados(idUsuario, anoLancamento)) {
+			acumularResumo(resumo, arquivado.getMesLancamento(), arquivado.getTipoLancamento(), arquivado.getStatusLancamento(), arquivado.getValorLancamento());
 		}
 		
-		if(despesas == null) {
-			despesas = BigDecimal.ZERO;
+		return resumo;
+	}
+	
+	// Mudanças só de status não alteram a descrição nem os valores, então as projeções podem ignorá-las
+	private TipoEventoLancamento tipoEventoAlteracao(ValoresLancamento persistidos, Lancamento lancamento) {
+		boolean somenteStatus = Objects.equals(persistidos.getAnoLancamento(), lancamento.getAnoLancamento())
+				&& Objects.equals(persistidos.getMesLancamento(), lancamento.getMesLancamento())
+				&& persistidos.getTipoLancamento() == lancamento.getTipoLancamento()
+				&& Objects.equals(persistidos.getDescricao(), lancamento.getDescricao())
+				&& persistidos.getValorLancamento() != null && lancamento.getValorLancamento() != null
+				&& persistidos.getValorLancamento().compareTo(lancamento.getValorLancamento()) == 0;
+		return somenteStatus && persistidos.getStatusLancamento() != lancamento.getStatusLancamento()
+				? TipoEventoLancamento.STATUS_ALTERADO : TipoEventoLancamento.ATUALIZADO;
+	}
+	
+	private void acumularResumo(ResumoAnualDTO resumo, Integer mesLancamento, TipoLancamento tipoLancamento,
+			StatusLancamento statusLancamento, BigDecimal valor) {
+		if(mesLancamento == null || mesLancamento < 1 || mesLancamento > 12 || tipoLancamento == null || valor == null) {
+			return;
 		}
 		
-		return receitas.subtract(despesas);
+		StatusLancamento status = statusLancamento == null ? StatusLancamento.PENDENTE : statusLancamento;
+		ResumoMensalDTO resumoMes = resumo.getMeses().get(mesLancamento - 1);
+		ResumoStatusDTO resumoStatus = resumoMes.getPorStatus().computeIfAbsent(status, s -> ResumoStatusDTO.builder().build());
+		
+		if(tipoLancamento == TipoLancamento.RECEITA) {
+			resumoStatus.setReceitas(resumoStatus.getReceitas().add(valor));
+			resumoMes.setReceitas(resumoMes.getReceitas().add(valor));
+			resumo.setReceitas(resumo.getReceitas().add(valor));
+		} else {
+			resumoStatus.setDespesas(resumoStatus.getDespesas().add(valor));
+			resumoMes.setDespesas(resumoMes.getDespesas().add(valor));
+			resumo.setDespesas(resumo.getDespesas().add(valor));
+		}
+	}
+
+	public void validarFiltroLote(FiltroLoteLancamento filtro) {
+		if(filtro.getIdUsuario() == null) {
+			throw new RegraNegocioException("Informe um usuário!");
+		}
+		
+		if(!filtro.possuiCriterio()) {
+			throw new RegraNegocioException("Informe os lançamentos ou um filtro para a operação em lote!");
+		}
+		
+		if(filtro.getIdsLancamentos() != null && filtro.getIdsLancamentos().size() > TAMANHO_MAXIMO_LOTE) {
+			throw new RegraNegocioException("O lote deve ter no máximo " + TAMANHO_MAXIMO_LOTE + " lançamentos!");
+		}
+		
+		if(filtro.getMesLancamento() != null && (filtro.getMesLancamento() < 1 || filtro.getMesLancamento() > 12)) {
+			throw new RegraNegocioException("Informe um mês válido!");
+		}
+		
+		if(filtro.getAnoLancamento() != null && filtro.getAnoLancamento().toString().length() != 4) {
+			throw new RegraNegocioException("Informe um ano válido!");
+		}
 	}
 
 	public void validarLancamento(Lancamento lancamento) {
@@ -97,6 +434,10 @@ public class LancamentoService {
 		if(lancamento.getTipoLancamento() == null) {
 			throw new RegraNegocioException("Informe um tipo válido!");
 		}
+		
+		if(arquivamentoService.estaArquivado(lancamento.getUsuario().getIdUsuario(), lancamento.getAnoLancamento())) {
+			throw new RegraNegocioException("O ano informado já foi encerrado e não aceita alterações!");
+		}
 	}
 
 }
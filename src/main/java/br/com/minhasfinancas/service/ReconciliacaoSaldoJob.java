@@ -0,0 +1,40 @@
+package br.com.minhasfinancas.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.minhasfinancas.dto.ReconciliacaoSaldoDTO;
+import br.com.minhasfinancas.repository.UsuarioRepository;
+
+@Component
+public class ReconciliacaoSaldoJob {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReconciliacaoSaldoJob.class);
+
+	@Autowired
+	private SaldoUsuarioService saldoUsuarioService;
+
+	@Autowired
+	private SaldoMensalService saldoMensalService;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Scheduled(cron = "${minhasfinancas.saldo.reconciliacao.cron:0 0 3 * * *}")
+	public void reconciliarSaldos() {
+		int divergencias = 0;
+		for(Long idUsuario : usuarioRepository.buscarIdsUsuarios()) {
+			ReconciliacaoSaldoDTO reconciliacao = saldoUsuarioService.reconciliar(idUsuario);
+			saldoMensalService.reconciliar(idUsuario);
+			if(reconciliacao.isDivergente()) {
+				divergencias++;
+				LOGGER.warn("Saldo divergente para o usuário {}: registrado {}, recalculado {}",
+						idUsuario, reconciliacao.getSaldoAnterior(), reconciliacao.getSaldoRecalculado());
+			}
+		}
+		LOGGER.info("Reconciliação de saldos concluída com {} divergência(s)", divergencias);
+	}
+}
@@ -0,0 +1,228 @@
+package br.com.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasfinancas.dto.ItemLoteDTO;
+import br.com.minhasfinancas.dto.ResultadoLoteDTO;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.RecorrenciaLancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.RecorrenciaLancamentoRepository;
+import br.com.minhasfinancas.repository.projection.ParcelaRecorrencia;
+
+@Service
+public class RecorrenciaLancamentoService {
+
+	public static final int MAXIMO_PARCELAS = 360;
+	public static final String MENSAGEM_RECORRENCIA_NAO_ENCONTRADA = "Recorrência não encontrada na base de dados";
+	
+	@Autowired
+	private RecorrenciaLancamentoRepository recorrenciaLancamentoRepository;
+	
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	private LancamentoService lancamentoService;
+	
+	@Value("${minhasfinancas.recorrencia.horizonte-meses:12}")
+	private int horizonteMeses;
+	
+	@Transactional
+	public RecorrenciaLancamento salvarRecorrencia(RecorrenciaLancamento recorrencia) {
+		validarRecorrencia(recorrencia);
+		recorrencia.setParcelasGeradas(0);
+		recorrencia.setCancelada(false);
+		recorrencia = recorrenciaLancamentoRepository.save(recorrencia);
+		
+		Integer ultima = recorrencia.getUltimaParcela();
+		gerarAte(recorrencia, ultima == null ? horizonte() : recorrencia.competencia(ultima));
+		return recorrenciaLancamentoRepository.save(recorrencia);
+	}
+	
+	// Consulta sem bloqueio; só quando há parcelas a gerar o job paga a transação de escrita
+	@Transactional(readOnly = true)
+	public boolean precisaEstender(Long idUsuario, YearMonth limite) {
+		limite = limitarHorizonte(limite);
+		for(RecorrenciaLancamento recorrencia : recorrenciaLancamentoRepository.buscarAtivas(idUsuario)) {
+			if(recorrencia.parcelasAte(limite) > recorrencia.getParcelasGeradas()) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	@Transactional
+	public int estenderAte(Long idUsuario, YearMonth limite) {
+		limite = limitarHorizonte(limite);
+		int geradas = 0;
+		for(RecorrenciaLancamento recorrencia : recorrenciaLancamentoRepository.buscarAtivasParaAtualizacao(idUsuario)) {
+			int novas = gerarAte(recorrencia, limite);
+			if(novas > 0) {
+				recorrenciaLancamentoRepository.save(recorrencia);
+				geradas += novas;
+			}
+		}
+		return geradas;
+	}
+	
+	// Substitui as parcelas pendentes a partir do mês informado pelas do novo modelo; parcelas efetivadas ou canceladas são mantidas
+	@Transactional
+	public int atualizarAPartirDe(Long idRecorrencia, Long idUsuario, RecorrenciaLancamento alteracao, YearMonth aPartirDe) {
+		RecorrenciaLancamento recorrencia = buscarDoUsuario(idRecorrencia, idUsuario);
+		recorrencia.setDescricao(alteracao.getDescricao());
+		recorrencia.setValorLancamento(alteracao.getValorLancamento());
+		recorrencia.setTipoLancamento(alteracao.getTipoLancamento());
+		validarRecorrencia(recorrencia);
+		
+		List<ParcelaRecorrencia> pendentes = removerPendentes(recorrencia, aPartirDe);
+		Usuario usuario = Usuario.builder().idUsuario(idUsuario).build();
+		List<Lancamento> parcelas = new ArrayList<>(pendentes.size());
+		for(ParcelaRecorrencia pendente : pendentes) {
+			parcelas.add(recorrencia.gerarParcela(pendente.getNumeroParcela(), usuario));
+		}
+		salvarEmLotes(parcelas);
+		recorrenciaLancamentoRepository.save(recorrencia);
+		return parcelas.size();
+	}
+	
+	// Encerra a série no mês anterior ao informado e remove as parcelas pendentes a partir dele
+	@Transactional
+	public int cancelarAPartirDe(Long idRecorrencia, Long idUsuario, YearMonth aPartirDe) {
+		RecorrenciaLancamento recorrencia = buscarDoUsuario(idRecorrencia, idUsuario);
+		int removidas = removerPendentes(recorrencia, aPartirDe).size();
+		
+		YearMonth fim = aPartirDe.minusMonths(1);
+		recorrencia.setAnoFim(fim.getYear());
+		recorrencia.setMesFim(fim.getMonthValue());
+		recorrencia.setParcelasGeradas(Math.min(recorrencia.getParcelasGeradas(), recorrencia.getUltimaParcela()));
+		recorrencia.setCancelada(true);
+		recorrenciaLancamentoRepository.save(recorrencia);
+		return removidas;
+	}
+	
+	public void validarRecorrencia(RecorrenciaLancamento recorrencia) {
+		if(recorrencia.getIdUsuario() == null) {
+			throw new RegraNegocioException("Informe um usuário!");
+		}
+		
+		if(recorrencia.getDescricao() == null || recorrencia.getDescricao().trim().equals("")) {
+			throw new RegraNegocioException("Informe uma descrição válida!");
+		}
+		
+		if(recorrencia.getValorLancamento() == null || recorrencia.getValorLancamento().compareTo(BigDecimal.ZERO) < 1) {
+			throw new RegraNegocioException("Informe um valor válido!");
+		}
+		
+		if(recorrencia.getTipoLancamento() == null) {
+			throw new RegraNegocioException("Informe um tipo válido!");
+		}
+		
+		if(recorrencia.getMesInicio() == null || recorrencia.getMesInicio() < 1 || recorrencia.getMesInicio() > 12
+				|| recorrencia.getAnoInicio() == null || recorrencia.getAnoInicio().toString().length() != 4) {
+			throw new RegraNegocioException("Informe um início válido!");
+		}
+		
+		if(recorrencia.getIntervaloMeses() == null || recorrencia.getIntervaloMeses() < 1 || recorrencia.getIntervaloMeses() > 12) {
+			throw new RegraNegocioException("Informe um intervalo entre 1 e 12 meses!");
+		}
+		
+		if(recorrencia.getTotalParcelas() != null && (recorrencia.getTotalParcelas() < 1 || recorrencia.getTotalParcelas() > MAXIMO_PARCELAS)) {
+			throw new RegraNegocioException("O número de parcelas deve estar entre 1 e " + MAXIMO_PARCELAS + "!");
+		}
+		
+		if((recorrencia.getAnoFim() == null) != (recorrencia.getMesFim() == null)) {
+			throw new RegraNegocioException("Informe um fim válido!");
+		}
+		
+		if(recorrencia.getAnoFim() != null) {
+			if(recorrencia.getMesFim() < 1 || recorrencia.getMesFim() > 12 || recorrencia.getAnoFim().toString().length() != 4
+					|| YearMonth.of(recorrencia.getAnoFim(), recorrencia.getMesFim()).isBefore(recorrencia.getInicio())) {
+				throw new RegraNegocioException("Informe um fim válido!");
+			}
+			if(recorrencia.getUltimaParcela() > MAXIMO_PARCELAS) {
+				throw new RegraNegocioException("O número de parcelas deve estar entre 1 e " + MAXIMO_PARCELAS + "!");
+			}
+		}
+	}
+	
+	// As operações em lote limpam o contexto de persistência, por isso quem chama grava a recorrência com save ao final
+	private int gerarAte(RecorrenciaLancamento recorrencia, YearMonth limite) {
+		int ate = recorrencia.parcelasAte(limite);
+		int primeira = recorrencia.getParcelasGeradas() + 1;
+		if(ate < primeira) {
+			return 0;
+		}
+		
+		Usuario usuario = Usuario.builder().idUsuario(recorrencia.getIdUsuario()).build();
+		List<Lancamento> parcelas = new ArrayList<>(ate - primeira + 1);
+		for(int numero = primeira; numero <= ate; numero++) {
+			parcelas.add(recorrencia.gerarParcela(numero, usuario));
+		}
+		salvarEmLotes(parcelas);
+		recorrencia.setParcelasGeradas(ate);
+		return parcelas.size();
+	}
+	
+	private List<ParcelaRecorrencia> removerPendentes(RecorrenciaLancamento recorrencia, YearMonth aPartirDe) {
+		List<ParcelaRecorrencia> pendentes = lancamentoRepository.buscarParcelasPorStatus(recorrencia.getIdRecorrencia(),
+				recorrencia.primeiraParcelaAPartirDe(aPartirDe), StatusLancamento.PENDENTE);
+		
+		List<Long> ids = pendentes.stream().map(ParcelaRecorrencia::getIdLancamento).collect(Collectors.toList());
+		for(int inicio = 0; inicio < ids.size(); inicio += LancamentoService.TAMANHO_MAXIMO_LOTE) {
+			lancamentoService.deletarEmLote(FiltroLoteLancamento.builder()
+					.idUsuario(recorrencia.getIdUsuario())
+					.idsLancamentos(ids.subList(inicio, Math.min(inicio + LancamentoService.TAMANHO_MAXIMO_LOTE, ids.size())))
+					.build());
+		}
+		return pendentes;
+	}
+	
+	// Uma parcela recusada (em ano encerrado, por exemplo) desfaz a transação inteira; avançar parcelasGeradas
+	// por cima dela a perderia para sempre
+	private void salvarEmLotes(List<Lancamento> parcelas) {
+		for(int inicio = 0; inicio < parcelas.size(); inicio += LancamentoService.TAMANHO_MAXIMO_LOTE) {
+			ResultadoLoteDTO resultado = lancamentoService.salvarLote(
+					parcelas.subList(inicio, Math.min(inicio + LancamentoService.TAMANHO_MAXIMO_LOTE, parcelas.size())));
+			if(resultado != null && resultado.getFalhas() != null && resultado.getFalhas() > 0) {
+				ItemLoteDTO falha = resultado.getItens().stream().filter(item -> !item.isSucesso()).findFirst().get();
+				Lancamento parcela = parcelas.get(inicio + falha.getIndice());
+				throw new RegraNegocioException("A parcela " + parcela.getNumeroParcela() + " (" + parcela.getMesLancamento() + "/"
+						+ parcela.getAnoLancamento() + ") não pôde ser gerada: " + falha.getErro());
+			}
+		}
+	}
+	
+	private RecorrenciaLancamento buscarDoUsuario(Long idRecorrencia, Long idUsuario) {
+		RecorrenciaLancamento recorrencia = recorrenciaLancamentoRepository.buscarParaAtualizacao(idRecorrencia)
+				.filter(encontrada -> encontrada.getIdUsuario().equals(idUsuario))
+				.orElseThrow(() -> new RegraNegocioException(MENSAGEM_RECORRENCIA_NAO_ENCONTRADA));
+		if(recorrencia.isCancelada()) {
+			throw new RegraNegocioException("A recorrência já foi cancelada!");
+		}
+		return recorrencia;
+	}
+	
+	public YearMonth horizonte() {
+		return YearMonth.now().plusMonths(horizonteMeses);
+	}
+	
+	// Séries sem fim nunca são materializadas além do horizonte, qualquer que seja o limite pedido
+	private YearMonth limitarHorizonte(YearMonth limite) {
+		YearMonth maximo = horizonte();
+		return limite.isAfter(maximo) ? maximo : limite;
+	}
+}
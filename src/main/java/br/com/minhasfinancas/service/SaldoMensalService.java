@@ -0,0 +1,241 @@
+package br.com.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasfinancas.dto.SaldoMensalDTO;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.SaldoMensalUsuario;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.SaldoMensalUsuarioRepository;
+import br.com.minhasfinancas.repository.SaldoUsuarioRepository;
+import br.com.minhasfinancas.repository.projection.TotalMensal;
+import br.com.minhasfinancas.repository.projection.ValoresLancamento;
+
+// Mantém por usuário o movimento de cada mês e o saldo acumulado até ele. As escritas chegam pelo LancamentoService
+// depois do SaldoUsuarioService, que já bloqueou o saldo_usuario do usuário; isso serializa as atualizações dos prefixos.
+@Service
+public class SaldoMensalService {
+
+	public static final int MAXIMO_MESES_SERIE = 600;
+
+	@Autowired
+	private SaldoMensalUsuarioRepository saldoMensalUsuarioRepository;
+
+	@Autowired
+	private SaldoUsuarioRepository saldoUsuarioRepository;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private ArquivamentoService arquivamentoService;
+
+	@Transactional
+	public void registrar(Lancamento lancamento) {
+		if(lancamento.getUsuario() == null) {
+			return;
+		}
+		movimentar(lancamento.getUsuario().getIdUsuario(), lancamento.getAnoLancamento(), lancamento.getMesLancamento(),
+				SaldoMensalUsuario.saldo(lancamento.getTipoLancamento(), lancamento.getValorLancamento()));
+	}
+
+	@Transactional
+	public void estornar(ValoresLancamento valores) {
+		movimentar(valores.getIdUsuario(), valores.getAnoLancamento(), valores.getMesLancamento(),
+				SaldoMensalUsuario.saldo(valores.getTipoLancamento(), valores.getValorLancamento()).negate());
+	}
+
+	// Estorno e novo registro numa só passada; sem mudança de mês, tipo ou valor não há o que gravar
+	@Transactional
+	public void substituir(ValoresLancamento persistidos, Lancamento lancamento) {
+		NavigableMap<Integer, BigDecimal> movimentos = new TreeMap<>();
+		if(persistidos.getAnoLancamento() != null && persistidos.getMesLancamento() != null) {
+			movimentos.merge(SaldoMensalUsuario.anoMes(persistidos.getAnoLancamento(), persistidos.getMesLancamento()),
+					SaldoMensalUsuario.saldo(persistidos.getTipoLancamento(), persistidos.getValorLancamento()).negate(), BigDecimal::add);
+		}
+		if(lancamento.getAnoLancamento() != null && lancamento.getMesLancamento() != null) {
+			movimentos.merge(SaldoMensalUsuario.anoMes(lancamento.getAnoLancamento(), lancamento.getMesLancamento()),
+					SaldoMensalUsuario.saldo(lancamento.getTipoLancamento(), lancamento.getValorLancamento()), BigDecimal::add);
+		}
+		movimentar(persistidos.getIdUsuario(), movimentos);
+	}
+
+	@Transactional
+	public void registrarLote(Collection<Lancamento> lancamentos) {
+		Map<Long, NavigableMap<Integer, BigDecimal>> movimentos = new LinkedHashMap<>();
+		for(Lancamento lancamento : lancamentos) {
+			if(lancamento.getUsuario() == null || lancamento.getUsuario().getIdUsuario() == null
+					|| lancamento.getAnoLancamento() == null || lancamento.getMesLancamento() == null) {
+				continue;
+			}
+			movimentos.computeIfAbsent(lancamento.getUsuario().getIdUsuario(), id -> new TreeMap<>())
+				.merge(SaldoMensalUsuario.anoMes(lancamento.getAnoLancamento(), lancamento.getMesLancamento()),
+						SaldoMensalUsuario.saldo(lancamento.getTipoLancamento(), lancamento.getValorLancamento()), BigDecimal::add);
+		}
+
+		movimentos.forEach(this::movimentar);
+	}
+
+	// Deve ser chamado antes da remoção, enquanto os lançamentos do filtro ainda existem
+	@Transactional
+	public void estornarLote(FiltroLoteLancamento filtro) {
+		NavigableMap<Integer, BigDecimal> movimentos = new TreeMap<>();
+		lancamentoRepository.somarSaldoPorMesEmLote(filtro).forEach((anoMes, saldo) -> movimentos.put(anoMes, saldo.negate()));
+		movimentar(filtro.getIdUsuario(), movimentos);
+	}
+
+	@Transactional
+	public void movimentar(Long idUsuario, Integer anoLancamento, Integer mesLancamento, BigDecimal valor) {
+		if(idUsuario == null || anoLancamento == null || mesLancamento == null) {
+			return;
+		}
+		NavigableMap<Integer, BigDecimal> movimentos = new TreeMap<>();
+		movimentos.put(SaldoMensalUsuario.anoMes(anoLancamento, mesLancamento), valor);
+		movimentar(idUsuario, movimentos);
+	}
+
+	// Um movimento no mês M desloca apenas os acumulados de M em diante; dos meses anteriores só o último é lido, pelo acumulado
+	@Transactional
+	public void movimentar(Long idUsuario, NavigableMap<Integer, BigDecimal> movimentos) {
+		movimentos.values().removeIf(valor -> valor == null || valor.signum() == 0);
+		if(idUsuario == null || movimentos.isEmpty()) {
+			return;
+		}
+
+		int primeiro = movimentos.firstKey();
+		BigDecimal acumulado = BigDecimal.ZERO;
+		BigDecimal deslocamento = BigDecimal.ZERO;
+
+		Iterator<Map.Entry<Integer, BigDecimal>> pendentes = movimentos.entrySet().iterator();
+		Iterator<SaldoMensalUsuario> existentes = saldoMensalUsuarioRepository.buscarAPartirDoAnterior(idUsuario, primeiro).iterator();
+		SaldoMensalUsuario existente = existentes.hasNext() ? existentes.next() : null;
+		if(existente != null && existente.getAnoMes() < primeiro) {
+			acumulado = existente.getSaldoAcumulado();
+			existente = existentes.hasNext() ? existentes.next() : null;
+		}
+		Map.Entry<Integer, BigDecimal> pendente = pendentes.hasNext() ? pendentes.next() : null;
+
+		while(existente != null || pendente != null) {
+			if(pendente != null && (existente == null || pendente.getKey() < existente.getAnoMes())) {
+				deslocamento = deslocamento.add(pendente.getValue());
+				acumulado = acumulado.add(pendente.getValue());
+				saldoMensalUsuarioRepository.save(SaldoMensalUsuario.builder()
+						.idUsuario(idUsuario)
+						.anoMes(pendente.getKey())
+						.movimento(pendente.getValue())
+						.saldoAcumulado(acumulado)
+						.build());
+				pendente = pendentes.hasNext() ? pendentes.next() : null;
+				continue;
+			}
+
+			if(pendente != null && pendente.getKey().equals(existente.getAnoMes())) {
+				existente.setMovimento(existente.getMovimento().add(pendente.getValue()));
+				deslocamento = deslocamento.add(pendente.getValue());
+				pendente = pendentes.hasNext() ? pendentes.next() : null;
+			}
+			existente.setSaldoAcumulado(existente.getSaldoAcumulado().add(deslocamento));
+			acumulado = existente.getSaldoAcumulado();
+			existente = existentes.hasNext() ? existentes.next() : null;
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public List<SaldoMensalDTO> obterSaldoMensal(Long idUsuario, YearMonth inicio, YearMonth fim) {
+		Integer anoMesInicio = inicio == null ? saldoMensalUsuarioRepository.buscarPrimeiroMes(idUsuario).orElse(null) : anoMes(inicio);
+		Integer anoMesFim = fim == null ? saldoMensalUsuarioRepository.buscarUltimoMes(idUsuario).orElse(null) : anoMes(fim);
+		if(anoMesInicio == null || anoMesFim == null) {
+			return Collections.emptyList();
+		}
+
+		if(anoMesInicio > anoMesFim) {
+			throw new RegraNegocioException("Informe um período válido!");
+		}
+
+		if(anoMesFim - anoMesInicio >= MAXIMO_MESES_SERIE) {
+			throw new RegraNegocioException("O período deve ter no máximo " + MAXIMO_MESES_SERIE + " meses!");
+		}
+
+		BigDecimal acumulado = buscarAcumuladoAnterior(idUsuario, anoMesInicio);
+		Iterator<SaldoMensalUsuario> registrados = saldoMensalUsuarioRepository.buscarPeriodo(idUsuario, anoMesInicio, anoMesFim).iterator();
+		SaldoMensalUsuario registrado = registrados.hasNext() ? registrados.next() : null;
+
+		List<SaldoMensalDTO> serie = new ArrayList<>(anoMesFim - anoMesInicio + 1);
+		for(int anoMes = anoMesInicio; anoMes <= anoMesFim; anoMes++) {
+			BigDecimal movimento = BigDecimal.ZERO;
+			if(registrado != null && registrado.getAnoMes() == anoMes) {
+				movimento = registrado.getMovimento();
+				acumulado = registrado.getSaldoAcumulado();
+				registrado = registrados.hasNext() ? registrados.next() : null;
+			}
+			serie.add(SaldoMensalDTO.builder()
+					.anoLancamento(SaldoMensalUsuario.ano(anoMes))
+					.mesLancamento(SaldoMensalUsuario.mes(anoMes))
+					.movimento(movimento)
+					.saldo(acumulado)
+					.build());
+		}
+		return serie;
+	}
+
+	// Reconstrói a série a partir dos lançamentos; usado pela reconciliação noturna para corrigir desvios
+	@Transactional
+	public void reconciliar(Long idUsuario) {
+		saldoUsuarioRepository.buscarParaAtualizacao(idUsuario);
+		saldoMensalUsuarioRepository.removerPorUsuario(idUsuario);
+
+		NavigableMap<Integer, BigDecimal> movimentos = new TreeMap<>();
+		for(TotalMensal total : lancamentoRepository.buscarTotaisMensaisPorUsuario(idUsuario)) {
+			if(total.getAnoLancamento() != null && total.getMesLancamento() != null) {
+				movimentos.merge(SaldoMensalUsuario.anoMes(total.getAnoLancamento(), total.getMesLancamento()),
+						SaldoMensalUsuario.saldo(total.getTipoLancamento(), total.getValor()), BigDecimal::add);
+			}
+		}
+		for(Lancamento arquivado : arquivamentoService.lerArquivados(idUsuario)) {
+			if(arquivado.getAnoLancamento() != null && arquivado.getMesLancamento() != null) {
+				movimentos.merge(SaldoMensalUsuario.anoMes(arquivado.getAnoLancamento(), arquivado.getMesLancamento()),
+						SaldoMensalUsuario.saldo(arquivado.getTipoLancamento(), arquivado.getValorLancamento()), BigDecimal::add);
+			}
+		}
+
+		BigDecimal acumulado = BigDecimal.ZERO;
+		for(Map.Entry<Integer, BigDecimal> movimento : movimentos.entrySet()) {
+			if(movimento.getValue().signum() == 0) {
+				continue;
+			}
+			acumulado = acumulado.add(movimento.getValue());
+			saldoMensalUsuarioRepository.save(SaldoMensalUsuario.builder()
+					.idUsuario(idUsuario)
+					.anoMes(movimento.getKey())
+					.movimento(movimento.getValue())
+					.saldoAcumulado(acumulado)
+					.build());
+		}
+	}
+
+	private BigDecimal buscarAcumuladoAnterior(Long idUsuario, int anoMes) {
+		List<BigDecimal> anterior = saldoMensalUsuarioRepository.buscarAcumuladoAnterior(idUsuario, anoMes, PageRequest.of(0, 1));
+		return anterior.isEmpty() ? BigDecimal.ZERO : anterior.get(0);
+	}
+
+	private int anoMes(YearMonth anoMes) {
+		return SaldoMensalUsuario.anoMes(anoMes.getYear(), anoMes.getMonthValue());
+	}
+}
@@ -0,0 +1,168 @@
+package br.com.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasfinancas.dto.ReconciliacaoSaldoDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.ResumoAnoArquivado;
+import br.com.minhasfinancas.model.SaldoUsuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.ResumoAnoArquivadoRepository;
+import br.com.minhasfinancas.repository.SaldoUsuarioRepository;
+import br.com.minhasfinancas.repository.projection.TotalPorTipoEStatus;
+import br.com.minhasfinancas.repository.projection.ValoresLancamento;
+
+@Service
+public class SaldoUsuarioService {
+
+	@Autowired
+	private SaldoUsuarioRepository saldoUsuarioRepository;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private ResumoAnoArquivadoRepository resumoAnoArquivadoRepository;
+
+	@Transactional
+	public void registrar(Lancamento lancamento) {
+		if(lancamento.getUsuario() == null) {
+			return;
+		}
+		movimentar(lancamento.getUsuario().getIdUsuario(), lancamento.getTipoLancamento(),
+				lancamento.getStatusLancamento(), lancamento.getValorLancamento());
+	}
+
+	@Transactional
+	public void estornar(ValoresLancamento valores) {
+		if(valores.getValorLancamento() == null) {
+			return;
+		}
+		movimentar(valores.getIdUsuario(), valores.getTipoLancamento(),
+				valores.getStatusLancamento(), valores.getValorLancamento().negate());
+	}
+
+	// Estorno e novo registro numa só leitura do saldo; a atualização não muda o usuário do lançamento
+	@Transactional
+	public void substituir(ValoresLancamento persistidos, Lancamento lancamento) {
+		if(persistidos.getIdUsuario() == null) {
+			return;
+		}
+
+		SaldoUsuario saldo = obterParaAtualizacao(persistidos.getIdUsuario());
+		if(persistidos.getValorLancamento() != null) {
+			saldo.somar(persistidos.getTipoLancamento(), persistidos.getStatusLancamento(), persistidos.getValorLancamento().negate());
+		}
+		saldo.somar(lancamento.getTipoLancamento(), lancamento.getStatusLancamento(), lancamento.getValorLancamento());
+	}
+
+	@Transactional
+	public void movimentar(Long idUsuario, TipoLancamento tipoLancamento, StatusLancamento statusLancamento, BigDecimal valor) {
+		if(idUsuario == null) {
+			return;
+		}
+
+		obterParaAtualizacao(idUsuario).somar(tipoLancamento, statusLancamento, valor);
+	}
+
+	@Transactional
+	public void registrarLote(Collection<Lancamento> lancamentos) {
+		Map<Long, SaldoUsuario> movimentos = new LinkedHashMap<>();
+		for(Lancamento lancamento : lancamentos) {
+			if(lancamento.getUsuario() == null || lancamento.getUsuario().getIdUsuario() == null) {
+				continue;
+			}
+			movimentos.computeIfAbsent(lancamento.getUsuario().getIdUsuario(), id -> SaldoUsuario.builder().idUsuario(id).build())
+				.somar(lancamento.getTipoLancamento(), lancamento.getStatusLancamento(), lancamento.getValorLancamento());
+		}
+
+		for(SaldoUsuario movimento : movimentos.values()) {
+			acumular(movimento);
+		}
+	}
+
+	@Transactional
+	public void acumular(SaldoUsuario movimento) {
+		if(movimento.getIdUsuario() == null) {
+			return;
+		}
+
+		obterParaAtualizacao(movimento.getIdUsuario()).acumular(movimento);
+	}
+
+	// Bloqueia o saldo do usuário, criando-o se preciso, antes de operações que leem e alteram vários lançamentos;
+	// as demais escritas do usuário passam pelo mesmo registro e aguardam o fim da transação
+	@Transactional
+	public void bloquear(Long idUsuario) {
+		if(!saldoUsuarioRepository.buscarParaAtualizacao(idUsuario).isPresent()) {
+			reconciliar(idUsuario);
+		}
+	}
+
+	private SaldoUsuario obterParaAtualizacao(Long idUsuario) {
+		Optional<SaldoUsuario> saldo = saldoUsuarioRepository.buscarParaAtualizacao(idUsuario);
+		if(!saldo.isPresent()) {
+			reconciliar(idUsuario);
+			saldo = saldoUsuarioRepository.buscarParaAtualizacao(idUsuario);
+		}
+		saldo.get().incrementarVersaoDados();
+		return saldo.get();
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<Long> obterVersaoDados(Long idUsuario) {
+		return saldoUsuarioRepository.buscarVersaoDados(idUsuario);
+	}
+
+	// Somente leitura para poder ir à réplica; o registro ausente é criado na próxima movimentação do usuário
+	@Transactional(readOnly = true)
+	public BigDecimal obterSaldo(Long idUsuario) {
+		return saldoUsuarioRepository.findById(idUsuario)
+				.map(SaldoUsuario::getSaldo)
+				.orElseGet(() -> recalcular(idUsuario).getSaldo());
+	}
+
+	// O registro é criado com insert-if-absent e bloqueado antes de recalcular: dois primeiros movimentos simultâneos do
+	// usuário não falham com chave duplicada, e o segundo recalcula já vendo o que o primeiro confirmou
+	@Transactional
+	public ReconciliacaoSaldoDTO reconciliar(Long idUsuario) {
+		boolean criado = saldoUsuarioRepository.inserirSeAusente(idUsuario);
+		SaldoUsuario atual = saldoUsuarioRepository.buscarParaAtualizacao(idUsuario)
+				.orElseThrow(() -> new IllegalStateException("Saldo do usuário " + idUsuario + " não encontrado após a inserção"));
+		SaldoUsuario recalculado = recalcular(idUsuario);
+
+		boolean divergente = !criado && !atual.possuiMesmosValores(recalculado);
+		BigDecimal saldoAnterior = criado ? null : atual.getSaldo();
+		recalculado.setVersaoDados(criado ? 0L : atual.getVersaoDados() + 1);
+
+		saldoUsuarioRepository.save(recalculado);
+
+		return ReconciliacaoSaldoDTO.builder()
+				.idUsuario(idUsuario)
+				.saldoAnterior(saldoAnterior)
+				.saldoRecalculado(recalculado.getSaldo())
+				.divergente(divergente)
+				.build();
+	}
+
+	private SaldoUsuario recalcular(Long idUsuario) {
+		SaldoUsuario recalculado = SaldoUsuario.builder().idUsuario(idUsuario).build();
+		for(TotalPorTipoEStatus total : lancamentoRepository.buscarTotaisPorTipoEStatus(idUsuario)) {
+			recalculado.somar(total.getTipoLancamento(), total.getStatusLancamento(), total.getValor());
+		}
+		for(ResumoAnoArquivado arquivado : resumoAnoArquivadoRepository.buscarPorUsuario(idUsuario)) {
+			recalculado.acumular(arquivado.paraSaldo());
+		}
+		return recalculado;
+	}
+}
@@ -0,0 +1,132 @@
+package br.com.minhasfinancas.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.minhasfinancas.dto.SessaoDTO;
+import br.com.minhasfinancas.exception.ErroAutenticacaoException;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.security.UsuarioAutenticado;
+
+@Service
+public class TokenSessaoService {
+
+	private static final String ALGORITMO = "HmacSHA256";
+	private static final String CABECALHO = "{\"alg\":\"HS256\",\"typ\":\"JWT\"}";
+	private static final int TAMANHO_MINIMO_SEGREDO = 32;
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final SecretKeySpec chave;
+	private final Duration validade;
+
+	// Sem segredo padrão: uma instalação que esqueça a variável não pode aceitar tokens assinados com uma chave pública
+	public TokenSessaoService(
+			@Value("${minhasfinancas.seguranca.token.segredo:}") String segredo,
+			@Value("${minhasfinancas.seguranca.token.validade-minutos:60}") long validadeMinutos) {
+		if(segredo == null || segredo.isBlank()) {
+			throw new IllegalStateException("O segredo do token de sessão não foi definido; informe MINHASFINANCAS_TOKEN_SEGREDO");
+		}
+		byte[] bytesSegredo = segredo.getBytes(StandardCharsets.UTF_8);
+		if(bytesSegredo.length < TAMANHO_MINIMO_SEGREDO) {
+			throw new IllegalStateException("O segredo do token de sessão deve ter pelo menos " + TAMANHO_MINIMO_SEGREDO + " bytes");
+		}
+		this.chave = new SecretKeySpec(bytesSegredo, ALGORITMO);
+		this.validade = Duration.ofMinutes(validadeMinutos);
+	}
+
+	public SessaoDTO emitir(Usuario usuario) {
+		Instant emissao = Instant.now();
+		return SessaoDTO.builder()
+				.idUsuario(usuario.getIdUsuario())
+				.nomeUsuario(usuario.getNomeUsuario())
+				.emailUsuario(usuario.getEmailUsuario())
+				.token(gerarToken(usuario.getIdUsuario(), usuario.getEmailUsuario(), emissao))
+				.expiraEm(emissao.plus(validade))
+				.build();
+	}
+
+	public UsuarioAutenticado verificar(String token) {
+		String[] partes = token.split("\\.");
+		if(partes.length != 3) {
+			throw new ErroAutenticacaoException("Token de sessão inválido!");
+		}
+
+		byte[] assinaturaEsperada = assinar(partes[0] + "." + partes[1]);
+		byte[] assinaturaRecebida;
+		JsonNode conteudo;
+		try {
+			assinaturaRecebida = DECODER.decode(partes[2]);
+			conteudo = MAPPER.readTree(DECODER.decode(partes[1]));
+		} catch(IllegalArgumentException | IOException e) {
+			throw new ErroAutenticacaoException("Token de sessão inválido!");
+		}
+
+		if(!MessageDigest.isEqual(assinaturaEsperada, assinaturaRecebida)) {
+			throw new ErroAutenticacaoException("Token de sessão inválido!");
+		}
+
+		if(!conteudo.path("exp").canConvertToLong() || !conteudo.path("sub").isTextual()) {
+			throw new ErroAutenticacaoException("Token de sessão inválido!");
+		}
+
+		if(Instant.now().getEpochSecond() >= conteudo.get("exp").asLong()) {
+			throw new ErroAutenticacaoException("Token de sessão expirado!");
+		}
+
+		try {
+			return new UsuarioAutenticado(Long.valueOf(conteudo.get("sub").asText()), conteudo.path("email").asText(null));
+		} catch(NumberFormatException e) {
+			throw new ErroAutenticacaoException("Token de sessão inválido!");
+		}
+	}
+
+	String gerarToken(Long idUsuario, String emailUsuario, Instant emissao) {
+		Map<String, Object> conteudo = new LinkedHashMap<>();
+		conteudo.put("sub", String.valueOf(idUsuario));
+		conteudo.put("email", emailUsuario);
+		conteudo.put("iat", emissao.getEpochSecond());
+		conteudo.put("exp", emissao.plus(validade).getEpochSecond());
+
+		String dados;
+		try {
+			dados = codificar(CABECALHO.getBytes(StandardCharsets.UTF_8)) + "." + codificar(MAPPER.writeValueAsBytes(conteudo));
+		} catch(JsonProcessingException e) {
+			throw new IllegalStateException("Não foi possível gerar o token de sessão", e);
+		}
+		return dados + "." + codificar(assinar(dados));
+	}
+
+	private byte[] assinar(String dados) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITMO);
+			mac.init(chave);
+			return mac.doFinal(dados.getBytes(StandardCharsets.US_ASCII));
+		} catch(GeneralSecurityException e) {
+			throw new IllegalStateException("Não foi possível assinar o token de sessão", e);
+		}
+	}
+
+	private static String codificar(byte[] bytes) {
+		return ENCODER.encodeToString(bytes);
+	}
+}
@@ -1,10 +1,15 @@
 package br.com.minhasfinancas.service;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import br.com.minhasfinancas.dto.SessaoDTO;
 import br.com.minhasfinancas.exception.ErroAutenticacaoException;
 import br.com.minhasfinancas.exception.RegraNegocioException;
 import br.com.minhasfinancas.model.Usuario;
@@ -16,7 +21,10 @@ public class UsuarioService {
 	@Autowired
 	UsuarioRepository usuarioRepository;
 	
-	public Usuario autenticar(String emailUsuario, String senhaUsuario) {
+	@Autowired
+	TokenSessaoService tokenSessaoService;
+	
+	public SessaoDTO autenticar(String emailUsuario, String senhaUsuario) {
 		Optional<Usuario> usuario = usuarioRepository.findByEmailUsuario(emailUsuario);
 		if(!usuario.isPresent()) {
 			throw new ErroAutenticacaoException("Usuário não encontrado! Verifique o email!");
@@ -26,7 +34,7 @@ public class UsuarioService {
 			throw new ErroAutenticacaoException("Senha incorreta!!");
 		}
 		
-		return usuario.get();
+		return tokenSessaoService.emitir(usuario.get());
 	}
 	
 	public Usuario salvarUsuario(Usuario usuario) {
@@ -45,4 +53,9 @@ public class UsuarioService {
 	public Optional<Usuario> buscarPorId(Long idUsuario) {
 		return usuarioRepository.findById(idUsuario);
 	}
+	
+	public Map<Long, Usuario> buscarPorIds(Collection<Long> idsUsuarios) {
+		return usuarioRepository.findAllById(idsUsuarios).stream()
+				.collect(Collectors.toMap(Usuario::getIdUsuario, Function.identity()));
+	}
 }
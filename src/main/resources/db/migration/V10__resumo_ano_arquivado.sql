@@ -0,0 +1,13 @@
+create table resumo_ano_arquivado (
+	id_usuario bigint not null,
+	ano_lancamento integer not null,
+	quantidade integer default 0 not null,
+	receita_pendente decimal(19,2) default 0 not null,
+	receita_efetivado decimal(19,2) default 0 not null,
+	receita_cancelado decimal(19,2) default 0 not null,
+	despesa_pendente decimal(19,2) default 0 not null,
+	despesa_efetivado decimal(19,2) default 0 not null,
+	despesa_cancelado decimal(19,2) default 0 not null,
+	data_arquivamento date,
+	primary key (id_usuario, ano_lancamento)
+);
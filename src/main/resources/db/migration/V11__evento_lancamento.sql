@@ -0,0 +1,26 @@
+create table evento_lancamento (
+	id_evento bigint not null auto_increment,
+	id_usuario bigint not null,
+	id_lancamento bigint not null,
+	tipo_evento varchar(32) not null,
+	ano_lancamento integer,
+	mes_lancamento integer,
+	valor_lancamento decimal(19,2),
+	tipo_lancamento varchar(255),
+	status_lancamento varchar(255),
+	versao bigint,
+	situacao varchar(16) default 'PENDENTE' not null,
+	tentativas integer default 0 not null,
+	data_criacao timestamp not null,
+	primary key (id_evento)
+);
+
+create index idx_evento_lancamento_situacao on evento_lancamento (situacao, id_evento);
+create index idx_evento_lancamento_data on evento_lancamento (data_criacao);
+
+create table checkpoint_projecao (
+	nome_projecao varchar(100) not null,
+	ultimo_evento bigint default 0 not null,
+	data_atualizacao timestamp,
+	primary key (nome_projecao)
+);
@@ -0,0 +1,12 @@
+create table resposta_idempotente (
+	chave char(64) not null,
+	impressao char(64) not null,
+	status integer,
+	corpo text,
+	etag varchar(255),
+	data_criacao timestamp not null,
+	data_expiracao timestamp not null,
+	primary key (chave)
+);
+
+create index idx_resposta_idempotente_expiracao on resposta_idempotente (data_expiracao);
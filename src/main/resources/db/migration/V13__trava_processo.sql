@@ -0,0 +1,8 @@
+create table trava_processo (
+	nome varchar(100) not null,
+	dono varchar(64),
+	data_expiracao timestamp not null,
+	primary key (nome)
+);
+
+insert into trava_processo (nome, dono, data_expiracao) values ('despacho-eventos', null, '2000-01-01 00:00:00');
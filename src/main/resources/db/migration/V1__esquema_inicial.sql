@@ -0,0 +1,21 @@
+create table if not exists usuario (
+	id_usuario bigint not null auto_increment,
+	nome varchar(255),
+	email varchar(255),
+	senha varchar(255),
+	primary key (id_usuario)
+);
+
+create table if not exists lancamento (
+	id_lancamento bigint not null auto_increment,
+	mes_lancamento integer,
+	ano_lancamento integer,
+	id_usuario bigint,
+	valor_lancamento decimal(19,2),
+	data_cadastro date,
+	descricao varchar(255),
+	tipo_lancamento varchar(255),
+	status_lancamento varchar(255),
+	primary key (id_lancamento),
+	constraint fk_lancamento_usuario foreign key (id_usuario) references usuario (id_usuario)
+);
@@ -0,0 +1,10 @@
+create table if not exists saldo_usuario (
+	id_usuario bigint not null,
+	receita_pendente decimal(19,2) default 0 not null,
+	receita_efetivado decimal(19,2) default 0 not null,
+	receita_cancelado decimal(19,2) default 0 not null,
+	despesa_pendente decimal(19,2) default 0 not null,
+	despesa_efetivado decimal(19,2) default 0 not null,
+	despesa_cancelado decimal(19,2) default 0 not null,
+	primary key (id_usuario)
+);
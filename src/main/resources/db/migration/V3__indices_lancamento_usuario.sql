@@ -0,0 +1,5 @@
+alter table usuario add constraint uk_usuario_email unique (email);
+
+create index idx_lancamento_usuario_ano_mes on lancamento (id_usuario, ano_lancamento, mes_lancamento, id_lancamento);
+
+create index idx_lancamento_usuario_tipo_status on lancamento (id_usuario, tipo_lancamento, status_lancamento);
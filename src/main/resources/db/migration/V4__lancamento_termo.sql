@@ -0,0 +1,8 @@
+create table lancamento_termo (
+	id_usuario bigint not null,
+	termo varchar(64) not null,
+	id_lancamento bigint not null,
+	primary key (id_usuario, termo, id_lancamento)
+);
+
+create index idx_lancamento_termo_lancamento on lancamento_termo (id_lancamento);
@@ -0,0 +1,8 @@
+create table sequencia_id (
+	nome_sequencia varchar(255) not null,
+	proximo_valor bigint,
+	primary key (nome_sequencia)
+);
+
+insert into sequencia_id (nome_sequencia, proximo_valor)
+select 'lancamento', coalesce(max(id_lancamento), 0) + 1 from lancamento;
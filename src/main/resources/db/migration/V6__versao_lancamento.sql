@@ -0,0 +1 @@
+alter table lancamento add column versao bigint default 0 not null;
@@ -0,0 +1 @@
+alter table saldo_usuario add column versao_dados bigint default 0 not null;
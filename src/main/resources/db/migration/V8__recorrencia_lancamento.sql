@@ -0,0 +1,26 @@
+create table recorrencia_lancamento (
+	id_recorrencia bigint not null auto_increment,
+	id_usuario bigint not null,
+	descricao varchar(255),
+	valor_lancamento decimal(19,2),
+	tipo_lancamento varchar(255),
+	ano_inicio integer not null,
+	mes_inicio integer not null,
+	intervalo_meses integer default 1 not null,
+	total_parcelas integer,
+	ano_fim integer,
+	mes_fim integer,
+	parcelas_geradas integer default 0 not null,
+	cancelada boolean default false not null,
+	versao bigint default 0 not null,
+	primary key (id_recorrencia),
+	constraint fk_recorrencia_usuario foreign key (id_usuario) references usuario (id_usuario)
+);
+
+create index idx_recorrencia_usuario on recorrencia_lancamento (id_usuario, cancelada);
+
+alter table lancamento add column id_recorrencia bigint;
+alter table lancamento add column numero_parcela integer;
+alter table lancamento add constraint fk_lancamento_recorrencia foreign key (id_recorrencia) references recorrencia_lancamento (id_recorrencia);
+
+create index idx_lancamento_recorrencia on lancamento (id_recorrencia, numero_parcela);
@@ -0,0 +1,23 @@
+create table saldo_mensal_usuario (
+	id_usuario bigint not null,
+	ano_mes integer not null,
+	movimento decimal(19,2) default 0 not null,
+	saldo_acumulado decimal(19,2) default 0 not null,
+	primary key (id_usuario, ano_mes)
+);
+
+insert into saldo_mensal_usuario (id_usuario, ano_mes, movimento, saldo_acumulado)
+select m.id_usuario, m.ano_mes, m.movimento,
+	(select sum(case when l.tipo_lancamento = 'RECEITA' then l.valor_lancamento else -l.valor_lancamento end)
+		from lancamento l
+		where l.id_usuario = m.id_usuario and l.tipo_lancamento is not null and l.valor_lancamento is not null
+			and l.ano_lancamento is not null and l.mes_lancamento is not null
+			and l.ano_lancamento * 12 + l.mes_lancamento - 1 <= m.ano_mes)
+from (
+	select id_usuario, ano_lancamento * 12 + mes_lancamento - 1 as ano_mes,
+		sum(case when tipo_lancamento = 'RECEITA' then valor_lancamento else -valor_lancamento end) as movimento
+	from lancamento
+	where id_usuario is not null and tipo_lancamento is not null and valor_lancamento is not null
+		and ano_lancamento is not null and mes_lancamento is not null
+	group by id_usuario, ano_lancamento, mes_lancamento
+) m;
@@ -0,0 +1,50 @@
+package br.com.minhasfinancas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import br.com.minhasfinancas.repository.UsuarioRepository;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class MetricasAplicacaoTest {
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Test
+	public void deveMedirInvocacoesDosRepositorios() {
+		usuarioRepository.existsByEmailUsuario("metricas@email.com");
+
+		Timer timer = meterRegistry.find("spring.data.repository.invocations")
+				.tag("repository", "UsuarioRepository")
+				.tag("method", "existsByEmailUsuario")
+				.timer();
+
+		assertThat(timer).isNotNull();
+		assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+	}
+
+	@Test
+	public void devePublicarEstatisticasDoHibernate() {
+		assertThat(meterRegistry.find("hibernate.sessions.open").functionCounter()).isNotNull();
+	}
+
+	@Test
+	public void devePublicarMetricasDoPoolDeConexoes() {
+		assertThat(meterRegistry.find("hikaricp.connections.active").gauge()).isNotNull();
+		assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+		assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+	}
+}
@@ -0,0 +1,96 @@
+package br.com.minhasfinancas.analitico;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+
+public class LivroColunarTest {
+
+	static final int RECEITA = LivroColunar.tipo(TipoLancamento.RECEITA);
+	static final int DESPESA = LivroColunar.tipo(TipoLancamento.DESPESA);
+	static final int PENDENTE = LivroColunar.status(StatusLancamento.PENDENTE);
+	static final int EFETIVADO = LivroColunar.status(StatusLancamento.EFETIVADO);
+	static final int CANCELADO = LivroColunar.status(StatusLancamento.CANCELADO);
+
+	LivroColunar livro = new LivroColunar(0);
+
+	@Test
+	public void deveSomarPorPeriodoTipoEStatus() {
+		livro.registrar(1L, 10000, LivroColunar.empacotar(2021, 1), RECEITA, EFETIVADO);
+		livro.registrar(2L, 2550, LivroColunar.empacotar(2021, 2), DESPESA, PENDENTE);
+		livro.registrar(3L, 1000, LivroColunar.empacotar(2021, 12), DESPESA, EFETIVADO);
+		livro.registrar(4L, 700, LivroColunar.empacotar(2022, 1), DESPESA, EFETIVADO);
+
+		int inicio = LivroColunar.empacotar(2021, 1);
+		int fim = LivroColunar.empacotar(2021, 12);
+
+		assertThat(livro.somar(inicio, fim, DESPESA, LivroColunar.QUALQUER)).isEqualTo(3550);
+		assertThat(livro.somar(inicio, fim, LivroColunar.QUALQUER, EFETIVADO)).isEqualTo(11000);
+		assertThat(livro.contar(inicio, LivroColunar.empacotar(2022, 1), DESPESA, EFETIVADO)).isEqualTo(2);
+	}
+
+	@Test
+	public void deveAgruparPorMesTipoEStatus() {
+		int inicio = LivroColunar.empacotar(2021, 11);
+		livro.registrar(1L, 500, inicio, RECEITA, PENDENTE);
+		livro.registrar(2L, 300, inicio + 1, DESPESA, CANCELADO);
+		livro.registrar(3L, 200, inicio + 1, DESPESA, CANCELADO);
+
+		long[] totais = new long[2 * LivroColunar.TIPOS * LivroColunar.STATUS];
+		livro.somarPorMesTipoEStatus(inicio, inicio + 1, totais);
+
+		assertThat(totais[(0 * LivroColunar.TIPOS + RECEITA) * LivroColunar.STATUS + PENDENTE]).isEqualTo(500);
+		assertThat(totais[(1 * LivroColunar.TIPOS + DESPESA) * LivroColunar.STATUS + CANCELADO]).isEqualTo(500);
+	}
+
+	@Test
+	public void deveAtualizarERemoverLancamentos() {
+		int mes = LivroColunar.empacotar(2021, 5);
+		livro.registrar(1L, 100, mes, RECEITA, PENDENTE);
+		livro.registrar(2L, 200, mes, RECEITA, PENDENTE);
+		livro.registrar(3L, 300, mes, RECEITA, PENDENTE);
+
+		livro.registrar(2L, 250, mes, RECEITA, EFETIVADO);
+		livro.remover(1L);
+
+		assertThat(livro.getTamanho()).isEqualTo(2);
+		assertThat(livro.somar(mes, mes, RECEITA, LivroColunar.QUALQUER)).isEqualTo(550);
+		assertThat(livro.somar(mes, mes, RECEITA, EFETIVADO)).isEqualTo(250);
+
+		livro.remover(3L);
+		livro.registrar(3L, 50, mes, DESPESA, PENDENTE);
+		assertThat(livro.somar(mes, mes, LivroColunar.QUALQUER, LivroColunar.QUALQUER)).isEqualTo(300);
+	}
+
+	@Test
+	public void deveAplicarOperacaoEmLotePorFiltro() {
+		for(long id = 1; id <= 6; id++) {
+			livro.registrar(id, 100, LivroColunar.empacotar(2021, id <= 3 ? 1 : 2), DESPESA, PENDENTE);
+		}
+
+		int alterados = livro.aplicarEmLote(null, 2021, 1, LivroColunar.QUALQUER, EFETIVADO, EFETIVADO);
+		int removidos = livro.aplicarEmLote(new long[] {5L, 6L}, LivroColunar.QUALQUER, LivroColunar.QUALQUER,
+				LivroColunar.QUALQUER, LivroColunar.QUALQUER, LivroColunar.QUALQUER);
+
+		int inicio = LivroColunar.empacotar(2021, 1);
+		assertThat(alterados).isEqualTo(3);
+		assertThat(removidos).isEqualTo(2);
+		assertThat(livro.getTamanho()).isEqualTo(4);
+		assertThat(livro.somar(inicio, inicio + 1, DESPESA, EFETIVADO)).isEqualTo(300);
+		assertThat(livro.somar(inicio, inicio + 1, DESPESA, PENDENTE)).isEqualTo(100);
+	}
+
+	@Test
+	public void deveConverterValoresEmCentavos() {
+		assertThat(LivroColunar.centavos(new BigDecimal("12.345"))).isEqualTo(1234);
+		assertThat(LivroColunar.centavos(BigDecimal.valueOf(7))).isEqualTo(700);
+		assertThat(LivroColunar.valor(1234)).isEqualByComparingTo("12.34");
+		assertThat(LivroColunar.ano(LivroColunar.empacotar(2021, 12))).isEqualTo(2021);
+		assertThat(LivroColunar.mes(LivroColunar.empacotar(2021, 12))).isEqualTo(12);
+	}
+}
@@ -0,0 +1,106 @@
+package br.com.minhasfinancas.analitico;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.service.LancamentoService;
+import br.com.minhasfinancas.service.UsuarioService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "minhasfinancas.analitico.usuarios-maximo=2")
+public class MotorAnaliticoTest {
+
+	static final int JULHO = LivroColunar.empacotar(2021, 7);
+
+	@Autowired
+	MotorAnalitico motorAnalitico;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Test
+	public void deveCarregarOLivroSobDemanda() {
+		Usuario usuario = criarUsuario();
+		salvar(usuario, 150);
+		salvar(usuario, 50);
+
+		assertThat(motorAnalitico.estaCarregado(usuario.getIdUsuario())).isFalse();
+
+		LivroColunar livro = motorAnalitico.obterLivro(usuario.getIdUsuario());
+
+		assertThat(motorAnalitico.estaCarregado(usuario.getIdUsuario())).isTrue();
+		assertThat(livro.somar(JULHO, JULHO, LivroColunar.QUALQUER, LivroColunar.QUALQUER)).isEqualTo(20000);
+	}
+
+	@Test
+	public void deveAtualizarOLivroCarregadoAPartirDasEscritas() {
+		Usuario usuario = criarUsuario();
+		Lancamento primeiro = salvar(usuario, 100);
+		LivroColunar livro = motorAnalitico.obterLivro(usuario.getIdUsuario());
+
+		Lancamento segundo = salvar(usuario, 40);
+		primeiro.setValorLancamento(BigDecimal.valueOf(120));
+		lancamentoService.atualizarLancamento(primeiro);
+		assertThat(livro.somar(JULHO, JULHO, LivroColunar.QUALQUER, LivroColunar.QUALQUER)).isEqualTo(16000);
+
+		lancamentoService.deletarLancamento(segundo);
+		assertThat(livro.somar(JULHO, JULHO, LivroColunar.QUALQUER, LivroColunar.QUALQUER)).isEqualTo(12000);
+
+		lancamentoService.atualizarStatusEmLote(FiltroLoteLancamento.builder()
+				.idUsuario(usuario.getIdUsuario())
+				.idsLancamentos(Arrays.asList(primeiro.getIdLancamento()))
+				.build(), StatusLancamento.EFETIVADO);
+		assertThat(livro.somar(JULHO, JULHO, LivroColunar.QUALQUER, LivroColunar.status(StatusLancamento.EFETIVADO))).isEqualTo(12000);
+		assertThat(motorAnalitico.obterLivro(usuario.getIdUsuario())).isSameAs(livro);
+	}
+
+	@Test
+	public void deveDescartarOUsuarioMenosRecenteAoExcederACapacidade() {
+		Usuario primeiro = criarUsuario();
+		Usuario segundo = criarUsuario();
+		Usuario terceiro = criarUsuario();
+
+		motorAnalitico.obterLivro(primeiro.getIdUsuario());
+		motorAnalitico.obterLivro(segundo.getIdUsuario());
+		motorAnalitico.obterLivro(primeiro.getIdUsuario());
+		motorAnalitico.obterLivro(terceiro.getIdUsuario());
+
+		assertThat(motorAnalitico.getUsuariosCarregados()).isEqualTo(2);
+		assertThat(motorAnalitico.estaCarregado(primeiro.getIdUsuario())).isTrue();
+		assertThat(motorAnalitico.estaCarregado(segundo.getIdUsuario())).isFalse();
+		assertThat(motorAnalitico.estaCarregado(terceiro.getIdUsuario())).isTrue();
+	}
+
+	private Usuario criarUsuario() {
+		return usuarioService.salvarUsuario(Usuario.builder()
+				.nomeUsuario("analitico")
+				.emailUsuario("analitico-" + System.nanoTime() + "@email.com")
+				.senhaUsuario("senha")
+				.build());
+	}
+
+	private Lancamento salvar(Usuario usuario, int valor) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setTipoLancamento(TipoLancamento.DESPESA);
+		lancamento.setValorLancamento(BigDecimal.valueOf(valor));
+		lancamento.setUsuario(usuario);
+		return lancamentoService.salvarLancamento(lancamento);
+	}
+}
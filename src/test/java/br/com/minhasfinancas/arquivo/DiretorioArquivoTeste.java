@@ -0,0 +1,30 @@
+package br.com.minhasfinancas.arquivo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.StringUtils;
+
+// O ArquivoLancamentos exige um diretório existente; cada contexto de teste recebe um diretório temporário próprio
+public class DiretorioArquivoTeste implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+	@Override
+	public void initialize(ConfigurableApplicationContext contexto) {
+		if(StringUtils.hasText(contexto.getEnvironment().getProperty("minhasfinancas.arquivo.diretorio"))) {
+			return;
+		}
+
+		try {
+			String diretorio = Files.createTempDirectory("minhas-financas-arquivo-").toAbsolutePath().toString();
+			contexto.getEnvironment().getPropertySources()
+				.addFirst(new MapPropertySource("diretorioArquivoTeste", Map.of("minhasfinancas.arquivo.diretorio", diretorio)));
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
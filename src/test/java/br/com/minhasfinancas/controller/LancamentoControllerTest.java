@@ -0,0 +1,92 @@
+package br.com.minhasfinancas.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.minhasfinancas.dto.LancamentoDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.service.LancamentoService;
+import br.com.minhasfinancas.service.TokenSessaoService;
+import br.com.minhasfinancas.service.UsuarioService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class LancamentoControllerTest {
+
+	static final String API = "/api/lancamentos";
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	TokenSessaoService tokenSessaoService;
+
+	@Test
+	public void naoDeveSobrescreverEdicaoConcorrenteSemIfMatch() throws Exception {
+		Usuario usuario = usuarioService.salvarUsuario(Usuario.builder()
+				.nomeUsuario("concorrente")
+				.emailUsuario("concorrente-" + System.nanoTime() + "@email.com")
+				.senhaUsuario("senha")
+				.build());
+		String token = tokenSessaoService.emitir(usuario).getToken();
+
+		Lancamento novo = LancamentoRepositoryTest.criarLancamento();
+		novo.setValorLancamento(BigDecimal.valueOf(150));
+		novo.setUsuario(usuario);
+		Lancamento lancamento = lancamentoService.salvarLancamento(novo);
+
+		// Outro cliente edita o lançamento depois da leitura deste
+		Lancamento concorrente = LancamentoRepositoryTest.criarLancamento();
+		concorrente.setIdLancamento(lancamento.getIdLancamento());
+		concorrente.setValorLancamento(lancamento.getValorLancamento());
+		concorrente.setUsuario(usuario);
+		concorrente.setVersao(lancamento.getVersao());
+		concorrente.setDescricao("Edicao concorrente");
+		lancamentoService.atualizarLancamento(concorrente);
+
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.put(API.concat("/" + lancamento.getIdLancamento() + "/atualizar"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.accept(JSON)
+				.contentType(JSON)
+				.content(new ObjectMapper().writeValueAsString(LancamentoDTO.builder()
+						.descricao("Edicao sem precondicao")
+						.anoLancamento(lancamento.getAnoLancamento())
+						.mesLancamento(lancamento.getMesLancamento())
+						.valorLancamento(BigDecimal.valueOf(200))
+						.tipoLancamento(lancamento.getTipoLancamento().name())
+						.statusLancamento(lancamento.getStatusLancamento().name())
+						.build()));
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isPreconditionRequired());
+
+		Lancamento persistido = lancamentoService.buscarPorId(lancamento.getIdLancamento()).get();
+		assertThat(persistido.getDescricao()).isEqualTo("Edicao concorrente");
+	}
+}
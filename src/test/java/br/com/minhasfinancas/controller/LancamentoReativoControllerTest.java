@@ -0,0 +1,118 @@
+package br.com.minhasfinancas.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.service.LancamentoService;
+import br.com.minhasfinancas.service.TokenSessaoService;
+import br.com.minhasfinancas.service.UsuarioService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class LancamentoReativoControllerTest {
+
+	static final String API = "/api/reativo";
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	TokenSessaoService tokenSessaoService;
+
+	Usuario usuario;
+	String token;
+
+	@BeforeEach
+	public void setUp() {
+		usuario = usuarioService.salvarUsuario(Usuario.builder()
+				.nomeUsuario("reativo")
+				.emailUsuario("reativo-controller-" + System.nanoTime() + "@email.com")
+				.senhaUsuario("senha")
+				.build());
+		token = tokenSessaoService.emitir(usuario).getToken();
+
+		for(int i = 0; i < 3; i++) {
+			Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+			lancamento.setValorLancamento(BigDecimal.valueOf(100));
+			lancamento.setUsuario(usuario);
+			lancamentoService.salvarLancamento(lancamento);
+		}
+	}
+
+	@Test
+	public void deveTransmitirLancamentosComoJsonPorLinha() throws Exception {
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.get(API.concat("/lancamentos/stream"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.accept(MediaType.APPLICATION_NDJSON);
+
+		MvcResult resultado = mvc.perform(request)
+				.andExpect(MockMvcResultMatchers.request().asyncStarted())
+				.andReturn();
+		resultado.getAsyncResult();
+
+		String corpo = resultado.getResponse().getContentAsString();
+		assertThat(corpo.trim().split("\n")).hasSize(3).allMatch(linha -> linha.startsWith("{") && linha.contains("\"idUsuario\":" + usuario.getIdUsuario()));
+	}
+
+	@Test
+	public void deveResponderNaoModificadoQuandoOSaldoNaoMudou() throws Exception {
+		MvcResult primeiro = executar(MockMvcRequestBuilders
+				.get(API.concat("/usuarios/" + usuario.getIdUsuario() + "/saldo"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+		String etag = primeiro.getResponse().getHeader(HttpHeaders.ETAG);
+
+		assertThat(primeiro.getResponse().getStatus()).isEqualTo(200);
+		assertThat(new BigDecimal(primeiro.getResponse().getContentAsString())).isEqualByComparingTo(BigDecimal.valueOf(300));
+		assertThat(etag).isNotNull();
+
+		MvcResult segundo = executar(MockMvcRequestBuilders
+				.get(API.concat("/usuarios/" + usuario.getIdUsuario() + "/saldo"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.header(HttpHeaders.IF_NONE_MATCH, etag));
+
+		assertThat(segundo.getResponse().getStatus()).isEqualTo(304);
+	}
+
+	@Test
+	public void deveRecusarSaldoDeOutroUsuario() throws Exception {
+		MvcResult resultado = executar(MockMvcRequestBuilders
+				.get(API.concat("/usuarios/" + (usuario.getIdUsuario() + 1) + "/saldo"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+		assertThat(resultado.getResponse().getStatus()).isEqualTo(403);
+	}
+
+	private MvcResult executar(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult resultado = mvc.perform(request)
+				.andExpect(MockMvcResultMatchers.request().asyncStarted())
+				.andReturn();
+		return mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado)).andReturn();
+	}
+}
@@ -0,0 +1,192 @@
+package br.com.minhasfinancas.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.minhasfinancas.dto.AtualizarStatusDTO;
+import br.com.minhasfinancas.dto.LancamentoDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.monitoramento.ContadorConsultas;
+import br.com.minhasfinancas.monitoramento.OrcamentoConsultas;
+import br.com.minhasfinancas.monitoramento.RegistroConsultas;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.service.LancamentoService;
+import br.com.minhasfinancas.service.TokenSessaoService;
+import br.com.minhasfinancas.service.UsuarioService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "minhasfinancas.consultas.monitoramento=registrar")
+@AutoConfigureMockMvc
+public class OrcamentoConsultasTest {
+
+	static final String API = "/api/lancamentos";
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	TokenSessaoService tokenSessaoService;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	Usuario usuario;
+	Lancamento lancamento;
+	String token;
+
+	@BeforeEach
+	public void setUp() {
+		usuario = usuarioService.salvarUsuario(Usuario.builder()
+				.nomeUsuario("orcamento")
+				.emailUsuario("orcamento-" + System.nanoTime() + "@email.com")
+				.senhaUsuario("senha")
+				.build());
+		token = tokenSessaoService.emitir(usuario).getToken();
+
+		Lancamento novo = LancamentoRepositoryTest.criarLancamento();
+		novo.setValorLancamento(BigDecimal.valueOf(150));
+		novo.setUsuario(usuario);
+		lancamento = lancamentoService.salvarLancamento(novo);
+
+		// Os orçamentos valem para o cache de segundo nível frio, o pior caso de cada requisição
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@Test
+	public void deveObterLancamentoDentroDoOrcamentoDeConsultas() throws Exception {
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.get(API.concat("/" + lancamento.getIdLancamento()))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.accept(JSON);
+
+		RegistroConsultas registro = executar(request);
+
+		assertThat(registro.getQuantidade()).isEqualTo(orcamento("obterLancamento"));
+	}
+
+	@Test
+	public void deveAtualizarLancamentoDentroDoOrcamentoDeConsultas() throws Exception {
+		LancamentoDTO dto = LancamentoDTO.builder()
+				.descricao("Mercado do mes")
+				.anoLancamento(2021)
+				.mesLancamento(8)
+				.valorLancamento(BigDecimal.valueOf(200))
+				.tipoLancamento("DESPESA")
+				.statusLancamento("PENDENTE")
+				.build();
+
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.put(API.concat("/" + lancamento.getIdLancamento() + "/atualizar"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.header(HttpHeaders.IF_MATCH, "\"" + lancamento.getVersao() + "\"")
+				.accept(JSON)
+				.contentType(JSON)
+				.content(new ObjectMapper().writeValueAsString(dto));
+
+		RegistroConsultas registro = executar(request);
+
+		assertThat(registro.getQuantidade()).isEqualTo(orcamento("atualizarLancamento"));
+		assertThat(leiturasDeLancamento(registro)).isEqualTo(1);
+	}
+
+	@Test
+	public void deveAtualizarStatusDentroDoOrcamentoDeConsultas() throws Exception {
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+				.put(API.concat("/" + lancamento.getIdLancamento() + "/atualizar-status"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.accept(JSON)
+				.contentType(JSON)
+				.content(new ObjectMapper().writeValueAsString(AtualizarStatusDTO.builder().statusLancamento("EFETIVADO").build()));
+
+		RegistroConsultas registro = executar(request);
+
+		assertThat(registro.getQuantidade()).isEqualTo(orcamento("atualizarStatus"));
+		assertThat(leiturasDeLancamento(registro)).isEqualTo(1);
+	}
+
+	@Test
+	public void deveListarComAsMesmasConsultasIndependenteDaQuantidadeDeLancamentos() throws Exception {
+		int comUmLancamento = executar(listagem()).getQuantidade();
+
+		List<Lancamento> novos = new ArrayList<>();
+		for(int i = 0; i < 20; i++) {
+			Lancamento novo = LancamentoRepositoryTest.criarLancamento();
+			novo.setValorLancamento(BigDecimal.valueOf(10 + i));
+			novo.setUsuario(usuario);
+			novos.add(novo);
+		}
+		lancamentoService.salvarLote(novos);
+		entityManagerFactory.getCache().evictAll();
+
+		int comVinteEUmLancamentos = executar(listagem()).getQuantidade();
+
+		assertThat(comUmLancamento).isEqualTo(orcamento("buscar"));
+		assertThat(comVinteEUmLancamentos).isEqualTo(comUmLancamento);
+	}
+
+	private MockHttpServletRequestBuilder listagem() {
+		return MockMvcRequestBuilders
+				.get(API)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.accept(JSON);
+	}
+
+	// Um find do lançamento ou o select de um merge apareceriam aqui além da leitura dos valores persistidos
+	private long leiturasDeLancamento(RegistroConsultas registro) {
+		return registro.getSql().stream()
+				.map(sql -> sql.toLowerCase(Locale.ROOT))
+				.filter(sql -> sql.startsWith("select") && sql.contains(" from lancamento "))
+				.count();
+	}
+
+	private RegistroConsultas executar(MockHttpServletRequestBuilder request) throws Exception {
+		RegistroConsultas registro;
+		ContadorConsultas.iniciar("teste");
+		try {
+			mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk());
+		} finally {
+			registro = ContadorConsultas.finalizar();
+		}
+		return registro;
+	}
+
+	private int orcamento(String metodo) {
+		for(Method candidato : LancamentoController.class.getDeclaredMethods()) {
+			if(candidato.getName().equals(metodo)) {
+				return candidato.getAnnotation(OrcamentoConsultas.class).value();
+			}
+		}
+		throw new IllegalArgumentException(metodo);
+	}
+}
@@ -1,13 +1,20 @@
 package br.com.minhasfinancas.controller;
 
 
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.Mockito.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
@@ -16,11 +23,19 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import br.com.minhasfinancas.dto.SessaoDTO;
 import br.com.minhasfinancas.dto.UsuarioDTO;
 import br.com.minhasfinancas.exception.ErroAutenticacaoException;
 import br.com.minhasfinancas.exception.RegraNegocioException;
 import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.security.UsuarioAutenticado;
+import br.com.minhasfinancas.service.AnaliseLancamentoService;
+import br.com.minhasfinancas.service.ArquivamentoService;
+import br.com.minhasfinancas.service.IdempotenciaService;
 import br.com.minhasfinancas.service.LancamentoService;
+import br.com.minhasfinancas.service.SaldoMensalService;
+import br.com.minhasfinancas.service.SaldoUsuarioService;
+import br.com.minhasfinancas.service.TokenSessaoService;
 import br.com.minhasfinancas.service.UsuarioService;
 
 @ExtendWith(SpringExtension.class)
@@ -38,6 +53,31 @@ public class UsuarioControllerTest {
 	@MockBean
 	LancamentoService lancamentoService;
 	
+	@MockBean
+	SaldoUsuarioService saldoUsuarioService;
+	
+	@MockBean
+	TokenSessaoService tokenSessaoService;
+	
+	@MockBean
+	AnaliseLancamentoService analiseLancamentoService;
+	
+	@MockBean
+	SaldoMensalService saldoMensalService;
+	
+	@MockBean
+	ArquivamentoService arquivamentoService;
+	
+	@MockBean
+	IdempotenciaService idempotenciaService;
+	
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void executarOperacoesIdempotentes() {
+		when(idempotenciaService.executar(anyString(), any(), any(), any()))
+			.thenAnswer(invocacao -> ((Supplier<ResponseEntity<Object>>) invocacao.getArgument(3)).get());
+	}
+	
 	@Test
 	public void deveAutenticarUmUsuario() throws Exception{
 		String emailUsuario = "north@exe.bol";
@@ -46,10 +86,10 @@ public class UsuarioControllerTest {
 				.emailUsuario(emailUsuario)
 				.senhaUsuario(senhaUsuario).build();
 		
-		Usuario usuario = Usuario.builder()
+		SessaoDTO usuario = SessaoDTO.builder()
 				.idUsuario(1L)
 				.emailUsuario(emailUsuario)
-				.senhaUsuario(senhaUsuario).build();
+				.token("token.assinado.sessao").build();
 		
 		when(usuarioService.autenticar(emailUsuario, senhaUsuario)).thenReturn(usuario);
 		
@@ -64,7 +104,8 @@ public class UsuarioControllerTest {
 			.andExpect(MockMvcResultMatchers.status().isOk())
 			.andExpect(MockMvcResultMatchers.jsonPath("idUsuario").value(usuario.getIdUsuario()))
 			.andExpect(MockMvcResultMatchers.jsonPath("emailUsuario").value(usuario.getEmailUsuario()))
-			.andExpect(MockMvcResultMatchers.jsonPath("nomeUsuario").value(usuario.getNomeUsuario()));
+			.andExpect(MockMvcResultMatchers.jsonPath("nomeUsuario").value(usuario.getNomeUsuario()))
+			.andExpect(MockMvcResultMatchers.jsonPath("token").value(usuario.getToken()));
 	}
 	
 	@Test
@@ -118,6 +159,28 @@ public class UsuarioControllerTest {
 			.andExpect(MockMvcResultMatchers.jsonPath("nomeUsuario").value(usuario.getNomeUsuario()));
 	}
 	
+	@Test
+	public void deveEscoparAChaveDoCadastroPeloEmailEIncluirASenhaNaImpressao() throws Exception{
+		UsuarioDTO dto = UsuarioDTO.builder()
+				.nomeUsuario("north")
+				.emailUsuario(" North@exe.bol")
+				.senhaUsuario("gol bola").build();
+		
+		when(usuarioService.salvarUsuario(any(Usuario.class))).thenReturn(Usuario.builder().idUsuario(1L).build());
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.post(API.concat("/salvarUsuario"))
+													.header(IdempotenciaService.CABECALHO, "chave-cadastro")
+													.accept(JSON)
+													.contentType(JSON)
+													.content(new ObjectMapper().writeValueAsString(dto));
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isCreated());
+		
+		verify(idempotenciaService).executar(eq("usuario:north@exe.bol"), eq("chave-cadastro"),
+				argThat(requisicao -> "gol bola".equals(((UsuarioDTO) requisicao).getSenhaUsuario())), any());
+	}
+	
 	@Test
 	public void deveRetornarBadRequestAoTentarSalvarUsuarioInvalido() throws Exception{
 		String emailUsuario = "north@exe.bol";
@@ -139,4 +202,158 @@ public class UsuarioControllerTest {
 		mvc.perform(request)
 			.andExpect(MockMvcResultMatchers.status().isBadRequest());
 	}
+	
+	@Test
+	public void deveObterSaldoDoUsuarioDoToken() throws Exception{
+		when(tokenSessaoService.verificar("token-valido")).thenReturn(new UsuarioAutenticado(1L, "north@exe.bol"));
+		when(lancamentoService.obterSaldoPorUsuario(1L)).thenReturn(BigDecimal.TEN);
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get(API.concat("/1/saldo"))
+													.header(HttpHeaders.AUTHORIZATION, "Bearer token-valido")
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.content().string("10"));
+		
+		verify(usuarioService, never()).buscarPorId(anyLong());
+	}
+	
+	@Test
+	public void deveRetornarNotModifiedQuandoOsDadosDoUsuarioNaoMudaram() throws Exception{
+		when(tokenSessaoService.verificar("token-valido")).thenReturn(new UsuarioAutenticado(1L, "north@exe.bol"));
+		when(lancamentoService.obterVersaoDados(1L)).thenReturn(Optional.of(5L));
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get(API.concat("/1/saldo"))
+													.header(HttpHeaders.AUTHORIZATION, "Bearer token-valido")
+													.header(HttpHeaders.IF_NONE_MATCH, "\"u1-5\"")
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isNotModified());
+		
+		verify(lancamentoService, never()).obterSaldoPorUsuario(anyLong());
+	}
+	
+	@Test
+	public void deveRetornarSaldoComETagQuandoOsDadosMudaram() throws Exception{
+		when(tokenSessaoService.verificar("token-valido")).thenReturn(new UsuarioAutenticado(1L, "north@exe.bol"));
+		when(lancamentoService.obterVersaoDados(1L)).thenReturn(Optional.of(6L));
+		when(lancamentoService.obterSaldoPorUsuario(1L)).thenReturn(BigDecimal.ONE);
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get(API.concat("/1/saldo"))
+													.header(HttpHeaders.AUTHORIZATION, "Bearer token-valido")
+													.header(HttpHeaders.IF_NONE_MATCH, "\"u1-5\"")
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"u1-6\""))
+			.andExpect(MockMvcResultMatchers.content().string("1"));
+	}
+	
+	@Test
+	public void deveRetornarForbiddenAoConsultarSaldoDeOutroUsuario() throws Exception{
+		when(tokenSessaoService.verificar("token-valido")).thenReturn(new UsuarioAutenticado(1L, "north@exe.bol"));
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get(API.concat("/2/saldo"))
+													.header(HttpHeaders.AUTHORIZATION, "Bearer token-valido")
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isForbidden());
+		
+		verify(lancamentoService, never()).obterSaldoPorUsuario(anyLong());
+	}
+	
+	@Test
+	public void deveRetornarUnauthorizedSemToken() throws Exception{
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get(API.concat("/1/saldo"))
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isUnauthorized());
+	}
+	
+	@Test
+	public void deveRetornarForbiddenEmRotaAdministrativaParaUsuarioComum() throws Exception{
+		when(tokenSessaoService.verificar("token-valido")).thenReturn(new UsuarioAutenticado(1L, "north@exe.bol"));
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get("/api/cache/estatisticas")
+													.header(HttpHeaders.AUTHORIZATION, "Bearer token-valido")
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+	
+	@Test
+	public void deveRetornarForbiddenNaSituacaoDosEventosParaUsuarioComum() throws Exception{
+		when(tokenSessaoService.verificar("token-valido")).thenReturn(new UsuarioAutenticado(1L, "north@exe.bol"));
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get("/api/eventos/situacao")
+													.header(HttpHeaders.AUTHORIZATION, "Bearer token-valido")
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+	
+	@Test
+	public void deveRetornarForbiddenEmRotaAdministrativaParaEmailDeAdministradorComOutroId() throws Exception{
+		when(tokenSessaoService.verificar("token-valido")).thenReturn(new UsuarioAutenticado(1L, "admin@minhasfinancas.com.br"));
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get("/api/cache/estatisticas")
+													.header(HttpHeaders.AUTHORIZATION, "Bearer token-valido")
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+	
+	@Test
+	public void deveRetornarForbiddenEmRotaAdministrativaParaTokenSemEmail() throws Exception{
+		when(tokenSessaoService.verificar("token-valido")).thenReturn(new UsuarioAutenticado(1L, null));
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get("/api/eventos/situacao")
+													.header(HttpHeaders.AUTHORIZATION, "Bearer token-valido")
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isForbidden());
+	}
+	
+	@Test
+	public void deveLiberarRotaAdministrativaParaOIdConfigurado() throws Exception{
+		when(tokenSessaoService.verificar("token-valido")).thenReturn(new UsuarioAutenticado(99L, null));
+		
+		// O controlador administrativo não é carregado neste teste; basta a requisição passar pelo filtro
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get("/api/cache/estatisticas")
+													.header(HttpHeaders.AUTHORIZATION, "Bearer token-valido")
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isNotFound());
+	}
+	
+	@Test
+	public void deveRetornarUnauthorizedForaDaApiSemToken() throws Exception{
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get("/usuarios")
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isUnauthorized());
+	}
+	
+	@Test
+	public void deveRetornarUnauthorizedComTokenInvalido() throws Exception{
+		when(tokenSessaoService.verificar("token-adulterado")).thenThrow(new ErroAutenticacaoException("Token de sessão inválido!"));
+		
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+													.get(API.concat("/1/saldo"))
+													.header(HttpHeaders.AUTHORIZATION, "Bearer token-adulterado")
+													.accept(JSON);
+		mvc.perform(request)
+			.andExpect(MockMvcResultMatchers.status().isUnauthorized());
+	}
 }
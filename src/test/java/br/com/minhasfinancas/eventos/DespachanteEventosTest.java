@@ -0,0 +1,142 @@
+package br.com.minhasfinancas.eventos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.time.Year;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.EventoLancamento;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.model.enums.SituacaoEvento;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoEventoLancamento;
+import br.com.minhasfinancas.repository.CheckpointProjecaoRepository;
+import br.com.minhasfinancas.repository.EventoLancamentoRepository;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.service.BuscaLancamentoService;
+import br.com.minhasfinancas.service.LancamentoService;
+import br.com.minhasfinancas.service.UsuarioService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class DespachanteEventosTest {
+
+	@Autowired
+	DespachanteEventos despachanteEventos;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	BuscaLancamentoService buscaLancamentoService;
+
+	@Autowired
+	EventoLancamentoRepository eventoLancamentoRepository;
+
+	@Autowired
+	CheckpointProjecaoRepository checkpointProjecaoRepository;
+
+	@Test
+	public void deveRegistrarOsEventosDoUsuarioNaOrdemDasAlteracoes() {
+		Usuario usuario = criarUsuario();
+		Lancamento lancamento = salvar(usuario, "Mensalidade academia");
+		lancamento.setStatusLancamento(StatusLancamento.EFETIVADO);
+		lancamento = lancamentoService.atualizarLancamento(lancamento);
+		lancamento.setDescricao("Mensalidade natação");
+		lancamento = lancamentoService.atualizarLancamento(lancamento);
+		lancamentoService.deletarLancamento(lancamento);
+
+		assertThat(eventosDoUsuario(usuario)).extracting(EventoLancamento::getTipoEvento).containsExactly(
+				TipoEventoLancamento.CRIADO, TipoEventoLancamento.STATUS_ALTERADO, TipoEventoLancamento.ATUALIZADO, TipoEventoLancamento.REMOVIDO);
+	}
+
+	@Test
+	public void deveAtualizarOIndiceDeBuscaAoDespacharOsEventos() {
+		Usuario usuario = criarUsuario();
+		Lancamento lancamento = salvar(usuario, "Conserto bicicleta");
+
+		assertThat(buscar(usuario, "bicicleta")).isEmpty();
+
+		despachanteEventos.despacharPendentes();
+
+		assertThat(buscar(usuario, "bicicleta")).containsExactly(lancamento.getIdLancamento());
+		assertThat(eventosDoUsuario(usuario)).extracting(EventoLancamento::getSituacao).containsOnly(SituacaoEvento.PROCESSADO);
+		assertThat(checkpointProjecaoRepository.findById(ProjecaoBuscaLancamento.NOME).get().getUltimoEvento())
+			.isGreaterThanOrEqualTo(eventosDoUsuario(usuario).get(0).getIdEvento());
+
+		lancamentoService.deletarLancamento(lancamento);
+		despachanteEventos.despacharPendentes();
+
+		assertThat(buscar(usuario, "bicicleta")).isEmpty();
+	}
+
+	@Test
+	public void deveReconstruirOIndiceAoReprocessarAProjecao() {
+		Usuario usuario = criarUsuario();
+		Lancamento lancamento = salvar(usuario, "Assinatura jornal");
+		despachanteEventos.despacharPendentes();
+		buscaLancamentoService.atualizarIndice(List.of(), List.of(lancamento.getIdLancamento()));
+
+		int reprocessados = despachanteEventos.reprocessar(ProjecaoBuscaLancamento.NOME, eventosDoUsuario(usuario).get(0).getIdEvento());
+
+		assertThat(reprocessados).isGreaterThanOrEqualTo(1);
+		assertThat(buscar(usuario, "jornal")).containsExactly(lancamento.getIdLancamento());
+	}
+
+	@Test
+	public void naoDeveReprocessarProjecaoInexistente() {
+		Throwable erro = catchThrowable(() -> despachanteEventos.reprocessar("inexistente", null));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Projeção não encontrada!");
+	}
+
+	@Test
+	public void naoDeveAgendarReprocessamentoDeProjecaoInexistente() {
+		Throwable erro = catchThrowable(() -> despachanteEventos.agendarReprocessamento("inexistente", null));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Projeção não encontrada!");
+	}
+
+	private List<EventoLancamento> eventosDoUsuario(Usuario usuario) {
+		return eventoLancamentoRepository.buscarApos(0L, PageRequest.of(0, Integer.MAX_VALUE)).stream()
+				.filter(evento -> evento.getIdUsuario().equals(usuario.getIdUsuario()))
+				.collect(Collectors.toList());
+	}
+
+	private List<Long> buscar(Usuario usuario, String consulta) {
+		return buscaLancamentoService.buscar(usuario.getIdUsuario(), consulta, false, null).stream()
+				.map(LancamentoListagemDTO::getIdLancamento)
+				.collect(Collectors.toList());
+	}
+
+	private Usuario criarUsuario() {
+		return usuarioService.salvarUsuario(Usuario.builder()
+				.nomeUsuario("eventos")
+				.emailUsuario("eventos-" + System.nanoTime() + "@email.com")
+				.senhaUsuario("senha")
+				.build());
+	}
+
+	private Lancamento salvar(Usuario usuario, String descricao) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setAnoLancamento(Year.now().getValue());
+		lancamento.setDescricao(descricao);
+		lancamento.setUsuario(usuario);
+		return lancamentoService.salvarLancamento(lancamento);
+	}
+}
@@ -0,0 +1,84 @@
+package br.com.minhasfinancas.eventos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.TravaProcesso;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.repository.TravaProcessoRepository;
+import br.com.minhasfinancas.service.BuscaLancamentoService;
+import br.com.minhasfinancas.service.LancamentoService;
+import br.com.minhasfinancas.service.UsuarioService;
+
+// Sobe com o cron padrão do despacho; o contexto é descartado ao fim para o agendamento não alcançar as outras classes
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "minhasfinancas.eventos.despacho.cron=" + DespachanteEventos.CRON_PADRAO)
+@DirtiesContext
+public class DespachoPadraoTest {
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	BuscaLancamentoService buscaLancamentoService;
+
+	@Autowired
+	TravaProcessoRepository travaProcessoRepository;
+
+	@Test
+	public void deveEncontrarNaBuscaUmLancamentoNovoSemDespachoManual() throws Exception {
+		Usuario usuario = usuarioService.salvarUsuario(Usuario.builder()
+				.nomeUsuario("despacho")
+				.emailUsuario("despacho-" + System.nanoTime() + "@email.com")
+				.senhaUsuario("senha")
+				.build());
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setAnoLancamento(Year.now().getValue());
+		lancamento.setDescricao("Revisão carburador");
+		lancamento.setUsuario(usuario);
+		lancamento = lancamentoService.salvarLancamento(lancamento);
+
+		List<Long> encontrados = buscar(usuario, "carburador");
+		for(int tentativa = 0; encontrados.isEmpty() && tentativa < 100; tentativa++) {
+			Thread.sleep(100);
+			encontrados = buscar(usuario, "carburador");
+		}
+
+		assertThat(encontrados).containsExactly(lancamento.getIdLancamento());
+	}
+
+	@Test
+	public void deveConcederATravaAUmUnicoDonoAteExpirar() {
+		String nome = "teste-" + System.nanoTime();
+		LocalDateTime agora = LocalDateTime.now();
+		travaProcessoRepository.save(TravaProcesso.builder().nome(nome).dataExpiracao(agora.minusMinutes(1)).build());
+
+		assertThat(travaProcessoRepository.adquirir(nome, "no-a", agora, agora.plusSeconds(30))).isEqualTo(1);
+		assertThat(travaProcessoRepository.adquirir(nome, "no-b", agora, agora.plusSeconds(30))).isZero();
+		assertThat(travaProcessoRepository.adquirir(nome, "no-a", agora, agora.plusSeconds(30))).isEqualTo(1);
+		assertThat(travaProcessoRepository.adquirir(nome, "no-b", agora.plusMinutes(1), agora.plusMinutes(2))).isEqualTo(1);
+	}
+
+	private List<Long> buscar(Usuario usuario, String consulta) {
+		return buscaLancamentoService.buscar(usuario.getIdUsuario(), consulta, false, null).stream()
+				.map(LancamentoListagemDTO::getIdLancamento)
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,50 @@
+package br.com.minhasfinancas.monitoramento;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import org.junit.jupiter.api.Test;
+
+public class ContadorConsultasTest {
+
+	InspetorConsultas inspetor = new InspetorConsultas();
+
+	@Test
+	public void deveContarConsultasEmTodosOsEscoposAbertos() {
+		ContadorConsultas.iniciar("requisicao");
+		inspetor.inspect("select 1");
+		ContadorConsultas.iniciar("servico");
+		inspetor.inspect("select 2");
+		inspetor.inspect("select 3");
+
+		RegistroConsultas servico = ContadorConsultas.finalizar();
+		RegistroConsultas requisicao = ContadorConsultas.finalizar();
+
+		assertThat(servico.getQuantidade()).isEqualTo(2);
+		assertThat(servico.getSql()).containsExactly("select 2", "select 3");
+		assertThat(requisicao.getQuantidade()).isEqualTo(3);
+		assertThat(requisicao.excede(2)).isTrue();
+	}
+
+	@Test
+	public void deveIgnorarConsultasSemEscopoAberto() {
+		String sql = inspetor.inspect("select 1");
+
+		assertThat(sql).isEqualTo("select 1");
+		Throwable erro = catchThrowable(ContadorConsultas::finalizar);
+		assertThat(erro).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void deveLimitarSqlRegistradoSemPerderAContagem() {
+		ContadorConsultas.iniciar("requisicao");
+		for(int i = 0; i < RegistroConsultas.MAXIMO_SQL_REGISTRADOS + 5; i++) {
+			inspetor.inspect("select " + i);
+		}
+
+		RegistroConsultas registro = ContadorConsultas.finalizar();
+
+		assertThat(registro.getQuantidade()).isEqualTo(RegistroConsultas.MAXIMO_SQL_REGISTRADOS + 5);
+		assertThat(registro.getSql()).hasSize(RegistroConsultas.MAXIMO_SQL_REGISTRADOS);
+	}
+}
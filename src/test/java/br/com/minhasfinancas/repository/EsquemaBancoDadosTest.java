@@ -0,0 +1,96 @@
+package br.com.minhasfinancas.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class EsquemaBancoDadosTest {
+
+	@Autowired
+	DataSource dataSource;
+
+	@Test
+	public void deveTerIndiceDeLancamentoPorUsuarioAnoEMes() throws SQLException {
+		assertThat(colunasDoIndice("lancamento", "idx_lancamento_usuario_ano_mes"))
+			.containsExactly("id_usuario", "ano_lancamento", "mes_lancamento", "id_lancamento");
+	}
+
+	@Test
+	public void deveTerIndiceDeLancamentoPorUsuarioTipoEStatus() throws SQLException {
+		assertThat(colunasDoIndice("lancamento", "idx_lancamento_usuario_tipo_status"))
+			.containsExactly("id_usuario", "tipo_lancamento", "status_lancamento");
+	}
+
+	@Test
+	public void deveTerEmailUnicoParaUsuario() throws SQLException {
+		assertThat(colunasComIndiceUnico("usuario")).contains("email");
+	}
+
+	@Test
+	public void deveUsarIndiceAoFiltrarLancamentosPorUsuarioAnoEMes() throws SQLException {
+		String plano = explicar("select * from lancamento where id_usuario = 1 and ano_lancamento = 2021 and mes_lancamento = 7");
+
+		assertThat(plano.toLowerCase()).contains("idx_lancamento_usuario_ano_mes");
+	}
+
+	private List<String> colunasDoIndice(String tabela, String indice) throws SQLException {
+		TreeMap<Short, String> colunas = new TreeMap<>();
+		try(Connection conexao = dataSource.getConnection()) {
+			DatabaseMetaData metaData = conexao.getMetaData();
+			try(ResultSet rs = metaData.getIndexInfo(null, null, tabela.toUpperCase(), false, false)) {
+				while(rs.next()) {
+					if(indice.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+						colunas.put(rs.getShort("ORDINAL_POSITION"), rs.getString("COLUMN_NAME").toLowerCase());
+					}
+				}
+			}
+		}
+		return new ArrayList<>(colunas.values());
+	}
+
+	private Set<String> colunasComIndiceUnico(String tabela) throws SQLException {
+		Set<String> colunas = new HashSet<>();
+		try(Connection conexao = dataSource.getConnection()) {
+			DatabaseMetaData metaData = conexao.getMetaData();
+			try(ResultSet rs = metaData.getIndexInfo(null, null, tabela.toUpperCase(), true, false)) {
+				while(rs.next()) {
+					if(rs.getString("COLUMN_NAME") != null) {
+						colunas.add(rs.getString("COLUMN_NAME").toLowerCase());
+					}
+				}
+			}
+		}
+		return colunas;
+	}
+
+	private String explicar(String sql) throws SQLException {
+		try(Connection conexao = dataSource.getConnection();
+				Statement statement = conexao.createStatement();
+				ResultSet rs = statement.executeQuery("explain " + sql)) {
+			rs.next();
+			return rs.getString(1);
+		}
+	}
+}
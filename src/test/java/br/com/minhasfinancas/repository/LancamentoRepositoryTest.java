@@ -1,6 +1,10 @@
 package br.com.minhasfinancas.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -11,9 +15,13 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
 import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.SaldoUsuario;
+import br.com.minhasfinancas.model.Usuario;
 import br.com.minhasfinancas.model.enums.StatusLancamento;
 import br.com.minhasfinancas.model.enums.TipoLancamento;
 
@@ -65,6 +73,110 @@ public class LancamentoRepositoryTest {
 		assertThat(lancamentoAtualizado.getStatusLancamento()).isEqualTo(StatusLancamento.CANCELADO);
 	}
 	
+	@Test
+	public void deveIncrementarVersaoERecusarAtualizacaoDesatualizada() {
+		Lancamento lancamento = criarEPersistirUmLancamento();
+		entityManager.flush();
+		Long versaoLida = lancamento.getVersao();
+		
+		lancamento.setDescricao("Alterado em outra aba");
+		entityManager.flush();
+		assertThat(lancamento.getVersao()).isEqualTo(versaoLida + 1);
+		
+		Lancamento desatualizado = criarLancamento();
+		desatualizado.setIdLancamento(lancamento.getIdLancamento());
+		desatualizado.setVersao(versaoLida);
+		
+		Throwable exception = catchThrowable(() -> lancamentoRepository.save(desatualizado));
+		assertThat(exception).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+	}
+	
+	@Test
+	public void deveBuscarPaginasPeloCursor() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento fevereiro = criarEPersistirUmLancamento(usuario, 2021, 2);
+		Lancamento janeiro = criarEPersistirUmLancamento(usuario, 2021, 1);
+		Lancamento marco = criarEPersistirUmLancamento(usuario, 2021, 3);
+		
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		
+		List<LancamentoListagemDTO> primeiraPagina = lancamentoRepository.buscarPagina(filtro, null, 2, false);
+		assertThat(primeiraPagina).extracting(LancamentoListagemDTO::getIdLancamento)
+			.containsExactly(janeiro.getIdLancamento(), fevereiro.getIdLancamento());
+		assertThat(primeiraPagina.get(0).getIdUsuario()).isEqualTo(usuario.getIdUsuario());
+		
+		CursorLancamento cursor = CursorLancamento.posicaoApos(primeiraPagina.get(1), false);
+		List<LancamentoListagemDTO> segundaPagina = lancamentoRepository.buscarPagina(filtro, cursor, 2, false);
+		assertThat(segundaPagina).extracting(LancamentoListagemDTO::getIdLancamento)
+			.containsExactly(marco.getIdLancamento());
+		
+		List<LancamentoListagemDTO> decrescente = lancamentoRepository.buscarPagina(filtro, CursorLancamento.posicaoApos(marco, true), 2, true);
+		assertThat(decrescente).extracting(LancamentoListagemDTO::getIdLancamento)
+			.containsExactly(fevereiro.getIdLancamento(), janeiro.getIdLancamento());
+	}
+	
+	@Test
+	public void deveInserirLancamentosEmLote() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		List<Lancamento> lancamentos = new ArrayList<>();
+		for(int i = 0; i < 250; i++) {
+			Lancamento lancamento = criarLancamento();
+			lancamento.setUsuario(usuario);
+			lancamento.setValorLancamento(BigDecimal.ONE);
+			lancamentos.add(lancamento);
+		}
+		
+		lancamentoRepository.inserirEmLote(lancamentos);
+		
+		assertThat(lancamentos).extracting(Lancamento::getIdLancamento).doesNotContainNull().doesNotHaveDuplicates();
+		assertThat(lancamentoRepository.count()).isEqualTo(250);
+	}
+	
+	@Test
+	public void deveAtualizarStatusEmLote() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento janeiro = criarEPersistirUmLancamento(usuario, 2021, 1);
+		Lancamento fevereiro = criarEPersistirUmLancamento(usuario, 2021, 2);
+		Lancamento outroMes = criarEPersistirUmLancamento(usuario, 2021, 3);
+		
+		FiltroLoteLancamento filtro = FiltroLoteLancamento.builder()
+				.idUsuario(usuario.getIdUsuario())
+				.idsLancamentos(Arrays.asList(janeiro.getIdLancamento(), fevereiro.getIdLancamento()))
+				.statusAtual(StatusLancamento.PENDENTE)
+				.excetoStatus(StatusLancamento.EFETIVADO)
+				.build();
+		
+		SaldoUsuario afetados = lancamentoRepository.somarEmLote(filtro);
+		int quantidade = lancamentoRepository.atualizarStatusEmLote(filtro, StatusLancamento.EFETIVADO);
+		
+		assertThat(afetados.getReceitaPendente()).isEqualByComparingTo(BigDecimal.valueOf(20));
+		assertThat(quantidade).isEqualTo(2);
+		assertThat(entityManager.find(Lancamento.class, janeiro.getIdLancamento()).getStatusLancamento()).isEqualTo(StatusLancamento.EFETIVADO);
+		assertThat(entityManager.find(Lancamento.class, outroMes.getIdLancamento()).getStatusLancamento()).isEqualTo(StatusLancamento.PENDENTE);
+		assertThat(lancamentoRepository.atualizarStatusEmLote(filtro, StatusLancamento.EFETIVADO)).isZero();
+	}
+	
+	@Test
+	public void deveRemoverEmLotePorFiltro() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		criarEPersistirUmLancamento(usuario, 2020, 12);
+		criarEPersistirUmLancamento(usuario, 2020, 12);
+		Lancamento mantido = criarEPersistirUmLancamento(usuario, 2021, 1);
+		
+		FiltroLoteLancamento filtro = FiltroLoteLancamento.builder()
+				.idUsuario(usuario.getIdUsuario())
+				.anoLancamento(2020)
+				.mesLancamento(12)
+				.build();
+		
+		int quantidade = lancamentoRepository.removerEmLote(filtro);
+		
+		assertThat(quantidade).isEqualTo(2);
+		assertThat(lancamentoRepository.findByUsuarioIdUsuario(usuario.getIdUsuario()))
+			.extracting(Lancamento::getIdLancamento).containsExactly(mantido.getIdLancamento());
+	}
+	
 	public void deveBuscarUmLancamentoPorId() {
 		Lancamento lancamento = criarEPersistirUmLancamento();
 		
@@ -89,5 +201,15 @@ public class LancamentoRepositoryTest {
 		entityManager.persist(lancamento);
 		return lancamento;
 	}
+	
+	public Lancamento criarEPersistirUmLancamento(Usuario usuario, Integer ano, Integer mes) {
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setAnoLancamento(ano);
+		lancamento.setMesLancamento(mes);
+		lancamento.setValorLancamento(BigDecimal.TEN);
+		entityManager.persist(lancamento);
+		return lancamento;
+	}
 
 }
@@ -0,0 +1,63 @@
+package br.com.minhasfinancas.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.model.LancamentoTermo;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class LancamentoTermoRepositoryTest {
+
+	@Autowired
+	LancamentoTermoRepository lancamentoTermoRepository;
+
+	@Test
+	public void deveOrdenarLancamentosPelaQuantidadeDeTermosEncontrados() {
+		indexar(1L, 10L, "conta", "de", "luz");
+		indexar(1L, 11L, "conta", "de", "agua");
+		indexar(2L, 12L, "conta", "de", "luz");
+
+		List<Long> ids = lancamentoTermoRepository.buscarLancamentosPorRelevancia(1L, Arrays.asList("conta", "luz"), false, 10);
+
+		assertThat(ids).containsExactly(10L, 11L);
+	}
+
+	@Test
+	public void deveBuscarPorPrefixo() {
+		indexar(1L, 10L, "supermercado");
+		indexar(1L, 11L, "salario");
+
+		List<Long> ids = lancamentoTermoRepository.buscarLancamentosPorRelevancia(1L, Arrays.asList("super"), true, 10);
+
+		assertThat(ids).containsExactly(10L);
+	}
+
+	@Test
+	public void deveSugerirTermosDoUsuario() {
+		indexar(1L, 10L, "supermercado", "sushi");
+		indexar(2L, 11L, "sucos");
+
+		List<String> termos = lancamentoTermoRepository.buscarTermosPorPrefixo(1L, FiltroLike.iniciandoCom("su"), PageRequest.of(0, 10));
+
+		assertThat(termos).containsExactly("supermercado", "sushi");
+	}
+
+	private void indexar(Long idUsuario, Long idLancamento, String... termos) {
+		for(String termo : termos) {
+			lancamentoTermoRepository.save(LancamentoTermo.builder().idUsuario(idUsuario).termo(termo).idLancamento(idLancamento).build());
+		}
+	}
+}
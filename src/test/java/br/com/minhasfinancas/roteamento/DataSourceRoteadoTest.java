@@ -0,0 +1,98 @@
+package br.com.minhasfinancas.roteamento;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.minhasfinancas.security.ContextoUsuario;
+
+public class DataSourceRoteadoTest {
+
+	static final String URL_PRIMARIO = "jdbc:h2:mem:roteamento_primario;DB_CLOSE_DELAY=-1";
+	static final String URL_REPLICA = "jdbc:h2:mem:roteamento_replica;DB_CLOSE_DELAY=-1";
+
+	DataSource primario = new DriverManagerDataSource(URL_PRIMARIO, "sa", "");
+	DataSource replica = new DriverManagerDataSource(URL_REPLICA, "sa", "");
+
+	@AfterEach
+	public void limpar() {
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		ContextoUsuario.limpar();
+	}
+
+	@Test
+	public void deveUsarPrimarioForaDeTransacaoSomenteLeitura() throws SQLException {
+		DataSourceRoteado roteado = criar(replica, Duration.ofSeconds(5));
+
+		assertThat(urlDaConexao(roteado)).startsWith("jdbc:h2:mem:roteamento_primario");
+	}
+
+	@Test
+	public void deveUsarReplicaEmTransacaoSomenteLeitura() throws SQLException {
+		DataSourceRoteado roteado = criar(replica, Duration.ofSeconds(5));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(urlDaConexao(roteado)).startsWith("jdbc:h2:mem:roteamento_replica");
+	}
+
+	@Test
+	public void deveLerDoPrimarioDentroDaJanelaAposEscritaDoUsuario() throws SQLException {
+		DataSourceRoteado roteado = criar(replica, Duration.ofMinutes(1));
+		ContextoUsuario.definir(7L);
+
+		TransactionSynchronizationManager.initSynchronization();
+		urlDaConexao(roteado);
+		for(TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+			sincronizacao.afterCommit();
+			sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		}
+		TransactionSynchronizationManager.clearSynchronization();
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertThat(urlDaConexao(roteado)).startsWith("jdbc:h2:mem:roteamento_primario");
+
+		ContextoUsuario.definir(8L);
+		assertThat(urlDaConexao(roteado)).startsWith("jdbc:h2:mem:roteamento_replica");
+	}
+
+	@Test
+	public void deveUsarPrimarioQuandoReplicaIndisponivel() throws SQLException {
+		DataSource replicaIndisponivel = mock(DataSource.class);
+		when(replicaIndisponivel.getConnection()).thenThrow(new SQLException("Conexão recusada"));
+		DataSourceRoteado roteado = criar(replicaIndisponivel, Duration.ofSeconds(5));
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(urlDaConexao(roteado)).startsWith("jdbc:h2:mem:roteamento_primario");
+		assertThat(urlDaConexao(roteado)).startsWith("jdbc:h2:mem:roteamento_primario");
+		verify(replicaIndisponivel, times(1)).getConnection();
+	}
+
+	private DataSourceRoteado criar(DataSource replica, Duration janela) {
+		return new DataSourceRoteado(primario, Collections.singletonList(replica),
+				new JanelaLeituraPropriaEscrita(janela), Duration.ofSeconds(30));
+	}
+
+	private String urlDaConexao(DataSource dataSource) throws SQLException {
+		try(Connection conexao = dataSource.getConnection()) {
+			return conexao.getMetaData().getURL();
+		}
+	}
+}
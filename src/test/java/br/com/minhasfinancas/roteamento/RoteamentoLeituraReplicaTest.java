@@ -0,0 +1,82 @@
+package br.com.minhasfinancas.roteamento;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.service.LancamentoService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+		"spring.datasource.url=" + RoteamentoLeituraReplicaTest.URL_PRIMARIO,
+		"minhasfinancas.datasource.replicas=" + RoteamentoLeituraReplicaTest.URL_REPLICA })
+public class RoteamentoLeituraReplicaTest {
+
+	static final String URL_PRIMARIO = "jdbc:h2:mem:roteamento_app_primario;MODE=MySQL;DB_CLOSE_DELAY=-1";
+	static final String URL_REPLICA = "jdbc:h2:mem:roteamento_app_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+	static final long ID_SOMENTE_NA_REPLICA = 900001L;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@BeforeAll
+	public static void prepararReplica() {
+		DriverManagerDataSource replica = new DriverManagerDataSource(URL_REPLICA, "sa", "");
+		Flyway.configure().dataSource(replica).locations("classpath:db/migration").load().migrate();
+
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+		jdbcTemplate.update("insert into usuario (id_usuario, nome, email, senha) values (?, 'replica', 'replica@email.com', 'senha')",
+				ID_SOMENTE_NA_REPLICA);
+		jdbcTemplate.update("insert into lancamento (id_lancamento, mes_lancamento, ano_lancamento, id_usuario, valor_lancamento, "
+				+ "descricao, tipo_lancamento, status_lancamento) values (?, 1, 2021, ?, 10, 'Somente na replica', 'DESPESA', 'PENDENTE')",
+				ID_SOMENTE_NA_REPLICA, ID_SOMENTE_NA_REPLICA);
+	}
+
+	@Test
+	public void deveLerDaReplicaSomenteEmTransacoesSomenteLeitura() {
+		Optional<Lancamento> lidoNoPrimario = new TransactionTemplate(transactionManager)
+				.execute(status -> lancamentoRepository.findById(ID_SOMENTE_NA_REPLICA));
+		assertThat(lidoNoPrimario).isEmpty();
+
+		Optional<Lancamento> lidoNaReplica = lancamentoService.buscarPorId(ID_SOMENTE_NA_REPLICA);
+		assertThat(lidoNaReplica).isPresent();
+		assertThat(lidoNaReplica.get().getDescricao()).isEqualTo("Somente na replica");
+	}
+
+	@Test
+	public void naoDeveAlimentarOCacheDeSegundoNivelComLeiturasDaReplica() {
+		entityManagerFactory.getCache().evictAll();
+
+		assertThat(lancamentoService.buscarPorId(ID_SOMENTE_NA_REPLICA)).isPresent();
+
+		assertThat(entityManagerFactory.getCache().contains(Lancamento.class, ID_SOMENTE_NA_REPLICA)).isFalse();
+		Optional<Lancamento> lidoNoPrimario = new TransactionTemplate(transactionManager)
+				.execute(status -> lancamentoRepository.findById(ID_SOMENTE_NA_REPLICA));
+		assertThat(lidoNoPrimario).isEmpty();
+	}
+}
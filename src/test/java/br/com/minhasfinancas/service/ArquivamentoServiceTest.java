@@ -0,0 +1,251 @@
+package br.com.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.dto.PaginaDTO;
+import br.com.minhasfinancas.eventos.DespachanteEventos;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.RecorrenciaLancamento;
+import br.com.minhasfinancas.model.ResumoAnoArquivado;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.repository.RecorrenciaLancamentoRepository;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class ArquivamentoServiceTest {
+
+	@Autowired
+	ArquivamentoService arquivamentoService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	SaldoUsuarioService saldoUsuarioService;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	LancamentoReativoService lancamentoReativoService;
+
+	@Autowired
+	ExportacaoLancamentoService exportacaoLancamentoService;
+
+	@Autowired
+	RecorrenciaLancamentoService recorrenciaLancamentoService;
+
+	@Autowired
+	RecorrenciaLancamentoRepository recorrenciaLancamentoRepository;
+
+	@Autowired
+	BuscaLancamentoService buscaLancamentoService;
+
+	@Autowired
+	DespachanteEventos despachanteEventos;
+
+	@Test
+	public void deveMoverOAnoEncerradoParaOArquivoMantendoBuscaESaldo() {
+		Usuario usuario = criarUsuario();
+		Lancamento janeiro = salvar(usuario, 2020, 1, TipoLancamento.RECEITA, 1000);
+		Lancamento marco = salvar(usuario, 2020, 3, TipoLancamento.DESPESA, 300);
+		Lancamento ativo = salvar(usuario, 2021, 2, TipoLancamento.DESPESA, 100);
+
+		ResumoAnoArquivado resumo = arquivamentoService.encerrarAno(usuario.getIdUsuario(), 2020);
+
+		assertThat(resumo.getQuantidade()).isEqualTo(2);
+		assertThat(resumo.paraSaldo().getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(700));
+		assertThat(lancamentoRepository.buscarPorUsuarioEAno(usuario.getIdUsuario(), 2020)).isEmpty();
+		assertThat(arquivamentoService.estaArquivado(usuario.getIdUsuario(), 2020)).isTrue();
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		List<Lancamento> encontrados = lancamentoService.buscarLancamento(filtro);
+		assertThat(encontrados).extracting(Lancamento::getIdLancamento)
+			.containsExactlyInAnyOrder(janeiro.getIdLancamento(), marco.getIdLancamento(), ativo.getIdLancamento());
+		assertThat(encontrados).filteredOn(lancamento -> lancamento.getIdLancamento().equals(marco.getIdLancamento()))
+			.extracting(Lancamento::getDescricao).containsExactly(marco.getDescricao());
+
+		assertThat(lancamentoService.obterSaldoPorUsuario(usuario.getIdUsuario())).isEqualByComparingTo(BigDecimal.valueOf(600));
+		assertThat(saldoUsuarioService.reconciliar(usuario.getIdUsuario()).isDivergente()).isFalse();
+	}
+
+	@Test
+	public void deveEncontrarNaBuscaPorTermoOLancamentoArquivado() {
+		Usuario usuario = criarUsuario();
+		Lancamento arquivado = salvar(usuario, 2020, 5, TipoLancamento.DESPESA, 80);
+		Lancamento ativo = salvar(usuario, 2021, 5, TipoLancamento.DESPESA, 90);
+		despachanteEventos.despacharPendentes();
+
+		arquivamentoService.encerrarAno(usuario.getIdUsuario(), 2020);
+
+		assertThat(buscaLancamentoService.buscar(usuario.getIdUsuario(), "laika", false, null))
+			.extracting(LancamentoListagemDTO::getIdLancamento)
+			.containsExactlyInAnyOrder(arquivado.getIdLancamento(), ativo.getIdLancamento());
+
+		buscaLancamentoService.reindexar(usuario.getIdUsuario());
+
+		assertThat(buscaLancamentoService.buscar(usuario.getIdUsuario(), "laika", false, null))
+			.filteredOn(lancamento -> lancamento.getIdLancamento().equals(arquivado.getIdLancamento()))
+			.extracting(LancamentoListagemDTO::getAnoLancamento).containsExactly(2020);
+	}
+
+	@Test
+	public void deveIntercalarArquivadosNaListagemPaginada() {
+		Usuario usuario = criarUsuario();
+		Lancamento janeiro = salvar(usuario, 2020, 1, TipoLancamento.RECEITA, 10);
+		Lancamento dezembro = salvar(usuario, 2020, 12, TipoLancamento.RECEITA, 20);
+		Lancamento ativo = salvar(usuario, 2021, 1, TipoLancamento.RECEITA, 30);
+		arquivamentoService.encerrarAno(usuario.getIdUsuario(), 2020);
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		PaginaDTO<LancamentoListagemDTO> primeira = lancamentoService.buscarLancamentoPaginado(filtro, null, 2, false);
+		PaginaDTO<LancamentoListagemDTO> segunda = lancamentoService.buscarLancamentoPaginado(filtro, primeira.getProximo(), 2, false);
+
+		assertThat(primeira.getItens()).extracting(LancamentoListagemDTO::getIdLancamento)
+			.containsExactly(janeiro.getIdLancamento(), dezembro.getIdLancamento());
+		assertThat(segunda.getItens()).extracting(LancamentoListagemDTO::getIdLancamento).containsExactly(ativo.getIdLancamento());
+		assertThat(segunda.getProximo()).isNull();
+	}
+
+	@Test
+	public void deveIntercalarArquivadosNaListagemReativa() {
+		Usuario usuario = criarUsuario();
+		Lancamento janeiro = salvar(usuario, 2020, 1, TipoLancamento.RECEITA, 10);
+		Lancamento ativo = salvar(usuario, 2021, 1, TipoLancamento.RECEITA, 30);
+		Lancamento dezembro = salvar(usuario, 2020, 12, TipoLancamento.RECEITA, 20);
+		arquivamentoService.encerrarAno(usuario.getIdUsuario(), 2020);
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		PaginaDTO<LancamentoListagemDTO> pagina = lancamentoReativoService.buscarLancamentoPaginado(filtro, null, 2, true).block();
+		List<LancamentoListagemDTO> transmitidos = lancamentoReativoService.transmitirLancamentos(filtro, false).collectList().block();
+
+		assertThat(pagina.getItens()).extracting(LancamentoListagemDTO::getIdLancamento)
+			.containsExactly(ativo.getIdLancamento(), dezembro.getIdLancamento());
+		assertThat(transmitidos).extracting(LancamentoListagemDTO::getIdLancamento)
+			.containsExactly(janeiro.getIdLancamento(), dezembro.getIdLancamento(), ativo.getIdLancamento());
+	}
+
+	@Test
+	public void deveExportarOsAnosEncerradosNaOrdemDosAtivos() throws Exception {
+		Usuario usuario = criarUsuario();
+		Lancamento antigo = salvar(usuario, 2019, 6, TipoLancamento.DESPESA, 5);
+		Lancamento arquivado = salvar(usuario, 2020, 3, TipoLancamento.RECEITA, 10);
+		Lancamento ativo = salvar(usuario, 2021, 1, TipoLancamento.RECEITA, 30);
+		arquivamentoService.encerrarAno(usuario.getIdUsuario(), 2020);
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+		long quantidade = exportacaoLancamentoService.exportar(usuario.getIdUsuario(), FormatoExportacao.CSV, saida);
+
+		String[] linhas = saida.toString(StandardCharsets.UTF_8.name()).split("\n");
+		assertThat(quantidade).isEqualTo(3);
+		assertThat(linhas).hasSize(4);
+		assertThat(linhas[1]).startsWith(antigo.getIdLancamento() + ",");
+		assertThat(linhas[2]).startsWith(arquivado.getIdLancamento() + ",");
+		assertThat(linhas[3]).startsWith(ativo.getIdLancamento() + ",");
+	}
+
+	@Test
+	public void deveManterOResumoAnualDoAnoEncerrado() {
+		Usuario usuario = criarUsuario();
+		salvar(usuario, 2019, 4, TipoLancamento.RECEITA, 400);
+		salvar(usuario, 2019, 4, TipoLancamento.DESPESA, 150);
+		arquivamentoService.encerrarAno(usuario.getIdUsuario(), 2019);
+
+		assertThat(lancamentoService.obterResumoAnual(usuario.getIdUsuario(), 2019).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(250));
+	}
+
+	@Test
+	public void naoDeveAceitarLancamentoEmAnoEncerrado() {
+		Usuario usuario = criarUsuario();
+		salvar(usuario, 2020, 5, TipoLancamento.RECEITA, 100);
+		arquivamentoService.encerrarAno(usuario.getIdUsuario(), 2020);
+
+		Throwable erro = catchThrowable(() -> salvar(usuario, 2020, 6, TipoLancamento.DESPESA, 50));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("O ano informado já foi encerrado e não aceita alterações!");
+	}
+
+	@Test
+	public void naoDeveGerarRecorrenciaQueAtravessaAnoEncerrado() {
+		Usuario usuario = criarUsuario();
+		salvar(usuario, 2020, 5, TipoLancamento.RECEITA, 100);
+		arquivamentoService.encerrarAno(usuario.getIdUsuario(), 2020);
+		RecorrenciaLancamento recorrencia = RecorrenciaLancamento.builder()
+				.idUsuario(usuario.getIdUsuario())
+				.descricao("Mensalidade")
+				.valorLancamento(BigDecimal.valueOf(50))
+				.tipoLancamento(TipoLancamento.DESPESA)
+				.anoInicio(2019)
+				.mesInicio(11)
+				.totalParcelas(4)
+				.build();
+
+		Throwable erro = catchThrowable(() -> recorrenciaLancamentoService.salvarRecorrencia(recorrencia));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessageStartingWith("A parcela 3 (1/2020) não pôde ser gerada");
+		assertThat(lancamentoRepository.buscarPorUsuarioEAno(usuario.getIdUsuario(), 2019)).isEmpty();
+		assertThat(recorrenciaLancamentoRepository.buscarAtivas(usuario.getIdUsuario())).isEmpty();
+	}
+
+	@Test
+	public void naoDeveEncerrarOMesmoAnoDuasVezes() {
+		Usuario usuario = criarUsuario();
+		salvar(usuario, 2020, 5, TipoLancamento.RECEITA, 100);
+		arquivamentoService.encerrarAno(usuario.getIdUsuario(), 2020);
+
+		Throwable erro = catchThrowable(() -> arquivamentoService.encerrarAno(usuario.getIdUsuario(), 2020));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("O ano informado já foi encerrado!");
+	}
+
+	@Test
+	public void naoDeveEncerrarOAnoAtual() {
+		Usuario usuario = criarUsuario();
+
+		Throwable erro = catchThrowable(() -> arquivamentoService.encerrarAno(usuario.getIdUsuario(), Year.now().getValue()));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Somente anos anteriores ao atual podem ser encerrados!");
+	}
+
+	private Usuario criarUsuario() {
+		return usuarioService.salvarUsuario(Usuario.builder()
+				.nomeUsuario("arquivamento")
+				.emailUsuario("arquivamento-" + System.nanoTime() + "@email.com")
+				.senhaUsuario("senha")
+				.build());
+	}
+
+	private Lancamento salvar(Usuario usuario, int ano, int mes, TipoLancamento tipo, int valor) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setAnoLancamento(ano);
+		lancamento.setMesLancamento(mes);
+		lancamento.setTipoLancamento(tipo);
+		lancamento.setValorLancamento(BigDecimal.valueOf(valor));
+		lancamento.setUsuario(usuario);
+		return lancamentoService.salvarLancamento(lancamento);
+	}
+}
@@ -0,0 +1,87 @@
+package br.com.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.LancamentoTermo;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.repository.LancamentoTermoRepository;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class BuscaLancamentoServiceTest {
+
+	@SpyBean
+	BuscaLancamentoService buscaLancamentoService;
+
+	@MockBean
+	LancamentoTermoRepository lancamentoTermoRepository;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@Test
+	public void deveExtrairTermosNormalizados() {
+		assertThat(BuscaLancamentoService.extrairTermos("Aluguel do Apartamento - Março/2021, aluguel"))
+			.containsExactly("aluguel", "do", "apartamento", "marco", "2021");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void deveIndexarOsTermosDaDescricao() {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setIdLancamento(5L);
+		lancamento.setUsuario(Usuario.builder().idUsuario(1L).build());
+		lancamento.setDescricao("Conta de luz");
+
+		buscaLancamentoService.indexar(lancamento);
+
+		ArgumentCaptor<List<LancamentoTermo>> captor = ArgumentCaptor.forClass(List.class);
+		verify(lancamentoTermoRepository).removerPorLancamento(5L);
+		verify(lancamentoTermoRepository).saveAll(captor.capture());
+		assertThat(captor.getValue()).extracting(LancamentoTermo::getTermo).containsExactly("conta", "de", "luz");
+	}
+
+	@Test
+	public void deveRetornarLancamentosNaOrdemDeRelevancia() {
+		LancamentoListagemDTO menosRelevante = LancamentoListagemDTO.builder().idLancamento(1L).build();
+		LancamentoListagemDTO maisRelevante = LancamentoListagemDTO.builder().idLancamento(2L).build();
+
+		when(lancamentoTermoRepository.buscarLancamentosPorRelevancia(eq(1L), anyList(), eq(true), anyInt()))
+			.thenReturn(Arrays.asList(2L, 1L));
+		when(lancamentoRepository.buscarListagemPorIds(Arrays.asList(2L, 1L)))
+			.thenReturn(Arrays.asList(menosRelevante, maisRelevante));
+
+		List<LancamentoListagemDTO> resultado = buscaLancamentoService.buscar(1L, "conta lu", true, null);
+
+		assertThat(resultado).containsExactly(maisRelevante, menosRelevante);
+	}
+
+	@Test
+	public void deveRejeitarBuscaSemTermos() {
+		Throwable erro = catchThrowable(() -> buscaLancamentoService.buscar(1L, " - ", false, null));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um termo de busca válido!");
+	}
+}
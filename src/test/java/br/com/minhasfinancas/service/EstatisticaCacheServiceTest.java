@@ -0,0 +1,73 @@
+package br.com.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.dto.EstatisticaCacheDTO;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.repository.UsuarioRepository;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class EstatisticaCacheServiceTest {
+
+	@Autowired
+	EstatisticaCacheService estatisticaCacheService;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	Usuario usuario;
+
+	@AfterEach
+	public void removerUsuario() {
+		if(usuario != null) {
+			usuarioRepository.deleteById(usuario.getIdUsuario());
+		}
+	}
+
+	@Test
+	public void deveBuscarUsuarioPeloCacheDeSegundoNivel() {
+		usuario = usuarioRepository.save(Usuario.builder()
+				.nomeUsuario("cache")
+				.emailUsuario("cache@email.com")
+				.senhaUsuario("senha")
+				.build());
+		estatisticaCacheService.limparEstatisticas();
+
+		usuarioRepository.findById(usuario.getIdUsuario());
+		usuarioRepository.findById(usuario.getIdUsuario());
+
+		EstatisticaCacheDTO estatistica = obterEstatistica(Usuario.REGIAO_CACHE);
+		assertThat(estatistica.getAcertos()).isEqualTo(2);
+		assertThat(estatistica.getFalhas()).isZero();
+	}
+
+	@Test
+	public void deveAtualizarCacheAoAlterarUsuario() {
+		usuario = usuarioRepository.save(Usuario.builder()
+				.nomeUsuario("antes")
+				.emailUsuario("cache-atualizado@email.com")
+				.senhaUsuario("senha")
+				.build());
+		usuarioRepository.findById(usuario.getIdUsuario());
+
+		usuario.setNomeUsuario("depois");
+		usuarioRepository.save(usuario);
+
+		assertThat(usuarioRepository.findById(usuario.getIdUsuario()).get().getNomeUsuario()).isEqualTo("depois");
+	}
+
+	private EstatisticaCacheDTO obterEstatistica(String regiao) {
+		List<EstatisticaCacheDTO> estatisticas = estatisticaCacheService.obterEstatisticas();
+		return estatisticas.stream().filter(e -> e.getRegiao().equals(regiao)).findFirst().get();
+	}
+}
@@ -0,0 +1,87 @@
+package br.com.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.repository.UsuarioRepository;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Transactional
+public class ExportacaoLancamentoServiceTest {
+
+	@Autowired
+	ExportacaoLancamentoService exportacaoLancamentoService;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Test
+	public void deveExportarLancamentosEmCsv() throws Exception {
+		Usuario usuario = criarUsuarioComLancamentos();
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+		long quantidade = exportacaoLancamentoService.exportar(usuario.getIdUsuario(), FormatoExportacao.CSV, saida);
+
+		String[] linhas = saida.toString(StandardCharsets.UTF_8.name()).split("\n");
+		assertThat(quantidade).isEqualTo(2);
+		assertThat(linhas).hasSize(3);
+		assertThat(linhas[0]).startsWith("idLancamento,descricao");
+		assertThat(linhas[1]).contains("\"Aluguel, apartamento\"").contains("1500.00");
+		assertThat(linhas[2]).contains("Salario");
+	}
+
+	@Test
+	public void deveExportarLancamentosEmNdjson() throws Exception {
+		Usuario usuario = criarUsuarioComLancamentos();
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+		exportacaoLancamentoService.exportar(usuario.getIdUsuario(), FormatoExportacao.NDJSON, saida);
+
+		String[] linhas = saida.toString(StandardCharsets.UTF_8.name()).split("\n");
+		assertThat(linhas).hasSize(2);
+		assertThat(linhas[0]).startsWith("{").contains("\"descricao\":\"Aluguel, apartamento\"");
+		assertThat(linhas[1]).contains("\"idUsuario\":" + usuario.getIdUsuario());
+	}
+
+	private Usuario criarUsuarioComLancamentos() {
+		Usuario usuario = usuarioRepository.save(Usuario.builder()
+				.nomeUsuario("exportacao")
+				.emailUsuario("exportacao@exe.bol")
+				.senhaUsuario("golo")
+				.build());
+
+		Lancamento aluguel = LancamentoRepositoryTest.criarLancamento();
+		aluguel.setDescricao("Aluguel, apartamento");
+		aluguel.setMesLancamento(1);
+		aluguel.setValorLancamento(new BigDecimal("1500.00"));
+		aluguel.setUsuario(usuario);
+		lancamentoRepository.save(aluguel);
+
+		Lancamento salario = LancamentoRepositoryTest.criarLancamento();
+		salario.setDescricao("Salario");
+		salario.setMesLancamento(2);
+		salario.setValorLancamento(new BigDecimal("5000.00"));
+		salario.setUsuario(usuario);
+		lancamentoRepository.save(salario);
+
+		return usuario;
+	}
+}
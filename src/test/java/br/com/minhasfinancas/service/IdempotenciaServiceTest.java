@@ -0,0 +1,165 @@
+package br.com.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.exception.RegraNegocioException;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "minhasfinancas.idempotencia.espera-ms=1000")
+public class IdempotenciaServiceTest {
+
+	@Autowired
+	IdempotenciaService idempotenciaService;
+
+	@Test
+	public void deveRepetirARespostaSemExecutarAOperacaoNovamente() {
+		String chave = UUID.randomUUID().toString();
+		AtomicInteger execucoes = new AtomicInteger();
+		Supplier<ResponseEntity<Object>> operacao = () -> ResponseEntity.status(HttpStatus.CREATED)
+				.eTag("\"1\"")
+				.body(Map.of("execucao", execucoes.incrementAndGet()));
+
+		ResponseEntity<Object> primeira = idempotenciaService.executar("teste", chave, "corpo", operacao);
+		ResponseEntity<Object> repeticao = idempotenciaService.executar("teste", chave, "corpo", operacao);
+
+		assertThat(execucoes.get()).isEqualTo(1);
+		assertThat(primeira.getHeaders().containsKey(IdempotenciaService.CABECALHO_REPETICAO)).isFalse();
+		assertThat(repeticao.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(repeticao.getHeaders().getETag()).isEqualTo("\"1\"");
+		assertThat(repeticao.getHeaders().getFirst(IdempotenciaService.CABECALHO_REPETICAO)).isEqualTo("true");
+		assertThat(repeticao.getBody()).isEqualTo("{\"execucao\":1}");
+	}
+
+	@Test
+	public void deveRecusarAMesmaChaveComOutraRequisicao() {
+		String chave = UUID.randomUUID().toString();
+		idempotenciaService.executar("teste", chave, "corpo", () -> ResponseEntity.status(HttpStatus.CREATED).body("ok"));
+
+		ResponseEntity<Object> resposta = idempotenciaService.executar("teste", chave, "outro corpo",
+				() -> ResponseEntity.status(HttpStatus.CREATED).body("ok"));
+
+		assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+	}
+
+	@Test
+	public void deveSepararAsChavesPorEscopo() {
+		String chave = UUID.randomUUID().toString();
+		AtomicInteger execucoes = new AtomicInteger();
+		Supplier<ResponseEntity<Object>> operacao = () -> ResponseEntity.status(HttpStatus.CREATED).body(execucoes.incrementAndGet());
+
+		idempotenciaService.executar("lancamento:1", chave, "corpo", operacao);
+		idempotenciaService.executar("lancamento:2", chave, "corpo", operacao);
+
+		assertThat(execucoes.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void naoDeveGuardarRespostaDeOperacaoComErro() {
+		String chave = UUID.randomUUID().toString();
+		AtomicInteger execucoes = new AtomicInteger();
+
+		Throwable erro = catchThrowable(() -> idempotenciaService.executar("teste", chave, "corpo", () -> {
+			execucoes.incrementAndGet();
+			throw new RegraNegocioException("Informe uma descrição válida!");
+		}));
+		ResponseEntity<Object> novaTentativa = idempotenciaService.executar("teste", chave, "corpo", () -> {
+			execucoes.incrementAndGet();
+			return ResponseEntity.status(HttpStatus.CREATED).body("ok");
+		});
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class);
+		assertThat(novaTentativa.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(execucoes.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void deveFazerRequisicoesSimultaneasAguardaremAPrimeira() throws Exception {
+		String chave = UUID.randomUUID().toString();
+		AtomicInteger execucoes = new AtomicInteger();
+		CountDownLatch iniciada = new CountDownLatch(1);
+		CountDownLatch liberada = new CountDownLatch(1);
+		Supplier<ResponseEntity<Object>> operacao = operacaoBloqueada(execucoes, iniciada, liberada);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<ResponseEntity<Object>> primeira = executor.submit(() -> idempotenciaService.executar("teste", chave, "corpo", operacao));
+			iniciada.await(5, TimeUnit.SECONDS);
+			Future<ResponseEntity<Object>> repeticao = executor.submit(() -> idempotenciaService.executar("teste", chave, "corpo", operacao));
+			Thread.sleep(200);
+			liberada.countDown();
+
+			assertThat(primeira.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+			ResponseEntity<Object> repetida = repeticao.get(5, TimeUnit.SECONDS);
+			assertThat(repetida.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+			assertThat(repetida.getHeaders().getFirst(IdempotenciaService.CABECALHO_REPETICAO)).isEqualTo("true");
+			assertThat(execucoes.get()).isEqualTo(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void deveResponderConflitoQuandoAPrimeiraPassaDoLimiteDeEspera() throws Exception {
+		String chave = UUID.randomUUID().toString();
+		AtomicInteger execucoes = new AtomicInteger();
+		CountDownLatch iniciada = new CountDownLatch(1);
+		CountDownLatch liberada = new CountDownLatch(1);
+		Supplier<ResponseEntity<Object>> operacao = operacaoBloqueada(execucoes, iniciada, liberada);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<ResponseEntity<Object>> primeira = executor.submit(() -> idempotenciaService.executar("teste", chave, "corpo", operacao));
+			iniciada.await(5, TimeUnit.SECONDS);
+			ResponseEntity<Object> simultanea = idempotenciaService.executar("teste", chave, "corpo", operacao);
+			liberada.countDown();
+
+			assertThat(simultanea.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+			assertThat(primeira.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+			assertThat(execucoes.get()).isEqualTo(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void naoDeveAceitarChaveMaiorQueOLimite() {
+		String chave = "a".repeat(IdempotenciaService.TAMANHO_MAXIMO_CHAVE + 1);
+
+		Throwable erro = catchThrowable(() -> idempotenciaService.executar("teste", chave, "corpo",
+				() -> ResponseEntity.status(HttpStatus.CREATED).body("ok")));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class);
+	}
+
+	private Supplier<ResponseEntity<Object>> operacaoBloqueada(AtomicInteger execucoes, CountDownLatch iniciada, CountDownLatch liberada) {
+		return () -> {
+			execucoes.incrementAndGet();
+			iniciada.countDown();
+			try {
+				liberada.await(5, TimeUnit.SECONDS);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return ResponseEntity.status(HttpStatus.CREATED).body("ok");
+		};
+	}
+}
@@ -0,0 +1,128 @@
+package br.com.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.dto.PaginaDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.ResumoAnoArquivado;
+import br.com.minhasfinancas.model.SaldoUsuario;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.repository.LancamentoReativoRepository;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.repository.ResumoAnoArquivadoRepository;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "minhasfinancas.reativo.tamanho-lote-transmissao=3")
+public class LancamentoReativoServiceTest {
+
+	@Autowired
+	LancamentoReativoService lancamentoReativoService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	LancamentoReativoRepository lancamentoReativoRepository;
+
+	@Autowired
+	ResumoAnoArquivadoRepository resumoAnoArquivadoRepository;
+
+	Usuario usuario;
+
+	@BeforeEach
+	public void setUp() {
+		usuario = usuarioService.salvarUsuario(Usuario.builder()
+				.nomeUsuario("reativo")
+				.emailUsuario("reativo-" + System.nanoTime() + "@email.com")
+				.senhaUsuario("senha")
+				.build());
+
+		List<Lancamento> lancamentos = new ArrayList<>();
+		for(int i = 0; i < 7; i++) {
+			Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+			lancamento.setMesLancamento(i % 12 + 1);
+			lancamento.setValorLancamento(BigDecimal.valueOf(10 * (i + 1)));
+			lancamento.setUsuario(Usuario.builder().idUsuario(usuario.getIdUsuario()).build());
+			lancamentos.add(lancamento);
+		}
+		lancamentoService.salvarLote(lancamentos);
+	}
+
+	@Test
+	public void deveRetornarAMesmaPaginaDaListagemBloqueante() {
+		PaginaDTO<LancamentoListagemDTO> esperada = lancamentoService.buscarLancamentoPaginado(filtro(), null, 4, true);
+
+		PaginaDTO<LancamentoListagemDTO> pagina = lancamentoReativoService.buscarLancamentoPaginado(filtro(), null, 4, true).block();
+
+		assertThat(pagina.getItens()).isEqualTo(esperada.getItens());
+		assertThat(pagina.getProximo()).isEqualTo(esperada.getProximo());
+
+		PaginaDTO<LancamentoListagemDTO> seguinte = lancamentoReativoService.buscarLancamentoPaginado(filtro(), pagina.getProximo(), 4, true).block();
+
+		assertThat(seguinte.getItens()).isEqualTo(lancamentoService.buscarLancamentoPaginado(filtro(), esperada.getProximo(), 4, true).getItens());
+		assertThat(seguinte.getProximo()).isNull();
+	}
+
+	@Test
+	public void deveTransmitirTodosOsLancamentosEmLotes() {
+		List<LancamentoListagemDTO> transmitidos = lancamentoReativoService.transmitirLancamentos(filtro(), false).collectList().block();
+
+		List<Long> esperados = lancamentoService.buscarLancamentoPaginado(filtro(), null, 10, false).getItens().stream()
+				.map(LancamentoListagemDTO::getIdLancamento)
+				.collect(Collectors.toList());
+		assertThat(transmitidos).extracting(LancamentoListagemDTO::getIdLancamento).containsExactlyElementsOf(esperados);
+	}
+
+	@Test
+	public void deveTransmitirSomenteOsLancamentosPedidos() {
+		List<LancamentoListagemDTO> transmitidos = lancamentoReativoService.transmitirLancamentos(filtro(), false).take(2).collectList().block();
+
+		assertThat(transmitidos).hasSize(2);
+	}
+
+	@Test
+	public void deveObterOMesmoSaldoDoServicoBloqueante() {
+		BigDecimal saldo = lancamentoReativoService.obterSaldoPorUsuario(usuario.getIdUsuario()).block();
+
+		assertThat(saldo).isEqualByComparingTo(lancamentoService.obterSaldoPorUsuario(usuario.getIdUsuario()));
+	}
+
+	@Test
+	public void deveSomarOsAnosEncerradosAoRecalcularOSaldo() {
+		resumoAnoArquivadoRepository.save(ResumoAnoArquivado.builder()
+				.idUsuario(usuario.getIdUsuario())
+				.anoLancamento(2019)
+				.quantidade(2)
+				.receitaEfetivado(BigDecimal.valueOf(100))
+				.despesaEfetivado(BigDecimal.valueOf(30))
+				.build());
+
+		SaldoUsuario saldo = lancamentoReativoRepository.recalcularSaldo(usuario.getIdUsuario()).block();
+
+		assertThat(saldo.getReceitaPendente()).isEqualByComparingTo(BigDecimal.valueOf(280));
+		assertThat(saldo.getReceitaEfetivado()).isEqualByComparingTo(BigDecimal.valueOf(100));
+		assertThat(saldo.getDespesaEfetivado()).isEqualByComparingTo(BigDecimal.valueOf(30));
+	}
+
+	private Lancamento filtro() {
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().idUsuario(usuario.getIdUsuario()).build());
+		return filtro;
+	}
+}
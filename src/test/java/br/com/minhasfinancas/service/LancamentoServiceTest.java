@@ -4,9 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -14,24 +19,40 @@ import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.domain.Example;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import br.com.minhasfinancas.dto.LancamentoListagemDTO;
+import br.com.minhasfinancas.dto.PaginaDTO;
+import br.com.minhasfinancas.dto.ResultadoLoteDTO;
+import br.com.minhasfinancas.dto.ResumoAnualDTO;
+import br.com.minhasfinancas.dto.ResumoMensalDTO;
+import br.com.minhasfinancas.exception.ConflitoVersaoException;
 import br.com.minhasfinancas.exception.RegraNegocioException;
 import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.SaldoUsuario;
 import br.com.minhasfinancas.model.Usuario;
 import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoEventoLancamento;
 import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.repository.CursorLancamento;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
 import br.com.minhasfinancas.repository.LancamentoRepository;
 import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.repository.projection.TotalMensal;
+import br.com.minhasfinancas.repository.projection.ValoresLancamento;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -43,6 +64,21 @@ public class LancamentoServiceTest {
 	@MockBean
 	LancamentoRepository lancamentoRepository;
 	
+	@MockBean
+	SaldoUsuarioService saldoUsuarioService;
+	
+	@MockBean
+	SaldoMensalService saldoMensalService;
+	
+	@MockBean
+	EventoLancamentoService eventoLancamentoService;
+	
+	@MockBean
+	UsuarioService usuarioService;
+	
+	@MockBean
+	ArquivamentoService arquivamentoService;
+	
 	
 	@Test
 	public void deveSalvarUmLancamento() {
@@ -57,6 +93,8 @@ public class LancamentoServiceTest {
 		Lancamento lancamento = lancamentoService.salvarLancamento(lancamentoASalvar);
 		assertThat(lancamento.getIdLancamento()).isEqualTo(lancamentoSalvo.getIdLancamento());
 		assertThat(lancamento.getStatusLancamento()).isEqualTo(StatusLancamento.PENDENTE);
+		verify(saldoUsuarioService).registrar(lancamentoASalvar);
+		verify(eventoLancamentoService).registrar(TipoEventoLancamento.CRIADO, lancamentoSalvo);
 	}
 	
 	@Test
@@ -66,21 +104,115 @@ public class LancamentoServiceTest {
 		
 		catchThrowableOfType(() -> lancamentoService.salvarLancamento(lancamentoASalvar), RegraNegocioException.class);
 		verify(lancamentoRepository, never()).save(lancamentoASalvar);
+		verify(saldoUsuarioService, never()).registrar(lancamentoASalvar);
+	}
+	
+	@Test
+	public void deveSalvarLoteInformandoFalhasPorItem() {
+		Usuario usuario = Usuario.builder().idUsuario(1L).build();
+		when(usuarioService.buscarPorIds(any())).thenReturn(Collections.singletonMap(1L, usuario));
+		
+		Lancamento valido = LancamentoRepositoryTest.criarLancamento();
+		valido.setUsuario(Usuario.builder().idUsuario(1L).build());
+		valido.setValorLancamento(BigDecimal.TEN);
+		
+		Lancamento semDescricao = LancamentoRepositoryTest.criarLancamento();
+		semDescricao.setUsuario(Usuario.builder().idUsuario(1L).build());
+		semDescricao.setValorLancamento(BigDecimal.TEN);
+		semDescricao.setDescricao(null);
+		
+		Lancamento usuarioInexistente = LancamentoRepositoryTest.criarLancamento();
+		usuarioInexistente.setUsuario(Usuario.builder().idUsuario(2L).build());
+		usuarioInexistente.setValorLancamento(BigDecimal.TEN);
+		
+		ResultadoLoteDTO resultado = lancamentoService.salvarLote(Arrays.asList(valido, semDescricao, usuarioInexistente));
+		
+		assertThat(resultado.getSucessos()).isEqualTo(1);
+		assertThat(resultado.getFalhas()).isEqualTo(2);
+		assertThat(resultado.getItens().get(0).isSucesso()).isTrue();
+		assertThat(resultado.getItens().get(1).getErro()).isEqualTo("Informe uma descrição válida!");
+		assertThat(resultado.getItens().get(2).getErro()).isEqualTo("Usuário não encontrado para o id informado!");
+		assertThat(valido.getUsuario()).isSameAs(usuario);
+		verify(lancamentoRepository).inserirEmLote(Arrays.asList(valido));
+		verify(saldoUsuarioService).registrarLote(Arrays.asList(valido));
+		verify(eventoLancamentoService).registrarLote(TipoEventoLancamento.CRIADO, Arrays.asList(valido));
+	}
+	
+	@Test
+	public void deveRejeitarLoteVazio() {
+		Throwable erro = catchThrowable(() -> lancamentoService.salvarLote(Collections.emptyList()));
+		
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe ao menos um lançamento!");
 	}
 	
 	@Test
 	public void deveAtualizarUmLancamento() {
 		Lancamento lancamentoSalvo = LancamentoRepositoryTest.criarLancamento();
 		lancamentoSalvo.setIdLancamento(1L);
+		lancamentoSalvo.setUsuario(Usuario.builder().idUsuario(1L).build());
 		lancamentoSalvo.setStatusLancamento(StatusLancamento.PENDENTE);
 		
 		doNothing().when(lancamentoService).validarLancamento(lancamentoSalvo);
+		ValoresLancamento persistidos = criarValoresPersistidos(3L);
+		when(lancamentoRepository.buscarValoresPersistidos(1L)).thenReturn(Optional.of(persistidos));
 		
-		when(lancamentoRepository.save(lancamentoSalvo)).thenReturn(lancamentoSalvo);
+		when(lancamentoRepository.reanexar(lancamentoSalvo)).thenReturn(lancamentoSalvo);
 		
 		lancamentoService.atualizarLancamento(lancamentoSalvo);
 		
-		verify(lancamentoRepository, times(1)).save(lancamentoSalvo);
+		verify(lancamentoRepository, times(1)).reanexar(lancamentoSalvo);
+		verify(lancamentoRepository, never()).save(lancamentoSalvo);
+		verify(saldoUsuarioService).substituir(persistidos, lancamentoSalvo);
+		assertThat(lancamentoSalvo.getVersao()).isEqualTo(3L);
+	}
+	
+	@Test
+	public void deveRecusarAtualizacaoComVersaoDesatualizada() {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setIdLancamento(1L);
+		lancamento.setUsuario(Usuario.builder().idUsuario(1L).build());
+		lancamento.setVersao(2L);
+		doNothing().when(lancamentoService).validarLancamento(lancamento);
+		ValoresLancamento persistidos = criarValoresPersistidos(3L);
+		when(lancamentoRepository.buscarValoresPersistidos(1L)).thenReturn(Optional.of(persistidos));
+		
+		Throwable exception = catchThrowable(() -> lancamentoService.atualizarLancamento(lancamento));
+		
+		assertThat(exception).isInstanceOf(ConflitoVersaoException.class);
+		verify(lancamentoRepository, never()).reanexar(lancamento);
+		verify(saldoUsuarioService, never()).substituir(any(ValoresLancamento.class), any(Lancamento.class));
+	}
+	
+	@Test
+	public void deveTraduzirConflitoDeVersaoNaGravacao() {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setIdLancamento(1L);
+		lancamento.setUsuario(Usuario.builder().idUsuario(1L).build());
+		lancamento.setVersao(3L);
+		doNothing().when(lancamentoService).validarLancamento(lancamento);
+		ValoresLancamento persistidos = criarValoresPersistidos(3L);
+		when(lancamentoRepository.buscarValoresPersistidos(1L)).thenReturn(Optional.of(persistidos));
+		when(lancamentoRepository.reanexar(lancamento)).thenThrow(new ObjectOptimisticLockingFailureException(Lancamento.class, 1L));
+		
+		Throwable exception = catchThrowable(() -> lancamentoService.atualizarLancamento(lancamento));
+		
+		assertThat(exception).isInstanceOf(ConflitoVersaoException.class).hasMessage(LancamentoService.MENSAGEM_CONFLITO_VERSAO);
+	}
+	
+	@Test
+	public void naoDeveAtualizarLancamentoDeOutroUsuario() {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setIdLancamento(1L);
+		lancamento.setUsuario(Usuario.builder().idUsuario(2L).build());
+		lancamento.setVersao(3L);
+		doNothing().when(lancamentoService).validarLancamento(lancamento);
+		ValoresLancamento persistidos = criarValoresPersistidos(3L);
+		when(lancamentoRepository.buscarValoresPersistidos(1L)).thenReturn(Optional.of(persistidos));
+		
+		Throwable exception = catchThrowable(() -> lancamentoService.atualizarLancamento(lancamento));
+		
+		assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage(LancamentoService.MENSAGEM_LANCAMENTO_NAO_ENCONTRADO);
+		verify(lancamentoRepository, never()).reanexar(lancamento);
 	}
 	
 	@Test
@@ -99,6 +231,7 @@ public class LancamentoServiceTest {
 		lancamentoService.deletarLancamento(lancamento);
 		
 		verify(lancamentoRepository).delete(lancamento);
+		verify(eventoLancamentoService).registrar(TipoEventoLancamento.REMOVIDO, lancamento);
 	}
 	
 	@Test
@@ -124,6 +257,41 @@ public class LancamentoServiceTest {
 		assertThat(resultado).isNotEmpty().hasSize(1).contains(lancamento);
 	}
 	
+	@Test
+	public void deveRetornarPaginaComCursorParaAProximaPagina() {
+		LancamentoListagemDTO primeiro = LancamentoListagemDTO.builder().idLancamento(1L).anoLancamento(2021).mesLancamento(1).build();
+		LancamentoListagemDTO segundo = LancamentoListagemDTO.builder().idLancamento(2L).anoLancamento(2021).mesLancamento(2).build();
+		LancamentoListagemDTO terceiro = LancamentoListagemDTO.builder().idLancamento(3L).anoLancamento(2021).mesLancamento(3).build();
+		
+		when(lancamentoRepository.buscarPagina(any(Lancamento.class), isNull(), eq(3), anyBoolean()))
+			.thenReturn(Arrays.asList(primeiro, segundo, terceiro));
+		
+		PaginaDTO<LancamentoListagemDTO> pagina = lancamentoService.buscarLancamentoPaginado(new Lancamento(), null, 2, false);
+		
+		assertThat(pagina.getItens()).containsExactly(primeiro, segundo);
+		CursorLancamento cursor = CursorLancamento.decodificar(pagina.getProximo());
+		assertThat(cursor.getIdLancamento()).isEqualTo(2L);
+		assertThat(cursor.getAnoLancamento()).isEqualTo(segundo.getAnoLancamento());
+	}
+	
+	@Test
+	public void deveLimitarOTamanhoDaPagina() {
+		when(lancamentoRepository.buscarPagina(any(Lancamento.class), isNull(), eq(LancamentoService.TAMANHO_MAXIMO_PAGINA + 1), anyBoolean()))
+			.thenReturn(Arrays.asList(LancamentoListagemDTO.de(LancamentoRepositoryTest.criarLancamento())));
+		
+		PaginaDTO<LancamentoListagemDTO> pagina = lancamentoService.buscarLancamentoPaginado(new Lancamento(), null, 100000, false);
+		
+		assertThat(pagina.getItens()).hasSize(1);
+		assertThat(pagina.getProximo()).isNull();
+	}
+	
+	@Test
+	public void deveRejeitarCursorInvalido() {
+		Throwable erro = catchThrowable(() -> lancamentoService.buscarLancamentoPaginado(new Lancamento(), "cursor-invalido", 10, false));
+		
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Cursor de paginação inválido!");
+	}
+	
 	@Test
 	public void deveAtualizarStatusDeUmLancamento() {
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
@@ -140,6 +308,111 @@ public class LancamentoServiceTest {
 		verify(lancamentoService).atualizarLancamento(lancamento);
 	}
 	
+	@Test
+	public void deveAtualizarStatusEmLoteMovendoOSaldo() {
+		FiltroLoteLancamento filtro = FiltroLoteLancamento.builder().idUsuario(1L).anoLancamento(2021).mesLancamento(7).build();
+		SaldoUsuario afetados = SaldoUsuario.builder()
+				.idUsuario(1L)
+				.receitaPendente(BigDecimal.valueOf(100))
+				.despesaPendente(BigDecimal.valueOf(40))
+				.build();
+		when(lancamentoRepository.somarEmLote(filtro)).thenReturn(afetados);
+		when(lancamentoRepository.atualizarStatusEmLote(filtro, StatusLancamento.EFETIVADO)).thenReturn(3);
+		
+		int quantidade = lancamentoService.atualizarStatusEmLote(filtro, StatusLancamento.EFETIVADO);
+		
+		assertThat(quantidade).isEqualTo(3);
+		assertThat(filtro.getExcetoStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		ArgumentCaptor<SaldoUsuario> captor = ArgumentCaptor.forClass(SaldoUsuario.class);
+		verify(saldoUsuarioService).acumular(captor.capture());
+		SaldoUsuario movimento = captor.getValue();
+		assertThat(movimento.getReceitaPendente()).isEqualByComparingTo(BigDecimal.valueOf(-100));
+		assertThat(movimento.getReceitaEfetivado()).isEqualByComparingTo(BigDecimal.valueOf(100));
+		assertThat(movimento.getDespesaPendente()).isEqualByComparingTo(BigDecimal.valueOf(-40));
+		assertThat(movimento.getDespesaEfetivado()).isEqualByComparingTo(BigDecimal.valueOf(40));
+		assertThat(movimento.getSaldo()).isEqualByComparingTo(BigDecimal.ZERO);
+		
+		InOrder ordem = inOrder(saldoUsuarioService, lancamentoRepository);
+		ordem.verify(saldoUsuarioService).bloquear(1L);
+		ordem.verify(lancamentoRepository).somarEmLote(filtro);
+		ordem.verify(lancamentoRepository).atualizarStatusEmLote(filtro, StatusLancamento.EFETIVADO);
+	}
+	
+	@Test
+	public void naoDeveAtualizarStatusEmLoteComLancamentoInvalido() {
+		FiltroLoteLancamento filtro = FiltroLoteLancamento.builder().idUsuario(1L).anoLancamento(2021).build();
+		when(lancamentoRepository.contarInvalidosEmLote(filtro)).thenReturn(1L);
+		
+		Throwable erro = catchThrowable(() -> lancamentoService.atualizarStatusEmLote(filtro, StatusLancamento.EFETIVADO));
+		
+		assertThat(erro).isInstanceOf(RegraNegocioException.class);
+		verify(saldoUsuarioService, never()).acumular(any(SaldoUsuario.class));
+		verify(lancamentoRepository, never()).atualizarStatusEmLote(any(FiltroLoteLancamento.class), any(StatusLancamento.class));
+	}
+	
+	@Test
+	public void deveDeletarEmLoteEstornandoSaldoERemovendoIndice() {
+		FiltroLoteLancamento filtro = FiltroLoteLancamento.builder().idUsuario(1L).idsLancamentos(Arrays.asList(1L, 2L)).build();
+		when(lancamentoRepository.somarEmLote(filtro)).thenReturn(SaldoUsuario.builder()
+				.idUsuario(1L)
+				.receitaEfetivado(BigDecimal.valueOf(50))
+				.build());
+		when(lancamentoRepository.removerEmLote(filtro)).thenReturn(2);
+		
+		int quantidade = lancamentoService.deletarEmLote(filtro);
+		
+		assertThat(quantidade).isEqualTo(2);
+		ArgumentCaptor<SaldoUsuario> captor = ArgumentCaptor.forClass(SaldoUsuario.class);
+		verify(saldoUsuarioService).acumular(captor.capture());
+		assertThat(captor.getValue().getReceitaEfetivado()).isEqualByComparingTo(BigDecimal.valueOf(-50));
+		verify(eventoLancamentoService).registrarEmLote(filtro, TipoEventoLancamento.REMOVIDO, null);
+		
+		InOrder ordem = inOrder(saldoUsuarioService, lancamentoRepository);
+		ordem.verify(saldoUsuarioService).bloquear(1L);
+		ordem.verify(lancamentoRepository).somarEmLote(filtro);
+		ordem.verify(lancamentoRepository).removerEmLote(filtro);
+	}
+	
+	@Test
+	public void deveRejeitarOperacaoEmLoteSemCriterio() {
+		FiltroLoteLancamento filtro = FiltroLoteLancamento.builder().idUsuario(1L).build();
+		
+		Throwable exception = catchThrowable(() -> lancamentoService.deletarEmLote(filtro));
+		
+		assertThat(exception).isInstanceOf(RegraNegocioException.class).hasMessage("Informe os lançamentos ou um filtro para a operação em lote!");
+		verify(lancamentoRepository, never()).removerEmLote(any(FiltroLoteLancamento.class));
+	}
+	
+	@Test
+	public void deveObterSaldoPeloLivroDeSaldos() {
+		when(saldoUsuarioService.obterSaldo(1L)).thenReturn(BigDecimal.valueOf(150));
+		
+		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(1L);
+		
+		assertThat(saldo).isEqualByComparingTo(BigDecimal.valueOf(150));
+		verify(lancamentoRepository, never()).buscarSaldoPorLancamentoEUsuario(any(), any());
+	}
+	
+	@Test
+	public void deveMontarResumoAnualPorMesEStatus() {
+		List<TotalMensal> totais = Arrays.asList(
+				criarTotalMensal(3, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(1000)),
+				criarTotalMensal(3, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(300)),
+				criarTotalMensal(7, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(50)));
+		when(lancamentoRepository.buscarTotaisMensais(1L, 2021)).thenReturn(totais);
+		
+		ResumoAnualDTO resumo = lancamentoService.obterResumoAnual(1L, 2021);
+		
+		assertThat(resumo.getMeses()).hasSize(12);
+		assertThat(resumo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(650));
+		
+		ResumoMensalDTO marco = resumo.getMeses().get(2);
+		assertThat(marco.getReceitas()).isEqualByComparingTo(BigDecimal.valueOf(1000));
+		assertThat(marco.getDespesas()).isEqualByComparingTo(BigDecimal.valueOf(300));
+		assertThat(marco.getPorStatus().get(StatusLancamento.PENDENTE).getDespesas()).isEqualByComparingTo(BigDecimal.valueOf(300));
+		assertThat(resumo.getMeses().get(0).getSaldo()).isEqualByComparingTo(BigDecimal.ZERO);
+	}
+	
 	@Test
 	public void deveObterLancamentoPorId() {
 		Long id = 1L;
@@ -211,5 +484,21 @@ public class LancamentoServiceTest {
 		lancamento.setTipoLancamento(TipoLancamento.RECEITA);
 	}
 	
+	private TotalMensal criarTotalMensal(Integer mes, TipoLancamento tipo, StatusLancamento status, BigDecimal valor) {
+		TotalMensal total = mock(TotalMensal.class);
+		when(total.getAnoLancamento()).thenReturn(2021);
+		when(total.getMesLancamento()).thenReturn(mes);
+		when(total.getTipoLancamento()).thenReturn(tipo);
+		when(total.getStatusLancamento()).thenReturn(status);
+		when(total.getValor()).thenReturn(valor);
+		return total;
+	}
 	
+	private ValoresLancamento criarValoresPersistidos(Long versao) {
+		ValoresLancamento valores = mock(ValoresLancamento.class);
+		when(valores.getIdUsuario()).thenReturn(1L);
+		when(valores.getVersao()).thenReturn(versao);
+		return valores;
+	}
+
 }
@@ -0,0 +1,221 @@
+package br.com.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.RecorrenciaLancamento;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.RecorrenciaLancamentoRepository;
+import br.com.minhasfinancas.repository.projection.ParcelaRecorrencia;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class RecorrenciaLancamentoServiceTest {
+
+	@SpyBean
+	RecorrenciaLancamentoService recorrenciaLancamentoService;
+
+	@MockBean
+	RecorrenciaLancamentoRepository recorrenciaLancamentoRepository;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@MockBean
+	LancamentoService lancamentoService;
+
+	@BeforeEach
+	public void setUp() {
+		when(recorrenciaLancamentoRepository.save(any(RecorrenciaLancamento.class))).thenAnswer(invocacao -> {
+			RecorrenciaLancamento recorrencia = invocacao.getArgument(0);
+			if(recorrencia.getIdRecorrencia() == null) {
+				recorrencia.setIdRecorrencia(7L);
+			}
+			return recorrencia;
+		});
+	}
+
+	@Test
+	public void deveGerarTodasAsParcelasDeUmParcelamentoEmLote() {
+		RecorrenciaLancamento recorrencia = criarRecorrencia(2021, 11);
+		recorrencia.setTotalParcelas(4);
+
+		RecorrenciaLancamento salva = recorrenciaLancamentoService.salvarRecorrencia(recorrencia);
+
+		List<Lancamento> parcelas = capturarLotes().get(0);
+		assertThat(parcelas).extracting(Lancamento::getNumeroParcela).containsExactly(1, 2, 3, 4);
+		assertThat(parcelas).extracting(Lancamento::getMesLancamento).containsExactly(11, 12, 1, 2);
+		assertThat(parcelas).extracting(Lancamento::getAnoLancamento).containsExactly(2021, 2021, 2022, 2022);
+		assertThat(parcelas).allMatch(parcela -> parcela.getIdRecorrencia().equals(7L));
+		assertThat(salva.getParcelasGeradas()).isEqualTo(4);
+	}
+
+	@Test
+	public void deveGerarSerieSemFimApenasAteOHorizonte() {
+		YearMonth atual = YearMonth.now();
+		RecorrenciaLancamento recorrencia = criarRecorrencia(atual.getYear(), atual.getMonthValue());
+
+		RecorrenciaLancamento salva = recorrenciaLancamentoService.salvarRecorrencia(recorrencia);
+
+		assertThat(capturarLotes().get(0)).hasSize(13);
+		assertThat(salva.getParcelasGeradas()).isEqualTo(13);
+	}
+
+	@Test
+	public void deveEstenderSerieSemFimAteOMesListado() {
+		RecorrenciaLancamento recorrencia = criarRecorrencia(2021, 1);
+		recorrencia.setIdRecorrencia(7L);
+		recorrencia.setIntervaloMeses(3);
+		recorrencia.setParcelasGeradas(2);
+		when(recorrenciaLancamentoRepository.buscarAtivas(1L)).thenReturn(Collections.singletonList(recorrencia));
+		when(recorrenciaLancamentoRepository.buscarAtivasParaAtualizacao(1L)).thenReturn(Collections.singletonList(recorrencia));
+
+		assertThat(recorrenciaLancamentoService.precisaEstender(1L, YearMonth.of(2021, 6))).isFalse();
+		assertThat(recorrenciaLancamentoService.precisaEstender(1L, YearMonth.of(2021, 12))).isTrue();
+
+		int geradas = recorrenciaLancamentoService.estenderAte(1L, YearMonth.of(2021, 12));
+
+		assertThat(geradas).isEqualTo(2);
+		assertThat(capturarLotes().get(0)).extracting(Lancamento::getMesLancamento).containsExactly(7, 10);
+		assertThat(recorrencia.getParcelasGeradas()).isEqualTo(4);
+	}
+
+	@Test
+	public void naoDeveEstenderSerieSemFimAlemDoHorizonte() {
+		YearMonth inicio = YearMonth.now();
+		RecorrenciaLancamento recorrencia = criarRecorrencia(inicio.getYear(), inicio.getMonthValue());
+		recorrencia.setIdRecorrencia(7L);
+		recorrencia.setParcelasGeradas(0);
+		when(recorrenciaLancamentoRepository.buscarAtivasParaAtualizacao(1L)).thenReturn(Collections.singletonList(recorrencia));
+
+		int geradas = recorrenciaLancamentoService.estenderAte(1L, inicio.plusYears(10));
+
+		assertThat(geradas).isEqualTo(13);
+		assertThat(recorrencia.getParcelasGeradas()).isEqualTo(13);
+	}
+
+	@Test
+	public void deveSubstituirParcelasPendentesAoAtualizarAPartirDeUmMes() {
+		RecorrenciaLancamento recorrencia = criarRecorrencia(2021, 1);
+		recorrencia.setIdRecorrencia(7L);
+		recorrencia.setTotalParcelas(6);
+		recorrencia.setParcelasGeradas(6);
+		when(recorrenciaLancamentoRepository.buscarParaAtualizacao(7L)).thenReturn(Optional.of(recorrencia));
+		when(lancamentoRepository.buscarParcelasPorStatus(7L, 4, StatusLancamento.PENDENTE))
+				.thenReturn(Arrays.asList(parcela(104L, 4), parcela(106L, 6)));
+
+		RecorrenciaLancamento alteracao = criarRecorrencia(2021, 1);
+		alteracao.setValorLancamento(BigDecimal.valueOf(250));
+
+		int quantidade = recorrenciaLancamentoService.atualizarAPartirDe(7L, 1L, alteracao, YearMonth.of(2021, 4));
+
+		ArgumentCaptor<FiltroLoteLancamento> filtro = ArgumentCaptor.forClass(FiltroLoteLancamento.class);
+		verify(lancamentoService).deletarEmLote(filtro.capture());
+		assertThat(filtro.getValue().getIdsLancamentos()).containsExactly(104L, 106L);
+		assertThat(filtro.getValue().getIdUsuario()).isEqualTo(1L);
+
+		List<Lancamento> parcelas = capturarLotes().get(0);
+		assertThat(quantidade).isEqualTo(2);
+		assertThat(parcelas).extracting(Lancamento::getNumeroParcela).containsExactly(4, 6);
+		assertThat(parcelas).allMatch(parcela -> parcela.getValorLancamento().compareTo(BigDecimal.valueOf(250)) == 0);
+	}
+
+	@Test
+	public void deveCancelarParcelasPendentesAPartirDeUmMes() {
+		RecorrenciaLancamento recorrencia = criarRecorrencia(2021, 1);
+		recorrencia.setIdRecorrencia(7L);
+		recorrencia.setParcelasGeradas(12);
+		when(recorrenciaLancamentoRepository.buscarParaAtualizacao(7L)).thenReturn(Optional.of(recorrencia));
+		when(lancamentoRepository.buscarParcelasPorStatus(7L, 9, StatusLancamento.PENDENTE))
+				.thenReturn(Arrays.asList(parcela(109L, 9), parcela(110L, 10), parcela(112L, 12)));
+
+		int removidas = recorrenciaLancamentoService.cancelarAPartirDe(7L, 1L, YearMonth.of(2021, 9));
+
+		assertThat(removidas).isEqualTo(3);
+		assertThat(recorrencia.isCancelada()).isTrue();
+		assertThat(recorrencia.getUltimaParcela()).isEqualTo(8);
+		assertThat(recorrencia.getParcelasGeradas()).isEqualTo(8);
+		verify(lancamentoService, never()).salvarLote(anyList());
+	}
+
+	@Test
+	public void naoDeveAlterarRecorrenciaDeOutroUsuario() {
+		RecorrenciaLancamento recorrencia = criarRecorrencia(2021, 1);
+		recorrencia.setIdRecorrencia(7L);
+		when(recorrenciaLancamentoRepository.buscarParaAtualizacao(7L)).thenReturn(Optional.of(recorrencia));
+
+		Throwable erro = catchThrowable(() -> recorrenciaLancamentoService.cancelarAPartirDe(7L, 2L, YearMonth.of(2021, 9)));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage(RecorrenciaLancamentoService.MENSAGEM_RECORRENCIA_NAO_ENCONTRADA);
+		verify(lancamentoService, never()).deletarEmLote(any());
+	}
+
+	@Test
+	public void naoDeveSalvarParcelamentoAcimaDoMaximo() {
+		RecorrenciaLancamento recorrencia = criarRecorrencia(2021, 1);
+		recorrencia.setTotalParcelas(RecorrenciaLancamentoService.MAXIMO_PARCELAS + 1);
+
+		Throwable erro = catchThrowable(() -> recorrenciaLancamentoService.salvarRecorrencia(recorrencia));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class);
+		verify(recorrenciaLancamentoRepository, never()).save(any());
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<List<Lancamento>> capturarLotes() {
+		ArgumentCaptor<List<Lancamento>> lotes = ArgumentCaptor.forClass(List.class);
+		verify(lancamentoService).salvarLote(lotes.capture());
+		return lotes.getAllValues();
+	}
+
+	private ParcelaRecorrencia parcela(Long idLancamento, Integer numeroParcela) {
+		return new ParcelaRecorrencia() {
+			@Override
+			public Long getIdLancamento() {
+				return idLancamento;
+			}
+
+			@Override
+			public Integer getNumeroParcela() {
+				return numeroParcela;
+			}
+		};
+	}
+
+	static RecorrenciaLancamento criarRecorrencia(int ano, int mes) {
+		return RecorrenciaLancamento.builder()
+				.idUsuario(1L)
+				.descricao("Aluguel")
+				.valorLancamento(BigDecimal.valueOf(100))
+				.tipoLancamento(TipoLancamento.DESPESA)
+				.anoInicio(ano)
+				.mesInicio(mes)
+				.build();
+	}
+}
@@ -0,0 +1,139 @@
+package br.com.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.dto.SaldoMensalDTO;
+import br.com.minhasfinancas.exception.RegraNegocioException;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.repository.FiltroLoteLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class SaldoMensalServiceTest {
+
+	@Autowired
+	SaldoMensalService saldoMensalService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Test
+	public void deveAcumularOSaldoMesAMesPreenchendoMesesSemMovimento() {
+		Usuario usuario = criarUsuario();
+		salvar(usuario, 2021, 1, TipoLancamento.RECEITA, 1000);
+		salvar(usuario, 2021, 3, TipoLancamento.DESPESA, 300);
+
+		List<SaldoMensalDTO> serie = saldoMensalService.obterSaldoMensal(usuario.getIdUsuario(), null, null);
+
+		assertThat(serie).extracting(SaldoMensalDTO::getMesLancamento).containsExactly(1, 2, 3);
+		assertThat(saldos(serie)).containsExactly(1000, 1000, 700);
+		assertThat(serie.get(1).getMovimento()).isEqualByComparingTo(BigDecimal.ZERO);
+	}
+
+	@Test
+	public void deveDeslocarApenasOsMesesAPartirDaAlteracao() {
+		Usuario usuario = criarUsuario();
+		Lancamento janeiro = salvar(usuario, 2021, 1, TipoLancamento.RECEITA, 1000);
+		salvar(usuario, 2021, 3, TipoLancamento.DESPESA, 300);
+		salvar(usuario, 2021, 2, TipoLancamento.DESPESA, 100);
+
+		assertThat(saldos(saldoMensalService.obterSaldoMensal(usuario.getIdUsuario(), null, null))).containsExactly(1000, 900, 600);
+
+		janeiro.setMesLancamento(2);
+		janeiro.setValorLancamento(BigDecimal.valueOf(800));
+		lancamentoService.atualizarLancamento(janeiro);
+
+		assertThat(saldos(saldoMensalService.obterSaldoMensal(usuario.getIdUsuario(), null, null))).containsExactly(0, 700, 400);
+	}
+
+	@Test
+	public void deveEstornarOsMesesAoDeletarEmLote() {
+		Usuario usuario = criarUsuario();
+		salvar(usuario, 2021, 1, TipoLancamento.RECEITA, 1000);
+		Lancamento fevereiro = salvar(usuario, 2021, 2, TipoLancamento.DESPESA, 100);
+		Lancamento marco = salvar(usuario, 2021, 3, TipoLancamento.DESPESA, 300);
+
+		lancamentoService.deletarEmLote(FiltroLoteLancamento.builder()
+				.idUsuario(usuario.getIdUsuario())
+				.idsLancamentos(Arrays.asList(fevereiro.getIdLancamento(), marco.getIdLancamento()))
+				.build());
+
+		assertThat(saldos(saldoMensalService.obterSaldoMensal(usuario.getIdUsuario(), YearMonth.of(2021, 1), YearMonth.of(2021, 4))))
+			.containsExactly(1000, 1000, 1000, 1000);
+	}
+
+	@Test
+	public void deveConsiderarOAcumuladoAnteriorAoInicioDoPeriodo() {
+		Usuario usuario = criarUsuario();
+		salvar(usuario, 2020, 6, TipoLancamento.RECEITA, 500);
+		salvar(usuario, 2021, 2, TipoLancamento.RECEITA, 50);
+
+		List<SaldoMensalDTO> serie = saldoMensalService.obterSaldoMensal(usuario.getIdUsuario(), YearMonth.of(2021, 1), YearMonth.of(2021, 2));
+
+		assertThat(saldos(serie)).containsExactly(500, 550);
+	}
+
+	@Test
+	public void deveCoincidirComASerieReconstruidaNaReconciliacao() {
+		Usuario usuario = criarUsuario();
+		Lancamento lancamento = salvar(usuario, 2021, 5, TipoLancamento.RECEITA, 250);
+		salvar(usuario, 2021, 8, TipoLancamento.DESPESA, 75);
+		salvar(usuario, 2021, 6, TipoLancamento.DESPESA, 30);
+		lancamentoService.deletarLancamento(lancamento);
+
+		List<SaldoMensalDTO> incremental = saldoMensalService.obterSaldoMensal(usuario.getIdUsuario(), YearMonth.of(2021, 5), YearMonth.of(2021, 8));
+		saldoMensalService.reconciliar(usuario.getIdUsuario());
+		List<SaldoMensalDTO> reconstruida = saldoMensalService.obterSaldoMensal(usuario.getIdUsuario(), YearMonth.of(2021, 5), YearMonth.of(2021, 8));
+
+		assertThat(saldos(incremental)).containsExactly(0, -30, -30, -105);
+		assertThat(saldos(reconstruida)).isEqualTo(saldos(incremental));
+	}
+
+	@Test
+	public void naoDeveObterSerieComPeriodoInvalido() {
+		Throwable erro = catchThrowable(() -> saldoMensalService.obterSaldoMensal(1L, YearMonth.of(2021, 5), YearMonth.of(2021, 1)));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um período válido!");
+	}
+
+	private List<Integer> saldos(List<SaldoMensalDTO> serie) {
+		return serie.stream().map(mes -> mes.getSaldo().intValueExact()).collect(Collectors.toList());
+	}
+
+	private Usuario criarUsuario() {
+		return usuarioService.salvarUsuario(Usuario.builder()
+				.nomeUsuario("saldo mensal")
+				.emailUsuario("saldo-mensal-" + System.nanoTime() + "@email.com")
+				.senhaUsuario("senha")
+				.build());
+	}
+
+	private Lancamento salvar(Usuario usuario, int ano, int mes, TipoLancamento tipo, int valor) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setAnoLancamento(ano);
+		lancamento.setMesLancamento(mes);
+		lancamento.setTipoLancamento(tipo);
+		lancamento.setValorLancamento(BigDecimal.valueOf(valor));
+		lancamento.setUsuario(usuario);
+		return lancamentoService.salvarLancamento(lancamento);
+	}
+}
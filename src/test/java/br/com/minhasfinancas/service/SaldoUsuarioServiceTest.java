@@ -0,0 +1,191 @@
+package br.com.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.dto.ReconciliacaoSaldoDTO;
+import br.com.minhasfinancas.model.Lancamento;
+import br.com.minhasfinancas.model.SaldoUsuario;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.model.enums.StatusLancamento;
+import br.com.minhasfinancas.model.enums.TipoLancamento;
+import br.com.minhasfinancas.repository.LancamentoRepository;
+import br.com.minhasfinancas.repository.LancamentoRepositoryTest;
+import br.com.minhasfinancas.repository.ResumoAnoArquivadoRepository;
+import br.com.minhasfinancas.repository.SaldoUsuarioRepository;
+import br.com.minhasfinancas.repository.projection.TotalPorTipoEStatus;
+import br.com.minhasfinancas.repository.projection.ValoresLancamento;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class SaldoUsuarioServiceTest {
+
+	@SpyBean
+	SaldoUsuarioService saldoUsuarioService;
+
+	@MockBean
+	SaldoUsuarioRepository saldoUsuarioRepository;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	@MockBean
+	ResumoAnoArquivadoRepository resumoAnoArquivadoRepository;
+
+	@Test
+	public void deveSomarLancamentoNoSaldoDoUsuario() {
+		SaldoUsuario saldo = SaldoUsuario.builder().idUsuario(1L).build();
+		when(saldoUsuarioRepository.buscarParaAtualizacao(1L)).thenReturn(Optional.of(saldo));
+
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().idUsuario(1L).build());
+		lancamento.setValorLancamento(BigDecimal.valueOf(300));
+
+		saldoUsuarioService.registrar(lancamento);
+
+		assertThat(saldo.getReceitaPendente()).isEqualByComparingTo(BigDecimal.valueOf(300));
+		assertThat(saldo.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(300));
+	}
+
+	@Test
+	public void deveSubstituirLancamentoNoSaldoComUmaUnicaLeitura() {
+		SaldoUsuario saldo = SaldoUsuario.builder().idUsuario(1L).receitaPendente(BigDecimal.valueOf(300)).build();
+		when(saldoUsuarioRepository.buscarParaAtualizacao(1L)).thenReturn(Optional.of(saldo));
+		ValoresLancamento persistidos = mock(ValoresLancamento.class);
+		when(persistidos.getIdUsuario()).thenReturn(1L);
+		when(persistidos.getTipoLancamento()).thenReturn(TipoLancamento.RECEITA);
+		when(persistidos.getStatusLancamento()).thenReturn(StatusLancamento.PENDENTE);
+		when(persistidos.getValorLancamento()).thenReturn(BigDecimal.valueOf(300));
+
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(Usuario.builder().idUsuario(1L).build());
+		lancamento.setStatusLancamento(StatusLancamento.EFETIVADO);
+		lancamento.setValorLancamento(BigDecimal.valueOf(300));
+
+		saldoUsuarioService.substituir(persistidos, lancamento);
+
+		verify(saldoUsuarioRepository, times(1)).buscarParaAtualizacao(1L);
+		assertThat(saldo.getReceitaPendente()).isEqualByComparingTo(BigDecimal.ZERO);
+		assertThat(saldo.getReceitaEfetivado()).isEqualByComparingTo(BigDecimal.valueOf(300));
+	}
+
+	@Test
+	public void deveIncrementarVersaoDosDadosAcadaMovimento() {
+		SaldoUsuario saldo = SaldoUsuario.builder().idUsuario(1L).versaoDados(4L).build();
+		when(saldoUsuarioRepository.buscarParaAtualizacao(1L)).thenReturn(Optional.of(saldo));
+
+		saldoUsuarioService.movimentar(1L, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.TEN);
+		saldoUsuarioService.movimentar(1L, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.TEN.negate());
+
+		assertThat(saldo.getVersaoDados()).isEqualTo(6L);
+		assertThat(saldo.getSaldo()).isEqualByComparingTo(BigDecimal.ZERO);
+	}
+
+	@Test
+	public void deveObterSaldoSemAgregarLancamentos() {
+		SaldoUsuario saldo = SaldoUsuario.builder()
+				.idUsuario(1L)
+				.receitaEfetivado(BigDecimal.valueOf(500))
+				.despesaPendente(BigDecimal.valueOf(120))
+				.build();
+		when(saldoUsuarioRepository.findById(1L)).thenReturn(Optional.of(saldo));
+
+		BigDecimal resultado = saldoUsuarioService.obterSaldo(1L);
+
+		assertThat(resultado).isEqualByComparingTo(BigDecimal.valueOf(380));
+	}
+
+	@Test
+	public void deveCalcularSaldoSemPersistirQuandoNaoHaRegistro() {
+		when(saldoUsuarioRepository.findById(1L)).thenReturn(Optional.empty());
+		List<TotalPorTipoEStatus> totais = Arrays.asList(
+				criarTotal(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(300)),
+				criarTotal(TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(100)));
+		when(lancamentoRepository.buscarTotaisPorTipoEStatus(1L)).thenReturn(totais);
+
+		BigDecimal resultado = saldoUsuarioService.obterSaldo(1L);
+
+		assertThat(resultado).isEqualByComparingTo(BigDecimal.valueOf(200));
+		verify(saldoUsuarioRepository, never()).save(any(SaldoUsuario.class));
+	}
+
+	@Test
+	public void deveReconciliarEApontarDivergencia() {
+		SaldoUsuario saldoRegistrado = SaldoUsuario.builder()
+				.idUsuario(1L)
+				.receitaPendente(BigDecimal.valueOf(10))
+				.build();
+		when(saldoUsuarioRepository.buscarParaAtualizacao(1L)).thenReturn(Optional.of(saldoRegistrado));
+		List<TotalPorTipoEStatus> totais = Arrays.asList(
+				criarTotal(TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(200)),
+				criarTotal(TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(50)));
+		when(lancamentoRepository.buscarTotaisPorTipoEStatus(1L)).thenReturn(totais);
+
+		ReconciliacaoSaldoDTO reconciliacao = saldoUsuarioService.reconciliar(1L);
+
+		assertThat(reconciliacao.isDivergente()).isTrue();
+		assertThat(reconciliacao.getSaldoAnterior()).isEqualByComparingTo(BigDecimal.valueOf(10));
+		assertThat(reconciliacao.getSaldoRecalculado()).isEqualByComparingTo(BigDecimal.valueOf(150));
+
+		ArgumentCaptor<SaldoUsuario> captor = ArgumentCaptor.forClass(SaldoUsuario.class);
+		verify(saldoUsuarioRepository).save(captor.capture());
+		assertThat(captor.getValue().getDespesaEfetivado()).isEqualByComparingTo(BigDecimal.valueOf(50));
+	}
+
+	@Test
+	public void deveCriarSaldoAoReconciliarUsuarioSemRegistro() {
+		when(saldoUsuarioRepository.inserirSeAusente(1L)).thenReturn(true);
+		when(saldoUsuarioRepository.buscarParaAtualizacao(1L)).thenReturn(Optional.of(SaldoUsuario.builder().idUsuario(1L).build()));
+		when(lancamentoRepository.buscarTotaisPorTipoEStatus(1L)).thenReturn(Collections.emptyList());
+
+		ReconciliacaoSaldoDTO reconciliacao = saldoUsuarioService.reconciliar(1L);
+
+		assertThat(reconciliacao.isDivergente()).isFalse();
+		assertThat(reconciliacao.getSaldoAnterior()).isNull();
+		assertThat(reconciliacao.getSaldoRecalculado()).isEqualByComparingTo(BigDecimal.ZERO);
+		verify(saldoUsuarioRepository).save(any(SaldoUsuario.class));
+	}
+
+	@Test
+	public void deveCriarOSaldoSemDuplicarNoPrimeiroMovimento() {
+		SaldoUsuario criadoPorOutraRequisicao = SaldoUsuario.builder().idUsuario(1L).receitaPendente(BigDecimal.valueOf(40)).build();
+		when(saldoUsuarioRepository.buscarParaAtualizacao(1L))
+			.thenReturn(Optional.empty())
+			.thenReturn(Optional.of(criadoPorOutraRequisicao));
+		when(saldoUsuarioRepository.inserirSeAusente(1L)).thenReturn(false);
+		List<TotalPorTipoEStatus> totais = Arrays.asList(criarTotal(TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(40)));
+		when(lancamentoRepository.buscarTotaisPorTipoEStatus(1L)).thenReturn(totais);
+
+		saldoUsuarioService.movimentar(1L, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.TEN);
+
+		verify(saldoUsuarioRepository).inserirSeAusente(1L);
+		assertThat(criadoPorOutraRequisicao.getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(50));
+	}
+
+	private TotalPorTipoEStatus criarTotal(TipoLancamento tipo, StatusLancamento status, BigDecimal valor) {
+		TotalPorTipoEStatus total = mock(TotalPorTipoEStatus.class);
+		when(total.getTipoLancamento()).thenReturn(tipo);
+		when(total.getStatusLancamento()).thenReturn(status);
+		when(total.getValor()).thenReturn(valor);
+		return total;
+	}
+}
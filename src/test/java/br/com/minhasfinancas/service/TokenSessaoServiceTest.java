@@ -0,0 +1,88 @@
+package br.com.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import br.com.minhasfinancas.dto.SessaoDTO;
+import br.com.minhasfinancas.exception.ErroAutenticacaoException;
+import br.com.minhasfinancas.model.Usuario;
+import br.com.minhasfinancas.security.UsuarioAutenticado;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class TokenSessaoServiceTest {
+
+	@Autowired
+	TokenSessaoService tokenSessaoService;
+
+	@Test
+	public void deveEmitirEVerificarTokenDoUsuario() {
+		SessaoDTO sessao = tokenSessaoService.emitir(criarUsuario());
+
+		UsuarioAutenticado usuario = tokenSessaoService.verificar(sessao.getToken());
+
+		assertThat(usuario.getIdUsuario()).isEqualTo(7L);
+		assertThat(usuario.getName()).isEqualTo("north@exe.bol");
+		assertThat(sessao.getExpiraEm()).isAfter(Instant.now());
+	}
+
+	@Test
+	public void deveRecusarTokenAdulterado() {
+		String token = tokenSessaoService.emitir(criarUsuario()).getToken();
+		String outroToken = tokenSessaoService.gerarToken(8L, "outro@exe.bol", Instant.now());
+		String adulterado = token.substring(0, token.indexOf('.') + 1)
+				+ outroToken.split("\\.")[1]
+				+ token.substring(token.lastIndexOf('.'));
+
+		Throwable exception = catchThrowable(() -> tokenSessaoService.verificar(adulterado));
+
+		assertThat(exception).isInstanceOf(ErroAutenticacaoException.class).hasMessage("Token de sessão inválido!");
+	}
+
+	@Test
+	public void naoDeveIniciarSemSegredo() {
+		Throwable exception = catchThrowable(() -> new TokenSessaoService("", 60));
+
+		assertThat(exception).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void naoDeveIniciarComSegredoCurto() {
+		Throwable exception = catchThrowable(() -> new TokenSessaoService("segredo-curto", 60));
+
+		assertThat(exception).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void deveRecusarTokenExpirado() {
+		String token = tokenSessaoService.gerarToken(7L, "north@exe.bol", Instant.now().minus(Duration.ofDays(1)));
+
+		Throwable exception = catchThrowable(() -> tokenSessaoService.verificar(token));
+
+		assertThat(exception).isInstanceOf(ErroAutenticacaoException.class).hasMessage("Token de sessão expirado!");
+	}
+
+	@Test
+	public void deveRecusarTokenMalFormado() {
+		Throwable exception = catchThrowable(() -> tokenSessaoService.verificar("nao-e-um-token"));
+
+		assertThat(exception).isInstanceOf(ErroAutenticacaoException.class);
+	}
+
+	private Usuario criarUsuario() {
+		return Usuario.builder()
+				.idUsuario(7L)
+				.nomeUsuario("north")
+				.emailUsuario("north@exe.bol")
+				.build();
+	}
+}
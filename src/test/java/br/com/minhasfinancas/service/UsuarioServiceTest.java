@@ -13,6 +13,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import br.com.minhasfinancas.dto.SessaoDTO;
 import br.com.minhasfinancas.exception.ErroAutenticacaoException;
 import br.com.minhasfinancas.exception.RegraNegocioException;
 import br.com.minhasfinancas.model.Usuario;
@@ -55,9 +56,11 @@ public class UsuarioServiceTest {
 				.build();
 		Mockito.when(usuarioRepository.findByEmailUsuario(email)).thenReturn(Optional.of(usuario));
 		
-		Usuario result =  usuarioService.autenticar(email, senha);
+		SessaoDTO result =  usuarioService.autenticar(email, senha);
 		
 		assertThat(result).isNotNull();
+		assertThat(result.getIdUsuario()).isEqualTo(1L);
+		assertThat(result.getToken()).isNotBlank();
 	}
 	
 	@Test